@@ -0,0 +1,19 @@
+package com.example.charging_station_management.cache;
+
+public final class CacheNames {
+
+    // Danh sách trạm (GET /api/stations, /api/stations/search) - key gồm filter + pageable
+    public static final String STATION_LIST = "stationList";
+
+    // Chi tiết trạm (GET /api/stations/{id})
+    public static final String STATION = "station";
+
+    // Danh sách trụ của trạm (GET /api/stations/{id}/poles)
+    public static final String STATION_POLES = "stationPoles";
+
+    // Đánh giá của trạm (GET /api/stations/{id}/reviews) - key gồm stationId + pageable
+    public static final String STATION_REVIEWS = "stationReviews";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.charging_station_management.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Tầng cache thứ hai (dùng chung giữa các node, ví dụ Redis/Hazelcast). Mặc định không có;
+ * khai báo một bean implement interface này để bật.
+ * <p>
+ * Implementation tự chịu trách nhiệm serialize giá trị (các DTO hiện tại không implement
+ * {@link java.io.Serializable}, nên nên dùng JSON).
+ */
+public interface CacheSecondTier {
+
+    /**
+     * @return giá trị đã cache, hoặc {@code null} nếu không có
+     */
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+
+    /**
+     * Đăng ký nhận thông báo invalidation từ node khác để xóa tầng in-process tương ứng.
+     * {@code key == null} nghĩa là xóa toàn bộ cache đó.
+     */
+    default void subscribeInvalidations(BiConsumer<String, Object> listener) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.charging_station_management.cache;
+
+import com.example.charging_station_management.dto.response.StationResponse;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.ConnectorStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Xóa cache trạm theo domain event (sau commit). Version ETag đã tăng trong transaction ghi và nằm trong key
+ * cache, nên body cũ không bao giờ được trả kèm ETag mới; xóa ở đây chỉ để giải phóng các entry của version cũ
+ * (phần còn lại hết hạn theo TTL). Event được relay lại chỉ xóa thêm một lần, nên vẫn an toàn.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        log.debug("Invalidating station caches for station {} ({})", event.stationId(), event.type());
+
+        if (event.type() == CatalogChangeType.RATING) {
+            clear(CacheNames.STATION_REVIEWS);
+            evictStation(CacheNames.STATION, event.stationId());
+            clear(CacheNames.STATION_LIST);
+            return;
+        }
+
+        evictStation(CacheNames.STATION, event.stationId());
+        evictStation(CacheNames.STATION_POLES, event.stationId());
+        clear(CacheNames.STATION_LIST);
+        if (event.type() == CatalogChangeType.STATION) {
+            // Xóa trạm thì reviews của trạm đó cũng phải trả 404
+            clear(CacheNames.STATION_REVIEWS);
+        }
+    }
+
+    @EventListener
+    public void onConnectorStatusChanged(ConnectorStatusChangedEvent event) {
+        // activePorts trong StationResponse và status trong danh sách trụ phụ thuộc trạng thái đầu sạc
+        evictStation(CacheNames.STATION, event.stationId());
+        evictStation(CacheNames.STATION_POLES, event.stationId());
+        // Danh sách trạm chỉ mang activePorts (số đầu sạc AVAILABLE): chỉ bỏ các trang chứa trạm này khi số đó đổi
+        boolean availabilityChanged =
+                (event.oldStatus() == ConnectorStatus.AVAILABLE) != (event.newStatus() == ConnectorStatus.AVAILABLE);
+        if (availabilityChanged) {
+            evictMatching(CacheNames.STATION_LIST, event.stationId(),
+                    entry -> containsStation(entry.getValue(), event.stationId()));
+        }
+    }
+
+    // Key của cache theo trạm là [stationId, etag]
+    private void evictStation(String cacheName, Integer stationId) {
+        evictMatching(cacheName, stationId,
+                entry -> entry.getKey() instanceof List<?> key && !key.isEmpty() && stationId.equals(key.get(0)));
+    }
+
+    /**
+     * Chỉ duyệt tầng in-process; entry chỉ còn ở tầng 2 (nạp từ node khác) hết hạn theo TTL.
+     */
+    private void evictMatching(String cacheName, Integer stationId, Predicate<Map.Entry<?, ?>> matches) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || stationId == null) {
+            return;
+        }
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> local)) {
+            cache.clear();
+            return;
+        }
+        List<?> keys = local.asMap().entrySet().stream()
+                .filter(matches)
+                .map(Map.Entry::getKey)
+                .toList();
+        keys.forEach(cache::evict);
+    }
+
+    private static boolean containsStation(Object value, Integer stationId) {
+        return value instanceof Page<?> page && page.getContent().stream()
+                .anyMatch(item -> item instanceof StationResponse station && stationId.equals(station.getId()));
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
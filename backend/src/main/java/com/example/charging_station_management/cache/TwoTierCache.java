@@ -0,0 +1,135 @@
+package com.example.charging_station_management.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache 2 tầng: Caffeine (in-process) đứng trước {@link CacheSecondTier}.
+ * Đọc L1 → L2 (nạp ngược vào L1) → loader; ghi/xóa tác động cả hai tầng.
+ * Lỗi ở L2 chỉ được log, không làm hỏng request.
+ */
+@Slf4j
+public class TwoTierCache implements Cache {
+
+    private final CaffeineCache local;
+    private final CacheSecondTier secondTier;
+
+    public TwoTierCache(CaffeineCache local, CacheSecondTier secondTier) {
+        this.local = local;
+        this.secondTier = secondTier;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        Object remote = remoteGet(key);
+        if (remote != null) {
+            local.put(key, remote);
+            return new SimpleValueWrapper(remote);
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        Object stored = value.get();
+        if (type != null && stored != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            Object remote = remoteGet(key);
+            if (remote != null) {
+                return (T) remote;
+            }
+            T loaded = valueLoader.call();
+            if (loaded != null) {
+                remotePut(key, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        if (value != null) {
+            remotePut(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        try {
+            secondTier.evict(getName(), key);
+        } catch (RuntimeException e) {
+            log.warn("Second-tier evict failed for {}::{}", getName(), key, e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        try {
+            secondTier.clear(getName());
+        } catch (RuntimeException e) {
+            log.warn("Second-tier clear failed for {}", getName(), e);
+        }
+    }
+
+    /**
+     * Chỉ xóa tầng in-process; dùng khi nhận invalidation từ node khác.
+     */
+    public void evictLocal(Object key) {
+        if (key == null) {
+            local.clear();
+        } else {
+            local.evict(key);
+        }
+    }
+
+    private Object remoteGet(Object key) {
+        try {
+            return secondTier.get(getName(), key);
+        } catch (RuntimeException e) {
+            log.warn("Second-tier get failed for {}::{}", getName(), key, e);
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        try {
+            secondTier.put(getName(), key, value);
+        } catch (RuntimeException e) {
+            log.warn("Second-tier put failed for {}::{}", getName(), key, e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.charging_station_management.config;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ArrowConfig {
+
+    // Giới hạn bộ nhớ off-heap cho toàn bộ các export đang chạy
+    @Bean(destroyMethod = "close")
+    public BufferAllocator arrowRootAllocator(@Value("${app.export.max-direct-memory-mb:256}") long maxMemoryMb) {
+        return new RootAllocator(maxMemoryMb * 1024 * 1024);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.charging_station_management.config;
+
+import com.example.charging_station_management.cache.CacheNames;
+import com.example.charging_station_management.cache.CacheSecondTier;
+import com.example.charging_station_management.cache.TwoTierCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache cho các endpoint public của trạm. Tầng 1 là Caffeine (giới hạn kích thước + TTL, có thống kê
+ * hit/miss); nếu có bean {@link CacheSecondTier} thì mỗi cache được bọc thành {@link TwoTierCache}.
+ * Invalidation chủ yếu dựa vào domain event (xem StationCacheInvalidator), TTL chỉ là lưới an toàn.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(
+            ObjectProvider<CacheSecondTier> secondTierProvider,
+            @Value("${app.cache.station.max-size:5000}") long stationMaxSize,
+            @Value("${app.cache.station.ttl-seconds:600}") long stationTtlSeconds,
+            @Value("${app.cache.list.max-size:2000}") long listMaxSize,
+            @Value("${app.cache.list.ttl-seconds:120}") long listTtlSeconds,
+            @Value("${app.cache.reviews.ttl-seconds:300}") long reviewsTtlSeconds) {
+
+        Map<String, Caffeine<Object, Object>> specs = Map.of(
+                CacheNames.STATION_LIST, spec(listMaxSize, listTtlSeconds),
+                CacheNames.STATION, spec(stationMaxSize, stationTtlSeconds),
+                CacheNames.STATION_POLES, spec(stationMaxSize, stationTtlSeconds),
+                CacheNames.STATION_REVIEWS, spec(listMaxSize, reviewsTtlSeconds));
+
+        CacheSecondTier secondTier = secondTierProvider.getIfAvailable();
+        List<Cache> caches = new ArrayList<>();
+        specs.forEach((name, builder) -> {
+            CaffeineCache local = new CaffeineCache(name, builder.build(), false);
+            caches.add(secondTier != null ? new TwoTierCache(local, secondTier) : local);
+        });
+
+        if (secondTier != null) {
+            secondTier.subscribeInvalidations((name, key) -> caches.stream()
+                    .filter(cache -> cache.getName().equals(name))
+                    .forEach(cache -> ((TwoTierCache) cache).evictLocal(key)));
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> spec(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats();
+    }
+}
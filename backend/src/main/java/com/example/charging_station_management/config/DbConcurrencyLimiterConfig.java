@@ -0,0 +1,42 @@
+package com.example.charging_station_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Bọc mỗi pool Hikari (pool mặc định, hoặc primary/replica khi bật read replica) bằng
+ * {@link ConcurrencyLimitedDataSource} có số permit bằng maximum-pool-size của pool đó.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.db-limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DbConcurrencyLimiterConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor dbConcurrencyLimiterPostProcessor(Environment environment) {
+        int maxWaiting = environment.getProperty("app.db-limiter.max-waiting", Integer.class, 500);
+        long acquireTimeoutMs = environment.getProperty("app.db-limiter.acquire-timeout-ms", Long.class, 5000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Sau khi bind spring.datasource.hikari.* nên maximum-pool-size đã là giá trị cấu hình
+                if (bean instanceof HikariDataSource hikari) {
+                    // Chưa cấu hình thì Hikari trả -1 và tự dùng 10 khi khởi tạo pool
+                    int maxConcurrent = hikari.getMaximumPoolSize() < 1
+                            ? DEFAULT_POOL_SIZE : hikari.getMaximumPoolSize();
+                    log.info("Limiting {} to {} concurrent connection(s), {} waiting", beanName,
+                            maxConcurrent, maxWaiting);
+                    return new ConcurrencyLimitedDataSource(hikari, maxConcurrent, maxWaiting, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.charging_station_management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class DomainEventConfig {
+
+    /**
+     * Executor cho consumer của domain event. Khi bật spring.threads.virtual.enabled và chạy trên JDK 21+
+     * mỗi event chạy trên một virtual thread; ngược lại dùng pool platform thread có giới hạn.
+     */
+    @Bean(name = "domainEventExecutor")
+    public TaskExecutor domainEventExecutor(
+            @Value("${app.events.executor.max-pool-size:16}") int maxPoolSize,
+            @Value("${app.events.executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("domain-event-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setCorePoolSize(Math.min(4, maxPoolSize));
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
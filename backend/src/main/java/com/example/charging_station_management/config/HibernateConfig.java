@@ -0,0 +1,25 @@
+package com.example.charging_station_management.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer(
+            @Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            // Bắt buộc: sequence (V2__pooled_id_sequences) được căn theo pooled-lo, nextval là id thấp nhất của khối.
+            // Optimizer "pooled" mặc định sẽ hiểu nextval là id cao nhất và cấp trùng id cũ.
+            properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.charging_station_management.config;
+
+import com.example.charging_station_management.ocpp.ChargePointHandshakeInterceptor;
+import com.example.charging_station_management.ocpp.OcppWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+/**
+ * Gateway OCPP cho trụ sạc: {@code ws://host/ocpp/{poleId}} với sub-protocol ocpp1.6, trụ xác thực bằng
+ * Basic auth {@code poleId:khóa} (khóa tạo qua POST /api/vendor/charging-poles/{id}/ocpp-key).
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class OcppWebSocketConfig implements WebSocketConfigurer {
+
+    private final OcppWebSocketHandler ocppWebSocketHandler;
+    private final ChargePointHandshakeInterceptor chargePointHandshakeInterceptor;
+
+    @Value("${app.ocpp.idle-timeout-seconds:900}")
+    private long idleTimeoutSeconds;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Không mở origin: trụ sạc không gửi Origin nên vẫn qua, trang web ở origin khác thì bị chặn
+        registry.addHandler(ocppWebSocketHandler, "/ocpp/*").addInterceptors(chargePointHandshakeInterceptor);
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(64 * 1024);
+        // Trụ gửi Heartbeat theo interval của BootNotification; quá lâu không có message thì đóng kết nối
+        container.setMaxSessionIdleTimeout(idleTimeoutSeconds * 1000);
+        return container;
+    }
+}
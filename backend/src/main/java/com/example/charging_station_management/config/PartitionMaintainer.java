@@ -0,0 +1,250 @@
+package com.example.charging_station_management.config;
+
+import com.example.charging_station_management.entity.converters.Transaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bảo trì các bảng PARTITION BY RANGE theo thời gian (tạo bởi migration, mỗi bảng có partition
+ * {@code <table>_default}): tạo trước partition cho các kỳ sắp tới, chuyển dòng đang nằm trong DEFAULT
+ * sang partition đúng kỳ và xử lý partition cũ hơn retention (DROP, hoặc DETACH sang schema
+ * {@value #ARCHIVE_SCHEMA}). Partition đặt tên {@code <table>_pYYYYMMDD} (theo ngày) hoặc
+ * {@code <table>_pYYYYMM} (theo tháng). Chỉ chạy trên PostgreSQL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionMaintainer {
+
+    public enum Period {
+        DAY("day", DateTimeFormatter.ofPattern("yyyyMMdd")),
+        MONTH("month", DateTimeFormatter.ofPattern("yyyyMM"));
+
+        private final String field;
+        private final DateTimeFormatter suffix;
+
+        Period(String field, DateTimeFormatter suffix) {
+            this.field = field;
+            this.suffix = suffix;
+        }
+
+        LocalDate start(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        LocalDate plus(LocalDate start, long periods) {
+            return this == DAY ? start.plusDays(periods) : start.plusMonths(periods);
+        }
+
+        LocalDate parse(String suffixText) {
+            return this == DAY ? LocalDate.parse(suffixText, suffix)
+                    : LocalDate.parse(suffixText + "01", DAY.suffix);
+        }
+    }
+
+    public enum ExpireAction {
+        DROP,
+        // Tách khỏi bảng cha, giữ nguyên dữ liệu trong schema archive để lưu trữ/xuất ra ngoài
+        DETACH
+    }
+
+    /**
+     * @param retention số kỳ giữ lại tính cả kỳ hiện tại; 0 là giữ mãi
+     */
+    public record PartitionedTable(String table, String column, Period period, int retention,
+                                   ExpireAction expireAction) {
+    }
+
+    public static final String ARCHIVE_SCHEMA = "archive";
+
+    // Giao dịch được tạo và thanh toán trong Transaction.PAYMENT_WINDOW kể từ lúc phiên bắt đầu, nên tháng
+    // created_at của nó muộn hơn tháng start_time của phiên tối đa chừng này tháng (28 ngày luôn chạm tháng kế)
+    static final int SESSION_RETENTION_LAG_MONTHS = (int) (Transaction.PAYMENT_WINDOW.toDays() / 28) + 1;
+
+    private static final String CHILDREN_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = current_schema() AND p.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.partition.enabled:true}")
+    private boolean enabled;
+
+    // Số kỳ tạo trước, ngoài kỳ hiện tại
+    @Value("${app.partition.premake:3}")
+    private int premake;
+
+    @Value("${app.meter.raw-retention-days:7}")
+    private int meterRawRetentionDays;
+
+    @Value("${app.meter.minute-retention-days:31}")
+    private int meterMinuteRetentionDays;
+
+    @Value("${app.meter.quarter-hour-retention-months:0}")
+    private int meterQuarterHourRetentionMonths;
+
+    // Retention của transactions; charging_sessions giữ thêm SESSION_RETENTION_LAG_MONTHS tháng để phiên chỉ rời
+    // bảng sau mọi giao dịch của nó (Transaction.chargingSession không được trỏ tới phiên đã lưu trữ)
+    @Value("${app.partition.history.retention-months:0}")
+    private int historyRetentionMonths;
+
+    @Value("${app.partition.history.expire-action:DETACH}")
+    private ExpireAction historyExpireAction;
+
+    public List<PartitionedTable> tables() {
+        return List.of(
+                new PartitionedTable("meter_values", "sampled_at", Period.DAY,
+                        meterRawRetentionDays, ExpireAction.DROP),
+                new PartitionedTable("meter_values_1m", "bucket_start", Period.DAY,
+                        meterMinuteRetentionDays, ExpireAction.DROP),
+                new PartitionedTable("meter_values_15m", "bucket_start", Period.MONTH,
+                        meterQuarterHourRetentionMonths, ExpireAction.DROP),
+                new PartitionedTable("charging_sessions", "start_time", Period.MONTH,
+                        historyRetentionMonths > 0 ? historyRetentionMonths + SESSION_RETENTION_LAG_MONTHS : 0,
+                        historyExpireAction),
+                new PartitionedTable("transactions", "created_at", Period.MONTH,
+                        historyRetentionMonths, historyExpireAction));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partition.maintenance-cron:0 10 0 * * *}")
+    public void maintainAll() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (PartitionedTable table : tables()) {
+            try {
+                maintain(table, today);
+            } catch (DataAccessException e) {
+                log.error("Partition maintenance of {} failed", table.table(), e);
+            }
+        }
+    }
+
+    void maintain(PartitionedTable table, LocalDate today) {
+        Period period = table.period();
+        LocalDate current = period.start(today);
+        LocalDate cutoff = table.retention() > 0 ? period.plus(current, 1L - table.retention()) : null;
+
+        // Kỳ cần có partition: các kỳ sắp tới và các kỳ đang có dòng trong DEFAULT (dữ liệu cũ/đến muộn)
+        Set<LocalDate> wanted = new TreeSet<>();
+        for (int i = 0; i <= premake; i++) {
+            wanted.add(period.plus(current, i));
+        }
+        wanted.addAll(jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('" + period.field + "', " + table.column() + ")::date FROM "
+                        + table.table() + "_default WHERE " + table.column() + " IS NOT NULL", LocalDate.class));
+
+        Set<String> existing = new TreeSet<>(jdbcTemplate.queryForList(CHILDREN_SQL, String.class, table.table()));
+        int created = 0;
+        for (LocalDate start : wanted) {
+            // Kỳ đã hết hạn vẫn tạo khi DETACH để dòng cũ trong DEFAULT được tách ra cùng partition
+            boolean expiredPeriod = cutoff != null && start.isBefore(cutoff);
+            String name = partitionName(table, start);
+            if ((!expiredPeriod || table.expireAction() == ExpireAction.DETACH) && !existing.contains(name)) {
+                createPartition(table, start);
+                existing.add(name);
+                created++;
+            }
+        }
+
+        int expired = 0;
+        if (cutoff != null) {
+            for (String name : existing) {
+                LocalDate start = partitionStart(table, name);
+                if (start != null && !period.plus(start, 1).isAfter(cutoff)) {
+                    expire(table, name);
+                    expired++;
+                }
+            }
+            // Với DROP, dòng cũ trong DEFAULT không có partition riêng nên xóa trực tiếp
+            if (table.expireAction() == ExpireAction.DROP) {
+                jdbcTemplate.update("DELETE FROM " + table.table() + "_default WHERE " + table.column() + " < ?",
+                        Timestamp.valueOf(cutoff.atStartOfDay()));
+            }
+        }
+        if (created > 0 || expired > 0) {
+            log.info("Partitions of {}: created {}, {} {}", table.table(), created,
+                    table.expireAction() == ExpireAction.DROP ? "dropped" : "archived", expired);
+        }
+    }
+
+    private void expire(PartitionedTable table, String name) {
+        if (table.expireAction() == ExpireAction.DROP) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + table.table() + " DETACH PARTITION " + name);
+            jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+        });
+    }
+
+    // Tạo bảng rỗng, chuyển các dòng của kỳ từ DEFAULT sang rồi ATTACH (CREATE ... PARTITION OF sẽ lỗi
+    // nếu DEFAULT đang chứa dòng thuộc kỳ đó)
+    private void createPartition(PartitionedTable table, LocalDate start) {
+        String name = partitionName(table, start);
+        Timestamp from = Timestamp.valueOf(start.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(table.period().plus(start, 1).atStartOfDay());
+        transactionTemplate.executeWithoutResult(status -> {
+            // Nhiều instance cùng chạy: chỉ một instance tạo partition của bảng tại một thời điểm
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", table.table());
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name)) {
+                return;
+            }
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + table.table()
+                    + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM " + table.table() + "_default WHERE " + table.column()
+                    + " >= ? AND " + table.column() + " < ? RETURNING *) INSERT INTO " + name
+                    + " SELECT * FROM moved", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + table.table() + " ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        });
+    }
+
+    static String partitionName(PartitionedTable table, LocalDate start) {
+        return table.table() + "_p" + table.period().suffix.format(start);
+    }
+
+    private static LocalDate partitionStart(PartitionedTable table, String name) {
+        String prefix = table.table() + "_p";
+        if (!name.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return table.period().parse(name.substring(prefix.length()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
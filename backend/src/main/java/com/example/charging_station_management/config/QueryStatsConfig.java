@@ -0,0 +1,36 @@
+package com.example.charging_station_management.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Bật thống kê số câu SQL theo endpoint (xem {@link QueryStatsRecorder}), dùng khi chạy load test.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.diagnostics.query-stats", name = "enabled", havingValue = "true")
+public class QueryStatsConfig {
+
+    @Bean
+    public QueryStatsRecorder queryStatsRecorder() {
+        return new QueryStatsRecorder();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernatePropertiesCustomizer(QueryStatsRecorder recorder) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, recorder);
+    }
+
+    // Đứng trước Spring Security để tính cả truy vấn của filter JWT
+    @Bean
+    public FilterRegistrationBean<QueryStatsRecorder> queryStatsFilterRegistration(QueryStatsRecorder recorder) {
+        FilterRegistrationBean<QueryStatsRecorder> registration = new FilterRegistrationBean<>(recorder);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
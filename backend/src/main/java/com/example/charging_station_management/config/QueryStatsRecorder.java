@@ -0,0 +1,88 @@
+package com.example.charging_station_management.config;
+
+import com.example.charging_station_management.dto.response.QueryStatsResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Đếm số câu SQL mà Hibernate chuẩn bị (JPQL, Criteria, native query qua JPA) trong mỗi request, kể cả truy vấn
+ * user của filter JWT, và cộng dồn theo endpoint ({@code METHOD /pattern}). Truy vấn qua JdbcTemplate (export,
+ * meter series, archive) không đi qua Hibernate nên không được đếm. Với request async (stream export) chỉ đếm
+ * phần chạy trên thread của request. Request không khớp handler nào (404, bị chặn trước DispatcherServlet) gộp
+ * chung vào {@link #UNMATCHED} để URL tùy ý không làm số endpoint tăng mãi.
+ */
+public class QueryStatsRecorder extends OncePerRequestFilter implements StatementInspector {
+
+    static final String UNMATCHED = "(unmatched)";
+
+    private final ThreadLocal<long[]> current = new ThreadLocal<>();
+    private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] counter = current.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long[] counter = new long[1];
+        current.set(counter);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = pattern != null ? request.getMethod() + " " + pattern : UNMATCHED;
+            endpoints.computeIfAbsent(endpoint, key -> new Counters()).add(counter[0]);
+        }
+    }
+
+    public List<QueryStatsResponse> snapshot() {
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparing(QueryStatsResponse::endpoint))
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static class Counters {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder queries = new LongAdder();
+        private final LongAccumulator maxQueries = new LongAccumulator(Math::max, 0);
+
+        void add(long count) {
+            requests.increment();
+            queries.add(count);
+            maxQueries.accumulate(count);
+        }
+
+        QueryStatsResponse toStats(String endpoint) {
+            long requestCount = requests.sum();
+            long queryCount = queries.sum();
+            return new QueryStatsResponse(endpoint, requestCount, queryCount,
+                    requestCount > 0 ? (double) queryCount / requestCount : 0, maxQueries.get());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.charging_station_management.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Đo độ trễ replay WAL của replica. Replica chỉ được dùng khi lần đo gần nhất thành công và độ trễ không vượt
+ * {@code app.datasource.replica.max-lag-ms}; chưa đo được (mới khởi động, mất kết nối tới replica, replica mất
+ * kết nối tới primary) thì coi như không dùng được.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // WAL đã nhận bằng WAL đã replay nghĩa là replica theo kịp, dù giao dịch replay cuối đã cũ (primary đang rảnh).
+    // Chỉ tin điều đó khi WAL receiver đang streaming: mất kết nối tới primary thì receive_lsn đứng yên ở vị trí cuối
+    // nên vẫn bằng replay_lsn, trả NULL để coi như không đo được. Cột status chỉ hiện với superuser hoặc role có
+    // pg_read_all_stats; user replica không có quyền đó thì replica không bao giờ được dùng.
+    // Không ở chế độ recovery (url trỏ thẳng vào primary khi dev) thì không có độ trễ
+    private static final String LAG_SQL = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE CAST(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000 AS BIGINT)
+                   END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(1);
+        this.maxLagMs = maxLagMs;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        Long lagMs;
+        try {
+            lagMs = replicaJdbcTemplate.queryForObject(LAG_SQL, Long.class);
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed", e);
+            lagMs = null;
+        }
+        updateLag(lagMs);
+    }
+
+    /** {@code lagMs} null khi không đo được độ trễ. */
+    void updateLag(Long lagMs) {
+        boolean nowUsable = lagMs != null && lagMs <= maxLagMs;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica is back in rotation (lag {} ms)", lagMs);
+            } else {
+                log.warn("Replica taken out of rotation (lag {} ms, max {} ms): reads go to primary",
+                        lagMs != null ? lagMs : "unknown", maxLagMs);
+            }
+        }
+        usable = nowUsable;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.charging_station_management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Chọn primary hoặc replica cho mỗi connection: transaction read-only đọc từ replica, còn lại dùng primary.
+ * Transaction read-only vẫn dùng primary khi replica trễ quá ngưỡng ({@link ReplicaLagMonitor}) hoặc người dùng
+ * hiện tại vừa commit thay đổi trong cửa sổ sticky, để họ luôn đọc lại được dữ liệu mình vừa ghi.
+ * <p>
+ * Phải được bọc bởi {@code LazyConnectionDataSourceProxy}: connection chỉ được lấy ở câu lệnh đầu tiên, lúc cờ
+ * read-only của transaction đã được thiết lập.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    // Resource đánh dấu transaction ghi đã đăng ký ghi nhận người dùng khi commit
+    private static final Object WRITE_MARKER = ReplicaRoutingDataSource.class.getName() + ".WRITE";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    Duration stickyWindow) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriterOnCommit(user);
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable() || (user != null && recentWriters.getIfPresent(user) != null)) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    private void rememberWriterOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_MARKER)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_MARKER, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_MARKER);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.charging_station_management.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Khi khởi động, đối chiếu các index của truy vấn nóng (tạo bởi các migration V4..V9) với pg_index và
+ * báo index bị thiếu hoặc INVALID (CREATE INDEX CONCURRENTLY lỗi giữa chừng). Chỉ chạy trên PostgreSQL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexVerifier {
+
+    // index -> bảng, phải khớp với migration
+    static final Map<String, String> EXPECTED_INDEXES = new LinkedHashMap<>();
+
+    static {
+        EXPECTED_INDEXES.put("idx_charging_sessions_vehicle_status_start", "charging_sessions");
+        EXPECTED_INDEXES.put("idx_charging_sessions_active_connector", "charging_sessions");
+        EXPECTED_INDEXES.put("idx_charging_sessions_active_vehicle", "charging_sessions");
+        EXPECTED_INDEXES.put("idx_charging_connectors_pole_status", "charging_connectors");
+        EXPECTED_INDEXES.put("idx_charging_poles_station", "charging_poles");
+        EXPECTED_INDEXES.put("idx_stations_vendor_status", "stations");
+        EXPECTED_INDEXES.put("idx_transactions_customer_payment_time", "transactions");
+        EXPECTED_INDEXES.put("idx_ratings_target", "ratings");
+        EXPECTED_INDEXES.put("idx_charging_sessions_start_id", "charging_sessions");
+        EXPECTED_INDEXES.put("idx_transactions_created_id", "transactions");
+        EXPECTED_INDEXES.put("idx_charging_sessions_connector_start", "charging_sessions");
+        EXPECTED_INDEXES.put("idx_meter_values_session_time", "meter_values");
+        EXPECTED_INDEXES.put("idx_meter_values_sampled_at", "meter_values");
+        EXPECTED_INDEXES.put("idx_transactions_session", "transactions");
+    }
+
+    private static final String INDEX_SQL = """
+            SELECT c.relname AS index_name, i.indisvalid AS valid
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE n.nspname = current_schema()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.schema.index-check.enabled:true}")
+    private boolean enabled;
+
+    // Bật ở môi trường production để không chạy với schema thiếu index
+    @Value("${app.schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+
+        Map<String, Boolean> existing = new HashMap<>();
+        jdbcTemplate.query(INDEX_SQL, rs -> {
+            existing.put(rs.getString("index_name"), rs.getBoolean("valid"));
+        });
+
+        List<String> problems = new ArrayList<>();
+        EXPECTED_INDEXES.forEach((index, table) -> {
+            Boolean valid = existing.get(index);
+            if (valid == null) {
+                problems.add(index + " (" + table + "): thiếu");
+            } else if (!valid) {
+                problems.add(index + " (" + table + "): INVALID, cần DROP INDEX và tạo lại");
+            }
+        });
+
+        if (problems.isEmpty()) {
+            log.info("Schema index check: đủ {} index", EXPECTED_INDEXES.size());
+            return;
+        }
+        problems.forEach(problem -> log.warn("Schema index check: {}", problem));
+        if (failOnMissing) {
+            throw new IllegalStateException("Schema thiếu index cho truy vấn nóng: " + problems);
+        }
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
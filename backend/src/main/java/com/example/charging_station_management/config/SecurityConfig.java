@@ -101,6 +101,9 @@ public class SecurityConfig {
                                 "/api/auth/reset-password")
                         .permitAll()
 
+                        // Gateway OCPP: trụ sạc không có JWT, xác thực Basic auth theo khóa của trụ ở ChargePointHandshakeInterceptor
+                        .requestMatchers("/ocpp/**").permitAll()
+
                         // 4. PUBLIC Rescue Stations (READ ONLY - no auth required)
                         .requestMatchers(HttpMethod.GET, "/api/admin/rescue-stations/**").permitAll()
 
@@ -3,12 +3,14 @@ package com.example.charging_station_management.controller;
 import com.example.charging_station_management.dto.request.CreateStationRequest;
 import com.example.charging_station_management.dto.request.UpdateStationRequest;
 import com.example.charging_station_management.dto.BaseApiResponse;
+import com.example.charging_station_management.dto.response.CatalogVersion;
 import com.example.charging_station_management.dto.response.ChargingPoleResponse;
 import com.example.charging_station_management.dto.response.ReviewResponse;
 import com.example.charging_station_management.dto.response.StationResponse;
 import com.example.charging_station_management.entity.enums.StationStatus;
 import com.example.charging_station_management.entity.enums.ConnectorType;
 import com.example.charging_station_management.entity.enums.VehicleType;
+import com.example.charging_station_management.service.CatalogVersionService;
 import com.example.charging_station_management.service.ChargingPoleService;
 import com.example.charging_station_management.service.StationService;
 import com.example.charging_station_management.service.impl.CustomerServiceImpl;
@@ -19,9 +21,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -35,6 +39,7 @@ public class StationController {
     private final CustomerServiceImpl customerService;
     private final StationService stationService;
     private final ChargingPoleService chargingPoleService;
+    private final CatalogVersionService catalogVersionService;
 
     /* =================================================================
        1. PUBLIC / CUSTOMER API (Ai cũng truy cập được)
@@ -47,27 +52,51 @@ public class StationController {
             @RequestParam(required = false) Integer status,
             @RequestParam(required = false) VehicleType vehicleType,
             @RequestParam(required = false) ConnectorType connectorType,
-            @PageableDefault(size = 100) Pageable pageable) {
-        return ResponseEntity.ok(customerService.filterStations(search, status, vehicleType, connectorType, pageable));
+            @PageableDefault(size = 100) Pageable pageable,
+            WebRequest webRequest) {
+        // ETag tính từ version trong DB; khớp If-None-Match thì trả 304 trước khi load entity
+        if (isNotModified(webRequest, catalogVersionService.getStationListVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(customerService.filterStations(search, status, vehicleType, connectorType, pageable));
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<StationResponse>> searchStations(
             @RequestParam String query,
-            @PageableDefault(size = 10) Pageable pageable) {
-        return ResponseEntity.ok(customerService.searchStations(query, pageable));
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, catalogVersionService.getStationListVersion())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(customerService.searchStations(query, pageable));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<StationResponse> getStationById(@PathVariable Integer id) {
-        return ResponseEntity.ok(customerService.getStationById(id));
+    public ResponseEntity<StationResponse> getStationById(@PathVariable Integer id, WebRequest webRequest) {
+        if (isNotModified(webRequest, catalogVersionService.getStationVersion(id))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(customerService.getStationById(id));
     }
 
     // Endpoint lấy danh sách trụ (Code của bạn)
     @GetMapping("/{id}/poles")
-    public ResponseEntity<BaseApiResponse<List<ChargingPoleResponse>>> getPolesByStationId(@PathVariable Integer id) {
+    public ResponseEntity<BaseApiResponse<List<ChargingPoleResponse>>> getPolesByStationId(@PathVariable Integer id,
+                                                                                           WebRequest webRequest) {
+        if (isNotModified(webRequest, catalogVersionService.getStationPolesVersion(id))) {
+            return null;
+        }
         List<ChargingPoleResponse> poles = chargingPoleService.getAllPolesByStationId(id);
-        return ResponseEntity.ok(BaseApiResponse.success(poles, "Lấy danh sách trụ thành công"));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(BaseApiResponse.success(poles, "Lấy danh sách trụ thành công"));
     }
 
     @GetMapping("/{id}/reviews")
@@ -143,4 +172,16 @@ public class StationController {
         stationService.adminDeleteStation(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Set ETag/Last-Modified lên response; trả về true (response đã là 304) nếu client đã có bản mới nhất.
+     */
+    private boolean isNotModified(WebRequest webRequest, CatalogVersion version) {
+        if (version == null) {
+            return false;
+        }
+        return version.lastModified() >= 0
+                ? webRequest.checkNotModified(version.etag(), version.lastModified())
+                : webRequest.checkNotModified(version.etag());
+    }
+}
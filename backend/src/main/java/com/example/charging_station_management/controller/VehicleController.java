@@ -3,6 +3,7 @@ package com.example.charging_station_management.controller;
 import com.example.charging_station_management.dto.CreateVehicleRequest;
 import com.example.charging_station_management.dto.UpdateVehicleRequest;
 import com.example.charging_station_management.dto.VehicleDTO;
+import com.example.charging_station_management.dto.response.VehicleIdTagResponse;
 import com.example.charging_station_management.utils.CustomUserDetails;
 import com.example.charging_station_management.service.VehicleService;
 import jakarta.validation.Valid;
@@ -68,6 +69,15 @@ public class VehicleController {
         return ResponseEntity.ok(vehicle);
     }
 
+    // Tạo idTag OCPP cho xe: POST /api/vehicles/{id}/id-tag (idTag chỉ hiển thị một lần, idTag cũ hết hiệu lực)
+    @PostMapping("/{id}/id-tag")
+    public ResponseEntity<VehicleIdTagResponse> rotateIdTag(
+            @PathVariable Integer id,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(vehicleService.rotateIdTag(id, userDetails.getId()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVehicle(
             @PathVariable Integer id,
@@ -2,19 +2,25 @@ package com.example.charging_station_management.controller.admin;
 
 import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
 import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.entity.enums.SessionStatus;
 import com.example.charging_station_management.service.ChargingSessionService;
+import com.example.charging_station_management.service.ExcelExportService;
+import com.example.charging_station_management.utils.excel.ExcelResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +34,7 @@ import java.util.Map;
 public class AdminChargingSessionController {
 
     private final ChargingSessionService chargingSessionService;
+    private final ExcelExportService excelExportService;
 
     @GetMapping("/charging-sessions")
     public ResponseEntity<?> getAllChargingSessions(
@@ -87,6 +94,98 @@ public class AdminChargingSessionController {
         }
     }
 
+    @GetMapping("/charging-sessions/cursor")
+    public ResponseEntity<?> getChargingSessionsByCursor(
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer stationId,
+            @RequestParam(required = false) SessionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTimeTo,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String stationName,
+            @RequestParam(required = false) String licensePlate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        try {
+            ChargingSessionFilterRequest filterRequest = ChargingSessionFilterRequest.builder()
+                    .customerId(customerId)
+                    .stationId(stationId)
+                    .status(status)
+                    .startTimeFrom(startTimeFrom)
+                    .startTimeTo(startTimeTo)
+                    .endTimeFrom(endTimeFrom)
+                    .endTimeTo(endTimeTo)
+                    .customerName(customerName)
+                    .stationName(stationName)
+                    .licensePlate(licensePlate)
+                    .build();
+            CursorPage<ChargingSessionDetailResponse> sessions = chargingSessionService
+                    .getAllChargingSessions(filterRequest, cursor, size);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Successfully retrieved charging sessions");
+            response.put("data", sessions);
+            response.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.badRequest().body(errorResponse);
+
+        } catch (Exception e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to retrieve charging sessions");
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/charging-sessions/export")
+    public ResponseEntity<StreamingResponseBody> exportChargingSessions(
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer stationId,
+            @RequestParam(required = false) SessionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTimeTo,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String stationName,
+            @RequestParam(required = false) String licensePlate,
+            @SortDefault(sort = "startTime", direction = Sort.Direction.DESC) Sort sort) {
+
+        ChargingSessionFilterRequest filterRequest = ChargingSessionFilterRequest.builder()
+                .customerId(customerId)
+                .stationId(stationId)
+                .status(status)
+                .startTimeFrom(startTimeFrom)
+                .startTimeTo(startTimeTo)
+                .endTimeFrom(endTimeFrom)
+                .endTimeTo(endTimeTo)
+                .customerName(customerName)
+                .stationName(stationName)
+                .licensePlate(licensePlate)
+                .build();
+
+        excelExportService.validateChargingSessionSort(sort);
+        return ExcelResponses.xlsx("charging-sessions-" + LocalDate.now() + ".xlsx",
+                out -> excelExportService.exportChargingSessions(filterRequest, sort, out));
+    }
+
     @GetMapping("/charging-sessions/{sessionId}")
     public ResponseEntity<?> getChargingSessionById(@PathVariable Integer sessionId) {
         try {
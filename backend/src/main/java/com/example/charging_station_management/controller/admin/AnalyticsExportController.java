@@ -0,0 +1,67 @@
+package com.example.charging_station_management.controller.admin;
+
+import com.example.charging_station_management.service.AnalyticsExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Export hàng loạt cho phân tích offline, định dạng Arrow IPC stream (đọc được bằng pyarrow, polars, DuckDB).
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsExportController {
+
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType("application/vnd.apache.arrow.stream");
+
+    private final AnalyticsExportService analyticsExportService;
+
+    @GetMapping("/sessions")
+    public ResponseEntity<StreamingResponseBody> exportSessions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        return stream("sessions.arrows", out -> analyticsExportService.exportSessions(start, end, out));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDateTime start = startOf(from);
+        LocalDateTime end = endOf(to);
+        return stream("transactions.arrows", out -> analyticsExportService.exportTransactions(start, end, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(ARROW_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private LocalDateTime startOf(LocalDate from) {
+        return from != null ? from.atStartOfDay() : LocalDate.of(1970, 1, 1).atStartOfDay();
+    }
+
+    // "to" tính cả ngày đó
+    private LocalDateTime endOf(LocalDate to) {
+        return (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.charging_station_management.controller.admin;
+
+import com.example.charging_station_management.dto.BaseApiResponse;
+import com.example.charging_station_management.dto.response.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+
+    // Thống kê hit/miss của tầng Caffeine cho từng cache
+    @GetMapping("/stats")
+    public ResponseEntity<BaseApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                CacheStats s = caffeine.stats();
+                stats.add(new CacheStatsResponse(name, caffeine.estimatedSize(), s.hitCount(), s.missCount(),
+                        s.hitRate(), s.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(BaseApiResponse.success(stats, "Lấy thống kê cache thành công"));
+    }
+}
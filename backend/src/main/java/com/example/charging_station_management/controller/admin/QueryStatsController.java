@@ -0,0 +1,38 @@
+package com.example.charging_station_management.controller.admin;
+
+import com.example.charging_station_management.config.QueryStatsRecorder;
+import com.example.charging_station_management.dto.BaseApiResponse;
+import com.example.charging_station_management.dto.response.QueryStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/query-stats")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@ConditionalOnProperty(prefix = "app.diagnostics.query-stats", name = "enabled", havingValue = "true")
+public class QueryStatsController {
+
+    private final QueryStatsRecorder queryStatsRecorder;
+
+    // Số câu SQL Hibernate theo endpoint kể từ lần reset gần nhất
+    @GetMapping
+    public ResponseEntity<BaseApiResponse<List<QueryStatsResponse>>> getQueryStats() {
+        return ResponseEntity.ok(BaseApiResponse.success(queryStatsRecorder.snapshot(),
+                "Lấy thống kê truy vấn thành công"));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<BaseApiResponse<Void>> resetQueryStats() {
+        queryStatsRecorder.reset();
+        return ResponseEntity.ok(BaseApiResponse.success("Đã reset thống kê truy vấn"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.charging_station_management.controller.admin;
+
+import com.example.charging_station_management.dto.BaseApiResponse;
+import com.example.charging_station_management.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/revenue-rollups")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class RevenueRollupController {
+
+    private final RevenueRollupService revenueRollupService;
+
+    // Dựng lại rollup doanh thu; không truyền from/to thì dựng lại toàn bộ lịch sử
+    @PostMapping("/rebuild")
+    public ResponseEntity<BaseApiResponse<Integer>> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            int days = (from == null && to == null)
+                    ? revenueRollupService.rebuildAll()
+                    : revenueRollupService.rebuild(from != null ? from : to, to != null ? to : from);
+            return ResponseEntity.ok(BaseApiResponse.success(days, "Dựng lại rollup doanh thu thành công"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(BaseApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(BaseApiResponse.error(e.getMessage()));
+        }
+    }
+}
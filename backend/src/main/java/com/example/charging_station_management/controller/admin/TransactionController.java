@@ -1,22 +1,28 @@
 package com.example.charging_station_management.controller.admin;
 
 import com.example.charging_station_management.dto.request.TransactionFilterRequest;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.dto.response.TransactionDetailResponse;
 import com.example.charging_station_management.entity.enums.PaymentMethod;
 import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.service.ExcelExportService;
 import com.example.charging_station_management.service.TransactionService;
+import com.example.charging_station_management.utils.excel.ExcelResponses;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +35,7 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ExcelExportService excelExportService;
 
     @GetMapping("/transactions")
     public ResponseEntity<?> getAllTransactions(
@@ -87,6 +94,111 @@ public class TransactionController {
         }
     }
 
+    @GetMapping("/transactions/cursor")
+    public ResponseEntity<?> getTransactionsByCursor(
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer stationId,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime paymentTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime paymentTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAtFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAtTo,
+            @RequestParam(required = false) BigDecimal amountFrom,
+            @RequestParam(required = false) BigDecimal amountTo,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String stationName,
+            @RequestParam(required = false) String bankName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        try {
+
+            TransactionFilterRequest filterRequest = TransactionFilterRequest.builder()
+                    .customerId(customerId)
+                    .stationId(stationId)
+                    .paymentStatus(paymentStatus)
+                    .paymentMethod(paymentMethod)
+                    .paymentTimeFrom(paymentTimeFrom)
+                    .paymentTimeTo(paymentTimeTo)
+                    .createdAtFrom(createdAtFrom)
+                    .createdAtTo(createdAtTo)
+                    .amountFrom(amountFrom)
+                    .amountTo(amountTo)
+                    .customerName(customerName)
+                    .stationName(stationName)
+                    .bankName(bankName)
+                    .build();
+            CursorPage<TransactionDetailResponse> transactions = transactionService.getAllTransactions(filterRequest,
+                    cursor, size);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Successfully retrieved transactions");
+            response.put("data", transactions);
+            response.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalArgumentException e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.badRequest().body(errorResponse);
+
+        } catch (Exception e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Failed to retrieve transactions");
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.internalServerError().body(errorResponse);
+        }
+    }
+
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer stationId,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) PaymentMethod paymentMethod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime paymentTimeFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime paymentTimeTo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAtFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAtTo,
+            @RequestParam(required = false) BigDecimal amountFrom,
+            @RequestParam(required = false) BigDecimal amountTo,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String stationName,
+            @RequestParam(required = false) String bankName,
+            @SortDefault(sort = "paymentTime", direction = Sort.Direction.DESC) Sort sort) {
+
+        TransactionFilterRequest filterRequest = TransactionFilterRequest.builder()
+                .customerId(customerId)
+                .stationId(stationId)
+                .paymentStatus(paymentStatus)
+                .paymentMethod(paymentMethod)
+                .paymentTimeFrom(paymentTimeFrom)
+                .paymentTimeTo(paymentTimeTo)
+                .createdAtFrom(createdAtFrom)
+                .createdAtTo(createdAtTo)
+                .amountFrom(amountFrom)
+                .amountTo(amountTo)
+                .customerName(customerName)
+                .stationName(stationName)
+                .bankName(bankName)
+                .build();
+
+        excelExportService.validateTransactionSort(sort);
+        return ExcelResponses.xlsx("transactions-" + LocalDate.now() + ".xlsx",
+                out -> excelExportService.exportTransactions(filterRequest, sort, out));
+    }
+
     @GetMapping("/transactions/{transactionId}")
     public ResponseEntity<?> getTransactionById(@PathVariable Integer transactionId) {
         try {
@@ -123,6 +235,42 @@ public class TransactionController {
         }
     }
 
+    @PatchMapping("/transactions/{transactionId}/complete")
+    public ResponseEntity<?> completePayment(@PathVariable Integer transactionId) {
+        try {
+
+            TransactionDetailResponse transaction = transactionService.completePayment(transactionId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Transaction marked as paid");
+            response.put("data", transaction);
+            response.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.ok(response);
+
+        } catch (IllegalStateException e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("transactionId", transactionId);
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.status(409).body(errorResponse);
+
+        } catch (RuntimeException e) {
+
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            errorResponse.put("transactionId", transactionId);
+            errorResponse.put("timestamp", LocalDateTime.now());
+
+            return ResponseEntity.status(404).body(errorResponse);
+        }
+    }
+
     private Map<String, Object> createPageResponse(Page<TransactionDetailResponse> page) {
         Map<String, Object> pageResponse = new HashMap<>();
 
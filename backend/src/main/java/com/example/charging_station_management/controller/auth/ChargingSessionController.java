@@ -1,8 +1,10 @@
 package com.example.charging_station_management.controller.auth;
 
+import com.example.charging_station_management.dto.response.MeterSeriesPoint;
 import com.example.charging_station_management.entity.converters.ChargingSession;
 import com.example.charging_station_management.utils.CustomUserDetails;
 import com.example.charging_station_management.service.ChargingSessionService;
+import com.example.charging_station_management.service.MeterSeriesService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,7 @@ import java.util.Map;
 public class ChargingSessionController {
 
     private final ChargingSessionService sessionService;
+    private final MeterSeriesService meterSeriesService;
 
     @PostMapping("/start")
     public ResponseEntity<?> startSession(
@@ -74,4 +77,11 @@ public class ChargingSessionController {
         Page<ChargingSession> history = sessionService.getSessionHistory(userDetails.getId(), pageable);
         return ResponseEntity.ok(history);
     }
+
+    @GetMapping("/{sessionId}/power-curve")
+    public ResponseEntity<java.util.List<MeterSeriesPoint>> getPowerCurve(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Integer sessionId) {
+        return ResponseEntity.ok(meterSeriesService.getSessionPowerCurve(userDetails.getId(), sessionId));
+    }
 }
@@ -2,6 +2,7 @@ package com.example.charging_station_management.controller.customer;
 
 import com.example.charging_station_management.dto.request.UpdateProfileRequest;
 import com.example.charging_station_management.dto.response.ChargingHistoryResponse;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.dto.response.TransactionHistoryResponse;
 import com.example.charging_station_management.dto.response.UpdateProfileResponse;
 import com.example.charging_station_management.dto.response.UserInfoResponse;
@@ -199,6 +200,26 @@ public class CustomerController {
         }
     }
 
+    @GetMapping("/{userId}/history/cursor")
+    public ResponseEntity<?> getChargingHistoryByCursor(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        try {
+            if (userDetails != null && (userDetails.getId() != userId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied"));
+            }
+            CursorPage<ChargingHistoryResponse> history = cutomerService.getChargingHistory(userId, cursor, size);
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error getting history for user {}", userId, e);
+            return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{userId}/transactions")
     public ResponseEntity<?> getTransactionHistory(
             @PathVariable Integer userId,
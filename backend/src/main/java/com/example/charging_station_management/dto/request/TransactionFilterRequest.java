@@ -46,4 +46,6 @@ public class TransactionFilterRequest {
     private String stationName;
 
     private String bankName;
+
+    private Integer vendorId;
 }
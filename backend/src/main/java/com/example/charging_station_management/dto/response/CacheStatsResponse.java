@@ -0,0 +1,10 @@
+package com.example.charging_station_management.dto.response;
+
+public record CacheStatsResponse(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount
+) {}
@@ -0,0 +1,9 @@
+package com.example.charging_station_management.dto.response;
+
+/**
+ * ETag (strong, đã có dấu nháy) và Last-Modified (epoch millis, -1 nếu không áp dụng) của một resource.
+ */
+public record CatalogVersion(
+        String etag,
+        long lastModified
+) {}
@@ -0,0 +1,9 @@
+package com.example.charging_station_management.dto.response;
+
+/**
+ * Khóa OCPP vừa tạo cho trụ; chỉ trả về một lần, cấu hình vào trụ làm mật khẩu Basic auth (username = poleId).
+ */
+public record ChargePointKeyResponse(
+        Integer poleId,
+        String authorizationKey
+) {}
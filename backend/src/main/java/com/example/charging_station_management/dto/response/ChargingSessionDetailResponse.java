@@ -9,7 +9,7 @@ import lombok.Builder;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Builder
+@Builder(toBuilder = true)
 public record ChargingSessionDetailResponse(
         Integer sessionId,
         LocalDateTime startTime,
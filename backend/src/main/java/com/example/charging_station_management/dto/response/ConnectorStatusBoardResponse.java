@@ -0,0 +1,10 @@
+package com.example.charging_station_management.dto.response;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+
+import java.util.Map;
+
+public record ConnectorStatusBoardResponse(
+        Map<ConnectorStatus, Long> counts,
+        Map<Integer, ConnectorStatus> connectors
+) {}
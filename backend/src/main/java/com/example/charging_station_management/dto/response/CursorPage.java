@@ -0,0 +1,51 @@
+package com.example.charging_station_management.dto.response;
+
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Một trang theo cursor (keyset): không có tổng số bản ghi, chỉ biết còn trang sau hay không.
+ * Trang sau được lấy bằng cách gửi lại {@code nextCursor}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static int limit(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Dựng trang từ kết quả truy vấn {@code size + 1} dòng: dòng thừa chỉ dùng để biết còn trang sau.
+     */
+    public static <E, R> CursorPage<R> of(List<E> rows, int size, Function<E, KeysetCursor> keyOf,
+                                          Function<E, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<R>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? keyOf.apply(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.charging_station_management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private Integer row; // Số dòng trong file (dòng header là 1)
+    private String message;
+}
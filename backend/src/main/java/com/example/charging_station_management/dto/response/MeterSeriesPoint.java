@@ -0,0 +1,19 @@
+package com.example.charging_station_management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeterSeriesPoint {
+    private LocalDateTime time; // Đầu bucket
+    private BigDecimal powerKw; // Công suất trung bình trong bucket, null nếu trụ không gửi công suất
+    private BigDecimal energyKwh; // Điện năng đã sạc trong bucket
+}
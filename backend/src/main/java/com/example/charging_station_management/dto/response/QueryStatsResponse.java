@@ -0,0 +1,9 @@
+package com.example.charging_station_management.dto.response;
+
+public record QueryStatsResponse(
+        String endpoint,
+        long requests,
+        long queries,
+        double queriesPerRequest,
+        long maxQueries
+) {}
@@ -0,0 +1,26 @@
+package com.example.charging_station_management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationImportReport {
+    private boolean dryRun;
+    private long totalRows;
+    private long errorRows;
+    private int stationsImported;
+    private int polesImported;
+    private int connectorsImported;
+    private int stationsSkipped;
+    private int stationsAlreadyImported; // station_code đã có trạm của vendor (upload lại), không ghi lại
+    private long elapsedMs;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated; // Chỉ trả về tối đa app.import.max-reported-errors lỗi
+}
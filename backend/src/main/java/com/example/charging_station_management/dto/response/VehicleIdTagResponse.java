@@ -0,0 +1,9 @@
+package com.example.charging_station_management.dto.response;
+
+/**
+ * idTag OCPP vừa tạo cho xe; chỉ trả về một lần, khách hàng nạp vào thẻ RFID/app để bắt đầu sạc tại trụ.
+ */
+public record VehicleIdTagResponse(
+        Integer vehicleId,
+        String idTag
+) {}
@@ -7,18 +7,27 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "charging_connectors")
+@Table(name = "charging_connectors",
+        indexes = @Index(name = "idx_charging_connectors_pole_status", columnList = "pole_id, status"))
+// Status do ConnectorStateMachine ghi bù bằng bulk update; chỉ UPDATE cột đã đổi để sửa loại/công suất
+// không ghi đè status cũ lên DB
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChargingConnector {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charging_connectors_seq")
+    @SequenceGenerator(name = "charging_connectors_seq", sequenceName = "charging_connectors_seq", allocationSize = 50)
     private Integer id;
 
     @JsonIgnore
@@ -37,6 +46,10 @@ public class ChargingConnector {
     @Column(nullable = false, length = 100)
     private ConnectorStatus status = ConnectorStatus.AVAILABLE;
 
+    // Đổi trạng thái đầu sạc làm thay đổi payload của trạm/trụ nên cũng tham gia ETag
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     @JsonIgnore
     @OneToMany(mappedBy = "chargingConnector", cascade = CascadeType.ALL)
     private List<ChargingSession> chargingSessions;
@@ -7,21 +7,28 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "charging_poles")
+@Table(name = "charging_poles",
+        indexes = {
+                @Index(name = "idx_charging_poles_station", columnList = "station_id"),
+                @Index(name = "ux_charging_poles_station_code", columnList = "station_id, code", unique = true)
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChargingPole {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charging_poles_seq")
+    @SequenceGenerator(name = "charging_poles_seq", sequenceName = "charging_poles_seq", allocationSize = 50)
     private Integer id;
 
     // --- Quan hệ ManyToOne với Station ---
@@ -32,6 +39,10 @@ public class ChargingPole {
     @EqualsAndHashCode.Exclude // Ngăn chặn lỗi StackOverflow do Lombok
     private Station station;
 
+    // pole_code của file import, duy nhất trong trạm; null với trụ tạo từ giao diện
+    @Column(length = 64)
+    private String code;
+
     @Column(nullable = false)
     private String manufacturer;
 
@@ -48,6 +59,12 @@ public class ChargingPole {
 
     private LocalDate installDate;
 
+    // SHA-256 (hex) của khóa OCPP; trụ đăng nhập gateway bằng Basic auth poleId:khóa
+    @JsonIgnore
+    @ToString.Exclude
+    @Column(name = "ocpp_auth_key_hash", length = 64)
+    private String ocppAuthKeyHash;
+
     // --- Quan hệ OneToMany với Connector ---
     @OneToMany(mappedBy = "pole", cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
     private List<ChargingConnector> chargingConnectors = new ArrayList<>();
@@ -55,4 +72,12 @@ public class ChargingPole {
     // --- Quan hệ OneToMany với Price ---
     @OneToMany(mappedBy = "pole", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Price> prices = new ArrayList<>();
+
+    // Optimistic lock + nguồn cho ETag của catalog
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -9,14 +9,21 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "charging_sessions")
+@Table(name = "charging_sessions",
+        indexes = {
+                @Index(name = "idx_charging_sessions_vehicle_status_start",
+                        columnList = "electric_vehicle_id, status, start_time"),
+                @Index(name = "idx_charging_sessions_start_id", columnList = "start_time, id"),
+                @Index(name = "idx_charging_sessions_connector_start", columnList = "charging_connector_id, start_time")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ChargingSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "charging_sessions_seq")
+    @SequenceGenerator(name = "charging_sessions_seq", sequenceName = "charging_sessions_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -27,6 +34,9 @@ public class ChargingSession {
     @JoinColumn(name = "charging_connector_id", nullable = false)
     private ChargingConnector chargingConnector;
 
+    // Khóa phân vùng theo tháng trên PostgreSQL (V9, thuộc khóa chính): lọc theo startTime để chỉ quét các
+    // partition liên quan
+    @Column(nullable = false, updatable = false)
     private LocalDateTime startTime;
 
     private LocalDateTime endTime;
@@ -0,0 +1,46 @@
+package com.example.charging_station_management.entity.converters;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "domain_event_outbox",
+        indexes = @Index(name = "idx_domain_event_outbox_published_created", columnList = "published_at, created_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Tên class đầy đủ của event, dùng để deserialize khi relay
+    @Column(nullable = false, length = 200)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -11,7 +11,8 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
-@Table(name = "electric_vehicles")
+@Table(name = "electric_vehicles",
+        indexes = @Index(name = "ux_electric_vehicles_id_tag_hash", columnList = "id_tag_hash", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,6 +47,11 @@ public class ElectricVehicle {
     @Column(nullable = false, length = 100)
     private ConnectorType connectorType;
 
+    // SHA-256 của idTag OCPP do khách hàng tạo; idTag gốc chỉ hiển thị một lần
+    @JsonIgnore
+    @Column(name = "id_tag_hash", length = 64)
+    private String idTagHash;
+
     @OneToMany(mappedBy = "electricVehicle", cascade = CascadeType.ALL)
     @JsonIgnore
     private List<ChargingSession> chargingSessions;
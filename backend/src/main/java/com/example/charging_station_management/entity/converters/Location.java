@@ -16,7 +16,8 @@ import java.util.List;
 public class Location {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+  @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = 50)
   private Integer id;
 
   @Column(nullable = false, precision = 10, scale = 8)
@@ -0,0 +1,50 @@
+package com.example.charging_station_management.entity.converters;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Mẫu công tơ gửi từ trụ sạc qua OCPP MeterValues. Bảng ghi nhiều nên chỉ lưu id (không FK)
+ * và được ghi theo batch bằng JDBC (MeterValueWriter). Trên PostgreSQL bảng phân vùng theo ngày
+ * và chỉ giữ vài ngày; biểu đồ đọc từ các tầng downsample (MeterSeriesRepository).
+ */
+@Entity
+@Table(name = "meter_values",
+        indexes = {
+                @Index(name = "idx_meter_values_session_time", columnList = "session_id, sampled_at"),
+                // BRIN trên PostgreSQL (V8)
+                @Index(name = "idx_meter_values_sampled_at", columnList = "sampled_at")
+        })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeterValue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Null với mẫu không thuộc phiên sạc nào (clock-aligned)
+    @Column(name = "session_id")
+    private Integer sessionId;
+
+    @Column(name = "connector_id", nullable = false)
+    private Integer connectorId;
+
+    @Column(nullable = false)
+    private LocalDateTime sampledAt;
+
+    // Chỉ số công tơ tích lũy (Energy.Active.Import.Register)
+    @Column(nullable = false, precision = 14, scale = 1)
+    private BigDecimal energyWh;
+
+    @Column(name = "power_w", precision = 10, scale = 1)
+    private BigDecimal powerW;
+}
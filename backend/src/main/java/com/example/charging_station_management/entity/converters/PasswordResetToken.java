@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_password_reset_tokens_user", columnNames = "user_id"),
+        indexes = @Index(name = "idx_password_reset_tokens_expiry", columnList = "expiry_date"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,8 +22,9 @@ public class PasswordResetToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // Chỉ lưu SHA-256 (hex) của token, token gốc chỉ nằm trong email
+    @Column(name = "token", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -36,12 +39,6 @@ public class PasswordResetToken {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        expiryDate = LocalDateTime.now().plusHours(1);
-    }
-
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expiryDate);
     }
@@ -4,8 +4,11 @@ import com.example.charging_station_management.entity.enums.PriceName;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Builder
@@ -17,7 +20,8 @@ import java.time.LocalTime;
 public class Price {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prices_seq")
+    @SequenceGenerator(name = "prices_seq", sequenceName = "prices_seq", allocationSize = 50)
     private Integer id;
 
     // 👇 GIỮ CẤU HÌNH CỦA NAM2: Tên biến là 'pole' để khớp với mappedBy="pole" bên ChargingPole
@@ -44,4 +48,24 @@ public class Price {
 
     @Column(nullable = false)
     private LocalTime endTime;
+
+    // Optimistic lock + nguồn cho ETag của catalog
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    /**
+     * Giá đang có hiệu lực tại thời điểm {@code now} (trong khoảng ngày hiệu lực và khung giờ).
+     */
+    public static boolean isActiveAt(LocalDate effectiveFrom, LocalDate effectiveTo,
+                                     LocalTime startTime, LocalTime endTime, LocalDateTime now) {
+        LocalDate date = now.toLocalDate();
+        LocalTime time = now.toLocalTime();
+        boolean dateValid = (effectiveTo == null || !date.isAfter(effectiveTo)) && !date.isBefore(effectiveFrom);
+        boolean timeValid = !time.isBefore(startTime) && !time.isAfter(endTime);
+        return dateValid && timeValid;
+    }
 }
\ No newline at end of file
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "ratings", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"customer_id", "target_type", "target_id"})
-})
+}, indexes = @Index(name = "idx_ratings_target", columnList = "target_type, target_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
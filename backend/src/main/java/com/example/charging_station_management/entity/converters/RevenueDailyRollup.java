@@ -0,0 +1,45 @@
+package com.example.charging_station_management.entity.converters;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Doanh thu đã cộng dồn theo (vendor, trạm, ngày). Được cập nhật ngay trong transaction thanh toán,
+ * nên thống kê chỉ cần đọc O(số ngày) dòng thay vì quét bảng transactions.
+ */
+@Entity
+@Table(name = "revenue_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revenue_daily_rollup_bucket",
+                columnNames = {"vendor_id", "bucket_date", "station_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Integer vendorId;
+
+    @Column(name = "station_id", nullable = false)
+    private Integer stationId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long sessions;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal energyKwh;
+}
@@ -0,0 +1,45 @@
+package com.example.charging_station_management.entity.converters;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Doanh thu đã cộng dồn theo (vendor, trạm, giờ), dùng cho biểu đồ trong ngày.
+ */
+@Entity
+@Table(name = "revenue_hourly_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_revenue_hourly_rollup_bucket",
+                columnNames = {"vendor_id", "bucket_hour", "station_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Integer vendorId;
+
+    @Column(name = "station_id", nullable = false)
+    private Integer stationId;
+
+    // Đầu giờ (phút/giây = 0)
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private long sessions;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal energyKwh;
+}
@@ -0,0 +1,38 @@
+package com.example.charging_station_management.entity.converters;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Số phiên sạc và doanh thu theo tháng (theo startTime của phiên), dùng cho biểu đồ dashboard admin.
+ * Được cập nhật trong cùng transaction với phiên sạc.
+ */
+@Entity
+@Table(name = "session_monthly_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Ngày đầu tháng
+    @Column(name = "bucket_month", nullable = false, unique = true)
+    private LocalDate bucketMonth;
+
+    @Column(nullable = false)
+    private long sessions;
+
+    @Column(nullable = false)
+    private long completedSessions;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal revenue;
+}
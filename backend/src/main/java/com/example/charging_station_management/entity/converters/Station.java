@@ -5,18 +5,26 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
 @Entity
-@Table(name = "stations")
+@Table(name = "stations",
+        indexes = {
+                @Index(name = "idx_stations_vendor_status", columnList = "vendor_id, status"),
+                @Index(name = "ux_stations_vendor_code", columnList = "vendor_id, code", unique = true)
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Station {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stations_seq")
+    @SequenceGenerator(name = "stations_seq", sequenceName = "stations_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -27,6 +35,10 @@ public class Station {
     @JoinColumn(name = "location_id", nullable = false)
     private Location location;
 
+    // station_code của file import, duy nhất theo vendor; null với trạm tạo từ giao diện
+    @Column(length = 64)
+    private String code;
+
     @Column(nullable = false)
     private String name;
 
@@ -44,4 +56,12 @@ public class Station {
 
     @OneToMany(mappedBy = "station", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     private List<ChargingPole> chargingPoles;
+
+    // Optimistic lock + nguồn cho ETag của catalog
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -7,19 +7,32 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+        indexes = {
+                @Index(name = "idx_transactions_customer_payment_time", columnList = "customer_id, payment_time"),
+                @Index(name = "idx_transactions_created_id", columnList = "created_at, id"),
+                @Index(name = "idx_transactions_session", columnList = "charging_session_id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Giao dịch phải được thanh toán trong khoảng này kể từ lúc tạo và lúc bắt đầu phiên. Truy vấn doanh thu
+    // theo payment_time lấy [đầu khoảng - PAYMENT_WINDOW] làm cận dưới của created_at và start_time để chỉ quét
+    // các partition liên quan (V9)
+    public static final Duration PAYMENT_WINDOW = Duration.ofDays(30);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Integer id;
 
+    // Một phiên một giao dịch: trên PostgreSQL bảng phân vùng không có UNIQUE này (V9), ứng dụng tự đảm bảo
     @OneToOne
     @JoinColumn(name = "charging_session_id", nullable = false, unique = true)
     @com.fasterxml.jackson.annotation.JsonIgnore
@@ -48,6 +61,7 @@ public class Transaction {
 
     private LocalDateTime paymentTime;
 
+    // Khóa phân vùng theo tháng trên PostgreSQL (V9, thuộc khóa chính)
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -0,0 +1,37 @@
+package com.example.charging_station_management.entity.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Các sự kiện làm đổi trạng thái đầu sạc: trạng thái đích và các trạng thái được phép chuyển từ đó.
+ * INUSE chỉ vào/ra qua phiên sạc; vendor chỉ bật/tắt đầu sạc không có phiên.
+ */
+public enum ConnectorTrigger {
+    SESSION_STARTED("bắt đầu phiên sạc", ConnectorStatus.INUSE, ConnectorStatus.AVAILABLE),
+    SESSION_STOPPED("kết thúc phiên sạc", ConnectorStatus.AVAILABLE, ConnectorStatus.INUSE),
+    ENABLED("bật lại", ConnectorStatus.AVAILABLE, ConnectorStatus.AVAILABLE, ConnectorStatus.OUTOFSERVICE),
+    DISABLED("ngừng hoạt động", ConnectorStatus.OUTOFSERVICE, ConnectorStatus.AVAILABLE, ConnectorStatus.OUTOFSERVICE);
+
+    private final String description;
+    private final ConnectorStatus target;
+    private final Set<ConnectorStatus> sources;
+
+    ConnectorTrigger(String description, ConnectorStatus target, ConnectorStatus first, ConnectorStatus... rest) {
+        this.description = description;
+        this.target = target;
+        this.sources = EnumSet.of(first, rest);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public ConnectorStatus getTarget() {
+        return target;
+    }
+
+    public boolean allows(ConnectorStatus from) {
+        return sources.contains(from);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.charging_station_management.entity.enums;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
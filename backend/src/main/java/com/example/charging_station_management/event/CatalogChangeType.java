@@ -0,0 +1,9 @@
+package com.example.charging_station_management.event;
+
+public enum CatalogChangeType {
+    STATION,
+    POLE,
+    CONNECTOR,
+    PRICE,
+    RATING
+}
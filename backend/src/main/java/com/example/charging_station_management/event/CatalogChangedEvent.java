@@ -0,0 +1,10 @@
+package com.example.charging_station_management.event;
+
+/**
+ * Dữ liệu catalog (trạm, trụ, đầu sạc, giá, đánh giá) của một trạm đã thay đổi.
+ * Đổi trạng thái đầu sạc dùng {@link ConnectorStatusChangedEvent} riêng.
+ */
+public record CatalogChangedEvent(
+        Integer stationId,
+        CatalogChangeType type
+) implements DomainEvent {}
@@ -0,0 +1,11 @@
+package com.example.charging_station_management.event;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+
+public record ConnectorStatusChangedEvent(
+        Integer connectorId,
+        Integer poleId,
+        Integer stationId,
+        ConnectorStatus oldStatus,
+        ConnectorStatus newStatus
+) implements DomainEvent {}
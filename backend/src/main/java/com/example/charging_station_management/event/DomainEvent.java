@@ -0,0 +1,8 @@
+package com.example.charging_station_management.event;
+
+/**
+ * Marker cho các sự kiện nghiệp vụ đi qua outbox. Implementation phải serialize được bằng Jackson
+ * vì payload được lưu dạng JSON trong bảng domain_event_outbox.
+ */
+public interface DomainEvent {
+}
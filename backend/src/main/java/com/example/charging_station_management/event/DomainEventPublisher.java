@@ -0,0 +1,96 @@
+package com.example.charging_station_management.event;
+
+import com.example.charging_station_management.entity.converters.DomainEventRecord;
+import com.example.charging_station_management.repository.DomainEventRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event bus nội bộ dựa trên transactional outbox.
+ * <p>
+ * {@link #publish(DomainEvent)} ghi event vào bảng domain_event_outbox trong transaction hiện tại,
+ * sau khi commit mới phát tới các {@code @EventListener} trên {@code domainEventExecutor}.
+ * Nếu app dừng trước khi phát, {@link DomainEventRelay} sẽ phát lại, nên consumer phải idempotent
+ * (at-least-once).
+ */
+@Slf4j
+@Component
+public class DomainEventPublisher {
+
+    private final DomainEventRecordRepository domainEventRecordRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor domainEventExecutor;
+
+    public DomainEventPublisher(DomainEventRecordRepository domainEventRecordRepository,
+                                ApplicationEventPublisher applicationEventPublisher,
+                                ObjectMapper objectMapper,
+                                @Qualifier("domainEventExecutor") TaskExecutor domainEventExecutor) {
+        this.domainEventRecordRepository = domainEventRecordRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.objectMapper = objectMapper;
+        this.domainEventExecutor = domainEventExecutor;
+    }
+
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Domain events must be published inside a transaction");
+        }
+
+        DomainEventRecord record = domainEventRecordRepository.save(DomainEventRecord.builder()
+                .eventType(event.getClass().getName())
+                .payload(serialize(event))
+                .build());
+
+        Long recordId = record.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    domainEventExecutor.execute(() -> dispatch(recordId, event));
+                } catch (TaskRejectedException e) {
+                    log.warn("Domain event {} rejected by executor, relay will retry", recordId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Phát event tới các listener trên thread hiện tại rồi đánh dấu đã publish.
+     * Được gọi cả từ luồng after-commit và từ relay.
+     */
+    void dispatch(Long recordId, DomainEvent event) {
+        try {
+            applicationEventPublisher.publishEvent(event);
+            domainEventRecordRepository.markPublished(recordId, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("Failed to dispatch domain event {} ({})", recordId, event.getClass().getSimpleName(), e);
+        }
+    }
+
+    DomainEvent deserialize(DomainEventRecord record) throws ClassNotFoundException, JsonProcessingException {
+        Class<?> type = Class.forName(record.getEventType());
+        if (!DomainEvent.class.isAssignableFrom(type)) {
+            throw new IllegalArgumentException("Not a domain event type: " + record.getEventType());
+        }
+        return (DomainEvent) objectMapper.readValue(record.getPayload(), type);
+    }
+
+    private String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize domain event " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
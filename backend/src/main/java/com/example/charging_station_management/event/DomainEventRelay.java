@@ -0,0 +1,73 @@
+package com.example.charging_station_management.event;
+
+import com.example.charging_station_management.entity.converters.DomainEventRecord;
+import com.example.charging_station_management.repository.DomainEventRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Phát lại các event trong outbox chưa được publish (app restart, executor đầy, listener lỗi)
+ * và dọn các event đã publish quá hạn lưu trữ.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventRelay {
+
+    private final DomainEventRecordRepository domainEventRecordRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.events.relay.batch-size:100}")
+    private int batchSize;
+
+    // Chỉ lấy event cũ hơn ngưỡng này để không tranh với luồng after-commit bình thường
+    @Value("${app.events.relay.grace-seconds:30}")
+    private long graceSeconds;
+
+    @Value("${app.events.relay.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.events.retention-days:3}")
+    private long retentionDays;
+
+    @Scheduled(fixedDelayString = "${app.events.relay.interval-ms:15000}")
+    public void relayUnpublished() {
+        List<DomainEventRecord> batch = transactionTemplate.execute(status -> {
+            List<DomainEventRecord> records = domainEventRecordRepository.lockUnpublishedBatch(
+                    LocalDateTime.now().minusSeconds(graceSeconds), batchSize);
+            records.forEach(record -> record.setAttempts(record.getAttempts() + 1));
+            return domainEventRecordRepository.saveAll(records);
+        });
+
+        for (DomainEventRecord record : batch) {
+            if (record.getAttempts() > maxAttempts) {
+                // Bỏ qua event lỗi vĩnh viễn để không chặn relay; vẫn giữ lại trong bảng để điều tra
+                log.error("Domain event {} exceeded {} relay attempts, marking as published", record.getId(), maxAttempts);
+                domainEventRecordRepository.markPublished(record.getId(), LocalDateTime.now());
+                continue;
+            }
+            try {
+                domainEventPublisher.dispatch(record.getId(), domainEventPublisher.deserialize(record));
+            } catch (Exception e) {
+                log.error("Cannot relay domain event {} ({})", record.getId(), record.getEventType(), e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.events.purge-cron:0 0 4 * * *}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int deleted;
+        do {
+            deleted = domainEventRecordRepository.deletePublishedBatch(before, 1000);
+        } while (deleted == 1000);
+    }
+}
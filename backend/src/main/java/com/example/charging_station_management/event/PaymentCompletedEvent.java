@@ -0,0 +1,15 @@
+package com.example.charging_station_management.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PaymentCompletedEvent(
+        Integer transactionId,
+        Integer sessionId,
+        Integer customerId,
+        Integer stationId,
+        Integer vendorId,
+        BigDecimal amount,
+        BigDecimal energyKwh,
+        LocalDateTime paymentTime
+) implements DomainEvent {}
@@ -0,0 +1,12 @@
+package com.example.charging_station_management.event;
+
+import java.time.LocalDateTime;
+
+public record SessionStartedEvent(
+        Integer sessionId,
+        Integer connectorId,
+        Integer stationId,
+        Integer vendorId,
+        Integer customerId,
+        LocalDateTime startTime
+) implements DomainEvent {}
@@ -0,0 +1,19 @@
+package com.example.charging_station_management.event;
+
+import com.example.charging_station_management.entity.enums.SessionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record SessionStoppedEvent(
+        Integer sessionId,
+        Integer connectorId,
+        Integer stationId,
+        Integer vendorId,
+        Integer customerId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BigDecimal energyKwh,
+        BigDecimal cost,
+        SessionStatus status
+) implements DomainEvent {}
@@ -0,0 +1,6 @@
+package com.example.charging_station_management.event;
+
+public record StationCreatedEvent(
+        Integer stationId,
+        Integer vendorId
+) implements DomainEvent {}
@@ -0,0 +1,8 @@
+package com.example.charging_station_management.event;
+
+import com.example.charging_station_management.entity.enums.Role;
+
+public record UserRegisteredEvent(
+        Integer userId,
+        Role role
+) implements DomainEvent {}
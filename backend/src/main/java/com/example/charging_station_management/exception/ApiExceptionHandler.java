@@ -6,10 +6,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -92,6 +95,21 @@ public class ApiExceptionHandler {
         return buildErrorResponse(HttpStatus.FORBIDDEN, errorTitle, errorMessage, request, null);
     }
 
+    // Không lấy được connection: DB quá tải (giới hạn đồng thời, pool hết) hoặc không kết nối được
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<BaseApiResponse<ErrorResponse>> handleDatabaseUnavailableException(
+            RuntimeException ex, HttpServletRequest request) {
+
+        String errorTitle = getMessage("error.title.service.unavailable");
+        String errorMessage = getMessage("error.service.unavailable");
+
+        ResponseEntity<BaseApiResponse<ErrorResponse>> response =
+                buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, errorTitle, errorMessage, request, null);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<BaseApiResponse<ErrorResponse>> handleGeneralException(
             Exception ex, HttpServletRequest request) {
@@ -0,0 +1,98 @@
+package com.example.charging_station_management.ocpp;
+
+import com.example.charging_station_management.repository.ChargingPoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Xác thực trụ sạc theo OCPP 1.6 security profile 1: header {@code Authorization: Basic base64(poleId:khóa)}
+ * khi mở WebSocket. Khóa ngẫu nhiên riêng từng trụ, DB chỉ giữ SHA-256 nên so sánh bằng hash (khóa đủ entropy,
+ * không cần BCrypt).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChargePointAuthenticator {
+
+    // 20 byte = 40 ký tự hex, giới hạn trên của AuthorizationKey trong OCPP 1.6 security
+    private static final int KEY_BYTES = 20;
+    // 10 byte = 20 ký tự hex, vừa idToken CiString20 của OCPP 1.6
+    private static final int ID_TAG_BYTES = 10;
+    private static final String BASIC_PREFIX = "Basic ";
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final ChargingPoleRepository chargingPoleRepository;
+
+    /**
+     * Sinh khóa mới; trả khóa gốc để hiển thị một lần, lưu {@link #hash(String)} của nó vào trụ.
+     */
+    public String newKey() {
+        return randomHex(KEY_BYTES);
+    }
+
+    /**
+     * Sinh idTag mới cho xe của khách hàng; cũng chỉ lưu {@link #hash(String)}.
+     */
+    public String newIdTag() {
+        return randomHex(ID_TAG_BYTES);
+    }
+
+    public boolean authenticate(Integer poleId, String authorization) {
+        Optional<String> password = password(poleId, authorization);
+        if (password.isEmpty()) {
+            return false;
+        }
+        Optional<String> expected = chargingPoleRepository.findOcppAuthKeyHashById(poleId);
+        boolean matches = expected.isPresent() && MessageDigest.isEqual(
+                expected.get().getBytes(StandardCharsets.US_ASCII),
+                hash(password.get()).getBytes(StandardCharsets.US_ASCII));
+        if (!matches) {
+            log.warn("Rejected OCPP credentials for pole {}", poleId);
+        }
+        return matches;
+    }
+
+    public static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private String randomHex(int length) {
+        byte[] bytes = new byte[length];
+        secureRandom.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    // Username phải là charge point id (id trụ trên URL)
+    private static Optional<String> password(Integer poleId, String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BASIC_PREFIX, 0, BASIC_PREFIX.length())) {
+            return Optional.empty();
+        }
+        String credentials;
+        try {
+            credentials = new String(Base64.getDecoder().decode(authorization.substring(BASIC_PREFIX.length()).trim()),
+                    StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        int colon = credentials.indexOf(':');
+        if (colon < 0 || !credentials.substring(0, colon).equals(String.valueOf(poleId))) {
+            return Optional.empty();
+        }
+        return Optional.of(credentials.substring(colon + 1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.charging_station_management.ocpp;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Trạng thái của một kết nối WebSocket: charge point id trên URL là id của ChargingPole.
+ */
+@Getter
+public class ChargePointContext {
+
+    private final Integer poleId;
+    private volatile boolean accepted;
+    // Id ChargingConnector theo thứ tự connectorId 1, 2, ... của OCPP
+    private volatile List<Integer> connectorIds = List.of();
+
+    public ChargePointContext(Integer poleId) {
+        this.poleId = poleId;
+    }
+
+    void accept(List<Integer> connectorIds) {
+        this.connectorIds = List.copyOf(connectorIds);
+        this.accepted = true;
+    }
+
+    Integer connectorId(int ocppConnectorId) {
+        List<Integer> ids = connectorIds;
+        if (ocppConnectorId < 1 || ocppConnectorId > ids.size()) {
+            throw new OcppException("PropertyConstraintViolation",
+                    "connectorId " + ocppConnectorId + " không tồn tại trên trụ " + poleId);
+        }
+        return ids.get(ocppConnectorId - 1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.charging_station_management.ocpp;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Kiểm tra charge point id trên URL và Basic auth của trụ trước khi nâng cấp lên WebSocket; sai thì trả 401
+ * (id không hợp lệ thì 404) và không mở kết nối.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChargePointHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String POLE_ID_ATTRIBUTE = "ocpp.poleId";
+
+    private final ChargePointAuthenticator chargePointAuthenticator;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Integer poleId = poleId(request.getURI());
+        if (poleId == null) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+        if (!chargePointAuthenticator.authenticate(poleId, request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"OCPP\"");
+            return false;
+        }
+        attributes.put(POLE_ID_ATTRIBUTE, poleId);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    private static Integer poleId(URI uri) {
+        String path = uri.getPath();
+        try {
+            return Integer.valueOf(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.charging_station_management.ocpp;
+
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import com.example.charging_station_management.entity.converters.ElectricVehicle;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
+import com.example.charging_station_management.ocpp.OcppMessages.*;
+import com.example.charging_station_management.repository.ChargingConnectorRepository;
+import com.example.charging_station_management.repository.ChargingPoleRepository;
+import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.ElectricVehicleRepository;
+import com.example.charging_station_management.service.ChargingSessionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ánh xạ các action OCPP 1.6J lên ChargingPole/ChargingConnector/ChargingSession:
+ * <ul>
+ *   <li>BootNotification: charge point id là id trụ; trụ không tồn tại thì Rejected.</li>
+ *   <li>StatusNotification: Available/Unavailable/Faulted bật/tắt đầu sạc qua ConnectorStateMachine;
+ *       INUSE chỉ do Start/StopTransaction đặt.</li>
+ *   <li>Authorize/StartTransaction: idTag là mã khách hàng tạo cho xe (POST /api/vehicles/{id}/id-tag), tra theo
+ *       SHA-256; không dùng biển số vì ai nhìn xe cũng đọc được.</li>
+ *   <li>Start/StopTransaction: transactionId là id phiên sạc; điện năng chốt theo công tơ.
+ *       Phiên phải thuộc một đầu sạc của trụ đang kết nối.</li>
+ *   <li>MeterValues: chỉ đưa vào hàng đợi của {@link MeterValueWriter}, không chạm DB trên luồng WebSocket;
+ *       mẫu của phiên thuộc đầu sạc khác bị từ chối (hoặc bị bỏ khi ghi nếu chưa biết phiên).</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChargePointService {
+
+    private static final String ENERGY_REGISTER = "Energy.Active.Import.Register";
+    private static final String POWER = "Power.Active.Import";
+    private static final BigDecimal WH_PER_KWH = BigDecimal.valueOf(1000);
+
+    private final ChargingPoleRepository poleRepository;
+    private final ChargingConnectorRepository connectorRepository;
+    private final ChargingSessionRepository chargingSessionRepository;
+    private final ElectricVehicleRepository vehicleRepository;
+    private final ChargingSessionService chargingSessionService;
+    private final ConnectorStateMachine connectorStateMachine;
+    private final MeterValueWriter meterValueWriter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.ocpp.heartbeat-interval-seconds:300}")
+    private int heartbeatInterval;
+
+    public Object handle(ChargePointContext chargePoint, String action, JsonNode payload) {
+        if (!"BootNotification".equals(action) && !chargePoint.isAccepted()) {
+            throw new OcppException("SecurityError", "Trụ " + chargePoint.getPoleId() + " chưa được BootNotification chấp nhận");
+        }
+        return switch (action) {
+            case "BootNotification" -> bootNotification(chargePoint, read(payload, BootNotificationRequest.class));
+            case "Heartbeat" -> new HeartbeatResponse(OffsetDateTime.now().toString());
+            case "Authorize" -> new AuthorizeResponse(authorize(read(payload, AuthorizeRequest.class).idTag()));
+            case "StatusNotification" -> statusNotification(chargePoint, read(payload, StatusNotificationRequest.class));
+            case "StartTransaction" -> startTransaction(chargePoint, read(payload, StartTransactionRequest.class));
+            case "StopTransaction" -> stopTransaction(chargePoint, read(payload, StopTransactionRequest.class));
+            case "MeterValues" -> meterValues(chargePoint, read(payload, MeterValuesRequest.class));
+            default -> throw new OcppException("NotImplemented", "Action " + action + " chưa được hỗ trợ");
+        };
+    }
+
+    private BootNotificationResponse bootNotification(ChargePointContext chargePoint, BootNotificationRequest request) {
+        String now = OffsetDateTime.now().toString();
+        if (!poleRepository.existsById(chargePoint.getPoleId())) {
+            log.warn("Rejected BootNotification from unknown pole {} ({} {})",
+                    chargePoint.getPoleId(), request.chargePointVendor(), request.chargePointModel());
+            return new BootNotificationResponse("Rejected", now, heartbeatInterval);
+        }
+        chargePoint.accept(connectorRepository.findIdsByPoleId(chargePoint.getPoleId()));
+        log.info("Pole {} booted ({} {}, firmware {}), {} connector(s)", chargePoint.getPoleId(),
+                request.chargePointVendor(), request.chargePointModel(), request.firmwareVersion(),
+                chargePoint.getConnectorIds().size());
+        return new BootNotificationResponse("Accepted", now, heartbeatInterval);
+    }
+
+    private IdTagInfo authorize(String idTag) {
+        return new IdTagInfo(findVehicle(idTag).isPresent() ? "Accepted" : "Invalid");
+    }
+
+    private Map<String, Object> statusNotification(ChargePointContext chargePoint, StatusNotificationRequest request) {
+        // connectorId 0 là cả trụ
+        if (request.connectorId() == 0) {
+            return Map.of();
+        }
+        Integer connectorId = chargePoint.connectorId(request.connectorId());
+        ConnectorTrigger trigger = switch (request.status()) {
+            case "Available" -> ConnectorTrigger.ENABLED;
+            case "Unavailable", "Faulted" -> ConnectorTrigger.DISABLED;
+            default -> null;
+        };
+        if (trigger != null && connectorStateMachine.current(connectorId) != ConnectorStatus.INUSE) {
+            connectorStateMachine.fire(connectorId, trigger);
+        } else if (trigger != null) {
+            log.info("Ignored {} for connector {} with an active session", request.status(), connectorId);
+        }
+        return Map.of();
+    }
+
+    private StartTransactionResponse startTransaction(ChargePointContext chargePoint, StartTransactionRequest request) {
+        Integer connectorId = chargePoint.connectorId(request.connectorId());
+        Optional<ElectricVehicle> vehicle = findVehicle(request.idTag());
+        if (vehicle.isEmpty()) {
+            return new StartTransactionResponse(0, new IdTagInfo("Invalid"));
+        }
+
+        ChargingSession session;
+        try {
+            session = chargingSessionService.startSession(
+                    vehicle.get().getCustomer().getId(), connectorId, vehicle.get().getId());
+        } catch (RuntimeException e) {
+            log.info("StartTransaction rejected on connector {}: {}", connectorId, e.getMessage());
+            return new StartTransactionResponse(0, new IdTagInfo("Blocked"));
+        }
+
+        meterValueWriter.transactionStarted(new MeterSample(session.getId(), connectorId,
+                parseTime(request.timestamp()), BigDecimal.valueOf(request.meterStart()), null));
+        return new StartTransactionResponse(session.getId(), new IdTagInfo("Accepted"));
+    }
+
+    private StopTransactionResponse stopTransaction(ChargePointContext chargePoint, StopTransactionRequest request) {
+        Integer sessionId = request.transactionId();
+        Optional<Integer> connectorId = chargingSessionRepository.findConnectorIdBySessionId(sessionId);
+        if (connectorId.isPresent() && !chargePoint.getConnectorIds().contains(connectorId.get())) {
+            log.warn("Pole {} tried to stop session {} of connector {}", chargePoint.getPoleId(), sessionId,
+                    connectorId.get());
+            throw new OcppException("SecurityError",
+                    "Phiên " + sessionId + " không thuộc trụ " + chargePoint.getPoleId());
+        }
+
+        BigDecimal meterStop = BigDecimal.valueOf(request.meterStop());
+        BigDecimal meterStart = meterValueWriter.meterStart(sessionId);
+        BigDecimal energyKwh = meterStart == null ? null
+                : meterStop.subtract(meterStart).max(BigDecimal.ZERO).divide(WH_PER_KWH, 2, RoundingMode.HALF_UP);
+
+        // Luôn trả Accepted để trụ không gửi lại StopTransaction; lỗi chỉ ghi log
+        Optional<Integer> customerId = chargingSessionRepository.findCustomerIdBySessionId(sessionId);
+        if (customerId.isEmpty()) {
+            log.warn("StopTransaction for unknown session {} from pole {}", sessionId, chargePoint.getPoleId());
+            return new StopTransactionResponse(new IdTagInfo("Accepted"));
+        }
+        try {
+            ChargingSession session = chargingSessionService.stopSession(customerId.get(), sessionId, energyKwh);
+            meterValueWriter.transactionStopped(new MeterSample(sessionId, session.getChargingConnector().getId(),
+                    parseTime(request.timestamp()), meterStop, null));
+        } catch (RuntimeException e) {
+            log.warn("StopTransaction for session {} not applied: {}", sessionId, e.getMessage());
+        }
+        return new StopTransactionResponse(new IdTagInfo("Accepted"));
+    }
+
+    private Map<String, Object> meterValues(ChargePointContext chargePoint, MeterValuesRequest request) {
+        Integer connectorId = chargePoint.connectorId(request.connectorId());
+        if (request.transactionId() != null && meterValueWriter.isForeignSession(request.transactionId(), connectorId)) {
+            throw new OcppException("SecurityError",
+                    "Phiên " + request.transactionId() + " không thuộc connectorId " + request.connectorId());
+        }
+        if (request.meterValue() == null) {
+            return Map.of();
+        }
+        for (MeterValue meterValue : request.meterValue()) {
+            BigDecimal energyWh = null;
+            BigDecimal powerW = null;
+            for (SampledValue sampled : meterValue.sampledValue()) {
+                String measurand = sampled.measurand() != null ? sampled.measurand() : ENERGY_REGISTER;
+                if (ENERGY_REGISTER.equals(measurand)) {
+                    energyWh = toBaseUnit(sampled, "kWh");
+                } else if (POWER.equals(measurand)) {
+                    powerW = toBaseUnit(sampled, "kW");
+                }
+            }
+            if (energyWh == null) {
+                continue;
+            }
+            MeterSample sample = new MeterSample(request.transactionId(), connectorId,
+                    parseTime(meterValue.timestamp()), energyWh, powerW);
+            if (!meterValueWriter.offer(sample)) {
+                throw new OcppException("InternalError", "Hàng đợi meter value đầy, gửi lại sau");
+            }
+        }
+        return Map.of();
+    }
+
+    // Wh/W là đơn vị mặc định; đổi kWh/kW về Wh/W
+    private BigDecimal toBaseUnit(SampledValue sampled, String kiloUnit) {
+        try {
+            BigDecimal value = new BigDecimal(sampled.value());
+            return kiloUnit.equals(sampled.unit()) ? value.multiply(WH_PER_KWH) : value;
+        } catch (NumberFormatException | NullPointerException e) {
+            throw new OcppException("PropertyConstraintViolation", "Giá trị meter không hợp lệ: " + sampled.value());
+        }
+    }
+
+    private Optional<ElectricVehicle> findVehicle(String idTag) {
+        return idTag == null ? Optional.empty() : vehicleRepository.findByIdTagHash(ChargePointAuthenticator.hash(idTag));
+    }
+
+    private <T> T read(JsonNode payload, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(payload, type);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new OcppException("FormationViolation", "Payload " + type.getSimpleName() + " không hợp lệ");
+        }
+    }
+
+    private static LocalDateTime parseTime(String timestamp) {
+        if (timestamp == null) {
+            return LocalDateTime.now();
+        }
+        try {
+            return OffsetDateTime.parse(timestamp).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            throw new OcppException("PropertyConstraintViolation", "timestamp không hợp lệ: " + timestamp);
+        }
+    }
+}
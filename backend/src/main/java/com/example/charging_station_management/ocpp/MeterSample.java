@@ -0,0 +1,12 @@
+package com.example.charging_station_management.ocpp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record MeterSample(
+        Integer sessionId,
+        Integer connectorId,
+        LocalDateTime sampledAt,
+        BigDecimal energyWh,
+        BigDecimal powerW
+) {}
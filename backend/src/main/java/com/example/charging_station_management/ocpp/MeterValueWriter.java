@@ -0,0 +1,200 @@
+package com.example.charging_station_management.ocpp;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gom mẫu công tơ từ các trụ vào hàng đợi có giới hạn và ghi định kỳ theo batch JDBC: một batch INSERT
+ * meter_values và một batch UPDATE điện năng tạm tính của các phiên đang sạc (chỉ mẫu mới nhất mỗi phiên).
+ * Hàng đợi đầy thì {@link #offer(MeterSample)} trả false để gateway báo lỗi cho trụ gửi lại sau.
+ * Mẫu có transactionId của phiên thuộc đầu sạc khác bị bỏ khi ghi; phiên chưa biết (sau restart) được tra DB
+ * trên luồng flush, không phải luồng WebSocket.
+ */
+@Slf4j
+@Component
+public class MeterValueWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO meter_values (session_id, connector_id, sampled_at, energy_wh, power_w) VALUES (?, ?, ?, ?, ?)";
+    // Chỉ phiên còn CHARGING: mẫu đến muộn sau StopTransaction không ghi đè điện năng chốt
+    private static final String UPDATE_SESSION_SQL =
+            "UPDATE charging_sessions SET energy_kwh = ? WHERE id = ? AND charging_connector_id = ? AND status = 'CHARGING'";
+    // Chỉ số công tơ tăng dần nên mẫu nhỏ nhất của phiên là meterStart
+    private static final String METER_START_SQL = "SELECT MIN(energy_wh) FROM meter_values WHERE session_id = ?";
+    private static final String SESSION_CONNECTOR_SQL =
+            "SELECT charging_connector_id, status FROM charging_sessions WHERE id = ?";
+    private static final BigDecimal WH_PER_KWH = BigDecimal.valueOf(1000);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<MeterSample> queue;
+    private final int batchSize;
+
+    // meterStart (Wh) của các phiên đang sạc
+    private final Map<Integer, BigDecimal> meterStarts = new ConcurrentHashMap<>();
+    // Đầu sạc của các phiên đang sạc
+    private final Map<Integer, Integer> sessionConnectors = new ConcurrentHashMap<>();
+
+    public MeterValueWriter(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${app.ocpp.meter-buffer-capacity:100000}") int capacity,
+                            @Value("${app.ocpp.meter-batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    public boolean offer(MeterSample sample) {
+        return queue.offer(sample);
+    }
+
+    public void transactionStarted(MeterSample start) {
+        meterStarts.put(start.sessionId(), start.energyWh());
+        sessionConnectors.put(start.sessionId(), start.connectorId());
+        if (!offer(start)) {
+            log.warn("Meter buffer full, dropped meterStart sample of session {}", start.sessionId());
+        }
+    }
+
+    public void transactionStopped(MeterSample stop) {
+        meterStarts.remove(stop.sessionId());
+        sessionConnectors.remove(stop.sessionId());
+        if (!offer(stop)) {
+            log.warn("Meter buffer full, dropped meterStop sample of session {}", stop.sessionId());
+        }
+    }
+
+    /**
+     * meterStart của phiên; sau khi restart thì lấy lại từ mẫu đã lưu. Null nếu chưa có mẫu nào.
+     */
+    public BigDecimal meterStart(Integer sessionId) {
+        BigDecimal start = meterStarts.get(sessionId);
+        if (start == null) {
+            start = jdbcTemplate.queryForObject(METER_START_SQL, BigDecimal.class, sessionId);
+            if (start != null) {
+                meterStarts.putIfAbsent(sessionId, start);
+            }
+        }
+        return start;
+    }
+
+    /**
+     * True nếu đã biết phiên đang sạc trên một đầu sạc khác. Phiên chưa biết được kiểm tra lúc flush.
+     */
+    public boolean isForeignSession(Integer sessionId, Integer connectorId) {
+        Integer owner = sessionConnectors.get(sessionId);
+        return owner != null && !owner.equals(connectorId);
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.ocpp.meter-flush-interval-ms:1000}")
+    public synchronized int flush() {
+        int written = 0;
+        List<MeterSample> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                written += transactionTemplate.execute(status -> write(batch));
+            } catch (RuntimeException e) {
+                // Trụ đã nhận CALLRESULT nên không gửi lại; giữ lại phần còn chỗ trong hàng đợi
+                int requeued = (int) batch.stream().filter(queue::offer).count();
+                log.error("Failed to write {} meter value(s), requeued {}", batch.size(), requeued, e);
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        log.info("Flushed {} meter value(s) on shutdown", written);
+    }
+
+    private int write(List<MeterSample> batch) {
+        Map<Integer, Integer> connectors = new HashMap<>();
+        batch.removeIf(sample -> !ownedByConnector(sample, connectors));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, sample) -> {
+            ps.setObject(1, sample.sessionId());
+            ps.setInt(2, sample.connectorId());
+            ps.setTimestamp(3, Timestamp.valueOf(sample.sampledAt()));
+            ps.setBigDecimal(4, sample.energyWh());
+            ps.setBigDecimal(5, sample.powerW());
+        });
+
+        Map<Integer, MeterSample> latest = new HashMap<>();
+        for (MeterSample sample : batch) {
+            if (sample.sessionId() != null) {
+                latest.merge(sample.sessionId(), sample,
+                        (a, b) -> b.sampledAt().isAfter(a.sampledAt()) ? b : a);
+            }
+        }
+        List<Object[]> updates = new ArrayList<>(latest.size());
+        latest.forEach((sessionId, sample) -> {
+            // Sau restart meterStarts trống: lấy lại từ các mẫu đã lưu (gồm cả batch này); phiên đã dừng thì bỏ qua
+            BigDecimal start = sessionConnectors.containsKey(sessionId) ? meterStart(sessionId) : null;
+            if (start != null) {
+                BigDecimal energyKwh = sample.energyWh().subtract(start).max(BigDecimal.ZERO)
+                        .divide(WH_PER_KWH, 2, RoundingMode.HALF_UP);
+                updates.add(new Object[]{energyKwh, sessionId, sample.connectorId()});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SESSION_SQL, updates);
+        }
+        return batch.size();
+    }
+
+    // Đầu sạc của phiên, -1 nếu phiên không tồn tại; phiên còn CHARGING được nhớ lại như lúc StartTransaction
+    private Integer loadSessionConnector(Integer sessionId) {
+        return jdbcTemplate.query(SESSION_CONNECTOR_SQL, rs -> {
+            if (!rs.next()) {
+                return -1;
+            }
+            int connectorId = rs.getInt("charging_connector_id");
+            if ("CHARGING".equals(rs.getString("status"))) {
+                sessionConnectors.put(sessionId, connectorId);
+            }
+            return connectorId;
+        }, sessionId);
+    }
+
+    private boolean ownedByConnector(MeterSample sample, Map<Integer, Integer> connectors) {
+        if (sample.sessionId() == null) {
+            return true;
+        }
+        Integer owner = sessionConnectors.get(sample.sessionId());
+        if (owner == null) {
+            owner = connectors.computeIfAbsent(sample.sessionId(), this::loadSessionConnector);
+        }
+        if (!owner.equals(sample.connectorId())) {
+            log.warn("Dropped meter value of session {} sent for connector {}", sample.sessionId(), sample.connectorId());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.charging_station_management.ocpp;
+
+import lombok.Getter;
+
+/**
+ * Lỗi trả về cho trụ sạc dưới dạng CALLERROR; {@code errorCode} theo danh sách của OCPP-J
+ * (NotImplemented, FormationViolation, PropertyConstraintViolation, SecurityError, InternalError...).
+ */
+@Getter
+public class OcppException extends RuntimeException {
+
+    private final String errorCode;
+
+    public OcppException(String errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+}
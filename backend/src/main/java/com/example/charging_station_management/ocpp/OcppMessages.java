@@ -0,0 +1,41 @@
+package com.example.charging_station_management.ocpp;
+
+import java.util.List;
+
+/**
+ * Payload OCPP 1.6J cho các action gateway hỗ trợ (chỉ các trường được dùng, trường khác bị bỏ qua).
+ */
+public final class OcppMessages {
+
+    private OcppMessages() {}
+
+    public record BootNotificationRequest(String chargePointVendor, String chargePointModel,
+                                          String chargePointSerialNumber, String firmwareVersion) {}
+
+    public record BootNotificationResponse(String status, String currentTime, int interval) {}
+
+    public record HeartbeatResponse(String currentTime) {}
+
+    public record IdTagInfo(String status) {}
+
+    public record AuthorizeRequest(String idTag) {}
+
+    public record AuthorizeResponse(IdTagInfo idTagInfo) {}
+
+    public record StatusNotificationRequest(int connectorId, String errorCode, String status, String timestamp) {}
+
+    public record StartTransactionRequest(int connectorId, String idTag, long meterStart, String timestamp) {}
+
+    public record StartTransactionResponse(int transactionId, IdTagInfo idTagInfo) {}
+
+    public record StopTransactionRequest(int transactionId, String idTag, long meterStop, String timestamp,
+                                         String reason) {}
+
+    public record StopTransactionResponse(IdTagInfo idTagInfo) {}
+
+    public record MeterValuesRequest(int connectorId, Integer transactionId, List<MeterValue> meterValue) {}
+
+    public record MeterValue(String timestamp, List<SampledValue> sampledValue) {}
+
+    public record SampledValue(String value, String context, String measurand, String unit) {}
+}
@@ -0,0 +1,88 @@
+package com.example.charging_station_management.ocpp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint OCPP-J {@code /ocpp/{poleId}}: nhận CALL {@code [2, id, action, payload]}, trả CALLRESULT
+ * {@code [3, id, payload]} hoặc CALLERROR {@code [4, id, code, description, {}]}. Mỗi kết nối được xử lý
+ * tuần tự nên thứ tự message của một trụ được giữ nguyên.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OcppWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    static final String SUB_PROTOCOL = "ocpp1.6";
+    private static final String CONTEXT_ATTRIBUTE = "ocpp.chargePoint";
+    private static final int CALL = 2;
+    private static final int CALL_RESULT = 3;
+    private static final int CALL_ERROR = 4;
+
+    private final ChargePointService chargePointService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(SUB_PROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        // Id trụ đã được ChargePointHandshakeInterceptor xác thực
+        Integer poleId = (Integer) session.getAttributes().get(ChargePointHandshakeInterceptor.POLE_ID_ATTRIBUTE);
+        session.getAttributes().put(CONTEXT_ATTRIBUTE, new ChargePointContext(poleId));
+        log.debug("Charge point {} connected from {}", poleId, session.getRemoteAddress());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(message.getPayload());
+        } catch (IOException e) {
+            log.warn("Malformed OCPP frame from {}: {}", session.getUri(), e.getMessage());
+            return;
+        }
+        // CALLRESULT/CALLERROR là trả lời cho lệnh từ server, gateway chưa gửi lệnh nào
+        if (!frame.isArray() || frame.size() < 4 || frame.get(0).asInt() != CALL) {
+            return;
+        }
+
+        String messageId = frame.get(1).asText();
+        String action = frame.get(2).asText();
+        ChargePointContext chargePoint = (ChargePointContext) session.getAttributes().get(CONTEXT_ATTRIBUTE);
+
+        ArrayNode reply = objectMapper.createArrayNode();
+        try {
+            Object result = chargePointService.handle(chargePoint, action, frame.get(3));
+            reply.add(CALL_RESULT).add(messageId).add(objectMapper.valueToTree(result));
+        } catch (OcppException e) {
+            reply.add(CALL_ERROR).add(messageId).add(e.getErrorCode()).add(e.getMessage())
+                    .add(objectMapper.createObjectNode());
+        } catch (RuntimeException e) {
+            log.error("OCPP {} from pole {} failed", action, chargePoint.getPoleId(), e);
+            reply.add(CALL_ERROR).add(messageId).add("InternalError").add(String.valueOf(e.getMessage()))
+                    .add(objectMapper.createObjectNode());
+        }
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(reply)));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.debug("Charge point {} disconnected: {}", session.getAttributes().get(CONTEXT_ATTRIBUTE), status);
+    }
+}
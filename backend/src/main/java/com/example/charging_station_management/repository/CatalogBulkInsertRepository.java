@@ -0,0 +1,130 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Insert hàng loạt location/station/pole/connector bằng JDBC batch với id đã cấp sẵn
+ * (xem {@link SequenceIdAllocator}). Bỏ qua persistence context nên caller tự lo phát event/invalidate cache.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogBulkInsertRepository {
+
+    private static final String INSERT_LOCATION =
+            "INSERT INTO locations (id, latitude, longitude, province, address_detail) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_STATION =
+            "INSERT INTO stations (id, vendor_id, location_id, code, name, open_time, close_time, status, type, version, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 1, ?, 0, ?)";
+    private static final String INSERT_POLE =
+            "INSERT INTO charging_poles (id, station_id, code, manufacturer, max_power, connector_count, install_date, version, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+    private static final String INSERT_CONNECTOR =
+            "INSERT INTO charging_connectors (id, pole_id, connector_type, max_power, status, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String FIND_STATION_CODES =
+            "SELECT code FROM stations WHERE vendor_id = ? AND code = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    public record LocationRow(int id, BigDecimal latitude, BigDecimal longitude, String province, String address) {
+    }
+
+    public record StationRow(int id, int vendorId, int locationId, String code, String name, LocalTime openTime,
+                             LocalTime closeTime, String type) {
+    }
+
+    public record PoleRow(int id, int stationId, String code, String manufacturer, BigDecimal maxPower,
+                          int maxConnectors, LocalDate installDate) {
+    }
+
+    public record ConnectorRow(int id, int poleId, String connectorType, BigDecimal maxPower) {
+    }
+
+    /**
+     * Các mã trong {@code codes} đã có trạm của vendor (import trước đó).
+     */
+    public Set<String> findStationCodes(int vendorId, Collection<String> codes) {
+        if (codes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(FIND_STATION_CODES, ps -> {
+            ps.setInt(1, vendorId);
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", codes.toArray()));
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    public void insertLocations(List<LocationRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_LOCATION, rows, batchSize, (ps, row) -> {
+            ps.setInt(1, row.id());
+            ps.setBigDecimal(2, row.latitude());
+            ps.setBigDecimal(3, row.longitude());
+            ps.setString(4, row.province());
+            ps.setString(5, row.address());
+        });
+    }
+
+    public void insertStations(List<StationRow> rows, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_STATION, rows, batchSize, (ps, row) -> {
+            ps.setInt(1, row.id());
+            ps.setInt(2, row.vendorId());
+            ps.setInt(3, row.locationId());
+            ps.setString(4, row.code());
+            ps.setString(5, row.name());
+            ps.setTime(6, Time.valueOf(row.openTime()));
+            ps.setTime(7, Time.valueOf(row.closeTime()));
+            ps.setString(8, row.type());
+            ps.setTimestamp(9, updatedAt);
+        });
+    }
+
+    public void insertPoles(List<PoleRow> rows, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_POLE, rows, batchSize, (ps, row) -> {
+            ps.setInt(1, row.id());
+            ps.setInt(2, row.stationId());
+            ps.setString(3, row.code());
+            ps.setString(4, row.manufacturer());
+            ps.setBigDecimal(5, row.maxPower());
+            ps.setInt(6, row.maxConnectors());
+            if (row.installDate() != null) {
+                ps.setDate(7, Date.valueOf(row.installDate()));
+            } else {
+                ps.setNull(7, Types.DATE);
+            }
+            ps.setTimestamp(8, updatedAt);
+        });
+    }
+
+    public void insertConnectors(List<ConnectorRow> rows, LocalDateTime now) {
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_CONNECTOR, rows, batchSize, (ps, row) -> {
+            ps.setInt(1, row.id());
+            ps.setInt(2, row.poleId());
+            ps.setString(3, row.connectorType());
+            ps.setBigDecimal(4, row.maxPower());
+            ps.setString(5, ConnectorStatus.AVAILABLE.name());
+            ps.setTimestamp(6, updatedAt);
+        });
+    }
+}
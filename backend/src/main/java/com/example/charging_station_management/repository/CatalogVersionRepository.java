@@ -0,0 +1,41 @@
+package com.example.charging_station_management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bảng catalog_versions (V10): version tăng dần theo resource, đọc bằng khóa chính cho ETag.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogVersionRepository {
+
+    private static final String FIND_SQL = "SELECT version, updated_at FROM catalog_versions WHERE resource = ?";
+    private static final String BUMP_SQL = """
+            INSERT INTO catalog_versions (resource, version, updated_at) VALUES (?, 1, ?)
+            ON CONFLICT (resource) DO UPDATE
+               SET version = catalog_versions.version + 1,
+                   updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Version(long version, LocalDateTime updatedAt) {
+    }
+
+    public Optional<Version> find(String resource) {
+        List<Version> rows = jdbcTemplate.query(FIND_SQL, (rs, rowNum) ->
+                new Version(rs.getLong("version"), rs.getTimestamp("updated_at").toLocalDateTime()), resource);
+        return rows.stream().findFirst();
+    }
+
+    public void bump(String resource) {
+        jdbcTemplate.update(BUMP_SQL, resource, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -3,12 +3,16 @@ package com.example.charging_station_management.repository;
 import com.example.charging_station_management.entity.converters.ChargingConnector;
 import com.example.charging_station_management.entity.enums.ConnectorStatus;
 import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.repository.projection.ConnectorListView;
+import com.example.charging_station_management.repository.projection.ConnectorStateView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying; // 👈 Quan trọng: Import cái này
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,6 +61,55 @@ public interface ChargingConnectorRepository extends JpaRepository<ChargingConne
             @Param("status") ConnectorStatus status,
             @Param("poleId") Integer poleId);
 
+    // Danh sách connector của vendor cho màn quản lý: một câu truy vấn, không nạp entity (Pole/Station có
+    // collection EAGER); cờ đang sử dụng tính bằng EXISTS trên partial index phiên PENDING/CHARGING
+    String LIST_VIEW_SELECT = "SELECT c.id AS id, p.id AS poleId, p.manufacturer AS poleManufacturer, " +
+            "p.maxPower AS poleMaxPower, st.id AS stationId, st.name AS stationName, " +
+            "c.connectorType AS connectorType, c.maxPower AS maxPower, c.status AS status, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM ChargingSession s WHERE s.chargingConnector.id = c.id " +
+            "AND s.status IN ('PENDING', 'CHARGING')) THEN true ELSE false END AS inUse " +
+            "FROM ChargingConnector c JOIN c.pole p JOIN p.station st ";
+
+    @Query(LIST_VIEW_SELECT + "WHERE st.vendor.id = :vendorId ORDER BY c.id")
+    List<ConnectorListView> findListViewsByVendorId(@Param("vendorId") Integer vendorId);
+
+    @Query(LIST_VIEW_SELECT + "WHERE st.vendor.id = :vendorId AND " +
+            "(:connectorType IS NULL OR c.connectorType = :connectorType) AND " +
+            "(:status IS NULL OR c.status = :status) AND " +
+            "(:poleId IS NULL OR p.id = :poleId) ORDER BY c.id")
+    List<ConnectorListView> searchListViews(
+            @Param("vendorId") Integer vendorId,
+            @Param("connectorType") ConnectorType connectorType,
+            @Param("status") ConnectorStatus status,
+            @Param("poleId") Integer poleId);
+
+    // Bảng trạng thái trong bộ nhớ (ConnectorStateMachine): nạp khi khởi động và đối chiếu khi ghi bù
+    String STATE_VIEW_SELECT = "SELECT c.id AS id, c.status AS status, p.id AS poleId, p.station.id AS stationId " +
+            "FROM ChargingConnector c JOIN c.pole p ";
+
+    @Query(STATE_VIEW_SELECT)
+    List<ConnectorStateView> findAllStateViews();
+
+    @Query(STATE_VIEW_SELECT + "WHERE c.id IN :ids")
+    List<ConnectorStateView> findStateViewsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT c.status FROM ChargingConnector c WHERE c.id = :id")
+    Optional<ConnectorStatus> findStatusById(@Param("id") Integer id);
+
+    @Query("SELECT c.id FROM ChargingConnector c WHERE c.pole.station.vendor.id = :vendorId ORDER BY c.id")
+    List<Integer> findIdsByVendorId(@Param("vendorId") Integer vendorId);
+
+    // Thứ tự id là số thứ tự connectorId (1, 2, ...) của trụ trong OCPP
+    @Query("SELECT c.id FROM ChargingConnector c WHERE c.pole.id = :poleId ORDER BY c.id")
+    List<Integer> findIdsByPoleId(@Param("poleId") Integer poleId);
+
+    // Bulk update không qua @UpdateTimestamp nên tự đặt updatedAt (ETag của trạm/trụ)
+    @Modifying
+    @Query("UPDATE ChargingConnector c SET c.status = :status, c.updatedAt = :updatedAt WHERE c.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Integer> ids,
+                           @Param("status") ConnectorStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
     // Kiểm tra connector có đang được sử dụng không
     @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END " +
             "FROM ChargingSession s " +
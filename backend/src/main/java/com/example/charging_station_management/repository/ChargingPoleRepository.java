@@ -2,6 +2,8 @@ package com.example.charging_station_management.repository;
 
 import com.example.charging_station_management.entity.converters.ChargingPole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +21,9 @@ public interface ChargingPoleRepository extends JpaRepository<ChargingPole, Inte
         return findByIdAndStation_Vendor_Id(id, vendorId);
     }
 
+    @Query("SELECT p.ocppAuthKeyHash FROM ChargingPole p WHERE p.id = :id")
+    Optional<String> findOcppAuthKeyHashById(@Param("id") Integer id);
+
     // ❌ ĐÃ XÓA: incrementConnectorCount và decrementConnectorCount
     // Vì trường connectorCount đã bị loại bỏ khỏi Entity.
     // Việc đếm số lượng connector giờ đây được thực hiện tự động bằng cách đếm list connectors.
@@ -0,0 +1,94 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.*;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Set;
+
+/**
+ * Câu SELECT phẳng của chi tiết phiên sạc: chỉ các cột vô hướng (Tuple, mỗi cột một alias) qua một lượt join
+ * xe/khách hàng, cổng/trụ/trạm, vendor và giao dịch (LEFT). Dùng chung cho danh sách/keyset
+ * ({@link ChargingSessionDetailRepository}) và export Excel.
+ */
+public final class ChargingSessionDetailQuery {
+
+    // Đường dẫn được phép sắp xếp, tính từ ChargingSession
+    public static final Set<String> SORTABLE = Set.of(
+            "id", "startTime", "endTime", "energyKwh", "cost", "status",
+            "electricVehicle.licensePlate", "electricVehicle.customer.name");
+
+    private ChargingSessionDetailQuery() {
+    }
+
+    // Thuộc tính lạ bị từ chối ngay (400) thay vì lỗi khi truy vấn đang chạy
+    public static void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Không hỗ trợ sắp xếp phiên sạc theo: " + order.getProperty());
+            }
+        }
+    }
+
+    public static CriteriaQuery<Tuple> create(CriteriaBuilder cb, Specification<ChargingSession> spec, Sort sort) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ChargingSession> root = query.from(ChargingSession.class);
+
+        Join<ChargingSession, ElectricVehicle> vehicle = root.join("electricVehicle");
+        Join<ElectricVehicle, Customer> customer = vehicle.join("customer");
+        Join<ChargingSession, ChargingConnector> connector = root.join("chargingConnector");
+        Join<ChargingConnector, ChargingPole> pole = connector.join("pole");
+        Join<ChargingPole, Station> station = pole.join("station");
+        Join<Station, Location> location = station.join("location");
+        Join<Station, Vendor> vendor = station.join("vendor");
+        Join<ChargingSession, Transaction> transaction = root.join("transaction", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id").alias("sessionId"),
+                root.get("startTime").alias("startTime"),
+                root.get("endTime").alias("endTime"),
+                root.get("energyKwh").alias("energyKwh"),
+                root.get("cost").alias("cost"),
+                root.get("status").alias("status"),
+                customer.get("id").alias("customerId"),
+                customer.get("name").alias("customerName"),
+                customer.get("email").alias("customerEmail"),
+                customer.get("phone").alias("customerPhone"),
+                vehicle.get("id").alias("vehicleId"),
+                vehicle.get("licensePlate").alias("licensePlate"),
+                vehicle.get("brand").alias("vehicleBrand"),
+                vehicle.get("model").alias("vehicleModel"),
+                vehicle.get("vehicleType").alias("vehicleType"),
+                vehicle.get("connectorType").alias("vehicleConnectorType"),
+                vehicle.get("batteryCapacity").alias("batteryCapacity"),
+                station.get("id").alias("stationId"),
+                station.get("name").alias("stationName"),
+                location.get("province").alias("stationProvince"),
+                location.get("addressDetail").alias("stationAddress"),
+                vendor.get("name").alias("vendorName"),
+                pole.get("id").alias("poleId"),
+                pole.get("manufacturer").alias("poleManufacturer"),
+                pole.get("maxPower").alias("poleMaxPower"),
+                connector.get("id").alias("connectorId"),
+                connector.get("connectorType").alias("connectorType"),
+                connector.get("maxPower").alias("connectorMaxPower"),
+                connector.get("status").alias("connectorStatus"),
+                transaction.get("id").alias("transactionId"),
+                transaction.get("paymentMethod").alias("paymentMethod"),
+                transaction.get("paymentStatus").alias("paymentStatus"),
+                transaction.get("paymentTime").alias("paymentTime"));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            checkSort(sort);
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+}
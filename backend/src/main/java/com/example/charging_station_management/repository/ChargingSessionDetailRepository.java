@@ -0,0 +1,23 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Đọc danh sách chi tiết phiên sạc dạng phẳng: một câu SELECT join sẵn xe, khách hàng, cổng/trụ/trạm,
+ * vendor và giao dịch, thay vì nạp entity rồi đi lazy từng quan hệ (N+1).
+ */
+public interface ChargingSessionDetailRepository {
+
+    // Trang offset: câu SELECT + một câu COUNT
+    Page<ChargingSessionDetailResponse> findDetails(Specification<ChargingSession> spec, Pageable pageable);
+
+    // Không đếm tổng, dùng cho phân trang keyset (limit = size + 1)
+    List<ChargingSessionDetailResponse> findDetails(Specification<ChargingSession> spec, Sort sort, int limit);
+}
@@ -0,0 +1,105 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.entity.enums.PaymentMethod;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.entity.enums.VehicleType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class ChargingSessionDetailRepositoryImpl implements ChargingSessionDetailRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ChargingSessionDetailResponse> findDetails(Specification<ChargingSession> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = createQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<ChargingSessionDetailResponse> content = query.getResultList().stream().map(this::toResponse).toList();
+        // COUNT chỉ chạy khi không suy ra được tổng từ trang hiện tại
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ChargingSessionDetailResponse> findDetails(Specification<ChargingSession> spec, Sort sort, int limit) {
+        return createQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList().stream().map(this::toResponse).toList();
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<ChargingSession> spec, Sort sort) {
+        return entityManager.createQuery(ChargingSessionDetailQuery.create(entityManager.getCriteriaBuilder(), spec, sort));
+    }
+
+    private long count(Specification<ChargingSession> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ChargingSession> root = query.from(ChargingSession.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private ChargingSessionDetailResponse toResponse(Tuple row) {
+        PaymentMethod paymentMethod = row.get("paymentMethod", PaymentMethod.class);
+        PaymentStatus paymentStatus = row.get("paymentStatus", PaymentStatus.class);
+        return ChargingSessionDetailResponse.builder()
+                .sessionId(row.get("sessionId", Integer.class))
+                .startTime(row.get("startTime", LocalDateTime.class))
+                .endTime(row.get("endTime", LocalDateTime.class))
+                .energyKwh(row.get("energyKwh", BigDecimal.class))
+                .cost(row.get("cost", BigDecimal.class))
+                .status(row.get("status", SessionStatus.class))
+                .customerId(row.get("customerId", Integer.class))
+                .customerName(row.get("customerName", String.class))
+                .customerEmail(row.get("customerEmail", String.class))
+                .customerPhone(row.get("customerPhone", String.class))
+                .vehicleId(row.get("vehicleId", Integer.class))
+                .licensePlate(row.get("licensePlate", String.class))
+                .vehicleBrand(row.get("vehicleBrand", String.class))
+                .vehicleModel(row.get("vehicleModel", String.class))
+                .vehicleType(row.get("vehicleType", VehicleType.class))
+                .vehicleConnectorType(row.get("vehicleConnectorType", ConnectorType.class))
+                .batteryCapacity(row.get("batteryCapacity", BigDecimal.class))
+                .stationId(row.get("stationId", Integer.class))
+                .stationName(row.get("stationName", String.class))
+                .stationProvince(row.get("stationProvince", String.class))
+                .stationAddress(row.get("stationAddress", String.class))
+                .vendorName(row.get("vendorName", String.class))
+                .poleId(row.get("poleId", Integer.class))
+                .poleManufacturer(row.get("poleManufacturer", String.class))
+                .poleMaxPower(row.get("poleMaxPower", BigDecimal.class))
+                .connectorId(row.get("connectorId", Integer.class))
+                .connectorType(row.get("connectorType", ConnectorType.class))
+                .connectorMaxPower(row.get("connectorMaxPower", BigDecimal.class))
+                .connectorStatus(row.get("connectorStatus", ConnectorStatus.class))
+                .transactionId(row.get("transactionId", Integer.class))
+                .paymentMethod(paymentMethod != null ? paymentMethod.toString() : null)
+                .paymentStatus(paymentStatus != null ? paymentStatus.toString() : null)
+                .paymentTime(row.get("paymentTime", LocalDateTime.class))
+                .build();
+    }
+}
@@ -2,7 +2,9 @@ package com.example.charging_station_management.repository;
 
 import com.example.charging_station_management.entity.converters.ChargingSession;
 import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.repository.projection.SessionSummaryView;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -12,34 +14,32 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChargingSessionRepository
-                extends JpaRepository<ChargingSession, Integer>, JpaSpecificationExecutor<ChargingSession> {
+                extends JpaRepository<ChargingSession, Integer>, JpaSpecificationExecutor<ChargingSession>,
+                ChargingSessionDetailRepository {
 
-        // 1. Tính tổng doanh thu (Giữ nguyên, SQL chuẩn)
-        @Query("SELECT SUM(s.cost) FROM ChargingSession s WHERE s.status = 'COMPLETED'")
-        BigDecimal sumTotalRevenue();
-
-        // 2. Thống kê Doanh thu theo tháng (SỬA CHO POSTGRESQL)
-        // Thay DATE_FORMAT bằng TO_CHAR
+        // 1. Thống kê Doanh thu theo tháng (SỬA CHO POSTGRESQL)
+        // Thay DATE_FORMAT bằng TO_CHAR; lọc start_time >= :since để chỉ quét partition của các tháng cần
         @Query(value = "SELECT TO_CHAR(start_time, 'YYYY-MM') as time, SUM(cost) as total " +
                         "FROM charging_sessions " +
-                        "WHERE status = 'COMPLETED' " +
+                        "WHERE status = 'COMPLETED' AND start_time >= :since " +
                         "GROUP BY TO_CHAR(start_time, 'YYYY-MM') " +
                         "ORDER BY time DESC LIMIT 6", nativeQuery = true)
-        List<Object[]> getRevenueLast6Months();
+        List<Object[]> getRevenueLast6Months(@Param("since") LocalDateTime since);
 
-        // 3. Thống kê Số lượng phiên sạc theo tháng (SỬA CHO POSTGRESQL)
+        // 2. Thống kê Số lượng phiên sạc theo tháng (SỬA CHO POSTGRESQL)
         // Thay DATE_FORMAT bằng TO_CHAR
         @Query(value = "SELECT TO_CHAR(start_time, 'YYYY-MM') as time, COUNT(*) as count " +
                         "FROM charging_sessions " +
+                        "WHERE start_time >= :since " +
                         "GROUP BY TO_CHAR(start_time, 'YYYY-MM') " +
                         "ORDER BY time DESC LIMIT 6", nativeQuery = true)
-        List<Object[]> getSessionsLast6Months();
+        List<Object[]> getSessionsLast6Months(@Param("since") LocalDateTime since);
 
         // Đếm số phiên sạc dựa trên Station ID và danh sách trạng thái
         @Query("SELECT COUNT(s) FROM ChargingSession s " +
@@ -60,6 +60,29 @@ public interface ChargingSessionRepository
         Page<ChargingSession> findByElectricVehicle_Customer_IdOrderByStartTimeDesc(@Param("customerId") Integer customerId,
                         Pageable pageable);
 
+        // Phân trang keyset cho lịch sử khách hàng: lấy limit + 1 dòng để biết còn trang sau, không cần COUNT
+        @Query("SELECT s FROM ChargingSession s WHERE s.electricVehicle.customer.id = :customerId " +
+                        "ORDER BY s.startTime DESC, s.id DESC")
+        @EntityGraph(attributePaths = {
+                        "electricVehicle",
+                        "chargingConnector.pole.station.location",
+                        "transaction"
+        })
+        List<ChargingSession> findHistoryFirstPage(@Param("customerId") Integer customerId, Limit limit);
+
+        @Query("SELECT s FROM ChargingSession s WHERE s.electricVehicle.customer.id = :customerId " +
+                        "AND (s.startTime < :startTime OR (s.startTime = :startTime AND s.id < :id)) " +
+                        "ORDER BY s.startTime DESC, s.id DESC")
+        @EntityGraph(attributePaths = {
+                        "electricVehicle",
+                        "chargingConnector.pole.station.location",
+                        "transaction"
+        })
+        List<ChargingSession> findHistoryAfter(@Param("customerId") Integer customerId,
+                        @Param("startTime") LocalDateTime startTime,
+                        @Param("id") Integer id,
+                        Limit limit);
+
         @Query("""
                             SELECT cs FROM ChargingSession cs
                             WHERE cs.electricVehicle.customer.id = :customerId
@@ -142,6 +165,27 @@ public interface ChargingSessionRepository
                         @Param("licensePlate") String licensePlate,
                         Pageable pageable);
 
+    // Các phiên gần nhất của một connector (idx_charging_sessions_connector_start): đọc đúng limit dòng
+    @Query("SELECT s.id AS id, v.licensePlate AS licensePlate, s.startTime AS startTime, s.endTime AS endTime, " +
+           "s.energyKwh AS energyKwh, s.cost AS cost, s.status AS status " +
+           "FROM ChargingSession s JOIN s.electricVehicle v " +
+           "WHERE s.chargingConnector.id = :connectorId ORDER BY s.startTime DESC, s.id DESC")
+    List<SessionSummaryView> findRecentSummariesByConnectorId(@Param("connectorId") Integer connectorId, Limit limit);
+
+    long countByChargingConnector_Id(Integer connectorId);
+
+    boolean existsByChargingConnector_Id(Integer connectorId);
+
+    @Query("SELECT v.customer.id FROM ChargingSession s JOIN s.electricVehicle v WHERE s.id = :sessionId")
+    Optional<Integer> findCustomerIdBySessionId(@Param("sessionId") Integer sessionId);
+
+    @Query("SELECT s.chargingConnector.id FROM ChargingSession s WHERE s.id = :sessionId")
+    Optional<Integer> findConnectorIdBySessionId(@Param("sessionId") Integer sessionId);
+
+    // Connector đang có phiên PENDING/CHARGING (partial index idx_charging_sessions_active_connector)
+    @Query("SELECT DISTINCT s.chargingConnector.id FROM ChargingSession s WHERE s.status IN ('PENDING', 'CHARGING')")
+    List<Integer> findActiveConnectorIds();
+
     List<ChargingSession> findByElectricVehicle_Customer_IdAndStatusOrderByStartTimeDesc(Integer customerId, SessionStatus status);
 
     List<ChargingSession> findByElectricVehicle_Customer_IdAndStatus(Integer customerId, SessionStatus status);
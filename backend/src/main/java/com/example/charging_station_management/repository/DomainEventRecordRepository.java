@@ -0,0 +1,41 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.DomainEventRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DomainEventRecordRepository extends JpaRepository<DomainEventRecord, Long> {
+
+    // Các event chưa được phát sau khi commit (ví dụ app bị tắt giữa chừng)
+    @Query(value = """
+            SELECT * FROM domain_event_outbox
+             WHERE published_at IS NULL AND created_at < :before
+             ORDER BY id
+             LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<DomainEventRecord> lockUnpublishedBatch(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DomainEventRecord e SET e.publishedAt = :publishedAt WHERE e.id = :id AND e.publishedAt IS NULL")
+    int markPublished(@Param("id") Long id, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM domain_event_outbox
+             WHERE id IN (SELECT id FROM domain_event_outbox
+                           WHERE published_at < :before
+                           LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deletePublishedBatch(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
@@ -23,6 +23,8 @@ public interface ElectricVehicleRepository extends JpaRepository<ElectricVehicle
 
     Optional<ElectricVehicle> findByLicensePlate(String licensePlate);
 
+    Optional<ElectricVehicle> findByIdTagHash(String idTagHash);
+
     @Query("SELECT CASE WHEN COUNT(v) > 0 THEN true ELSE false END " +
            "FROM ElectricVehicle v WHERE v.licensePlate = :licensePlate " +
            "AND (:vehicleId IS NULL OR v.id != :vehicleId)")
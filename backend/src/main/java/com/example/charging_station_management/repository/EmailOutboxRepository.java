@@ -0,0 +1,39 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Integer> {
+
+    /**
+     * Khóa một lô email đến hạn gửi. SKIP LOCKED cho phép nhiều instance cùng chạy dispatcher
+     * mà không lấy trùng bản ghi.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+             WHERE status = 'PENDING' AND next_attempt_at <= :now
+             ORDER BY next_attempt_at
+             LIMIT :limit
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM email_outbox
+             WHERE id IN (SELECT id FROM email_outbox
+                           WHERE status = 'SENT' AND sent_at < :before
+                           LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteSentBatch(@Param("before") LocalDateTime before, @Param("batchSize") int batchSize);
+}
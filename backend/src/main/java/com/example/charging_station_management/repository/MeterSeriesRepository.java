@@ -0,0 +1,133 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.MeterSeriesPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Các tầng downsample của meter_values (V8): {@code meter_values_1m} và {@code meter_values_15m}, mỗi dòng
+ * là một bucket của một đầu sạc. Dựng lại bucket là idempotent (ON CONFLICT ghi đè) nên có thể chạy lại
+ * trên cùng một khoảng thời gian khi mẫu đến muộn. Chỉ chạy trên PostgreSQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MeterSeriesRepository {
+
+    public enum Resolution {
+        MINUTE("meter_values_1m"),
+        QUARTER_HOUR("meter_values_15m");
+
+        private final String table;
+
+        Resolution(String table) {
+            this.table = table;
+        }
+    }
+
+    private static final String UPSERT_COLUMNS = """
+            ON CONFLICT (connector_id, bucket_start) DO UPDATE
+               SET session_id = EXCLUDED.session_id,
+                   energy_wh_min = EXCLUDED.energy_wh_min,
+                   energy_wh_max = EXCLUDED.energy_wh_max,
+                   power_w_avg = EXCLUDED.power_w_avg,
+                   power_w_max = EXCLUDED.power_w_max,
+                   samples = EXCLUDED.samples
+            """;
+
+    private static final String DOWNSAMPLE_MINUTE_SQL = """
+            INSERT INTO meter_values_1m (connector_id, bucket_start, session_id, energy_wh_min, energy_wh_max,
+                                         power_w_avg, power_w_max, samples)
+            SELECT connector_id, date_trunc('minute', sampled_at), MAX(session_id), MIN(energy_wh), MAX(energy_wh),
+                   AVG(power_w), MAX(power_w), COUNT(*)
+              FROM meter_values
+             WHERE sampled_at >= ? AND sampled_at < ?
+             GROUP BY connector_id, date_trunc('minute', sampled_at)
+            """ + UPSERT_COLUMNS;
+
+    // Công suất trung bình 15 phút là trung bình các bucket 1 phút có đo công suất, theo trọng số số mẫu
+    private static final String DOWNSAMPLE_QUARTER_HOUR_SQL = """
+            INSERT INTO meter_values_15m (connector_id, bucket_start, session_id, energy_wh_min, energy_wh_max,
+                                          power_w_avg, power_w_max, samples)
+            SELECT connector_id, bucket, MAX(session_id), MIN(energy_wh_min), MAX(energy_wh_max),
+                   SUM(power_w_avg * samples) / NULLIF(SUM(CASE WHEN power_w_avg IS NOT NULL THEN samples END), 0),
+                   MAX(power_w_max), SUM(samples)
+              FROM (SELECT m.*, date_trunc('hour', bucket_start)
+                               + (EXTRACT(MINUTE FROM bucket_start)::int / 15) * INTERVAL '15 minutes' AS bucket
+                      FROM meter_values_1m m
+                     WHERE bucket_start >= ? AND bucket_start < ?) b
+             GROUP BY connector_id, bucket
+            """ + UPSERT_COLUMNS;
+
+    // Điện năng của bucket tính từ chỉ số cuối bucket trước (cùng đầu sạc) để không hụt phần giữa hai bucket
+    private static final String ENERGY_DELTA = """
+            GREATEST(COALESCE(r.energy_wh_max - LAG(r.energy_wh_max) OVER (PARTITION BY r.connector_id ORDER BY r.bucket_start),
+                              r.energy_wh_max - r.energy_wh_min), 0)
+            """;
+
+    private static final String CONNECTOR_SERIES_SQL = """
+            SELECT bucket_start, power_w, energy_wh
+              FROM (SELECT r.bucket_start, r.power_w_avg AS power_w, %s AS energy_wh
+                      FROM %s r
+                     WHERE r.connector_id = ? AND r.bucket_start >= ? AND r.bucket_start < ?) s
+             ORDER BY bucket_start
+            """;
+
+    private static final String STATION_SERIES_SQL = """
+            SELECT bucket_start, SUM(power_w) AS power_w, SUM(energy_wh) AS energy_wh
+              FROM (SELECT r.bucket_start, r.power_w_avg AS power_w, %s AS energy_wh
+                      FROM %s r
+                      JOIN charging_connectors c ON c.id = r.connector_id
+                      JOIN charging_poles p ON p.id = c.pole_id
+                     WHERE p.station_id = ? AND r.bucket_start >= ? AND r.bucket_start < ?) s
+             GROUP BY bucket_start
+             ORDER BY bucket_start
+            """;
+
+    private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
+
+    private static final RowMapper<MeterSeriesPoint> POINT_MAPPER = (rs, rowNum) -> MeterSeriesPoint.builder()
+            .time(rs.getTimestamp("bucket_start").toLocalDateTime())
+            .powerKw(toKilo(rs.getBigDecimal("power_w")))
+            .energyKwh(toKilo(rs.getBigDecimal("energy_wh")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Dựng lại các bucket 1 phút bắt đầu trong [from, to) từ meter_values.
+     */
+    public int downsampleMinutes(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(DOWNSAMPLE_MINUTE_SQL, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Dựng lại các bucket 15 phút từ tầng 1 phút; {@code from} phải là đầu một bucket 15 phút.
+     */
+    public int downsampleQuarterHours(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(DOWNSAMPLE_QUARTER_HOUR_SQL, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public List<MeterSeriesPoint> findConnectorSeries(Resolution resolution, Integer connectorId,
+                                                      LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(CONNECTOR_SERIES_SQL.formatted(ENERGY_DELTA, resolution.table), POINT_MAPPER,
+                connectorId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public List<MeterSeriesPoint> findStationSeries(Resolution resolution, Integer stationId,
+                                                    LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(STATION_SERIES_SQL.formatted(ENERGY_DELTA, resolution.table), POINT_MAPPER,
+                stationId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static BigDecimal toKilo(BigDecimal value) {
+        return value == null ? null : value.divide(THOUSAND, 3, RoundingMode.HALF_UP);
+    }
+}
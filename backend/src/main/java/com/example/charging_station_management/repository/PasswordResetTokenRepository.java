@@ -1,22 +1,52 @@
 package com.example.charging_station_management.repository;
 
 import com.example.charging_station_management.entity.converters.PasswordResetToken;
-import com.example.charging_station_management.entity.converters.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Integer> {
 
-    Optional<PasswordResetToken> findByToken(String token);
+    // Tra cứu qua unique index trên cột token (hash)
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
 
-    List<PasswordResetToken> findByUser(User user);
+    /**
+     * Mỗi user chỉ giữ tối đa 1 token: token mới ghi đè token cũ trong cùng một câu lệnh,
+     * nhờ unique index trên user_id.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO password_reset_tokens (token, user_id, expiry_date, used, created_at)
+            VALUES (:tokenHash, :userId, :expiryDate, false, :createdAt)
+            ON CONFLICT (user_id) DO UPDATE
+               SET token = EXCLUDED.token,
+                   expiry_date = EXCLUDED.expiry_date,
+                   used = false,
+                   created_at = EXCLUDED.created_at
+            """, nativeQuery = true)
+    void upsertForUser(@Param("userId") Integer userId,
+                       @Param("tokenHash") String tokenHash,
+                       @Param("expiryDate") LocalDateTime expiryDate,
+                       @Param("createdAt") LocalDateTime createdAt);
 
-    void deleteByExpiryDateBefore(LocalDateTime date);
-
-    void deleteByUser(User user);
-}
\ No newline at end of file
+    /**
+     * Xóa tối đa {@code batchSize} token đã hết hạn hoặc đã dùng. Mỗi lần gọi là một transaction
+     * riêng để không giữ lock lâu trên bảng.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM password_reset_tokens
+             WHERE id IN (SELECT id FROM password_reset_tokens
+                           WHERE expiry_date < :now OR used = true
+                           LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
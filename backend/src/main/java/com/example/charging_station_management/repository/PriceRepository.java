@@ -2,12 +2,14 @@ package com.example.charging_station_management.repository;
 
 import com.example.charging_station_management.entity.converters.Price;
 import com.example.charging_station_management.entity.enums.PriceName;
+import com.example.charging_station_management.repository.projection.PriceVersionView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface PriceRepository extends JpaRepository<Price, Integer> {
@@ -16,6 +18,9 @@ public interface PriceRepository extends JpaRepository<Price, Integer> {
     // Vì thuộc tính trong Entity Price là 'pole'
     List<Price> findByPoleId(Integer poleId);
 
+    // Nạp bảng giá của nhiều trụ trong một câu truy vấn
+    List<Price> findByPoleIdIn(Collection<Integer> poleIds);
+
     // 2. FIX LỖI #2: Sửa truy vấn HQL (p.chargingPole.id -> p.pole.id)
     @Query("SELECT p FROM Price p WHERE p.pole.id = :poleId " +
            "AND p.name = :name " +
@@ -30,4 +35,19 @@ public interface PriceRepository extends JpaRepository<Price, Integer> {
                                       @Param("effectiveTo") LocalDate effectiveTo,
                                       @Param("startTime") LocalTime startTime,
                                       @Param("endTime") LocalTime endTime);
-}
\ No newline at end of file
+
+    // Chỉ lấy các cột cần cho ETag, không load Price/Pole/Station
+    @Query("SELECT p.id AS id, p.version AS version, p.updatedAt AS updatedAt, " +
+           "p.effectiveFrom AS effectiveFrom, p.effectiveTo AS effectiveTo, " +
+           "p.startTime AS startTime, p.endTime AS endTime " +
+           "FROM Price p WHERE p.pole.id = :poleId AND p.pole.station.vendor.id = :vendorId ORDER BY p.id")
+    List<PriceVersionView> findVersionsByPoleIdAndVendorId(@Param("poleId") Integer poleId,
+                                                           @Param("vendorId") Integer vendorId);
+
+    @Query("SELECT p.id AS id, p.version AS version, p.updatedAt AS updatedAt, " +
+           "p.effectiveFrom AS effectiveFrom, p.effectiveTo AS effectiveTo, " +
+           "p.startTime AS startTime, p.endTime AS endTime " +
+           "FROM Price p WHERE p.id = :priceId AND p.pole.station.vendor.id = :vendorId")
+    List<PriceVersionView> findVersionByIdAndVendorId(@Param("priceId") Integer priceId,
+                                                      @Param("vendorId") Integer vendorId);
+}
@@ -0,0 +1,88 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.RevenueDailyRollup;
+import com.example.charging_station_management.repository.projection.DailyRevenueView;
+import com.example.charging_station_management.repository.projection.RevenueTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevenueDailyRollupRepository extends JpaRepository<RevenueDailyRollup, Long> {
+
+    // Cộng dồn một giao dịch vào bucket; dòng bị khoá đến hết transaction thanh toán
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_daily_rollup (vendor_id, station_id, bucket_date, revenue, sessions, energy_kwh)
+            VALUES (:vendorId, :stationId, :bucketDate, :revenue, 1, :energyKwh)
+            ON CONFLICT (vendor_id, bucket_date, station_id) DO UPDATE
+               SET revenue = revenue_daily_rollup.revenue + EXCLUDED.revenue,
+                   sessions = revenue_daily_rollup.sessions + 1,
+                   energy_kwh = revenue_daily_rollup.energy_kwh + EXCLUDED.energy_kwh
+            """, nativeQuery = true)
+    void increment(@Param("vendorId") Integer vendorId,
+                   @Param("stationId") Integer stationId,
+                   @Param("bucketDate") LocalDate bucketDate,
+                   @Param("revenue") BigDecimal revenue,
+                   @Param("energyKwh") BigDecimal energyKwh);
+
+    @Modifying
+    @Query("DELETE FROM RevenueDailyRollup r WHERE r.bucketDate >= :fromDate AND r.bucketDate < :toDate")
+    int deleteByBucketDateRange(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // Dựng lại rollup từ bảng transactions cho [from, to); ghi đè bucket nếu thanh toán mới đã kịp cộng vào.
+    // windowStart = from - Transaction.PAYMENT_WINDOW giới hạn partition phải quét của transactions và charging_sessions
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_daily_rollup (vendor_id, station_id, bucket_date, revenue, sessions, energy_kwh)
+            SELECT st.vendor_id, st.id, CAST(t.payment_time AS date),
+                   SUM(t.amount), COUNT(*), COALESCE(SUM(s.energy_kwh), 0)
+              FROM transactions t
+              JOIN charging_sessions s ON s.id = t.charging_session_id
+              JOIN charging_connectors c ON c.id = s.charging_connector_id
+              JOIN charging_poles p ON p.id = c.pole_id
+              JOIN stations st ON st.id = p.station_id
+             WHERE t.payment_status = 'PAID'
+               AND t.payment_time >= :fromTime AND t.payment_time < :toTime
+               AND t.created_at >= :windowStart AND s.start_time >= :windowStart
+             GROUP BY st.vendor_id, st.id, CAST(t.payment_time AS date)
+            ON CONFLICT (vendor_id, bucket_date, station_id) DO UPDATE
+               SET revenue = EXCLUDED.revenue,
+                   sessions = EXCLUDED.sessions,
+                   energy_kwh = EXCLUDED.energy_kwh
+            """, nativeQuery = true)
+    int rebuildRange(@Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime,
+                     @Param("windowStart") LocalDateTime windowStart);
+
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN r.bucketDate = :today THEN r.revenue ELSE 0 END), 0) AS dailyRevenue,
+                   COALESCE(SUM(CASE WHEN r.bucketDate >= :startOfMonth THEN r.revenue ELSE 0 END), 0) AS monthlyRevenue,
+                   COALESCE(SUM(CASE WHEN r.bucketDate < :startOfMonth THEN r.revenue ELSE 0 END), 0) AS lastMonthRevenue
+              FROM RevenueDailyRollup r
+             WHERE r.vendorId = :vendorId
+               AND r.bucketDate >= :startOfLastMonth AND r.bucketDate <= :today
+            """)
+    RevenueTotalsView findRevenueTotals(@Param("vendorId") Integer vendorId,
+                                        @Param("today") LocalDate today,
+                                        @Param("startOfMonth") LocalDate startOfMonth,
+                                        @Param("startOfLastMonth") LocalDate startOfLastMonth);
+
+    @Query("""
+            SELECT r.bucketDate AS bucketDate, SUM(r.revenue) AS revenue, SUM(r.sessions) AS sessions
+              FROM RevenueDailyRollup r
+             WHERE r.vendorId = :vendorId
+               AND r.bucketDate >= :fromDate AND r.bucketDate <= :toDate
+             GROUP BY r.bucketDate
+             ORDER BY r.bucketDate
+            """)
+    List<DailyRevenueView> findDailyTotals(@Param("vendorId") Integer vendorId,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+}
@@ -0,0 +1,72 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.RevenueHourlyRollup;
+import com.example.charging_station_management.repository.projection.HourlyRevenueView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevenueHourlyRollupRepository extends JpaRepository<RevenueHourlyRollup, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_hourly_rollup (vendor_id, station_id, bucket_hour, revenue, sessions, energy_kwh)
+            VALUES (:vendorId, :stationId, :bucketHour, :revenue, 1, :energyKwh)
+            ON CONFLICT (vendor_id, bucket_hour, station_id) DO UPDATE
+               SET revenue = revenue_hourly_rollup.revenue + EXCLUDED.revenue,
+                   sessions = revenue_hourly_rollup.sessions + 1,
+                   energy_kwh = revenue_hourly_rollup.energy_kwh + EXCLUDED.energy_kwh
+            """, nativeQuery = true)
+    void increment(@Param("vendorId") Integer vendorId,
+                   @Param("stationId") Integer stationId,
+                   @Param("bucketHour") LocalDateTime bucketHour,
+                   @Param("revenue") BigDecimal revenue,
+                   @Param("energyKwh") BigDecimal energyKwh);
+
+    @Modifying
+    @Query("DELETE FROM RevenueHourlyRollup r WHERE r.bucketHour >= :fromTime AND r.bucketHour < :toTime")
+    int deleteByBucketHourRange(@Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime);
+
+    // Dựng lại rollup từ bảng transactions cho [from, to); ghi đè bucket nếu thanh toán mới đã kịp cộng vào.
+    // windowStart = from - Transaction.PAYMENT_WINDOW giới hạn partition phải quét của transactions và charging_sessions
+    @Modifying
+    @Query(value = """
+            INSERT INTO revenue_hourly_rollup (vendor_id, station_id, bucket_hour, revenue, sessions, energy_kwh)
+            SELECT st.vendor_id, st.id, date_trunc('hour', t.payment_time),
+                   SUM(t.amount), COUNT(*), COALESCE(SUM(s.energy_kwh), 0)
+              FROM transactions t
+              JOIN charging_sessions s ON s.id = t.charging_session_id
+              JOIN charging_connectors c ON c.id = s.charging_connector_id
+              JOIN charging_poles p ON p.id = c.pole_id
+              JOIN stations st ON st.id = p.station_id
+             WHERE t.payment_status = 'PAID'
+               AND t.payment_time >= :fromTime AND t.payment_time < :toTime
+               AND t.created_at >= :windowStart AND s.start_time >= :windowStart
+             GROUP BY st.vendor_id, st.id, date_trunc('hour', t.payment_time)
+            ON CONFLICT (vendor_id, bucket_hour, station_id) DO UPDATE
+               SET revenue = EXCLUDED.revenue,
+                   sessions = EXCLUDED.sessions,
+                   energy_kwh = EXCLUDED.energy_kwh
+            """, nativeQuery = true)
+    int rebuildRange(@Param("fromTime") LocalDateTime fromTime, @Param("toTime") LocalDateTime toTime,
+                     @Param("windowStart") LocalDateTime windowStart);
+
+    @Query("""
+            SELECT r.bucketHour AS bucketHour, SUM(r.revenue) AS revenue, SUM(r.sessions) AS sessions
+              FROM RevenueHourlyRollup r
+             WHERE r.vendorId = :vendorId
+               AND r.bucketHour >= :fromTime AND r.bucketHour < :toTime
+             GROUP BY r.bucketHour
+             ORDER BY r.bucketHour
+            """)
+    List<HourlyRevenueView> findHourlyTotals(@Param("vendorId") Integer vendorId,
+                                             @Param("fromTime") LocalDateTime fromTime,
+                                             @Param("toTime") LocalDateTime toTime);
+}
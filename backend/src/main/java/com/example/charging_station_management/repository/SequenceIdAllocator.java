@@ -0,0 +1,39 @@
+package com.example.charging_station_management.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lấy trước id cho insert batch từ cùng sequence mà Hibernate dùng (xem {@code @SequenceGenerator} trên entity),
+ * trong một round-trip. Theo quy ước pooled-lo: mỗi nextval cấp khối [v, v + BLOCK_SIZE - 1], nên chạy song song
+ * với insert qua JPA không bị trùng id.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceIdAllocator {
+
+    // Phải bằng allocationSize của @SequenceGenerator
+    public static final int BLOCK_SIZE = 50;
+
+    private static final String ALLOCATE_SQL =
+            "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int[] allocate(String sequence, int count) {
+        if (count == 0) {
+            return new int[0];
+        }
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        List<Long> starts = jdbcTemplate.queryForList(ALLOCATE_SQL, Long.class, sequence, blocks);
+
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = Math.toIntExact(starts.get(i / BLOCK_SIZE) + i % BLOCK_SIZE);
+        }
+        return ids;
+    }
+}
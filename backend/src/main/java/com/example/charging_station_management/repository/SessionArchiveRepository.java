@@ -0,0 +1,510 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.entity.enums.PaymentMethod;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.entity.enums.VehicleType;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.adapter.jdbc.ArrowVectorIterator;
+import org.apache.arrow.adapter.jdbc.JdbcFieldInfo;
+import org.apache.arrow.adapter.jdbc.JdbcToArrow;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Phiên sạc đã chuyển khỏi PostgreSQL: mỗi tháng một segment Arrow IPC (file format, nén theo batch), bất biến
+ * sau khi ghi. Dòng trong segment sắp theo {@code customer_id, start_time DESC, id DESC} và đã denormalize đủ
+ * để dựng lại lịch sử sạc (xe, đầu sạc, trạm, giao dịch) mà không cần join. Footer mang sparse index theo batch
+ * (khoảng customer_id và danh sách station_id) nên tra lịch sử một khách hàng chỉ giải nén vài batch.
+ * Segment được memory-map, đọc thẳng từ page cache.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class SessionArchiveRepository {
+
+    public static final String SEGMENT_SUFFIX = ".arrow";
+
+    private static final String INDEX_KEY = "sparse-index";
+    private static final String MONTH_KEY = "month";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // Cột giao dịch đến từ LEFT JOIN: driver báo NOT NULL theo cột gốc nên khai báo lại để NULL được ghi đúng
+    private static final Map<String, JdbcFieldInfo> TRANSACTION_FIELDS = Map.of(
+            "transaction_id", new JdbcFieldInfo(Types.INTEGER, ResultSetMetaData.columnNullable, 10, 0),
+            "amount", new JdbcFieldInfo(Types.NUMERIC, ResultSetMetaData.columnNullable, 15, 2),
+            "payment_method", new JdbcFieldInfo(Types.VARCHAR, ResultSetMetaData.columnNullable, 100, 0),
+            "payment_status", new JdbcFieldInfo(Types.VARCHAR, ResultSetMetaData.columnNullable, 100, 0),
+            "transaction_created_at", new JdbcFieldInfo(Types.TIMESTAMP, ResultSetMetaData.columnNullable, 29, 6));
+
+    /**
+     * Một batch của segment: khoảng customer_id và các trạm có phiên trong batch.
+     */
+    public record BlockIndex(int minCustomerId, int maxCustomerId, int rows, int[] stationIds) {
+
+        boolean mayContainCustomer(int customerId) {
+            return customerId >= minCustomerId && customerId <= maxCustomerId;
+        }
+    }
+
+    private record Segment(YearMonth month, Path path, MappedByteBuffer buffer, List<BlockIndex> blocks) {
+    }
+
+    @FunctionalInterface
+    private interface RowVisitor {
+        // false để dừng duyệt
+        boolean visit(VectorSchemaRoot root, int row);
+    }
+
+    private final BufferAllocator arrowRootAllocator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.archive.dir:archive/sessions}")
+    private Path archiveDir;
+
+    @Value("${app.archive.batch-size:4096}")
+    private int batchSize;
+
+    @Value("${app.archive.compression:ZSTD}")
+    private CompressionUtil.CodecType codecType;
+
+    // Mới nhất trước; thay cả danh sách khi thêm segment nên đọc không cần khóa
+    private volatile List<Segment> segments = List.of();
+
+    @PostConstruct
+    public synchronized void reload() {
+        if (!Files.isDirectory(archiveDir)) {
+            segments = List.of();
+            return;
+        }
+        List<Segment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            for (Path path : files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                loaded.add(open(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể đọc thư mục lưu trữ " + archiveDir, e);
+        }
+        loaded.sort(Comparator.comparing(Segment::month).reversed());
+        segments = List.copyOf(loaded);
+        if (!loaded.isEmpty()) {
+            log.info("Loaded {} archived session segment(s) from {}", loaded.size(), archiveDir);
+        }
+    }
+
+    public boolean hasSegments() {
+        return !segments.isEmpty();
+    }
+
+    public boolean hasSegment(YearMonth month) {
+        return Files.exists(segmentPath(month));
+    }
+
+    /**
+     * Ghi các dòng của {@code rs} (đã sắp theo customer_id, start_time DESC, id DESC) thành segment của tháng.
+     * Ghi ra file tạm rồi đổi tên nên segment chỉ xuất hiện khi đã ghi xong.
+     *
+     * @return số dòng đã ghi
+     */
+    public long writeSegment(YearMonth month, ResultSet rs) throws SQLException {
+        Path target = segmentPath(month);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("archive-" + month, 0, Long.MAX_VALUE)) {
+            Files.createDirectories(archiveDir);
+            // Cột timestamp không có time zone: giữ nguyên giờ ghi trong DB, gắn nhãn UTC
+            JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator,
+                    Calendar.getInstance(TimeZone.getTimeZone("UTC")))
+                    .setTargetBatchSize(batchSize)
+                    .setReuseVectorSchemaRoot(true)
+                    .setBigDecimalRoundingMode(RoundingMode.HALF_UP)
+                    .setExplicitTypesByColumnName(TRANSACTION_FIELDS)
+                    .build();
+
+            // Footer được ghi ở end() nên index có thể điền dần theo từng batch
+            Map<String, String> metadata = new HashMap<>();
+            List<BlockIndex> blocks = new ArrayList<>();
+            long rows = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 ArrowVectorIterator batches = JdbcToArrow.sqlToArrowVectorIterator(rs, config)) {
+                VectorSchemaRoot root = null;
+                ArrowFileWriter writer = null;
+                try {
+                    while (batches.hasNext()) {
+                        root = batches.next();
+                        if (writer == null) {
+                            writer = new ArrowFileWriter(root, null, channel, metadata, IpcOption.DEFAULT,
+                                    CommonsCompressionFactory.INSTANCE, codecType);
+                            writer.start();
+                        }
+                        if (root.getRowCount() == 0) {
+                            continue;
+                        }
+                        blocks.add(indexOf(root));
+                        writer.writeBatch();
+                        rows += root.getRowCount();
+                    }
+                    if (writer == null) {
+                        // Tháng không có phiên: không cần segment
+                        return 0;
+                    }
+                    metadata.put(MONTH_KEY, MONTH_FORMAT.format(month));
+                    metadata.put(INDEX_KEY, objectMapper.writeValueAsString(blocks));
+                    writer.end();
+                    channel.force(true);
+                } finally {
+                    // close() của writer đóng luôn channel
+                    if (writer != null) {
+                        writer.close();
+                    }
+                    if (root != null) {
+                        root.close();
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể ghi segment lưu trữ " + target, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", temp, e);
+            }
+        }
+    }
+
+    /**
+     * Số dòng trong segment của tháng (đọc từ index), -1 nếu chưa có segment.
+     */
+    public long countSegmentRows(YearMonth month) {
+        if (!hasSegment(month)) {
+            return -1;
+        }
+        return open(segmentPath(month)).blocks().stream().mapToLong(BlockIndex::rows).sum();
+    }
+
+    public long countByCustomer(Integer customerId) {
+        long[] count = {0};
+        scanCustomer(customerId, (root, row) -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Lịch sử đã lưu trữ của khách hàng theo {@code start_time DESC, id DESC}, bỏ qua {@code offset} dòng đầu.
+     */
+    public List<ChargingSession> findByCustomer(Integer customerId, long offset, int limit) {
+        List<ChargingSession> result = new ArrayList<>();
+        long[] skipped = {0};
+        scanCustomer(customerId, (root, row) -> {
+            if (skipped[0] < offset) {
+                skipped[0]++;
+                return true;
+            }
+            result.add(toSession(root, row));
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    /**
+     * Như {@link #findByCustomer(Integer, long, int)} nhưng chỉ lấy các dòng đứng sau {@code after} (keyset).
+     */
+    public List<ChargingSession> findByCustomerAfter(Integer customerId, KeysetCursor after, int limit) {
+        List<ChargingSession> result = new ArrayList<>();
+        scanCustomer(customerId, (root, row) -> {
+            if (after != null && !isAfter(root, row, after)) {
+                return true;
+            }
+            result.add(toSession(root, row));
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    private void scanCustomer(Integer customerId, RowVisitor visitor) {
+        if (customerId == null || segments.isEmpty()) {
+            return;
+        }
+        try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("archive-read", 0, Long.MAX_VALUE)) {
+            for (Segment segment : segments) {
+                if (!scanSegment(segment, customerId, visitor, allocator)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean scanSegment(Segment segment, int customerId, RowVisitor visitor, BufferAllocator allocator) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < segment.blocks().size(); i++) {
+            if (segment.blocks().get(i).mayContainCustomer(customerId)) {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return true;
+        }
+        try (ArrowFileReader reader = new ArrowFileReader(new MappedChannel(segment.buffer().duplicate()), allocator,
+                CommonsCompressionFactory.INSTANCE)) {
+            List<ArrowBlock> blocks = reader.getRecordBlocks();
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            for (int i : candidates) {
+                reader.loadRecordBatch(blocks.get(i));
+                IntVector customers = (IntVector) root.getVector("customer_id");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    int rowCustomer = customers.get(row);
+                    if (rowCustomer > customerId) {
+                        // Dòng sắp theo customer_id: đã qua hết dòng của khách hàng trong segment
+                        return true;
+                    }
+                    if (rowCustomer == customerId && !visitor.visit(root, row)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể đọc segment lưu trữ " + segment.path(), e);
+        }
+    }
+
+    private static boolean isAfter(VectorSchemaRoot root, int row, KeysetCursor after) {
+        int compare = time(root, "start_time", row).compareTo(after.time());
+        return compare < 0 || (compare == 0 && integer(root, "session_id", row) < after.id());
+    }
+
+    private static BlockIndex indexOf(VectorSchemaRoot root) {
+        IntVector customers = (IntVector) root.getVector("customer_id");
+        IntVector stations = (IntVector) root.getVector("station_id");
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        SortedSet<Integer> stationIds = new TreeSet<>();
+        for (int row = 0; row < root.getRowCount(); row++) {
+            min = Math.min(min, customers.get(row));
+            max = Math.max(max, customers.get(row));
+            stationIds.add(stations.get(row));
+        }
+        return new BlockIndex(min, max, root.getRowCount(), stationIds.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private Segment open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Segment quá lớn để memory-map: " + path);
+            }
+            // Mapping vẫn còn hiệu lực sau khi đóng channel
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("archive-open", 0, Long.MAX_VALUE);
+                 ArrowFileReader reader = new ArrowFileReader(new MappedChannel(buffer.duplicate()), allocator,
+                         CommonsCompressionFactory.INSTANCE)) {
+                // Footer (và metadata trong đó) chỉ được đọc khi khởi tạo reader
+                reader.initialize();
+                Map<String, String> metadata = reader.getMetaData();
+                List<BlockIndex> blocks = objectMapper.readValue(metadata.get(INDEX_KEY), new TypeReference<>() {
+                });
+                YearMonth month = YearMonth.parse(metadata.get(MONTH_KEY), MONTH_FORMAT);
+                return new Segment(month, path, buffer, blocks);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Index của segment không hợp lệ: " + path, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể mở segment lưu trữ " + path, e);
+        }
+    }
+
+    private Path segmentPath(YearMonth month) {
+        return archiveDir.resolve("charging_sessions_" + MONTH_FORMAT.format(month) + SEGMENT_SUFFIX);
+    }
+
+    // Dựng lại đồ thị entity (không gắn với persistence context) để mapper/JSON hiện tại dùng được nguyên vẹn
+    private static ChargingSession toSession(VectorSchemaRoot root, int row) {
+        Location location = new Location();
+        location.setAddressDetail(string(root, "address_detail", row));
+
+        Station station = new Station();
+        station.setId(integer(root, "station_id", row));
+        station.setName(string(root, "station_name", row));
+        station.setLocation(location);
+
+        ChargingPole pole = new ChargingPole();
+        pole.setId(integer(root, "pole_id", row));
+        pole.setStation(station);
+
+        ChargingConnector connector = new ChargingConnector();
+        connector.setId(integer(root, "connector_id", row));
+        connector.setPole(pole);
+        connector.setConnectorType(enumValue(ConnectorType.class, string(root, "connector_type", row)));
+        connector.setMaxPower(decimal(root, "connector_max_power", row));
+        // Trạng thái hiện tại của đầu sạc không thuộc về bản ghi lịch sử
+        connector.setStatus(null);
+
+        ElectricVehicle vehicle = new ElectricVehicle();
+        vehicle.setId(integer(root, "vehicle_id", row));
+        vehicle.setVehicleType(enumValue(VehicleType.class, string(root, "vehicle_type", row)));
+        vehicle.setBrand(string(root, "vehicle_brand", row));
+        vehicle.setModel(string(root, "vehicle_model", row));
+        vehicle.setLicensePlate(string(root, "license_plate", row));
+        vehicle.setBatteryCapacity(decimal(root, "battery_capacity", row));
+        vehicle.setConnectorType(enumValue(ConnectorType.class, string(root, "vehicle_connector_type", row)));
+
+        ChargingSession session = new ChargingSession();
+        session.setId(integer(root, "session_id", row));
+        session.setElectricVehicle(vehicle);
+        session.setChargingConnector(connector);
+        session.setStartTime(time(root, "start_time", row));
+        session.setEndTime(time(root, "end_time", row));
+        session.setEnergyKwh(decimal(root, "energy_kwh", row));
+        session.setCost(decimal(root, "cost", row));
+        session.setStatus(enumValue(SessionStatus.class, string(root, "status", row)));
+
+        Integer transactionId = integer(root, "transaction_id", row);
+        if (transactionId != null) {
+            Transaction transaction = new Transaction();
+            transaction.setId(transactionId);
+            transaction.setAmount(decimal(root, "amount", row));
+            transaction.setPaymentMethod(enumValue(PaymentMethod.class, string(root, "payment_method", row)));
+            transaction.setPaymentStatus(enumValue(PaymentStatus.class, string(root, "payment_status", row)));
+            transaction.setPaymentTime(time(root, "payment_time", row));
+            transaction.setCreatedAt(time(root, "transaction_created_at", row));
+            session.setTransaction(transaction);
+        }
+        return session;
+    }
+
+    private static Object value(VectorSchemaRoot root, String column, int row) {
+        FieldVector vector = root.getVector(column);
+        return vector == null || vector.isNull(row) ? null : vector.getObject(row);
+    }
+
+    private static Integer integer(VectorSchemaRoot root, String column, int row) {
+        return (Integer) value(root, column, row);
+    }
+
+    private static String string(VectorSchemaRoot root, String column, int row) {
+        Object value = value(root, column, row);
+        return value != null ? value.toString() : null;
+    }
+
+    private static BigDecimal decimal(VectorSchemaRoot root, String column, int row) {
+        return (BigDecimal) value(root, column, row);
+    }
+
+    private static LocalDateTime time(VectorSchemaRoot root, String column, int row) {
+        Object value = value(root, column, row);
+        return value != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) value), ZoneOffset.UTC) : null;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    /**
+     * Kênh chỉ đọc trên vùng nhớ đã map, cho {@link ArrowFileReader} đọc segment không qua read() của file.
+     */
+    private static final class MappedChannel implements SeekableByteChannel {
+
+        private final ByteBuffer buffer;
+        private boolean open = true;
+
+        MappedChannel(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), buffer.remaining());
+            dst.put(buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+            return length;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public long position() {
+            return buffer.position();
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) {
+            buffer.position((int) newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return buffer.limit();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
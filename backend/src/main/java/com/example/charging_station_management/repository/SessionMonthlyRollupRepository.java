@@ -0,0 +1,65 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.SessionMonthlyRollup;
+import com.example.charging_station_management.repository.projection.SessionTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SessionMonthlyRollupRepository extends JpaRepository<SessionMonthlyRollup, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO session_monthly_rollup (bucket_month, sessions, completed_sessions, revenue)
+            VALUES (:bucketMonth, 1, 0, 0)
+            ON CONFLICT (bucket_month) DO UPDATE
+               SET sessions = session_monthly_rollup.sessions + 1
+            """, nativeQuery = true)
+    void incrementSessions(@Param("bucketMonth") LocalDate bucketMonth);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO session_monthly_rollup (bucket_month, sessions, completed_sessions, revenue)
+            VALUES (:bucketMonth, 0, 1, :revenue)
+            ON CONFLICT (bucket_month) DO UPDATE
+               SET completed_sessions = session_monthly_rollup.completed_sessions + 1,
+                   revenue = session_monthly_rollup.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void addCompleted(@Param("bucketMonth") LocalDate bucketMonth, @Param("revenue") BigDecimal revenue);
+
+    // Dựng lại toàn bộ từ charging_sessions (chỉ dùng khi bảng còn trống)
+    @Modifying
+    @Query(value = """
+            INSERT INTO session_monthly_rollup (bucket_month, sessions, completed_sessions, revenue)
+            SELECT CAST(date_trunc('month', start_time) AS date),
+                   COUNT(*),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+                   COALESCE(SUM(cost) FILTER (WHERE status = 'COMPLETED'), 0)
+              FROM charging_sessions
+             WHERE start_time IS NOT NULL
+             GROUP BY CAST(date_trunc('month', start_time) AS date)
+            ON CONFLICT (bucket_month) DO UPDATE
+               SET sessions = EXCLUDED.sessions,
+                   completed_sessions = EXCLUDED.completed_sessions,
+                   revenue = EXCLUDED.revenue
+            """, nativeQuery = true)
+    int rebuildAll();
+
+    // Tổng mọi tháng: rollup không bị xóa khi tháng cũ của charging_sessions được lưu trữ ra segment
+    @Query("""
+            SELECT COALESCE(SUM(r.sessions), 0) AS sessions, COALESCE(SUM(r.revenue), 0) AS revenue
+              FROM SessionMonthlyRollup r
+            """)
+    SessionTotalsView findTotals();
+
+    List<SessionMonthlyRollup> findTop6BySessionsGreaterThanOrderByBucketMonthDesc(long sessions);
+
+    List<SessionMonthlyRollup> findTop6ByCompletedSessionsGreaterThanOrderByBucketMonthDesc(long completedSessions);
+}
@@ -0,0 +1,92 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.*;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Set;
+
+/**
+ * Câu SELECT phẳng của chi tiết giao dịch: chỉ các cột vô hướng (Tuple, mỗi cột một alias) qua một lượt join
+ * khách hàng, phiên sạc, xe, cổng/trụ/trạm, vendor. Dùng chung cho danh sách/keyset
+ * ({@link TransactionDetailRepository}) và export Excel.
+ */
+public final class TransactionDetailQuery {
+
+    // Đường dẫn được phép sắp xếp, tính từ Transaction
+    public static final Set<String> SORTABLE = Set.of(
+            "id", "amount", "paymentMethod", "paymentStatus", "bankName", "paymentTime", "createdAt",
+            "customer.name", "chargingSession.startTime");
+
+    private TransactionDetailQuery() {
+    }
+
+    // Thuộc tính lạ bị từ chối ngay (400) thay vì lỗi khi truy vấn đang chạy
+    public static void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Không hỗ trợ sắp xếp giao dịch theo: " + order.getProperty());
+            }
+        }
+    }
+
+    public static CriteriaQuery<Tuple> create(CriteriaBuilder cb, Specification<Transaction> spec, Sort sort) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> root = query.from(Transaction.class);
+
+        Join<Transaction, Customer> customer = root.join("customer");
+        Join<Transaction, ChargingSession> session = root.join("chargingSession");
+        Join<ChargingSession, ElectricVehicle> vehicle = session.join("electricVehicle");
+        Join<ChargingSession, ChargingConnector> connector = session.join("chargingConnector");
+        Join<ChargingConnector, ChargingPole> pole = connector.join("pole");
+        Join<ChargingPole, Station> station = pole.join("station");
+        Join<Station, Location> location = station.join("location");
+        Join<Station, Vendor> vendor = station.join("vendor");
+
+        query.multiselect(
+                root.get("id").alias("transactionId"),
+                root.get("amount").alias("amount"),
+                root.get("paymentMethod").alias("paymentMethod"),
+                root.get("paymentStatus").alias("paymentStatus"),
+                root.get("bankName").alias("bankName"),
+                root.get("accountNumber").alias("accountNumber"),
+                root.get("paymentTime").alias("paymentTime"),
+                root.get("createdAt").alias("createdAt"),
+                customer.get("id").alias("customerId"),
+                customer.get("name").alias("customerName"),
+                customer.get("email").alias("customerEmail"),
+                customer.get("phone").alias("customerPhone"),
+                session.get("id").alias("sessionId"),
+                session.get("startTime").alias("sessionStartTime"),
+                session.get("endTime").alias("sessionEndTime"),
+                session.get("energyKwh").alias("energyKwh"),
+                session.get("cost").alias("sessionCost"),
+                session.get("status").alias("sessionStatus"),
+                vehicle.get("id").alias("vehicleId"),
+                vehicle.get("licensePlate").alias("licensePlate"),
+                vehicle.get("brand").alias("vehicleBrand"),
+                vehicle.get("model").alias("vehicleModel"),
+                station.get("id").alias("stationId"),
+                station.get("name").alias("stationName"),
+                location.get("province").alias("stationProvince"),
+                location.get("addressDetail").alias("stationAddress"),
+                vendor.get("name").alias("vendorName"),
+                connector.get("id").alias("connectorId"),
+                connector.get("connectorType").alias("connectorType"),
+                pole.get("id").alias("poleId"),
+                pole.get("manufacturer").alias("poleManufacturer"));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            checkSort(sort);
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return query;
+    }
+}
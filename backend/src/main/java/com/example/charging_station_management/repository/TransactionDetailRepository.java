@@ -0,0 +1,23 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.TransactionDetailResponse;
+import com.example.charging_station_management.entity.converters.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Đọc danh sách chi tiết giao dịch dạng phẳng trong một câu SELECT (khách hàng, phiên sạc, xe,
+ * cổng/trụ/trạm, vendor), tránh N+1 khi map sang response.
+ */
+public interface TransactionDetailRepository {
+
+    // Trang offset: câu SELECT + một câu COUNT
+    Page<TransactionDetailResponse> findDetails(Specification<Transaction> spec, Pageable pageable);
+
+    // Không đếm tổng, dùng cho phân trang keyset (limit = size + 1)
+    List<TransactionDetailResponse> findDetails(Specification<Transaction> spec, Sort sort, int limit);
+}
@@ -0,0 +1,100 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.TransactionDetailResponse;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.entity.enums.PaymentMethod;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TransactionDetailRepositoryImpl implements TransactionDetailRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionDetailResponse> findDetails(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = createQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TransactionDetailResponse> content = query.getResultList().stream().map(this::toResponse).toList();
+        // COUNT chỉ chạy khi không suy ra được tổng từ trang hiện tại
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TransactionDetailResponse> findDetails(Specification<Transaction> spec, Sort sort, int limit) {
+        return createQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList().stream().map(this::toResponse).toList();
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<Transaction> spec, Sort sort) {
+        return entityManager.createQuery(TransactionDetailQuery.create(entityManager.getCriteriaBuilder(), spec, sort));
+    }
+
+    private long count(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TransactionDetailResponse toResponse(Tuple row) {
+        ConnectorType connectorType = row.get("connectorType", ConnectorType.class);
+        return TransactionDetailResponse.builder()
+                .transactionId(row.get("transactionId", Integer.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .paymentMethod(row.get("paymentMethod", PaymentMethod.class))
+                .paymentStatus(row.get("paymentStatus", PaymentStatus.class))
+                .bankName(row.get("bankName", String.class))
+                .accountNumber(row.get("accountNumber", String.class))
+                .paymentTime(row.get("paymentTime", LocalDateTime.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .customerId(row.get("customerId", Integer.class))
+                .customerName(row.get("customerName", String.class))
+                .customerEmail(row.get("customerEmail", String.class))
+                .customerPhone(row.get("customerPhone", String.class))
+                .sessionId(row.get("sessionId", Integer.class))
+                .sessionStartTime(row.get("sessionStartTime", LocalDateTime.class))
+                .sessionEndTime(row.get("sessionEndTime", LocalDateTime.class))
+                .energyKwh(row.get("energyKwh", BigDecimal.class))
+                .sessionCost(row.get("sessionCost", BigDecimal.class))
+                .sessionStatus(row.get("sessionStatus", SessionStatus.class))
+                .vehicleId(row.get("vehicleId", Integer.class))
+                .licensePlate(row.get("licensePlate", String.class))
+                .vehicleBrand(row.get("vehicleBrand", String.class))
+                .vehicleModel(row.get("vehicleModel", String.class))
+                .stationId(row.get("stationId", Integer.class))
+                .stationName(row.get("stationName", String.class))
+                .stationProvince(row.get("stationProvince", String.class))
+                .stationAddress(row.get("stationAddress", String.class))
+                .vendorName(row.get("vendorName", String.class))
+                .connectorId(row.get("connectorId", Integer.class))
+                .connectorType(connectorType != null ? connectorType.toString() : null)
+                .poleId(row.get("poleId", Integer.class))
+                .poleManufacturer(row.get("poleManufacturer", String.class))
+                .build();
+    }
+}
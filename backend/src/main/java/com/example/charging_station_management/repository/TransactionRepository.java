@@ -9,17 +9,22 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.charging_station_management.repository.projection.DailyRevenueView;
+import com.example.charging_station_management.repository.projection.RevenueTotalsView;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface TransactionRepository
         extends JpaRepository<Transaction, Integer>,
-        JpaSpecificationExecutor<Transaction> {
+        JpaSpecificationExecutor<Transaction>,
+        TransactionDetailRepository {
 
     List<Transaction> findByCustomerId(Integer customerId);
 
@@ -35,6 +40,8 @@ public interface TransactionRepository
     })
     Page<Transaction> findByCustomer_IdOrderByPaymentTimeDesc(Integer customerId, Pageable pageable);
 
+    // Các truy vấn theo khoảng payment_time dưới đây nhận windowStart = đầu khoảng - Transaction.PAYMENT_WINDOW:
+    // cận dưới của created_at và start_time để PostgreSQL chỉ quét partition của các tháng liên quan
     @Query("""
                 SELECT t FROM Transaction t
                 JOIN t.chargingSession s
@@ -45,11 +52,80 @@ public interface TransactionRepository
                 AND t.paymentStatus = :status
                 AND t.paymentTime >= :startTime
                 AND t.paymentTime <= :endTime
+                AND t.createdAt >= :windowStart
+                AND s.startTime >= :windowStart
                 ORDER BY t.paymentTime ASC
             """)
     List<Transaction> findTransactionsByVendorAndDateRange(
             @Param("vendorId") Integer vendorId,
             @Param("status") PaymentStatus status,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime);
+            @Param("endTime") LocalDateTime endTime,
+            @Param("windowStart") LocalDateTime windowStart);
+
+    // Tổng theo ngày tính ngay trong DB; chỉ trả về một dòng cho mỗi ngày có doanh thu
+    @Query("""
+                SELECT CAST(t.paymentTime AS LocalDate) AS bucketDate,
+                       SUM(t.amount) AS revenue,
+                       COUNT(t) AS sessions
+                FROM Transaction t
+                JOIN t.chargingSession s
+                JOIN s.chargingConnector c
+                JOIN c.pole p
+                JOIN p.station st
+                WHERE st.vendor.id = :vendorId
+                AND t.paymentStatus = :status
+                AND t.paymentTime >= :startTime
+                AND t.paymentTime < :endTime
+                AND t.createdAt >= :windowStart
+                AND s.startTime >= :windowStart
+                GROUP BY CAST(t.paymentTime AS LocalDate)
+                ORDER BY CAST(t.paymentTime AS LocalDate)
+            """)
+    List<DailyRevenueView> sumDailyRevenueByVendor(
+            @Param("vendorId") Integer vendorId,
+            @Param("status") PaymentStatus status,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("windowStart") LocalDateTime windowStart);
+
+    @Query("""
+                SELECT COALESCE(SUM(CASE WHEN t.paymentTime >= :startOfDay THEN t.amount ELSE 0 END), 0) AS dailyRevenue,
+                       COALESCE(SUM(CASE WHEN t.paymentTime >= :startOfMonth THEN t.amount ELSE 0 END), 0) AS monthlyRevenue,
+                       COALESCE(SUM(CASE WHEN t.paymentTime < :startOfMonth THEN t.amount ELSE 0 END), 0) AS lastMonthRevenue
+                FROM Transaction t
+                JOIN t.chargingSession s
+                JOIN s.chargingConnector c
+                JOIN c.pole p
+                JOIN p.station st
+                WHERE st.vendor.id = :vendorId
+                AND t.paymentStatus = :status
+                AND t.paymentTime >= :startOfLastMonth
+                AND t.paymentTime < :endTime
+                AND t.createdAt >= :windowStart
+                AND s.startTime >= :windowStart
+            """)
+    RevenueTotalsView sumRevenueTotalsByVendor(
+            @Param("vendorId") Integer vendorId,
+            @Param("status") PaymentStatus status,
+            @Param("startOfDay") LocalDateTime startOfDay,
+            @Param("startOfMonth") LocalDateTime startOfMonth,
+            @Param("startOfLastMonth") LocalDateTime startOfLastMonth,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("windowStart") LocalDateTime windowStart);
+
+    // Đổi trạng thái chỉ khi giao dịch còn ở trạng thái from; trả 0 nếu request khác đã đổi trước
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+                UPDATE Transaction t SET t.paymentStatus = :to, t.paymentTime = :paymentTime
+                WHERE t.id = :id AND t.paymentStatus = :from
+            """)
+    int updatePaymentStatus(
+            @Param("id") Integer id,
+            @Param("from") PaymentStatus from,
+            @Param("to") PaymentStatus to,
+            @Param("paymentTime") LocalDateTime paymentTime);
+
+    @Query("SELECT MIN(t.paymentTime) FROM Transaction t WHERE t.paymentStatus = :status")
+    LocalDateTime findEarliestPaymentTime(@Param("status") PaymentStatus status);
 }
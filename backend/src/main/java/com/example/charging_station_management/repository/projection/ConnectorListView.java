@@ -0,0 +1,19 @@
+package com.example.charging_station_management.repository.projection;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+
+import java.math.BigDecimal;
+
+public interface ConnectorListView {
+    Integer getId();
+    Integer getPoleId();
+    String getPoleManufacturer();
+    BigDecimal getPoleMaxPower();
+    Integer getStationId();
+    String getStationName();
+    ConnectorType getConnectorType();
+    BigDecimal getMaxPower();
+    ConnectorStatus getStatus();
+    Boolean getInUse();
+}
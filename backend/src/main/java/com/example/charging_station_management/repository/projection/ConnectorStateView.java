@@ -0,0 +1,10 @@
+package com.example.charging_station_management.repository.projection;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+
+public interface ConnectorStateView {
+    Integer getId();
+    ConnectorStatus getStatus();
+    Integer getPoleId();
+    Integer getStationId();
+}
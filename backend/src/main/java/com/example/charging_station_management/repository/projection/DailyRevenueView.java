@@ -0,0 +1,13 @@
+package com.example.charging_station_management.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface DailyRevenueView {
+
+    LocalDate getBucketDate();
+
+    BigDecimal getRevenue();
+
+    Long getSessions();
+}
@@ -0,0 +1,13 @@
+package com.example.charging_station_management.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface HourlyRevenueView {
+
+    LocalDateTime getBucketHour();
+
+    BigDecimal getRevenue();
+
+    Long getSessions();
+}
@@ -0,0 +1,22 @@
+package com.example.charging_station_management.repository.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public interface PriceVersionView {
+
+    Integer getId();
+
+    Long getVersion();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDate getEffectiveFrom();
+
+    LocalDate getEffectiveTo();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
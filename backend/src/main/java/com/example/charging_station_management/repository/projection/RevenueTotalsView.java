@@ -0,0 +1,12 @@
+package com.example.charging_station_management.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface RevenueTotalsView {
+
+    BigDecimal getDailyRevenue();
+
+    BigDecimal getMonthlyRevenue();
+
+    BigDecimal getLastMonthRevenue();
+}
@@ -0,0 +1,16 @@
+package com.example.charging_station_management.repository.projection;
+
+import com.example.charging_station_management.entity.enums.SessionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface SessionSummaryView {
+    Integer getId();
+    String getLicensePlate();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    BigDecimal getEnergyKwh();
+    BigDecimal getCost();
+    SessionStatus getStatus();
+}
@@ -0,0 +1,10 @@
+package com.example.charging_station_management.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface SessionTotalsView {
+
+    Long getSessions();
+
+    BigDecimal getRevenue();
+}
@@ -1,5 +1,6 @@
 package com.example.charging_station_management.repository.specification;
 
+import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
 import com.example.charging_station_management.entity.converters.ChargingSession;
 import com.example.charging_station_management.entity.enums.SessionStatus;
 import org.springframework.data.jpa.domain.Specification;
@@ -9,6 +10,25 @@ import java.time.LocalDateTime;
 
 public class ChargingSessionSpecification {
 
+    // Ghép toàn bộ điều kiện lọc; dùng chung cho danh sách phân trang và export
+    public static Specification<ChargingSession> fromFilter(ChargingSessionFilterRequest filter) {
+        Specification<ChargingSession> spec = Specification.where(null);
+        if (filter == null) {
+            return spec;
+        }
+        return spec
+                .and(withCustomerId(filter.getCustomerId()))
+                .and(withVendorId(filter.getVendorId()))
+                .and(withStationId(filter.getStationId()))
+                .and(withStatus(filter.getStatus()))
+                .and(withStatusIn(filter.getStatuses()))
+                .and(withStartTimeBetween(filter.getStartTimeFrom(), filter.getStartTimeTo()))
+                .and(withEndTimeBetween(filter.getEndTimeFrom(), filter.getEndTimeTo()))
+                .and(withCustomerNameLike(filter.getCustomerName()))
+                .and(withStationNameLike(filter.getStationName()))
+                .and(withLicensePlateLike(filter.getLicensePlate()));
+    }
+
     public static Specification<ChargingSession> withCustomerId(Integer customerId) {
         return (root, query, cb) ->
                 customerId == null ? cb.conjunction() :
@@ -0,0 +1,24 @@
+package com.example.charging_station_management.repository.specification;
+
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public class KeysetSpecification {
+
+    // Sắp xếp tương ứng với điều kiện seek bên dưới; id làm khoá phụ để thứ tự ổn định khi trùng thời điểm
+    public static Sort newestFirst(String timeAttribute) {
+        return Sort.by(Sort.Order.desc(timeAttribute), Sort.Order.desc("id"));
+    }
+
+    // time < :time OR (time = :time AND id < :id): các dòng đứng sau cursor theo newestFirst
+    public static <T> Specification<T> after(String timeAttribute, KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return cb.conjunction();
+            return cb.or(
+                    cb.lessThan(root.get(timeAttribute), cursor.time()),
+                    cb.and(cb.equal(root.get(timeAttribute), cursor.time()),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+}
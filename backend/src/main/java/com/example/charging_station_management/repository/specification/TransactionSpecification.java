@@ -1,5 +1,6 @@
 package com.example.charging_station_management.repository.specification;
 
+import com.example.charging_station_management.dto.request.TransactionFilterRequest;
 import com.example.charging_station_management.entity.converters.Transaction;
 import com.example.charging_station_management.entity.enums.PaymentMethod;
 import com.example.charging_station_management.entity.enums.PaymentStatus;
@@ -11,6 +12,26 @@ import java.time.LocalDateTime;
 
 public class TransactionSpecification {
 
+    // Ghép toàn bộ điều kiện lọc; dùng chung cho danh sách phân trang và export
+    public static Specification<Transaction> fromFilter(TransactionFilterRequest filter) {
+        Specification<Transaction> spec = Specification.where(null);
+        if (filter == null) {
+            return spec;
+        }
+        return spec
+                .and(withCustomerId(filter.getCustomerId()))
+                .and(withVendorId(filter.getVendorId()))
+                .and(withStationId(filter.getStationId()))
+                .and(withPaymentStatus(filter.getPaymentStatus()))
+                .and(withPaymentMethod(filter.getPaymentMethod()))
+                .and(withPaymentTimeBetween(filter.getPaymentTimeFrom(), filter.getPaymentTimeTo()))
+                .and(withCreatedAtBetween(filter.getCreatedAtFrom(), filter.getCreatedAtTo()))
+                .and(withAmountBetween(filter.getAmountFrom(), filter.getAmountTo()))
+                .and(withCustomerNameLike(filter.getCustomerName()))
+                .and(withStationNameLike(filter.getStationName()))
+                .and(withBankNameLike(filter.getBankName()));
+    }
+
     public static Specification<Transaction> withCustomerId(Integer customerId) {
         return (root, query, cb) ->
                 customerId == null ? cb.conjunction() : cb.equal(root.get("customer").get("id"), customerId);
@@ -22,6 +43,12 @@ public class TransactionSpecification {
                         cb.equal(root.get("chargingSession").get("chargingConnector").get("pole").get("station").get("id"), stationId);
     }
 
+    public static Specification<Transaction> withVendorId(Integer vendorId) {
+        return (root, query, cb) ->
+                vendorId == null ? cb.conjunction() :
+                        cb.equal(root.get("chargingSession").get("chargingConnector").get("pole").get("station").get("vendor").get("id"), vendorId);
+    }
+
     public static Specification<Transaction> withPaymentStatus(PaymentStatus status) {
         return (root, query, cb) ->
                 status == null ? cb.conjunction() : cb.equal(root.get("paymentStatus"), status);
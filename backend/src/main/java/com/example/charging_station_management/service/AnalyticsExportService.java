@@ -0,0 +1,21 @@
+package com.example.charging_station_management.service;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface AnalyticsExportService {
+
+    /**
+     * Ghi các phiên sạc (kèm trạm, vendor, xe) có startTime trong [from, to) ra Arrow IPC stream.
+     *
+     * @return số dòng đã ghi
+     */
+    long exportSessions(LocalDateTime from, LocalDateTime to, OutputStream out);
+
+    /**
+     * Ghi các giao dịch (kèm trạm, vendor, xe) có createdAt trong [from, to) ra Arrow IPC stream.
+     *
+     * @return số dòng đã ghi
+     */
+    long exportTransactions(LocalDateTime from, LocalDateTime to, OutputStream out);
+}
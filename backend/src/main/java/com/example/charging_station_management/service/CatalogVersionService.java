@@ -0,0 +1,31 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.dto.response.CatalogVersion;
+
+/**
+ * Tính ETag cho các endpoint catalog từ version/updatedAt trong DB, không serialize body.
+ * Trạm và danh sách trạm dùng version được duy trì trong bảng catalog_versions; giá vẫn tính từ
+ * version của bản ghi. Các hàm trả về {@code null} khi resource không tồn tại (hoặc không thuộc vendor)
+ * để controller đi tiếp vào luồng bình thường và trả lỗi như cũ.
+ * <p>
+ * ETag của trạm/danh sách trạm cũng nằm trong key cache của các body tương ứng: body nạp trước khi version
+ * tăng chỉ được lưu dưới version cũ, nên không bao giờ được trả kèm ETag mới.
+ */
+public interface CatalogVersionService {
+
+    CatalogVersion getStationListVersion();
+
+    CatalogVersion getStationVersion(Integer stationId);
+
+    CatalogVersion getStationPolesVersion(Integer stationId);
+
+    CatalogVersion getPolePricesVersion(Integer poleId, Integer vendorId);
+
+    CatalogVersion getPriceVersion(Integer priceId, Integer vendorId);
+
+    /**
+     * Tăng version của trạm (chi tiết + danh sách trụ) và, nếu {@code stationList}, của danh sách trạm.
+     * Gọi trong transaction ghi dữ liệu để version mới commit cùng lúc với dữ liệu.
+     */
+    void bumpStationVersion(Integer stationId, boolean stationList);
+}
@@ -2,6 +2,7 @@ package com.example.charging_station_management.service;
 
 import com.example.charging_station_management.dto.request.CreateChargingPoleRequest;
 import com.example.charging_station_management.dto.request.UpdateChargingPoleRequest;
+import com.example.charging_station_management.dto.response.ChargePointKeyResponse;
 import com.example.charging_station_management.dto.response.ChargingPoleResponse;
 
 import java.util.List;
@@ -13,4 +14,6 @@ public interface ChargingPoleService {
     // Hàm xóa trụ
     void deleteChargingPole(Integer id);
     List<ChargingPoleResponse> getAllPolesByStationId(Integer stationId);
+    // Tạo khóa OCPP mới cho trụ, khóa cũ hết hiệu lực
+    ChargePointKeyResponse rotateOcppAuthKey(Integer id);
 }
\ No newline at end of file
@@ -2,21 +2,36 @@ package com.example.charging_station_management.service;
 
 import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
 import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.entity.converters.ChargingSession;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+
 public interface ChargingSessionService {
 
     Page<ChargingSessionDetailResponse> getAllChargingSessions(ChargingSessionFilterRequest filterRequest,
             Pageable pageable);
 
+    /**
+     * Như {@link #getAllChargingSessions} nhưng phân trang keyset theo (startTime, id) giảm dần, không đếm tổng.
+     */
+    CursorPage<ChargingSessionDetailResponse> getAllChargingSessions(ChargingSessionFilterRequest filterRequest,
+            String cursor, Integer size);
+
     ChargingSessionDetailResponse getChargingSessionById(Integer sessionId);
 
     ChargingSession startSession(Integer userId, Integer connectorId, Integer vehicleId);
 
     ChargingSession stopSession(Integer userId, Integer sessionId);
 
+    /**
+     * Kết thúc phiên với điện năng đo từ công tơ của trụ (OCPP StopTransaction);
+     * {@code meteredEnergyKwh} null thì ước tính theo thời gian và công suất như {@link #stopSession(Integer, Integer)}.
+     */
+    ChargingSession stopSession(Integer userId, Integer sessionId, BigDecimal meteredEnergyKwh);
+
     ChargingSession getCurrentSession(Integer userId);
 
     Page<ChargingSession> getSessionHistory(Integer userId, Pageable pageable);
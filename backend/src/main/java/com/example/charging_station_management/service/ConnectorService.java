@@ -4,6 +4,7 @@ import com.example.charging_station_management.dto.request.CreateConnectorReques
 import com.example.charging_station_management.dto.request.UpdateConnectorRequest;
 import com.example.charging_station_management.dto.response.ConnectorDetailResponse;
 import com.example.charging_station_management.dto.response.ConnectorResponse;
+import com.example.charging_station_management.dto.response.ConnectorStatusBoardResponse;
 import com.example.charging_station_management.entity.enums.ConnectorStatus;
 import com.example.charging_station_management.entity.enums.ConnectorType;
 
@@ -22,5 +23,6 @@ public interface ConnectorService {
             ConnectorType connectorType,
             ConnectorStatus status,
             Integer poleId);
+    ConnectorStatusBoardResponse getStatusBoard(Integer vendorId);
     void validateConnectorInfo(CreateConnectorRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface ConnectorStateMachine {
+
+    /**
+     * Trạng thái hiện tại của đầu sạc, đọc từ bộ nhớ (nạp từ DB nếu chưa có).
+     */
+    ConnectorStatus current(Integer connectorId);
+
+    /**
+     * Trạng thái của nhiều đầu sạc, giữ thứ tự của {@code connectorIds}.
+     */
+    Map<Integer, ConnectorStatus> snapshot(Collection<Integer> connectorIds);
+
+    /**
+     * Chuyển trạng thái theo {@code trigger} bằng compare-and-set, trả về trạng thái trước đó.
+     * Trong transaction thì chỉ ghi xuống DB sau commit và tự hoàn tác khi rollback.
+     *
+     * @throws IllegalStateException nếu trạng thái hiện tại không cho phép chuyển
+     */
+    ConnectorStatus fire(Integer connectorId, ConnectorTrigger trigger);
+
+    /**
+     * Bỏ đầu sạc khỏi bộ nhớ sau khi bị xóa cứng.
+     */
+    void forget(Integer connectorId);
+
+    /**
+     * Ghi các trạng thái đã đổi xuống DB (gộp nhiều lần đổi của cùng đầu sạc) và phát
+     * ConnectorStatusChangedEvent. Trả về số đầu sạc đã ghi.
+     */
+    int flush();
+}
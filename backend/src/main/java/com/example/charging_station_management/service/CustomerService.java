@@ -24,5 +24,8 @@ public interface CustomerService {
 
     Page<ChargingHistoryResponse> getChargingHistory(Integer userId, Pageable pageable);
 
+    // Lịch sử sạc theo cursor (startTime, id), không đếm tổng
+    CursorPage<ChargingHistoryResponse> getChargingHistory(Integer userId, String cursor, Integer size);
+
     Page<TransactionHistoryResponse> getTransactionHistory(Integer userId, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.dto.request.DashboardResponse;
+
+public interface DashboardMetricsService {
+
+    /**
+     * Ảnh chụp số liệu dashboard admin từ bộ đếm trong bộ nhớ và rollup theo tháng.
+     */
+    DashboardResponse getDashboardStats();
+
+    /**
+     * Đồng bộ lại bộ đếm với DB (sửa sai lệch do event bị trùng hoặc bị mất).
+     */
+    void reconcile();
+}
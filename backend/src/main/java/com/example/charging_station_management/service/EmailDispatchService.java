@@ -0,0 +1,11 @@
+package com.example.charging_station_management.service;
+
+public interface EmailDispatchService {
+
+    /**
+     * Gửi một lô email đến hạn trong outbox, trả về số email gửi thành công.
+     */
+    int dispatchPendingEmails();
+
+    int purgeSentEmails();
+}
@@ -0,0 +1,32 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
+import com.example.charging_station_management.dto.request.TransactionFilterRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExcelExportService {
+
+    /**
+     * Kiểm tra sort của export giao dịch trước khi trả body streaming, để sort không hợp lệ thành lỗi 400
+     * thay vì làm hỏng file đang tải.
+     */
+    void validateTransactionSort(Sort sort);
+
+    /**
+     * Như {@link #validateTransactionSort(Sort)}, cho export phiên sạc.
+     */
+    void validateChargingSessionSort(Sort sort);
+
+    /**
+     * Ghi danh sách giao dịch khớp bộ lọc ra .xlsx, streaming thẳng vào {@code out}.
+     */
+    void exportTransactions(TransactionFilterRequest filter, Sort sort, OutputStream out) throws IOException;
+
+    /**
+     * Ghi danh sách phiên sạc khớp bộ lọc ra .xlsx, streaming thẳng vào {@code out}.
+     */
+    void exportChargingSessions(ChargingSessionFilterRequest filter, Sort sort, OutputStream out) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.dto.response.MeterSeriesPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MeterSeriesService {
+
+    /**
+     * Dựng lại tầng 1 phút cho [from, to) và tầng 15 phút chứa khoảng đó, dùng khi mẫu đến muộn
+     * hơn cửa sổ downsample định kỳ.
+     */
+    void downsample(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Đường cong công suất của phiên sạc (của khách hàng) từ lúc bắt đầu đến lúc kết thúc hoặc hiện tại.
+     */
+    List<MeterSeriesPoint> getSessionPowerCurve(Integer customerId, Integer sessionId);
+
+    /**
+     * Tổng công suất/điện năng các đầu sạc của trạm (của vendor) trong [from, to). Khoảng ngắn đọc tầng
+     * 1 phút, khoảng dài đọc tầng 15 phút.
+     */
+    List<MeterSeriesPoint> getStationLoad(Integer vendorId, Integer stationId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,19 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.entity.converters.PasswordResetToken;
+import com.example.charging_station_management.entity.converters.User;
+
+public interface PasswordResetTokenService {
+
+    /**
+     * Tạo token mới cho user (vô hiệu hóa token cũ) và trả về token gốc để gửi email.
+     */
+    String issueToken(User user);
+
+    /**
+     * Kiểm tra token gốc, đánh dấu đã dùng và trả về bản ghi tương ứng.
+     */
+    PasswordResetToken consumeToken(String rawToken);
+
+    int purgeExpiredTokens();
+}
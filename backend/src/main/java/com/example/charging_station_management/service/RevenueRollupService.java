@@ -0,0 +1,27 @@
+package com.example.charging_station_management.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface RevenueRollupService {
+
+    /**
+     * Cộng một giao dịch đã thanh toán vào rollup ngày/giờ. Phải chạy trong transaction thanh toán
+     * để rollup commit cùng lúc với giao dịch.
+     */
+    void recordPayment(Integer vendorId, Integer stationId, LocalDateTime paymentTime,
+                       BigDecimal amount, BigDecimal energyKwh);
+
+    /**
+     * Dựng lại rollup từ bảng transactions cho các ngày trong [fromDate, toDate], mỗi ngày một transaction.
+     *
+     * @return số ngày đã dựng lại
+     */
+    int rebuild(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Dựng lại toàn bộ lịch sử, từ giao dịch đã thanh toán sớm nhất đến hôm nay.
+     */
+    int rebuildAll();
+}
@@ -0,0 +1,30 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public interface SessionArchiveService {
+
+    /**
+     * Ghi các partition charging_sessions đã DETACH sang schema archive thành segment trên đĩa rồi xóa khỏi
+     * PostgreSQL.
+     *
+     * @return số partition đã chuyển
+     */
+    int archiveDetachedSessions();
+
+    /**
+     * Nối lịch sử đã lưu trữ vào sau trang lịch sử lấy từ DB (phân trang offset). Các tháng đã lưu trữ luôn cũ
+     * hơn mọi phiên còn trong DB nên trang gộp giữ đúng thứ tự start_time giảm dần.
+     */
+    Page<ChargingSession> withArchived(Integer customerId, Page<ChargingSession> hot);
+
+    /**
+     * Như {@link #withArchived(Integer, Page)} cho phân trang keyset: bổ sung dòng lưu trữ đứng sau
+     * {@code after} cho đến khi đủ {@code limit} dòng.
+     */
+    List<ChargingSession> withArchived(Integer customerId, List<ChargingSession> hot, KeysetCursor after, int limit);
+}
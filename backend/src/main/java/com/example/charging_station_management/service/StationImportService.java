@@ -0,0 +1,15 @@
+package com.example.charging_station_management.service;
+
+import com.example.charging_station_management.dto.response.StationImportReport;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface StationImportService {
+
+    /**
+     * Import trạm/trụ/đầu sạc hàng loạt cho vendor từ file .csv hoặc .xlsx (mỗi dòng một đầu sạc).
+     * Trạm có bất kỳ dòng lỗi nào sẽ bị bỏ qua toàn bộ; {@code dryRun} chỉ kiểm tra, không ghi DB.
+     */
+    StationImportReport importStations(Integer vendorId, MultipartFile file, boolean dryRun) throws IOException;
+}
@@ -2,6 +2,7 @@ package com.example.charging_station_management.service;
 
 import com.example.charging_station_management.dto.request.TransactionFilterRequest;
 import com.example.charging_station_management.dto.response.ChartData;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.dto.response.TransactionDetailResponse;
 import com.example.charging_station_management.dto.response.VendorRevenueStats;
 
@@ -24,6 +25,20 @@ public interface TransactionService {
             Pageable pageable
     );
 
+    /**
+     * Get transactions with filters using keyset pagination on (createdAt, id) descending, without a count query
+     *
+     * @param filterRequest Filter criteria
+     * @param cursor Opaque cursor from the previous page, null for the first page
+     * @param size Page size
+     * @return Cursor page of transaction details
+     */
+    CursorPage<TransactionDetailResponse> getAllTransactions(
+            TransactionFilterRequest filterRequest,
+            String cursor,
+            Integer size
+    );
+
     /**
      * Get transaction by ID
      *
@@ -32,9 +47,22 @@ public interface TransactionService {
      */
     TransactionDetailResponse getTransactionById(Integer transactionId);
 
+    /**
+     * Mark a pending transaction as PAID and publish a PaymentCompleted event
+     *
+     * @param transactionId Transaction ID
+     * @return Updated transaction detail
+     */
+    TransactionDetailResponse completePayment(Integer transactionId);
+
     VendorRevenueStats getVendorRevenueStats(Integer vendorId);
 
     List<ChartData> getVendorChartData(Integer vendorId, int days);
 
     List<ChartData> getVendorChartDataByDateRange(Integer vendorId, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Revenue per hour of the given day, read from the hourly rollup
+     */
+    List<ChartData> getVendorHourlyChartData(Integer vendorId, LocalDate date);
 }
@@ -3,6 +3,7 @@ package com.example.charging_station_management.service;
 import com.example.charging_station_management.dto.CreateVehicleRequest;
 import com.example.charging_station_management.dto.UpdateVehicleRequest;
 import com.example.charging_station_management.dto.VehicleDTO;
+import com.example.charging_station_management.dto.response.VehicleIdTagResponse;
 
 import java.util.List;
 
@@ -17,4 +18,7 @@ public interface VehicleService {
     VehicleDTO updateVehicle(Integer vehicleId, UpdateVehicleRequest request, Integer customerId);
     
     void deleteVehicle(Integer vehicleId, Integer customerId);
+
+    // Tạo idTag OCPP mới cho xe (idTag cũ hết hiệu lực), chỉ trả về một lần
+    VehicleIdTagResponse rotateIdTag(Integer vehicleId, Integer customerId);
 }
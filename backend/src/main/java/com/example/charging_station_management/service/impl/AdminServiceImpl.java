@@ -1,7 +1,6 @@
 package com.example.charging_station_management.service.impl;
 
 import com.example.charging_station_management.dto.UserDto;
-import com.example.charging_station_management.dto.request.ChartData;
 import com.example.charging_station_management.dto.request.DashboardResponse;
 import com.example.charging_station_management.dto.request.RegisterRequest;
 import com.example.charging_station_management.dto.request.RescueStationRequest;
@@ -16,6 +15,7 @@ import com.example.charging_station_management.exception.ResourceNotFoundExcepti
 import com.example.charging_station_management.repository.*;
 import com.example.charging_station_management.service.AdminService;
 import com.example.charging_station_management.service.AuthService;
+import com.example.charging_station_management.service.DashboardMetricsService;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -24,7 +24,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -40,6 +39,7 @@ public class AdminServiceImpl implements AdminService {
     private final ChargingSessionRepository chargingSessionRepository;
     private final RescueStationRepository rescueStationRepository;
     private final LocationRepository locationRepository;
+    private final DashboardMetricsService dashboardMetricsService;
 
     @Override
     public RegisterResponse createUser(RegisterRequest request) {
@@ -162,56 +162,7 @@ public class AdminServiceImpl implements AdminService {
     // --- DASHBOARD ---
     @Override
     public DashboardResponse getDashboardStats() {
-        long totalUsers = userRepository.count();
-        long totalCustomers = customerRepository.count();
-        long totalVendors = vendorRepository.count();
-        long totalStations = stationRepository.count();
-        long totalSessions = chargingSessionRepository.count();
-
-        BigDecimal revenue = BigDecimal.ZERO;
-        try {
-            revenue = chargingSessionRepository.sumTotalRevenue();
-            if (revenue == null)
-                revenue = BigDecimal.ZERO;
-        } catch (Exception e) {
-            System.err.println("⚠️ Lỗi tính tổng doanh thu: " + e.getMessage());
-        }
-
-        List<ChartData> revenueChart = new ArrayList<>();
-        List<ChartData> sessionChart = new ArrayList<>();
-
-        try {
-            List<Object[]> revenueRaw = chargingSessionRepository.getRevenueLast6Months();
-            for (Object[] obj : revenueRaw) {
-                String time = obj[0] != null ? obj[0].toString() : "N/A";
-                BigDecimal val = obj[1] != null ? new BigDecimal(obj[1].toString()) : BigDecimal.ZERO;
-                revenueChart.add(new ChartData(time, val));
-            }
-        } catch (Exception e) {
-            System.err.println("⚠️ Lỗi query biểu đồ Doanh thu: " + e.getMessage());
-        }
-
-        try {
-            List<Object[]> sessionRaw = chargingSessionRepository.getSessionsLast6Months();
-            for (Object[] obj : sessionRaw) {
-                String time = obj[0] != null ? obj[0].toString() : "N/A";
-                Number val = obj[1] != null ? new BigDecimal(obj[1].toString()) : 0;
-                sessionChart.add(new ChartData(time, val));
-            }
-        } catch (Exception e) {
-            System.err.println("⚠️ Lỗi query biểu đồ Phiên sạc: " + e.getMessage());
-        }
-
-        return DashboardResponse.builder()
-                .totalUsers(totalUsers)
-                .totalCustomers(totalCustomers)
-                .totalVendors(totalVendors)
-                .totalStations(totalStations)
-                .totalSessions(totalSessions)
-                .totalRevenue(revenue)
-                .revenueChartData(revenueChart)
-                .sessionChartData(sessionChart)
-                .build();
+        return dashboardMetricsService.getDashboardStats();
     }
 
     // --- CÁC HÀM KHÁC ---
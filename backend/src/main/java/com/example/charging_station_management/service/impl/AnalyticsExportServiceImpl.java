@@ -0,0 +1,161 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.service.AnalyticsExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.adapter.jdbc.ArrowVectorIterator;
+import org.apache.arrow.adapter.jdbc.JdbcToArrow;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfig;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowConfigBuilder;
+import org.apache.arrow.adapter.jdbc.JdbcToArrowUtils;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Export phiên sạc / giao dịch ra Arrow IPC (nén theo từng batch) cho phân tích offline.
+ * Đọc bằng cursor JDBC forward-only với fetch size nên bộ nhớ không phụ thuộc số dòng.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsExportServiceImpl implements AnalyticsExportService {
+
+    // Cột enum ép về VARCHAR để kiểu JDBC luôn map được sang Arrow (không phụ thuộc cách DB lưu enum)
+    private static final String SESSIONS_SQL = """
+            SELECT s.id AS session_id, s.start_time, s.end_time, CAST(s.status AS VARCHAR(100)) AS status, s.energy_kwh, s.cost,
+                   c.id AS connector_id, CAST(c.connector_type AS VARCHAR(100)) AS connector_type, p.id AS pole_id,
+                   st.id AS station_id, st.name AS station_name, l.province,
+                   st.vendor_id, vu.name AS vendor_name,
+                   v.id AS vehicle_id, CAST(v.vehicle_type AS VARCHAR(100)) AS vehicle_type,
+                   v.brand AS vehicle_brand, v.model AS vehicle_model, v.customer_id
+              FROM charging_sessions s
+              JOIN charging_connectors c ON c.id = s.charging_connector_id
+              JOIN charging_poles p ON p.id = c.pole_id
+              JOIN stations st ON st.id = p.station_id
+              JOIN locations l ON l.id = st.location_id
+              JOIN users vu ON vu.id = st.vendor_id
+              JOIN electric_vehicles v ON v.id = s.electric_vehicle_id
+             WHERE s.start_time >= ? AND s.start_time < ?
+            """;
+
+    private static final String TRANSACTIONS_SQL = """
+            SELECT t.id AS transaction_id, t.charging_session_id AS session_id, t.customer_id,
+                   t.amount, CAST(t.payment_method AS VARCHAR(100)) AS payment_method,
+                   CAST(t.payment_status AS VARCHAR(100)) AS payment_status, t.payment_time, t.created_at,
+                   s.energy_kwh, s.start_time AS session_start_time,
+                   st.id AS station_id, st.name AS station_name, l.province,
+                   st.vendor_id, vu.name AS vendor_name,
+                   v.id AS vehicle_id, CAST(v.vehicle_type AS VARCHAR(100)) AS vehicle_type
+              FROM transactions t
+              JOIN charging_sessions s ON s.id = t.charging_session_id
+              JOIN charging_connectors c ON c.id = s.charging_connector_id
+              JOIN charging_poles p ON p.id = c.pole_id
+              JOIN stations st ON st.id = p.station_id
+              JOIN locations l ON l.id = st.location_id
+              JOIN users vu ON vu.id = st.vendor_id
+              JOIN electric_vehicles v ON v.id = s.electric_vehicle_id
+             WHERE t.created_at >= ? AND t.created_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final BufferAllocator arrowRootAllocator;
+
+    @Value("${app.export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${app.export.batch-size:16384}")
+    private int batchSize;
+
+    @Value("${app.export.compression:ZSTD}")
+    private CompressionUtil.CodecType codecType;
+
+    @Override
+    public long exportSessions(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        return export("sessions", SESSIONS_SQL, from, to, out);
+    }
+
+    @Override
+    public long exportTransactions(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        return export("transactions", TRANSACTIONS_SQL, from, to, out);
+    }
+
+    private long export(String name, String sql, LocalDateTime from, LocalDateTime to, OutputStream out) {
+        long started = System.currentTimeMillis();
+
+        // PostgreSQL chỉ dùng cursor phía server (theo fetch size) khi tắt auto-commit
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        Long rows = tx.execute(status -> jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            return ps;
+        }, (ResultSetExtractor<Long>) rs -> writeArrow(name, rs, out)));
+
+        log.info("Exported {} {} rows in {} ms", rows, name, System.currentTimeMillis() - started);
+        return rows != null ? rows : 0;
+    }
+
+    private long writeArrow(String name, ResultSet rs, OutputStream out) throws SQLException {
+        try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("export-" + name, 0, Long.MAX_VALUE)) {
+            // Cột timestamp không có time zone: giữ nguyên giờ ghi trong DB, gắn nhãn UTC
+            JdbcToArrowConfig config = new JdbcToArrowConfigBuilder(allocator,
+                    Calendar.getInstance(TimeZone.getTimeZone("UTC")))
+                    .setTargetBatchSize(batchSize)
+                    .setReuseVectorSchemaRoot(true)
+                    .setBigDecimalRoundingMode(RoundingMode.HALF_UP)
+                    .build();
+
+            WritableByteChannel channel = Channels.newChannel(out);
+            try (ArrowVectorIterator batches = JdbcToArrow.sqlToArrowVectorIterator(rs, config);
+                 VectorSchemaRoot root = batches.hasNext()
+                         ? batches.next()
+                         : VectorSchemaRoot.create(JdbcToArrowUtils.jdbcToArrowSchema(rs.getMetaData(), config), allocator);
+                 ArrowStreamWriter writer = new ArrowStreamWriter(root, null, channel, IpcOption.DEFAULT,
+                         CommonsCompressionFactory.INSTANCE, codecType)) {
+
+                writer.start();
+                long rows = 0;
+                if (root.getRowCount() > 0) {
+                    writer.writeBatch();
+                    rows += root.getRowCount();
+                }
+                while (batches.hasNext()) {
+                    batches.next();
+                    writer.writeBatch();
+                    rows += root.getRowCount();
+                }
+                writer.end();
+                return rows;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể ghi file export " + name, e);
+        }
+    }
+}
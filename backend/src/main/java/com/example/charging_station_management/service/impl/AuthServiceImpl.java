@@ -12,12 +12,14 @@ import com.example.charging_station_management.entity.converters.User;
 import com.example.charging_station_management.entity.converters.Vendor;
 import com.example.charging_station_management.entity.enums.Role;
 import com.example.charging_station_management.exception.PasswordValidationException;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.event.UserRegisteredEvent;
 import com.example.charging_station_management.repository.CustomerRepository;
-import com.example.charging_station_management.repository.PasswordResetTokenRepository;
 import com.example.charging_station_management.repository.UserRepository;
 import com.example.charging_station_management.repository.VendorRepository;
 import com.example.charging_station_management.service.AuthService;
 import com.example.charging_station_management.service.EmailService;
+import com.example.charging_station_management.service.PasswordResetTokenService;
 import com.example.charging_station_management.utils.JwtUtils;
 import com.example.charging_station_management.utils.helper.UserHelper;
 import com.example.charging_station_management.utils.validation.UserValidation;
@@ -33,8 +35,6 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.charging_station_management.entity.converters.Admin;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -44,13 +44,14 @@ public class AuthServiceImpl implements AuthService {
   private final CustomerRepository customerRepository;
   private final VendorRepository vendorRepository;
   private final UserRepository userRepository;
-  private final PasswordResetTokenRepository passwordResetTokenRepository;
+  private final PasswordResetTokenService passwordResetTokenService;
   private final UserValidation userValidation;
   private final UserHelper userHelper;
   private final AuthenticationManager authenticationManager;
   private final JwtUtils jwtUtils;
   private final PasswordEncoder passwordEncoder;
   private final EmailService emailService;
+  private final DomainEventPublisher domainEventPublisher;
 
   @Override
   @Transactional(readOnly = false)
@@ -153,24 +154,13 @@ public class AuthServiceImpl implements AuthService {
               return new RuntimeException("Không tìm thấy người dùng với email này");
             });
 
-    // Delete old tokens for this user
-    passwordResetTokenRepository.deleteByUser(user);
-
-    // Generate new token
-    String token = UUID.randomUUID().toString();
-
-    PasswordResetToken resetToken = PasswordResetToken.builder()
-            .token(token)
-            .user(user)
-            .used(false)
-            .build();
+    // Token mới ghi đè token cũ của user (1 câu lệnh upsert)
+    String token = passwordResetTokenService.issueToken(user);
 
-    passwordResetTokenRepository.save(resetToken);
-
-    // Send email
+    // Email được ghi vào outbox trong cùng transaction, gửi SMTP ở background
     emailService.sendPasswordResetEmail(user.getEmail(), token);
 
-    log.info("Password reset token created and email sent for user: {}", user.getEmail());
+    log.info("Password reset token created and email queued for user: {}", user.getEmail());
   }
 
   @Override
@@ -178,30 +168,13 @@ public class AuthServiceImpl implements AuthService {
   public void resetPassword(String token, String newPassword) {
     log.info("Reset password request with token");
 
-    PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
-            .orElseThrow(() -> {
-              log.warn("Invalid password reset token");
-              return new RuntimeException("Token không hợp lệ");
-            });
-
-    if (resetToken.isUsed()) {
-      log.warn("Token already used");
-      throw new RuntimeException("Token đã được sử dụng");
-    }
-
-    if (resetToken.isExpired()) {
-      log.warn("Token expired");
-      throw new RuntimeException("Token đã hết hạn");
-    }
+    PasswordResetToken resetToken = passwordResetTokenService.consumeToken(token);
 
     User user = resetToken.getUser();
     String encodedPassword = passwordEncoder.encode(newPassword);
     user.setPassword(encodedPassword);
     userRepository.save(user);
 
-    resetToken.setUsed(true);
-    passwordResetTokenRepository.save(resetToken);
-
     log.info("Password reset successfully for user: {}", user.getEmail());
   }
 
@@ -217,6 +190,7 @@ public class AuthServiceImpl implements AuthService {
 
     Customer savedCustomer = customerRepository.save(customer);
     log.info("Customer registered successfully with ID: {}", savedCustomer.getId());
+    domainEventPublisher.publish(new UserRegisteredEvent(savedCustomer.getId(), Role.CUSTOMER));
 
     return new RegisterResponse(
             savedCustomer.getId(),
@@ -239,6 +213,7 @@ public class AuthServiceImpl implements AuthService {
 
     Vendor savedVendor = vendorRepository.save(vendor);
     log.info("Vendor registered successfully with ID: {}", savedVendor.getId());
+    domainEventPublisher.publish(new UserRegisteredEvent(savedVendor.getId(), Role.VENDOR));
 
     return new RegisterResponse(
             savedVendor.getId(),
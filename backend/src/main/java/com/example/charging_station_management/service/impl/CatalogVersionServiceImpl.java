@@ -0,0 +1,114 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.response.CatalogVersion;
+import com.example.charging_station_management.entity.converters.Price;
+import com.example.charging_station_management.repository.CatalogVersionRepository;
+import com.example.charging_station_management.repository.PriceRepository;
+import com.example.charging_station_management.repository.projection.PriceVersionView;
+import com.example.charging_station_management.service.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+// Tên bean được key của các @Cacheable trạm tham chiếu (@catalogVersionService)
+@Service("catalogVersionService")
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private static final String STATION_LIST = "stations";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final PriceRepository priceRepository;
+
+    @Override
+    public CatalogVersion getStationListVersion() {
+        return toVersion(STATION_LIST, catalogVersionRepository.find(STATION_LIST));
+    }
+
+    @Override
+    public CatalogVersion getStationVersion(Integer stationId) {
+        return toVersion("station:" + stationId, catalogVersionRepository.find(stationResource(stationId)));
+    }
+
+    @Override
+    public CatalogVersion getStationPolesVersion(Integer stationId) {
+        return toVersion("poles:" + stationId, catalogVersionRepository.find(stationResource(stationId)));
+    }
+
+    @Override
+    public CatalogVersion getPolePricesVersion(Integer poleId, Integer vendorId) {
+        return toVersion("prices:" + poleId + ":" + vendorId,
+                priceRepository.findVersionsByPoleIdAndVendorId(poleId, vendorId));
+    }
+
+    @Override
+    public CatalogVersion getPriceVersion(Integer priceId, Integer vendorId) {
+        List<PriceVersionView> views = priceRepository.findVersionByIdAndVendorId(priceId, vendorId);
+        return views.isEmpty() ? null : toVersion("price:" + priceId, views);
+    }
+
+    @Override
+    @Transactional
+    public void bumpStationVersion(Integer stationId, boolean stationList) {
+        if (stationId != null) {
+            catalogVersionRepository.bump(stationResource(stationId));
+        }
+        if (stationList) {
+            catalogVersionRepository.bump(STATION_LIST);
+        }
+    }
+
+    private static String stationResource(Integer stationId) {
+        return "station:" + stationId;
+    }
+
+    /**
+     * Chưa có dòng nghĩa là resource chưa đổi từ khi tạo bảng: version 0 và không có Last-Modified.
+     * Trạm không tồn tại vẫn có ETag; xóa trạm tăng version nên ETag cũ không khớp và controller trả 404.
+     */
+    private CatalogVersion toVersion(String resource, Optional<CatalogVersionRepository.Version> version) {
+        long number = version.map(CatalogVersionRepository.Version::version).orElse(0L);
+        long lastModified = version
+                .map(v -> v.updatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(-1L);
+        return new CatalogVersion(etag(resource + "|" + number), lastModified);
+    }
+
+    /**
+     * isActive của giá phụ thuộc thời điểm hiện tại, nên trạng thái active được đưa vào ETag
+     * và không dùng Last-Modified cho giá.
+     */
+    private CatalogVersion toVersion(String resource, List<PriceVersionView> views) {
+        LocalDateTime now = LocalDateTime.now();
+        StringBuilder fingerprint = new StringBuilder(resource);
+        for (PriceVersionView view : views) {
+            boolean active = Price.isActiveAt(view.getEffectiveFrom(), view.getEffectiveTo(),
+                    view.getStartTime(), view.getEndTime(), now);
+            fingerprint.append('|').append(view.getId())
+                    .append(':').append(view.getVersion())
+                    .append(':').append(view.getUpdatedAt())
+                    .append(':').append(active);
+        }
+        return new CatalogVersion(etag(fingerprint.toString()), -1);
+    }
+
+    private static String etag(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
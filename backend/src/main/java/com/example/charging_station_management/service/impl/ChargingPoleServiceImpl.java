@@ -3,17 +3,26 @@ package com.example.charging_station_management.service.impl;
 import com.example.charging_station_management.dto.mapper.StationMapper;
 import com.example.charging_station_management.dto.request.CreateChargingPoleRequest;
 import com.example.charging_station_management.dto.request.UpdateChargingPoleRequest;
+import com.example.charging_station_management.dto.response.ChargePointKeyResponse;
 import com.example.charging_station_management.dto.response.ChargingPoleResponse;
 import com.example.charging_station_management.entity.converters.ChargingPole;
 import com.example.charging_station_management.entity.converters.Station;
 import com.example.charging_station_management.entity.converters.Vendor;
 import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.cache.CacheNames;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
 import com.example.charging_station_management.exception.ResourceNotFoundException;
+import com.example.charging_station_management.ocpp.ChargePointAuthenticator;
 import com.example.charging_station_management.repository.ChargingPoleRepository;
 import com.example.charging_station_management.repository.StationRepository;
 import com.example.charging_station_management.service.ChargingPoleService;
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
 import com.example.charging_station_management.utils.helper.UserHelper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,8 +39,14 @@ public class ChargingPoleServiceImpl implements ChargingPoleService {
     private final StationRepository stationRepository;
     private final UserHelper userHelper;
     private final StationMapper stationMapper; 
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
+    private final ConnectorStateMachine connectorStateMachine;
+    private final ChargePointAuthenticator chargePointAuthenticator;
 
     @Override
+    @Cacheable(cacheNames = CacheNames.STATION_POLES,
+            key = "{#stationId, @catalogVersionService.getStationPolesVersion(#stationId).etag()}")
     public List<ChargingPoleResponse> getAllPolesByStationId(Integer stationId) {
         List<ChargingPole> poles = chargingPoleRepository.findByStationId(stationId);
         return stationMapper.toPoleResponseList(poles);
@@ -66,6 +81,7 @@ public class ChargingPoleServiceImpl implements ChargingPoleService {
         // Vì field này đã bị bỏ trong Entity để nhường chỗ cho maxConnectors
 
         ChargingPole savedPole = chargingPoleRepository.save(pole);
+        publishPoleChanged(station.getId());
         return stationMapper.toPoleResponse(savedPole);
     }
 
@@ -83,7 +99,7 @@ public class ChargingPoleServiceImpl implements ChargingPoleService {
 
         // --- 1. CHECK AN TOÀN ---
         boolean isBusy = pole.getChargingConnectors().stream()
-                .anyMatch(c -> ConnectorStatus.INUSE.equals(c.getStatus()));
+                .anyMatch(c -> connectorStateMachine.current(c.getId()) == ConnectorStatus.INUSE);
 
         if (isBusy) {
             throw new IllegalStateException("Không thể xóa trụ sạc đang hoạt động (INUSE). Vui lòng đợi phiên sạc kết thúc.");
@@ -97,6 +113,8 @@ public class ChargingPoleServiceImpl implements ChargingPoleService {
         
         // --- 3. XÓA ---
         chargingPoleRepository.delete(pole);
+        pole.getChargingConnectors().forEach(c -> connectorStateMachine.forget(c.getId()));
+        publishPoleChanged(station != null ? station.getId() : null);
     }
 
     @Override
@@ -126,6 +144,26 @@ public class ChargingPoleServiceImpl implements ChargingPoleService {
             pole.setMaxConnectors(request.getMaxConnectors());
         }
         
-        return stationMapper.toPoleResponse(chargingPoleRepository.save(pole));
+        ChargingPoleResponse response = stationMapper.toPoleResponse(chargingPoleRepository.save(pole));
+        publishPoleChanged(pole.getStation().getId());
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public ChargePointKeyResponse rotateOcppAuthKey(Integer id) {
+        Vendor currentVendor = userHelper.getVendorLogin();
+
+        ChargingPole pole = chargingPoleRepository.findByIdAndVendorId(id, currentVendor.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy trụ sạc"));
+
+        String key = chargePointAuthenticator.newKey();
+        pole.setOcppAuthKeyHash(ChargePointAuthenticator.hash(key));
+        return new ChargePointKeyResponse(pole.getId(), key);
+    }
+
+    private void publishPoleChanged(Integer stationId) {
+        catalogVersionService.bumpStationVersion(stationId, true);
+        domainEventPublisher.publish(new CatalogChangedEvent(stationId, CatalogChangeType.POLE));
     }
 }
\ No newline at end of file
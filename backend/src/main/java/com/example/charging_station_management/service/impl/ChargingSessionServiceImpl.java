@@ -2,19 +2,37 @@ package com.example.charging_station_management.service.impl;
 
 import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
 import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.entity.converters.*;
 import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.PriceRepository;
+import com.example.charging_station_management.repository.SessionMonthlyRollupRepository;
 import com.example.charging_station_management.service.ChargingSessionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
+import com.example.charging_station_management.service.SessionArchiveService;
 import com.example.charging_station_management.entity.enums.SessionStatus;
 import com.example.charging_station_management.repository.specification.ChargingSessionSpecification;
+import com.example.charging_station_management.repository.specification.KeysetSpecification;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.event.SessionStartedEvent;
+import com.example.charging_station_management.event.SessionStoppedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -25,6 +43,11 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
     // Added dependencies
     private final com.example.charging_station_management.repository.ChargingConnectorRepository connectorRepository;
     private final com.example.charging_station_management.repository.ElectricVehicleRepository vehicleRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final SessionMonthlyRollupRepository sessionMonthlyRollupRepository;
+    private final PriceRepository priceRepository;
+    private final ConnectorStateMachine connectorStateMachine;
+    private final SessionArchiveService sessionArchiveService;
 
     // Constants
 
@@ -36,29 +59,77 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
             ChargingSessionFilterRequest filterRequest,
             Pageable pageable) {
 
-        Specification<ChargingSession> spec = Specification.where(null);
-
-        if (filterRequest != null) {
-            spec = spec
-                    .and(ChargingSessionSpecification.withCustomerId(filterRequest.getCustomerId()))
-                    .and(ChargingSessionSpecification.withVendorId(filterRequest.getVendorId()))
-                    .and(ChargingSessionSpecification.withStationId(filterRequest.getStationId()))
-                    .and(ChargingSessionSpecification.withStatus(filterRequest.getStatus()))
-                    .and(ChargingSessionSpecification.withStatusIn(filterRequest.getStatuses()))
-                    .and(ChargingSessionSpecification.withStartTimeBetween(
-                            filterRequest.getStartTimeFrom(),
-                            filterRequest.getStartTimeTo()))
-                    .and(ChargingSessionSpecification.withEndTimeBetween(
-                            filterRequest.getEndTimeFrom(),
-                            filterRequest.getEndTimeTo()))
-                    .and(ChargingSessionSpecification.withCustomerNameLike(filterRequest.getCustomerName()))
-                    .and(ChargingSessionSpecification.withStationNameLike(filterRequest.getStationName()))
-                    .and(ChargingSessionSpecification.withLicensePlateLike(filterRequest.getLicensePlate()));
+        Specification<ChargingSession> spec = ChargingSessionSpecification.fromFilter(filterRequest);
+
+        Page<ChargingSessionDetailResponse> sessions = chargingSessionRepository.findDetails(spec, pageable);
+
+        return new PageImpl<>(withProvisionalValues(sessions.getContent()), sessions.getPageable(),
+                sessions.getTotalElements());
+    }
+
+    @Override
+    public CursorPage<ChargingSessionDetailResponse> getAllChargingSessions(
+            ChargingSessionFilterRequest filterRequest,
+            String cursor,
+            Integer size) {
+
+        int limit = CursorPage.limit(size);
+        Specification<ChargingSession> spec = ChargingSessionSpecification.fromFilter(filterRequest)
+                .and(KeysetSpecification.after("startTime", KeysetCursor.decode(cursor)));
+
+        List<ChargingSessionDetailResponse> rows = withProvisionalValues(chargingSessionRepository
+                .findDetails(spec, KeysetSpecification.newestFirst("startTime"), limit + 1));
+
+        return CursorPage.of(rows, limit, s -> new KeysetCursor(s.startTime(), s.sessionId()), s -> s);
+    }
+
+    /**
+     * Phiên đang sạc chưa có số liệu trong DB: ước tính điện năng/chi phí như {@link #convertToDetailResponse}.
+     * Bảng giá của các trụ liên quan được nạp một lần cho cả trang.
+     */
+    private List<ChargingSessionDetailResponse> withProvisionalValues(List<ChargingSessionDetailResponse> rows) {
+        Set<Integer> poleIds = rows.stream()
+                .filter(this::needsProvisionalValues)
+                .map(ChargingSessionDetailResponse::poleId)
+                .collect(Collectors.toSet());
+        if (poleIds.isEmpty()) {
+            return rows;
         }
 
-        Page<ChargingSession> sessions = chargingSessionRepository.findAll(spec, pageable);
+        Map<Integer, List<Price>> pricesByPole = priceRepository.findByPoleIdIn(poleIds).stream()
+                .collect(Collectors.groupingBy(price -> price.getPole().getId()));
 
-        return sessions.map(this::convertToDetailResponse);
+        return rows.stream().map(row -> {
+            if (!needsProvisionalValues(row)) {
+                return row;
+            }
+            java.math.BigDecimal energyKwh = estimateEnergy(row.startTime(), row.connectorMaxPower());
+            java.math.BigDecimal pricePerKwh = getApplicablePrice(pricesByPole.get(row.poleId()));
+            return row.toBuilder()
+                    .energyKwh(energyKwh)
+                    .cost(energyKwh.multiply(pricePerKwh))
+                    .build();
+        }).toList();
+    }
+
+    private boolean needsProvisionalValues(ChargingSessionDetailResponse row) {
+        if (row.status() != SessionStatus.CHARGING || row.startTime() == null) {
+            return false;
+        }
+        boolean hasDbValues = (row.energyKwh() != null && row.energyKwh().compareTo(java.math.BigDecimal.ZERO) > 0)
+                || (row.cost() != null && row.cost().compareTo(java.math.BigDecimal.ZERO) > 0);
+        return !hasDbValues;
+    }
+
+    // Điện năng tạm tính = công suất cổng (mặc định 11kW) x thời gian đã sạc (tối thiểu 1 phút)
+    private java.math.BigDecimal estimateEnergy(java.time.LocalDateTime startTime, java.math.BigDecimal maxPower) {
+        long minutes = java.time.Duration.between(startTime, java.time.LocalDateTime.now()).toMinutes();
+        if (minutes < 1) minutes = 1;
+
+        java.math.BigDecimal powerKw = maxPower != null ? maxPower : java.math.BigDecimal.valueOf(11);
+        java.math.BigDecimal hours = java.math.BigDecimal.valueOf(minutes)
+                .divide(java.math.BigDecimal.valueOf(60), 4, java.math.RoundingMode.HALF_UP);
+        return powerKw.multiply(hours).setScale(2, java.math.RoundingMode.HALF_UP);
     }
 
     @Override
@@ -96,20 +167,9 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
                     || (cost != null && cost.compareTo(java.math.BigDecimal.ZERO) > 0);
 
             if (!hasDbValues) {
-                java.time.LocalDateTime now = java.time.LocalDateTime.now();
-                java.time.Duration duration = java.time.Duration.between(session.getStartTime(), now);
-                long minutes = duration.toMinutes();
-                if (minutes < 1) minutes = 1;
-
-                // Dynamic Power Calculation
-                java.math.BigDecimal powerKw = java.math.BigDecimal.valueOf(11); // Default 11kW
-                if (session.getChargingConnector() != null && session.getChargingConnector().getMaxPower() != null) {
-                    powerKw = session.getChargingConnector().getMaxPower();
-                }
-
-                java.math.BigDecimal hours = java.math.BigDecimal.valueOf(minutes)
-                        .divide(java.math.BigDecimal.valueOf(60), 4, java.math.RoundingMode.HALF_UP);
-                energyKwh = powerKw.multiply(hours).setScale(2, java.math.RoundingMode.HALF_UP);
+                energyKwh = estimateEnergy(session.getStartTime(), session.getChargingConnector() != null
+                        ? session.getChargingConnector().getMaxPower()
+                        : null);
 
                 // Dynamic Price Lookup
                 java.math.BigDecimal pricePerKwh = getApplicablePrice(session.getChargingConnector());
@@ -194,7 +254,7 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
                 .findById(connectorId)
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy đầu sạc với ID: " + connectorId));
 
-        if (connector.getStatus() != com.example.charging_station_management.entity.enums.ConnectorStatus.AVAILABLE) {
+        if (connectorStateMachine.current(connectorId) != ConnectorStatus.AVAILABLE) {
             throw new RuntimeException("Đầu sạc này đang bận hoặc bảo trì.");
         }
 
@@ -218,22 +278,37 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
         session.setEnergyKwh(java.math.BigDecimal.ZERO);
         session.setCost(java.math.BigDecimal.ZERO);
 
-        // 5. Update Connector
-        connector.setStatus(com.example.charging_station_management.entity.enums.ConnectorStatus.INUSE);
-        connectorRepository.save(connector);
-        return chargingSessionRepository.save(session);
+        // 5. Update Connector: CAS trong bộ nhớ, phiên thứ hai trên cùng đầu sạc sẽ bị từ chối
+        try {
+            connectorStateMachine.fire(connector.getId(), ConnectorTrigger.SESSION_STARTED);
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("Đầu sạc này đang bận hoặc bảo trì.");
+        }
+        ChargingSession savedSession = chargingSessionRepository.save(session);
+        sessionMonthlyRollupRepository.incrementSessions(savedSession.getStartTime().toLocalDate().withDayOfMonth(1));
+
+        Station station = connector.getPole().getStation();
+        domainEventPublisher.publish(new SessionStartedEvent(savedSession.getId(), connector.getId(),
+                station.getId(), station.getVendor().getId(), userId, savedSession.getStartTime()));
+        return savedSession;
     }
 
     @Override
     @Transactional
     public ChargingSession stopSession(Integer userId, Integer sessionId) {
+        return stopSession(userId, sessionId, null);
+    }
+
+    @Override
+    @Transactional
+    public ChargingSession stopSession(Integer userId, Integer sessionId, java.math.BigDecimal meteredEnergyKwh) {
         log.info("User {} requesting stop session {}", userId, sessionId);
 
         ChargingSession session = chargingSessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Phiên sạc không tồn tại"));
 
         // 1. Validate Owner
-        if (session.getElectricVehicle().getCustomer().getId() != userId) {
+        if (!java.util.Objects.equals(session.getElectricVehicle().getCustomer().getId(), userId)) {
             throw new RuntimeException("Bạn không có quyền dừng phiên sạc này.");
         }
 
@@ -258,7 +333,9 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
 
         java.math.BigDecimal hours = java.math.BigDecimal.valueOf(minutes).divide(java.math.BigDecimal.valueOf(60), 4,
                 java.math.RoundingMode.HALF_UP);
-        java.math.BigDecimal energy = powerKw.multiply(hours).setScale(2, java.math.RoundingMode.HALF_UP);
+        java.math.BigDecimal energy = meteredEnergyKwh != null
+                ? meteredEnergyKwh.setScale(2, java.math.RoundingMode.HALF_UP)
+                : powerKw.multiply(hours).setScale(2, java.math.RoundingMode.HALF_UP);
         
         // Dynamic Price Lookup
         java.math.BigDecimal pricePerKwh = getApplicablePrice(session.getChargingConnector());
@@ -271,10 +348,15 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
         // 3. Free Connector
         com.example.charging_station_management.entity.converters.ChargingConnector connector = session
                 .getChargingConnector();
-        connector.setStatus(com.example.charging_station_management.entity.enums.ConnectorStatus.AVAILABLE);
-        connectorRepository.save(connector);
-
-        return chargingSessionRepository.save(session);
+        connectorStateMachine.fire(connector.getId(), ConnectorTrigger.SESSION_STOPPED);
+        ChargingSession savedSession = chargingSessionRepository.save(session);
+        sessionMonthlyRollupRepository.addCompleted(savedSession.getStartTime().toLocalDate().withDayOfMonth(1), cost);
+
+        Station station = connector.getPole().getStation();
+        domainEventPublisher.publish(new SessionStoppedEvent(savedSession.getId(), connector.getId(),
+                station.getId(), station.getVendor().getId(), userId, savedSession.getStartTime(),
+                savedSession.getEndTime(), energy, cost, savedSession.getStatus()));
+        return savedSession;
     }
 
     @Override
@@ -336,7 +418,8 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
 
     @Override
     public Page<ChargingSession> getSessionHistory(Integer userId, Pageable pageable) {
-        return chargingSessionRepository.findByElectricVehicle_Customer_IdOrderByStartTimeDesc(userId, pageable);
+        return sessionArchiveService.withArchived(userId,
+                chargingSessionRepository.findByElectricVehicle_Customer_IdOrderByStartTimeDesc(userId, pageable));
     }
 
     @Override
@@ -387,7 +470,10 @@ public class ChargingSessionServiceImpl implements ChargingSessionService {
             return java.math.BigDecimal.ZERO; // Default if no info
         }
 
-        java.util.List<Price> prices = connector.getPole().getPrices();
+        return getApplicablePrice(connector.getPole().getPrices());
+    }
+
+    private java.math.BigDecimal getApplicablePrice(java.util.List<Price> prices) {
         if (prices == null || prices.isEmpty()) {
             return java.math.BigDecimal.ZERO; // or default system price
         }
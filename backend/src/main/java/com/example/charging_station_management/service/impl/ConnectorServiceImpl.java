@@ -4,22 +4,34 @@ import com.example.charging_station_management.dto.request.CreateConnectorReques
 import com.example.charging_station_management.dto.request.UpdateConnectorRequest;
 import com.example.charging_station_management.dto.response.ConnectorDetailResponse;
 import com.example.charging_station_management.dto.response.ConnectorResponse;
+import com.example.charging_station_management.dto.response.ConnectorStatusBoardResponse;
 import com.example.charging_station_management.dto.response.SessionSummary;
 import com.example.charging_station_management.entity.converters.ChargingConnector;
 import com.example.charging_station_management.entity.converters.ChargingPole;
-import com.example.charging_station_management.entity.converters.ChargingSession;
 import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
 import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
 import com.example.charging_station_management.repository.ChargingConnectorRepository;
 import com.example.charging_station_management.repository.ChargingPoleRepository;
+import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.projection.ConnectorListView;
+import com.example.charging_station_management.repository.projection.SessionSummaryView;
 import com.example.charging_station_management.service.ConnectorService;
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,6 +43,11 @@ public class ConnectorServiceImpl implements ConnectorService {
     // ❌ Đã xóa MAX_CONNECTORS_LIMIT = 2 vì giờ lấy động từ Pole
     private final ChargingConnectorRepository connectorRepository;
     private final ChargingPoleRepository poleRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
+    private final ChargingSessionRepository chargingSessionRepository;
+    private final ConnectorStateMachine connectorStateMachine;
+    private static final int RECENT_SESSIONS = 5;
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
     @Override
@@ -50,7 +67,7 @@ public class ConnectorServiceImpl implements ConnectorService {
         
         // Đếm số lượng connector đang hoạt động
         long activeCount = existingConnectors.stream()
-                .filter(c -> c.getStatus() != ConnectorStatus.OUTOFSERVICE)
+                .filter(c -> connectorStateMachine.current(c.getId()) != ConnectorStatus.OUTOFSERVICE)
                 .count();
         
         // 👇 CẬP NHẬT: So sánh với pole.getMaxConnectors() thay vì số cứng 2
@@ -74,6 +91,7 @@ public class ConnectorServiceImpl implements ConnectorService {
 
         ChargingConnector savedConnector = connectorRepository.save(connector);
         log.info("Connector created successfully with ID: {}", savedConnector.getId());
+        publishConnectorChanged(pole);
 
         // ❌ ĐÃ XÓA ĐOẠN setConnectorCount VÌ BIẾN NÀY KHÔNG CÒN TỒN TẠI
         // Số lượng hiện tại sẽ được tính toán (count) mỗi khi cần dùng.
@@ -102,13 +120,13 @@ public class ConnectorServiceImpl implements ConnectorService {
         }
 
         if (request.getStatus() != null) {
-            if (connectorRepository.isConnectorInUse(connectorId)) {
-                throw new RuntimeException("Không thể thay đổi trạng thái khi connector đang có phiên sạc (Pending/Charging)");
-            }
-            connector.setStatus(request.getStatus());
+            changeStatus(connector, request.getStatus());
         }
 
         ChargingConnector updatedConnector = connectorRepository.save(connector);
+        if (request.getConnectorType() != null || request.getMaxPower() != null) {
+            publishConnectorChanged(connector.getPole());
+        }
         return mapToConnectorResponse(updatedConnector);
     }
 
@@ -118,13 +136,8 @@ public class ConnectorServiceImpl implements ConnectorService {
         ChargingConnector connector = connectorRepository.findByIdAndVendorId(connectorId, vendorId)
                 .orElseThrow(() -> new RuntimeException("Connector không tồn tại hoặc bạn không có quyền truy cập"));
 
-        if (connectorRepository.isConnectorInUse(connectorId) && status != ConnectorStatus.INUSE) {
-            throw new RuntimeException("Không thể thay đổi trạng thái khi connector đang được sử dụng");
-        }
-
-        connector.setStatus(status);
-        ChargingConnector updatedConnector = connectorRepository.save(connector);
-        return mapToConnectorResponse(updatedConnector);
+        changeStatus(connector, status);
+        return mapToConnectorResponse(connector);
     }
 
     @Override
@@ -135,24 +148,21 @@ public class ConnectorServiceImpl implements ConnectorService {
         ChargingConnector connector = connectorRepository.findByIdAndVendorId(connectorId, vendorId)
                 .orElseThrow(() -> new RuntimeException("Connector không tồn tại hoặc bạn không có quyền truy cập"));
 
-        if (connector.getStatus() == ConnectorStatus.INUSE) {
+        if (connectorStateMachine.current(connectorId) == ConnectorStatus.INUSE) {
             throw new RuntimeException("Không thể xóa đầu sạc đang ở trạng thái 'Đang sạc' (INUSE). Vui lòng kết thúc phiên sạc trước.");
         }
 
-        if (connectorRepository.isConnectorInUse(connectorId)) {
-            throw new RuntimeException("Hệ thống phát hiện đầu sạc đang có phiên hoạt động. Không thể xóa.");
-        }
-
         // Integer poleId = connector.getPole().getId(); // Không cần poleId nữa vì không update count
-        boolean hasHistory = connector.getChargingSessions() != null && !connector.getChargingSessions().isEmpty();
+        boolean hasHistory = chargingSessionRepository.existsByChargingConnector_Id(connectorId);
 
         if (hasHistory) {
             log.info("Connector {} has history. Switching to OUTOFSERVICE.", connectorId);
-            connector.setStatus(ConnectorStatus.OUTOFSERVICE);
-            connectorRepository.save(connector);
+            changeStatus(connector, ConnectorStatus.OUTOFSERVICE);
         } else {
             connectorRepository.deleteHard(connectorId);
+            connectorStateMachine.forget(connectorId);
             log.info("Connector {} deleted successfully (Hard Delete)", connectorId);
+            publishConnectorChanged(connector.getPole());
             
             // ❌ ĐÃ XÓA: poleRepository.decrementConnectorCount(poleId);
             // Vì nếu gọi hàm này, nó sẽ trừ vào cột connector_count (đang lưu Max Capacity) 
@@ -165,13 +175,12 @@ public class ConnectorServiceImpl implements ConnectorService {
         ChargingConnector connector = connectorRepository.findByIdAndVendorId(connectorId, vendorId)
                 .orElseThrow(() -> new RuntimeException("Connector không tồn tại hoặc bạn không có quyền truy cập"));
 
-        List<SessionSummary> recentSessions = connector.getChargingSessions() != null
-                ? connector.getChargingSessions().stream()
-                .sorted((s1, s2) -> s2.getStartTime().compareTo(s1.getStartTime()))
-                .limit(5)
+        // Chỉ đọc RECENT_SESSIONS dòng mới nhất và đếm tổng bằng COUNT, không nạp toàn bộ lịch sử
+        List<SessionSummary> recentSessions = chargingSessionRepository
+                .findRecentSummariesByConnectorId(connectorId, Limit.of(RECENT_SESSIONS)).stream()
                 .map(this::mapToSessionSummary)
-                .collect(Collectors.toList())
-                : List.of();
+                .collect(Collectors.toList());
+        long totalSessions = chargingSessionRepository.countByChargingConnector_Id(connectorId);
 
         return new ConnectorDetailResponse(
                 connector.getId(),
@@ -183,21 +192,33 @@ public class ConnectorServiceImpl implements ConnectorService {
                 connector.getPole().getStation().getLocation().getAddressDetail(),
                 connector.getConnectorType(),
                 connector.getMaxPower(),
-                connector.getStatus(),
-                connector.getChargingSessions() != null ? connector.getChargingSessions().size() : 0,
+                connectorStateMachine.current(connectorId),
+                Math.toIntExact(totalSessions),
                 recentSessions);
     }
 
     @Override
     public List<ConnectorResponse> getAllConnectorsByVendor(Integer vendorId) {
-        List<ChargingConnector> connectors = connectorRepository.findByVendorId(vendorId);
-        return connectors.stream().map(this::mapToConnectorResponse).collect(Collectors.toList());
+        return connectorRepository.findListViewsByVendorId(vendorId).stream()
+                .map(this::mapToConnectorResponse)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<ConnectorResponse> searchConnectors(Integer vendorId, ConnectorType connectorType, ConnectorStatus status, Integer poleId) {
-        List<ChargingConnector> connectors = connectorRepository.searchConnectors(vendorId, connectorType, status, poleId);
-        return connectors.stream().map(this::mapToConnectorResponse).collect(Collectors.toList());
+        return connectorRepository.searchListViews(vendorId, connectorType, status, poleId).stream()
+                .map(this::mapToConnectorResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ConnectorStatusBoardResponse getStatusBoard(Integer vendorId) {
+        // DB chỉ trả danh sách id (index), trạng thái đọc từ bộ nhớ
+        Map<Integer, ConnectorStatus> connectors = connectorStateMachine.snapshot(
+                connectorRepository.findIdsByVendorId(vendorId));
+        Map<ConnectorStatus, Long> counts = new EnumMap<>(ConnectorStatus.class);
+        connectors.values().forEach(status -> counts.merge(status, 1L, Long::sum));
+        return new ConnectorStatusBoardResponse(counts, connectors);
     }
 
     @Override
@@ -207,8 +228,23 @@ public class ConnectorServiceImpl implements ConnectorService {
         if (request.getMaxPower() == null || request.getMaxPower().doubleValue() <= 0) throw new RuntimeException("Công suất tối đa phải lớn hơn 0");
     }
 
+    private void publishConnectorChanged(ChargingPole pole) {
+        catalogVersionService.bumpStationVersion(pole.getStation().getId(), true);
+        domainEventPublisher.publish(new CatalogChangedEvent(pole.getStation().getId(), CatalogChangeType.CONNECTOR));
+    }
+
+    // Vendor chỉ bật/tắt đầu sạc; INUSE do phiên sạc đặt. Status được ConnectorStateMachine ghi bù và phát event
+    private void changeStatus(ChargingConnector connector, ConnectorStatus newStatus) {
+        ConnectorTrigger trigger = switch (newStatus) {
+            case AVAILABLE -> ConnectorTrigger.ENABLED;
+            case OUTOFSERVICE -> ConnectorTrigger.DISABLED;
+            default -> throw new RuntimeException("Trạng thái 'Đang sạc' chỉ được đặt khi bắt đầu phiên sạc");
+        };
+        connectorStateMachine.fire(connector.getId(), trigger);
+    }
+
     private ConnectorResponse mapToConnectorResponse(ChargingConnector connector) {
-        boolean isInUse = connectorRepository.isConnectorInUse(connector.getId());
+        ConnectorStatus status = connectorStateMachine.current(connector.getId());
         return new ConnectorResponse(
                 connector.getId(),
                 connector.getPole().getId(),
@@ -217,14 +253,27 @@ public class ConnectorServiceImpl implements ConnectorService {
                 connector.getPole().getStation().getName(),
                 connector.getConnectorType(),
                 connector.getMaxPower(),
-                connector.getStatus(),
-                isInUse);
+                status,
+                status == ConnectorStatus.INUSE);
+    }
+
+    private ConnectorResponse mapToConnectorResponse(ConnectorListView view) {
+        return new ConnectorResponse(
+                view.getId(),
+                view.getPoleId(),
+                view.getPoleManufacturer() + " - " + view.getPoleMaxPower() + "kW",
+                view.getStationId(),
+                view.getStationName(),
+                view.getConnectorType(),
+                view.getMaxPower(),
+                connectorStateMachine.current(view.getId()),
+                view.getInUse());
     }
 
-    private SessionSummary mapToSessionSummary(ChargingSession session) {
+    private SessionSummary mapToSessionSummary(SessionSummaryView session) {
         return new SessionSummary(
                 session.getId(),
-                session.getElectricVehicle().getLicensePlate(),
+                session.getLicensePlate(),
                 session.getStartTime() != null ? session.getStartTime().format(DATE_TIME_FORMATTER) : null,
                 session.getEndTime() != null ? session.getEndTime().format(DATE_TIME_FORMATTER) : null,
                 session.getEnergyKwh(),
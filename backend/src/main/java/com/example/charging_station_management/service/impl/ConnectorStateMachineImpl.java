@@ -0,0 +1,281 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
+import com.example.charging_station_management.event.ConnectorStatusChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.repository.ChargingConnectorRepository;
+import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.projection.ConnectorStateView;
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Bảng trạng thái đầu sạc trong bộ nhớ: mỗi đầu sạc một ô int trong các mảng AtomicIntegerArray
+ * (chia khối theo id), chuyển trạng thái bằng compare-and-set nên hai phiên không thể cùng chiếm một đầu sạc.
+ * DB được ghi bù (write-behind) định kỳ, nhiều lần đổi giữa hai lần ghi chỉ thành một UPDATE và một event.
+ * <p>
+ * Phiên PENDING/CHARGING là nguồn đúng cho INUSE: khi khởi động trạng thái được nạp lại và sửa theo phiên,
+ * nên mất các lần ghi chưa kịp flush khi app dừng đột ngột không làm sai lệch lâu dài.
+ * Giả định một instance backend (giống bộ đếm dashboard).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConnectorStateMachineImpl implements ConnectorStateMachine {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int UNKNOWN = 0;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final ConnectorStatus[] STATUSES = ConnectorStatus.values();
+
+    private final ChargingConnectorRepository connectorRepository;
+    private final ChargingSessionRepository chargingSessionRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Ô = ordinal + 1, 0 là chưa nạp; khối chỉ được tạo thêm, không bao giờ thay thế
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[16];
+    private final Object chunkLock = new Object();
+
+    // Đầu sạc đã đổi trạng thái từ lần ghi trước
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public ConnectorStatus current(Integer connectorId) {
+        AtomicIntegerArray chunk = chunk(connectorId);
+        int slot = slot(connectorId);
+        int encoded = chunk.get(slot);
+        if (encoded == UNKNOWN) {
+            encoded = load(connectorId);
+            if (!chunk.compareAndSet(slot, UNKNOWN, encoded)) {
+                encoded = chunk.get(slot);
+            }
+        }
+        return decode(encoded);
+    }
+
+    @Override
+    public Map<Integer, ConnectorStatus> snapshot(Collection<Integer> connectorIds) {
+        Map<Integer, ConnectorStatus> statuses = new LinkedHashMap<>();
+        connectorIds.forEach(id -> statuses.put(id, current(id)));
+        return statuses;
+    }
+
+    @Override
+    public ConnectorStatus fire(Integer connectorId, ConnectorTrigger trigger) {
+        AtomicIntegerArray chunk = chunk(connectorId);
+        int slot = slot(connectorId);
+        int target = encode(trigger.getTarget());
+        while (true) {
+            int encoded = chunk.get(slot);
+            if (encoded == UNKNOWN) {
+                chunk.compareAndSet(slot, UNKNOWN, load(connectorId));
+                continue;
+            }
+            ConnectorStatus from = decode(encoded);
+            if (!trigger.allows(from)) {
+                throw new IllegalStateException(
+                        "Đầu sạc " + connectorId + " đang " + from + ", không thể " + trigger.getDescription());
+            }
+            if (chunk.compareAndSet(slot, encoded, target)) {
+                if (encoded != target) {
+                    afterTransition(connectorId, chunk, slot, encoded, target);
+                }
+                return from;
+            }
+        }
+    }
+
+    @Override
+    public void forget(Integer connectorId) {
+        runAfterCommit(() -> {
+            chunk(connectorId).set(slot(connectorId), UNKNOWN);
+            dirty.remove(connectorId);
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.connector-state.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        List<Integer> ids = new ArrayList<>();
+        for (Iterator<Integer> it = dirty.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int written = 0;
+        for (int from = 0; from < ids.size(); from += FLUSH_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + FLUSH_BATCH_SIZE, ids.size()));
+            try {
+                written += transactionTemplate.execute(status -> persist(batch));
+            } catch (RuntimeException e) {
+                // Đánh dấu lại để lần sau ghi tiếp; trạng thái trong bộ nhớ vẫn đúng
+                dirty.addAll(batch);
+                log.warn("Failed to flush {} connector state(s), will retry", batch.size(), e);
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int written = flush();
+        log.info("Flushed {} connector state(s) on shutdown", written);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Set<Integer> active = new HashSet<>(chargingSessionRepository.findActiveConnectorIds());
+        int loaded = 0;
+        int corrected = 0;
+        for (ConnectorStateView view : connectorRepository.findAllStateViews()) {
+            ConnectorStatus stored = normalize(view.getStatus());
+            ConnectorStatus actual = active.contains(view.getId()) ? ConnectorStatus.INUSE
+                    : stored == ConnectorStatus.INUSE ? ConnectorStatus.AVAILABLE
+                    : stored;
+            // Ô đã được nạp lười hoặc đã đổi bởi request đến sớm thì giữ nguyên
+            if (!chunk(view.getId()).compareAndSet(slot(view.getId()), UNKNOWN, encode(actual))) {
+                continue;
+            }
+            if (actual != view.getStatus()) {
+                dirty.add(view.getId());
+                corrected++;
+            }
+            loaded++;
+        }
+        log.info("Loaded {} connector state(s), {} corrected from active sessions", loaded, corrected);
+    }
+
+    private int persist(List<Integer> ids) {
+        Map<ConnectorStatus, List<Integer>> changedByStatus = new EnumMap<>(ConnectorStatus.class);
+        List<ConnectorStatusChangedEvent> events = new ArrayList<>();
+
+        for (ConnectorStateView view : connectorRepository.findStateViewsByIdIn(ids)) {
+            int encoded = chunk(view.getId()).get(slot(view.getId()));
+            if (encoded == UNKNOWN || decode(encoded) == view.getStatus()) {
+                continue;
+            }
+            ConnectorStatus status = decode(encoded);
+            changedByStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(view.getId());
+            events.add(new ConnectorStatusChangedEvent(view.getId(), view.getPoleId(), view.getStationId(),
+                    view.getStatus(), status));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        changedByStatus.forEach((status, changed) -> connectorRepository.updateStatusByIdIn(changed, status, now));
+        bumpStationVersions(events);
+        events.forEach(domainEventPublisher::publish);
+        return events.size();
+    }
+
+    // Version ETag tăng trong cùng transaction với UPDATE; trạm theo thứ tự id để các writer khóa dòng cùng thứ tự.
+    // Danh sách trạm chỉ mang số đầu sạc AVAILABLE nên chỉ tăng khi số đó đổi
+    private void bumpStationVersions(List<ConnectorStatusChangedEvent> events) {
+        Map<Integer, Boolean> availabilityChanged = new TreeMap<>();
+        for (ConnectorStatusChangedEvent event : events) {
+            boolean changed = (event.oldStatus() == ConnectorStatus.AVAILABLE)
+                    != (event.newStatus() == ConnectorStatus.AVAILABLE);
+            availabilityChanged.merge(event.stationId(), changed, Boolean::logicalOr);
+        }
+        availabilityChanged.keySet().forEach(stationId -> catalogVersionService.bumpStationVersion(stationId, false));
+        if (availabilityChanged.containsValue(true)) {
+            catalogVersionService.bumpStationVersion(null, true);
+        }
+    }
+
+    private void afterTransition(Integer connectorId, AtomicIntegerArray chunk, int slot, int from, int to) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirty.add(connectorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    dirty.add(connectorId);
+                } else if (!chunk.compareAndSet(slot, to, from)) {
+                    log.warn("Connector {} changed again before rollback, keeping current state", connectorId);
+                }
+            }
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private int load(Integer connectorId) {
+        ConnectorStatus status = connectorRepository.findStatusById(connectorId)
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy đầu sạc với ID: " + connectorId));
+        return encode(status);
+    }
+
+    private AtomicIntegerArray chunk(Integer connectorId) {
+        if (connectorId == null || connectorId < 0) {
+            throw new IllegalArgumentException("Invalid connector id: " + connectorId);
+        }
+        int index = connectorId >>> CHUNK_BITS;
+        AtomicIntegerArray[] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        synchronized (chunkLock) {
+            current = chunks;
+            if (index >= current.length) {
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            }
+            if (current[index] == null) {
+                current[index] = new AtomicIntegerArray(CHUNK_SIZE);
+            }
+            chunks = current;
+            return current[index];
+        }
+    }
+
+    private static int slot(Integer connectorId) {
+        return connectorId & (CHUNK_SIZE - 1);
+    }
+
+    private static int encode(ConnectorStatus status) {
+        return normalize(status).ordinal() + 1;
+    }
+
+    private static ConnectorStatus decode(int encoded) {
+        return STATUSES[encoded - 1];
+    }
+
+    // IN_USE là giá trị cũ trùng nghĩa với INUSE
+    private static ConnectorStatus normalize(ConnectorStatus status) {
+        return status == ConnectorStatus.IN_USE ? ConnectorStatus.INUSE : status;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.charging_station_management.service.impl;
 
+import com.example.charging_station_management.cache.CacheNames;
 import com.example.charging_station_management.dto.mapper.ChargingSessionMapper;
 import com.example.charging_station_management.dto.mapper.StationMapper;
 import com.example.charging_station_management.dto.mapper.TransactionMapper;
@@ -7,10 +8,12 @@ import com.example.charging_station_management.dto.request.UpdateProfileRequest;
 import com.example.charging_station_management.dto.response.StationResponse;
 import com.example.charging_station_management.dto.response.TransactionHistoryResponse;
 import com.example.charging_station_management.dto.response.ChargingHistoryResponse;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.dto.response.ReviewResponse;
 import com.example.charging_station_management.dto.response.UpdateProfileResponse;
 import com.example.charging_station_management.dto.response.UserInfoResponse;
 import com.example.charging_station_management.entity.converters.ChargingConnector;
+import com.example.charging_station_management.entity.converters.ChargingSession;
 import com.example.charging_station_management.entity.converters.ChargingPole;
 import com.example.charging_station_management.entity.converters.Station;
 import com.example.charging_station_management.entity.converters.User;
@@ -24,13 +27,17 @@ import com.example.charging_station_management.repository.StationRepository;
 import com.example.charging_station_management.repository.TransactionRepository;
 import com.example.charging_station_management.repository.UserRepository;
 import com.example.charging_station_management.service.CustomerService;
+import com.example.charging_station_management.service.SessionArchiveService;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
 
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +56,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final RatingRepository ratingRepository;
     private final ChargingSessionRepository chargingSessionRepository;
     private final TransactionRepository transactionRepository;
+    private final SessionArchiveService sessionArchiveService;
 
     private final StationMapper stationMapper;
     private final ChargingSessionMapper chargingSessionMapper;
@@ -86,12 +94,15 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.STATION_LIST,
+            key = "{'search', #query, #pageable, @catalogVersionService.getStationListVersion().etag()}")
     public Page<StationResponse> searchStations(String query, Pageable pageable) {
         return stationRepository.searchStations(query, pageable)
                 .map(stationMapper::toResponse);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.STATION, key = "{#id, @catalogVersionService.getStationVersion(#id).etag()}")
     public StationResponse getStationById(Integer id) {
         Station station = stationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Station not found: " + id));
@@ -99,6 +110,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.STATION_REVIEWS, key = "{#stationId, #pageable}")
     public Page<ReviewResponse> getStationReviews(Integer stationId, Pageable pageable) {
         if (!stationRepository.existsById(stationId)) {
             throw new RuntimeException("Station not found: " + stationId);
@@ -121,6 +133,9 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.STATION_LIST,
+            key = "{'filter', #search, #status, #vehicleType, #connectorType, #pageable,"
+                    + " @catalogVersionService.getStationListVersion().etag()}")
     public Page<StationResponse> filterStations(String search, Integer status, VehicleType vehicleType, 
                                                  ConnectorType connectorType, Pageable pageable) {
         Specification<Station> spec = (root, query, criteriaBuilder) -> {
@@ -170,10 +185,29 @@ public class CustomerServiceImpl implements CustomerService {
             throw new RuntimeException("User not found: " + userId);
         }
         
-        return chargingSessionRepository.findByElectricVehicle_Customer_IdOrderByStartTimeDesc(userId, pageable)
+        return sessionArchiveService.withArchived(userId,
+                        chargingSessionRepository.findByElectricVehicle_Customer_IdOrderByStartTimeDesc(userId, pageable))
                 .map(chargingSessionMapper::toHistoryResponse);
     }
 
+    @Override
+    public CursorPage<ChargingHistoryResponse> getChargingHistory(Integer userId, String cursor, Integer size) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found: " + userId);
+        }
+
+        int limit = CursorPage.limit(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ChargingSession> rows = after == null
+                ? chargingSessionRepository.findHistoryFirstPage(userId, Limit.of(limit + 1))
+                : chargingSessionRepository.findHistoryAfter(userId, after.time(), after.id(), Limit.of(limit + 1));
+        // Các tháng đã lưu trữ ra segment nằm sau mọi dòng còn trong DB
+        rows = sessionArchiveService.withArchived(userId, rows, after, limit + 1);
+
+        return CursorPage.of(rows, limit, s -> new KeysetCursor(s.getStartTime(), s.getId()),
+                chargingSessionMapper::toHistoryResponse);
+    }
+
     @Override
     public Page<TransactionHistoryResponse> getTransactionHistory(Integer userId, Pageable pageable) {
         if (!userRepository.existsById(userId)) {
@@ -0,0 +1,162 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.request.ChartData;
+import com.example.charging_station_management.dto.request.DashboardResponse;
+import com.example.charging_station_management.entity.converters.SessionMonthlyRollup;
+import com.example.charging_station_management.entity.enums.Role;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.event.SessionStartedEvent;
+import com.example.charging_station_management.event.SessionStoppedEvent;
+import com.example.charging_station_management.event.StationCreatedEvent;
+import com.example.charging_station_management.event.UserRegisteredEvent;
+import com.example.charging_station_management.repository.*;
+import com.example.charging_station_management.repository.projection.SessionTotalsView;
+import com.example.charging_station_management.service.DashboardMetricsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Giữ các bộ đếm dashboard trong bộ nhớ, cập nhật theo domain event và định kỳ đối soát với DB,
+ * nên mỗi lần mở dashboard không phải quét lại các bảng lớn.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardMetricsServiceImpl implements DashboardMetricsService {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final VendorRepository vendorRepository;
+    private final StationRepository stationRepository;
+    private final SessionMonthlyRollupRepository sessionMonthlyRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalCustomers = new AtomicLong();
+    private final AtomicLong totalVendors = new AtomicLong();
+    private final AtomicLong totalStations = new AtomicLong();
+    private final AtomicLong totalSessions = new AtomicLong();
+    private final AtomicReference<BigDecimal> totalRevenue = new AtomicReference<>(BigDecimal.ZERO);
+
+    private volatile boolean initialized;
+
+    // Event được giao at-least-once: bỏ qua event đã xử lý gần đây để không cộng trùng
+    private final Cache<String, Boolean> processedEvents = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @Override
+    public DashboardResponse getDashboardStats() {
+        if (!initialized) {
+            reconcile();
+        }
+
+        List<ChartData> revenueChart = sessionMonthlyRollupRepository
+                .findTop6ByCompletedSessionsGreaterThanOrderByBucketMonthDesc(0L)
+                .stream()
+                .map(r -> new ChartData(r.getBucketMonth().format(MONTH_FORMATTER), r.getRevenue()))
+                .toList();
+        List<ChartData> sessionChart = sessionMonthlyRollupRepository
+                .findTop6BySessionsGreaterThanOrderByBucketMonthDesc(0L)
+                .stream()
+                .map(r -> new ChartData(r.getBucketMonth().format(MONTH_FORMATTER), r.getSessions()))
+                .toList();
+
+        return DashboardResponse.builder()
+                .totalUsers(totalUsers.get())
+                .totalCustomers(totalCustomers.get())
+                .totalVendors(totalVendors.get())
+                .totalStations(totalStations.get())
+                .totalSessions(totalSessions.get())
+                .totalRevenue(totalRevenue.get())
+                .revenueChartData(revenueChart)
+                .sessionChartData(sessionChart)
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        totalUsers.set(userRepository.count());
+        totalCustomers.set(customerRepository.count());
+        totalVendors.set(vendorRepository.count());
+        totalStations.set(stationRepository.count());
+        // Phiên và doanh thu lấy từ rollup tháng: vẫn tính cả các tháng đã lưu trữ khỏi charging_sessions
+        SessionTotalsView sessions = sessionMonthlyRollupRepository.findTotals();
+        totalSessions.set(sessions.getSessions());
+        totalRevenue.set(sessions.getRevenue());
+        initialized = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialize() {
+        if (sessionMonthlyRollupRepository.count() == 0) {
+            int months = transactionTemplate.execute(status -> sessionMonthlyRollupRepository.rebuildAll());
+            log.info("Backfilled session monthly rollup for {} month(s)", months);
+        }
+        reconcile();
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (!firstDelivery("user:" + event.userId())) {
+            return;
+        }
+        totalUsers.incrementAndGet();
+        if (event.role() == Role.CUSTOMER) {
+            totalCustomers.incrementAndGet();
+        } else if (event.role() == Role.VENDOR) {
+            totalVendors.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onStationCreated(StationCreatedEvent event) {
+        if (firstDelivery("station:" + event.stationId())) {
+            totalStations.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onSessionStarted(SessionStartedEvent event) {
+        if (firstDelivery("session-start:" + event.sessionId())) {
+            totalSessions.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onSessionStopped(SessionStoppedEvent event) {
+        if (event.status() != SessionStatus.COMPLETED || event.cost() == null) {
+            return;
+        }
+        if (firstDelivery("session-stop:" + event.sessionId())) {
+            totalRevenue.accumulateAndGet(event.cost(), BigDecimal::add);
+        }
+    }
+
+    private boolean firstDelivery(String key) {
+        return processedEvents.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.converters.EmailOutbox;
+import com.example.charging_station_management.entity.enums.EmailStatus;
+import com.example.charging_station_management.repository.EmailOutboxRepository;
+import com.example.charging_station_management.service.EmailDispatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailDispatchServiceImpl implements EmailDispatchService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    // Thời gian "giữ chỗ" một lô đang gửi, tránh instance khác lấy lại khi SMTP chậm
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.mail.outbox.retention-days:7}")
+    private long retentionDays;
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:5000}")
+    public int dispatchPendingEmails() {
+        List<EmailOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            messages.put(toMessage(email), email);
+        }
+
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        try {
+            // JavaMailSenderImpl gửi cả lô trên cùng một kết nối SMTP
+            mailSender.send(messages.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.keySet().forEach(message -> failed.put(message, e));
+            } else {
+                failed.putAll(e.getFailedMessages());
+            }
+        } catch (MailException e) {
+            messages.keySet().forEach(message -> failed.put(message, e));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> messages.forEach((message, email) -> {
+            Exception error = failed.get(message);
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else {
+                markFailedAttempt(email, error, now);
+            }
+            emailOutboxRepository.save(email);
+        }));
+
+        int sent = batch.size() - failed.size();
+        log.info("Email outbox dispatch: {} sent, {} failed", sent, failed.size());
+        return sent;
+    }
+
+    @Override
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public int purgeSentEmails() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = emailOutboxRepository.deleteSentBatch(before, batchSize * 10);
+            total += deleted;
+        } while (deleted == batchSize * 10);
+        return total;
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutbox> batch = emailOutboxRepository.lockDueBatch(now, batchSize);
+            batch.forEach(email -> email.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+            return emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void markFailedAttempt(EmailOutbox email, Exception error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(truncate(error.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(), attempts);
+            return;
+        }
+
+        // Exponential backoff: initial * 2^(attempts - 1), có chặn trên
+        long delay = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(now.plusSeconds(delay));
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}s", email.getId(), email.getRecipient(), attempts, delay);
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        if (fromEmail != null && !fromEmail.isBlank()) {
+            message.setFrom(fromEmail);
+        }
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String value) {
+        if (value == null || value.length() <= MAX_ERROR_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
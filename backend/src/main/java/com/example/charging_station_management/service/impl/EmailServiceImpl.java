@@ -1,51 +1,46 @@
 package com.example.charging_station_management.service.impl;
 
+import com.example.charging_station_management.entity.converters.EmailOutbox;
+import com.example.charging_station_management.repository.EmailOutboxRepository;
 import com.example.charging_station_management.service.EmailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Chỉ ghi email vào bảng outbox (cùng transaction với nghiệp vụ gọi nó);
+ * việc gửi SMTP do {@link EmailDispatchServiceImpl} đảm nhận ở background.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${app.frontend.url:http://localhost:3000}")
     private String frontendUrl;
 
     @Override
+    @Transactional
     public void sendPasswordResetEmail(String toEmail, String resetToken) {
-        try {
-            String resetUrl = frontendUrl + "/reset-password?token=" + resetToken;
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Đặt lại mật khẩu - Charging Station Management");
-            message.setText(
-                    "Xin chào,\n\n" +
-                            "Bạn đã yêu cầu đặt lại mật khẩu. Vui lòng nhấp vào liên kết dưới đây để đặt lại mật khẩu:\n\n" +
-                            resetUrl + "\n\n" +
-                            "Liên kết này sẽ hết hạn sau 1 giờ.\n\n" +
-                            "Nếu bạn không yêu cầu đặt lại mật khẩu, vui lòng bỏ qua email này.\n\n" +
-                            "Trân trọng,\n" +
-                            "Charging Station Management Team"
-            );
-
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", toEmail);
-
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", toEmail, e);
-            throw new RuntimeException("Không thể gửi email. Vui lòng thử lại sau.");
-        }
+        String resetUrl = frontendUrl + "/reset-password?token=" + resetToken;
+
+        EmailOutbox email = EmailOutbox.builder()
+                .recipient(toEmail)
+                .subject("Đặt lại mật khẩu - Charging Station Management")
+                .body("Xin chào,\n\n" +
+                        "Bạn đã yêu cầu đặt lại mật khẩu. Vui lòng nhấp vào liên kết dưới đây để đặt lại mật khẩu:\n\n" +
+                        resetUrl + "\n\n" +
+                        "Liên kết này sẽ hết hạn sau 1 giờ.\n\n" +
+                        "Nếu bạn không yêu cầu đặt lại mật khẩu, vui lòng bỏ qua email này.\n\n" +
+                        "Trân trọng,\n" +
+                        "Charging Station Management Team")
+                .build();
+
+        emailOutboxRepository.save(email);
+        log.info("Password reset email queued for: {}", toEmail);
     }
-}
\ No newline at end of file
+}
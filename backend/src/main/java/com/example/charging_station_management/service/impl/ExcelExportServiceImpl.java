@@ -0,0 +1,125 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
+import com.example.charging_station_management.dto.request.TransactionFilterRequest;
+import com.example.charging_station_management.repository.ChargingSessionDetailQuery;
+import com.example.charging_station_management.repository.TransactionDetailQuery;
+import com.example.charging_station_management.repository.specification.ChargingSessionSpecification;
+import com.example.charging_station_management.repository.specification.TransactionSpecification;
+import com.example.charging_station_management.service.ExcelExportService;
+import com.example.charging_station_management.utils.excel.StreamingXlsxWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Export Excel cho admin/vendor. Truy vấn dùng lại Specification và câu SELECT chi tiết của màn danh sách
+ * ({@link TransactionDetailQuery}, {@link ChargingSessionDetailQuery}): chỉ chọn cột vô hướng (Tuple) nên
+ * không nạp entity (Station có collection EAGER) và không làm phình persistence context; kết quả đọc dần bằng cursor với fetch size, ghi qua SXSSF với cửa sổ dòng cố định.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ExcelExportServiceImpl implements ExcelExportService {
+
+    // Cột export lấy theo alias của câu SELECT chi tiết dùng chung với màn danh sách
+    private static final Column[] TRANSACTION_COLUMNS = {
+            new Column("Mã giao dịch", "transactionId"), new Column("Thời gian thanh toán", "paymentTime"),
+            new Column("Ngày tạo", "createdAt"), new Column("Số tiền", "amount"),
+            new Column("Phương thức", "paymentMethod"), new Column("Trạng thái", "paymentStatus"),
+            new Column("Ngân hàng", "bankName"), new Column("Khách hàng", "customerName"),
+            new Column("Email", "customerEmail"), new Column("Số điện thoại", "customerPhone"),
+            new Column("Mã phiên sạc", "sessionId"), new Column("Bắt đầu sạc", "sessionStartTime"),
+            new Column("Kết thúc sạc", "sessionEndTime"), new Column("Điện năng (kWh)", "energyKwh"),
+            new Column("Biển số", "licensePlate"), new Column("Trạm", "stationName"),
+            new Column("Tỉnh/Thành", "stationProvince"), new Column("Nhà cung cấp", "vendorName")
+    };
+
+    private static final Column[] SESSION_COLUMNS = {
+            new Column("Mã phiên sạc", "sessionId"), new Column("Bắt đầu", "startTime"),
+            new Column("Kết thúc", "endTime"), new Column("Trạng thái", "status"),
+            new Column("Điện năng (kWh)", "energyKwh"), new Column("Chi phí", "cost"),
+            new Column("Khách hàng", "customerName"), new Column("Số điện thoại", "customerPhone"),
+            new Column("Biển số", "licensePlate"), new Column("Hãng xe", "vehicleBrand"),
+            new Column("Mẫu xe", "vehicleModel"), new Column("Trạm", "stationName"),
+            new Column("Tỉnh/Thành", "stationProvince"), new Column("Nhà cung cấp", "vendorName"),
+            new Column("Cổng sạc", "connectorId"), new Column("Loại cổng", "connectorType"),
+            new Column("Mã giao dịch", "transactionId"), new Column("Trạng thái thanh toán", "paymentStatus")
+    };
+
+    private record Column(String header, String alias) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.xlsx.row-window:200}")
+    private int rowWindow;
+
+    @Value("${app.export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Override
+    public void validateTransactionSort(Sort sort) {
+        TransactionDetailQuery.checkSort(sort);
+    }
+
+    @Override
+    public void validateChargingSessionSort(Sort sort) {
+        ChargingSessionDetailQuery.checkSort(sort);
+    }
+
+    @Override
+    public void exportTransactions(TransactionFilterRequest filter, Sort sort, OutputStream out) throws IOException {
+        write("Giao dịch", TRANSACTION_COLUMNS, TransactionDetailQuery.create(entityManager.getCriteriaBuilder(),
+                TransactionSpecification.fromFilter(filter), sort), out);
+    }
+
+    @Override
+    public void exportChargingSessions(ChargingSessionFilterRequest filter, Sort sort, OutputStream out)
+            throws IOException {
+        write("Phiên sạc", SESSION_COLUMNS, ChargingSessionDetailQuery.create(entityManager.getCriteriaBuilder(),
+                ChargingSessionSpecification.fromFilter(filter), sort), out);
+    }
+
+    private void write(String sheetName, Column[] columns, CriteriaQuery<Tuple> criteria, OutputStream out)
+            throws IOException {
+        String[] headers = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            headers[i] = columns[i].header();
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        long rows = 0;
+        try (StreamingXlsxWriter writer = new StreamingXlsxWriter(sheetName, headers, rowWindow);
+             Stream<Tuple> stream = query.getResultStream()) {
+            Iterator<Tuple> it = stream.iterator();
+            while (it.hasNext()) {
+                Tuple tuple = it.next();
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    values[i] = tuple.get(columns[i].alias());
+                }
+                writer.writeRow(values);
+                rows++;
+            }
+            writer.writeTo(out);
+        }
+        log.info("Exported {} rows to sheet '{}'", rows, sheetName);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.response.MeterSeriesPoint;
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import com.example.charging_station_management.exception.ResourceNotFoundException;
+import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.MeterSeriesRepository;
+import com.example.charging_station_management.repository.MeterSeriesRepository.Resolution;
+import com.example.charging_station_management.repository.StationRepository;
+import com.example.charging_station_management.service.MeterSeriesService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MeterSeriesServiceImpl implements MeterSeriesService {
+
+    private final MeterSeriesRepository meterSeriesRepository;
+    private final ChargingSessionRepository chargingSessionRepository;
+    private final StationRepository stationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Mỗi lần chạy dựng lại cả cửa sổ này để nhận mẫu đến muộn (buffer của MeterValueWriter, trụ mất mạng)
+    @Value("${app.meter.downsample-lookback-minutes:10}")
+    private int lookbackMinutes;
+
+    // Khoảng dài hơn thì đọc tầng 15 phút
+    @Value("${app.meter.minute-series-max-hours:24}")
+    private int minuteSeriesMaxHours;
+
+    @Value("${app.meter.minute-retention-days:31}")
+    private int minuteRetentionDays;
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void downsample(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Khoảng thời gian không hợp lệ");
+        }
+        LocalDateTime minuteFrom = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime quarterFrom = from.truncatedTo(ChronoUnit.HOURS).plusMinutes(from.getMinute() / 15 * 15L);
+        transactionTemplate.executeWithoutResult(status -> {
+            int minutes = meterSeriesRepository.downsampleMinutes(minuteFrom, to);
+            int quarters = meterSeriesRepository.downsampleQuarterHours(quarterFrom, to);
+            log.debug("Downsampled meter values {} - {}: {} minute bucket(s), {} quarter-hour bucket(s)",
+                    from, to, minutes, quarters);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.meter.downsample-interval-ms:60000}",
+            initialDelayString = "${app.meter.downsample-interval-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void downsampleRecent() {
+        LocalDateTime now = LocalDateTime.now();
+        downsample(now.minusMinutes(lookbackMinutes), now);
+    }
+
+    @Override
+    public List<MeterSeriesPoint> getSessionPowerCurve(Integer customerId, Integer sessionId) {
+        ChargingSession session = chargingSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy phiên sạc"));
+        if (!Objects.equals(session.getElectricVehicle().getCustomer().getId(), customerId)) {
+            throw new AccessDeniedException("Bạn không có quyền xem phiên sạc này");
+        }
+        LocalDateTime from = session.getStartTime().truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = session.getEndTime() != null ? session.getEndTime() : LocalDateTime.now();
+        return meterSeriesRepository.findConnectorSeries(resolution(from, to),
+                session.getChargingConnector().getId(), from, to);
+    }
+
+    @Override
+    public List<MeterSeriesPoint> getStationLoad(Integer vendorId, Integer stationId,
+                                                 LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Khoảng thời gian không hợp lệ");
+        }
+        stationRepository.findByIdAndVendorId(stationId, vendorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Không tìm thấy trạm sạc"));
+        return meterSeriesRepository.findStationSeries(resolution(from, to), stationId, from, to);
+    }
+
+    private Resolution resolution(LocalDateTime from, LocalDateTime to) {
+        boolean shortRange = Duration.between(from, to).toHours() <= minuteSeriesMaxHours;
+        boolean retained = !from.isBefore(LocalDateTime.now().minusDays(minuteRetentionDays - 1L));
+        return shortRange && retained ? Resolution.MINUTE : Resolution.QUARTER_HOUR;
+    }
+}
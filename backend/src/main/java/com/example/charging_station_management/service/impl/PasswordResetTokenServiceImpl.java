@@ -0,0 +1,109 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.converters.PasswordResetToken;
+import com.example.charging_station_management.entity.converters.User;
+import com.example.charging_station_management.repository.PasswordResetTokenRepository;
+import com.example.charging_station_management.service.PasswordResetTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PasswordResetTokenServiceImpl implements PasswordResetTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Value("${app.password-reset.token-ttl-minutes:60}")
+    private long tokenTtlMinutes;
+
+    @Value("${app.password-reset.purge-batch-size:500}")
+    private int purgeBatchSize;
+
+    @Override
+    @Transactional(readOnly = false)
+    public String issueToken(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        passwordResetTokenRepository.upsertForUser(
+                user.getId(), hash(rawToken), now.plusMinutes(tokenTtlMinutes), now);
+
+        return rawToken;
+    }
+
+    @Override
+    @Transactional(readOnly = false)
+    public PasswordResetToken consumeToken(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new RuntimeException("Token không hợp lệ");
+        }
+
+        PasswordResetToken resetToken = passwordResetTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> {
+                    log.warn("Invalid password reset token");
+                    return new RuntimeException("Token không hợp lệ");
+                });
+
+        if (resetToken.isUsed()) {
+            log.warn("Token already used");
+            throw new RuntimeException("Token đã được sử dụng");
+        }
+
+        if (resetToken.isExpired()) {
+            log.warn("Token expired");
+            throw new RuntimeException("Token đã hết hạn");
+        }
+
+        resetToken.setUsed(true);
+        return passwordResetTokenRepository.save(resetToken);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.password-reset.purge-interval-ms:900000}",
+            initialDelayString = "${app.password-reset.purge-initial-delay-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = passwordResetTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired/used password reset tokens", total);
+        }
+        return total;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
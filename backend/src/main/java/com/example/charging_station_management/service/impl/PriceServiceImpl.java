@@ -7,16 +7,21 @@ import com.example.charging_station_management.entity.converters.ChargingPole;
 import com.example.charging_station_management.entity.converters.Price;
 import com.example.charging_station_management.entity.converters.Vendor;
 import com.example.charging_station_management.entity.enums.PriceName;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
 import com.example.charging_station_management.exception.ResourceNotFoundException;
 import com.example.charging_station_management.repository.ChargingPoleRepository;
 import com.example.charging_station_management.repository.PriceRepository;
 import com.example.charging_station_management.service.PriceService;
+import com.example.charging_station_management.service.CatalogVersionService;
 import com.example.charging_station_management.utils.helper.UserHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Objects; // Import thêm để so sánh ID an toàn
@@ -29,6 +34,8 @@ public class PriceServiceImpl implements PriceService {
     private final PriceRepository priceRepository;
     private final ChargingPoleRepository chargingPoleRepository;
     private final UserHelper userHelper;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
 
     @Override
     @Transactional
@@ -60,7 +67,9 @@ public class PriceServiceImpl implements PriceService {
         price.setStartTime(request.getStartTime());
         price.setEndTime(request.getEndTime());
 
-        return mapToResponse(priceRepository.save(price));
+        Price savedPrice = priceRepository.save(price);
+        publishPriceChanged(pole);
+        return mapToResponse(savedPrice);
     }
 
     @Override
@@ -90,7 +99,9 @@ public class PriceServiceImpl implements PriceService {
                 price.getEffectiveFrom(), price.getEffectiveTo(),
                 price.getStartTime(), price.getEndTime());
 
-        return mapToResponse(priceRepository.save(price));
+        Price savedPrice = priceRepository.save(price);
+        publishPriceChanged(price.getPole());
+        return mapToResponse(savedPrice);
     }
 
     @Override
@@ -106,6 +117,12 @@ public class PriceServiceImpl implements PriceService {
         }
 
         priceRepository.delete(price);
+        publishPriceChanged(price.getPole());
+    }
+
+    private void publishPriceChanged(ChargingPole pole) {
+        catalogVersionService.bumpStationVersion(pole.getStation().getId(), true);
+        domainEventPublisher.publish(new CatalogChangedEvent(pole.getStation().getId(), CatalogChangeType.PRICE));
     }
 
     // 👇👇👇 QUAN TRỌNG: Thêm @Transactional để tránh LazyInitializationException 👇👇👇
@@ -158,14 +175,9 @@ public class PriceServiceImpl implements PriceService {
     }
 
     private PriceResponse mapToResponse(Price price) {
-        LocalDate now = LocalDate.now();
-        LocalTime timeNow = LocalTime.now();
-
-        boolean dateValid = (price.getEffectiveTo() == null || !now.isAfter(price.getEffectiveTo()))
-                && !now.isBefore(price.getEffectiveFrom());
-        
         // Active khi trong ngày hiệu lực VÀ trong khung giờ hiệu lực
-        boolean timeValid = !timeNow.isBefore(price.getStartTime()) && !timeNow.isAfter(price.getEndTime());
+        boolean active = Price.isActiveAt(price.getEffectiveFrom(), price.getEffectiveTo(),
+                price.getStartTime(), price.getEndTime(), LocalDateTime.now());
 
         return PriceResponse.builder()
                 .id(price.getId())
@@ -178,7 +190,7 @@ public class PriceServiceImpl implements PriceService {
                 .effectiveTo(price.getEffectiveTo())
                 .startTime(price.getStartTime())
                 .endTime(price.getEndTime())
-                .isActive(dateValid && timeValid)
+                .isActive(active)
                 .build();
     }
 }
\ No newline at end of file
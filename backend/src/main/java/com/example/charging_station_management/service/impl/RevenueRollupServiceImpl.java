@@ -0,0 +1,119 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.converters.Transaction;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.repository.RevenueDailyRollupRepository;
+import com.example.charging_station_management.repository.RevenueHourlyRollupRepository;
+import com.example.charging_station_management.repository.TransactionRepository;
+import com.example.charging_station_management.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private final RevenueDailyRollupRepository revenueDailyRollupRepository;
+    private final RevenueHourlyRollupRepository revenueHourlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Chỉ cho một lần rebuild chạy tại một thời điểm trên mỗi instance
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+
+    @Value("${app.revenue-rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPayment(Integer vendorId, Integer stationId, LocalDateTime paymentTime,
+                              BigDecimal amount, BigDecimal energyKwh) {
+        BigDecimal kwh = energyKwh != null ? energyKwh : BigDecimal.ZERO;
+        revenueDailyRollupRepository.increment(vendorId, stationId, paymentTime.toLocalDate(), amount, kwh);
+        revenueHourlyRollupRepository.increment(vendorId, stationId,
+                paymentTime.truncatedTo(ChronoUnit.HOURS), amount, kwh);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null || fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Khoảng thời gian không hợp lệ");
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Đang dựng lại rollup doanh thu, vui lòng thử lại sau");
+        }
+        try {
+            int days = 0;
+            for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+                rebuildDay(day);
+                days++;
+            }
+            log.info("Rebuilt revenue rollups for {} day(s) from {} to {}", days, fromDate, toDate);
+            return days;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        LocalDateTime earliest = transactionRepository.findEarliestPaymentTime(PaymentStatus.PAID);
+        if (earliest == null) {
+            return 0;
+        }
+        return rebuild(earliest.toLocalDate(), LocalDate.now());
+    }
+
+    // Ngày hôm qua đã đóng: dựng lại để sửa sai lệch (ví dụ giao dịch bị sửa tay trong DB)
+    @Scheduled(cron = "${app.revenue-rollup.reconcile-cron:0 30 1 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        try {
+            rebuild(yesterday, yesterday);
+        } catch (IllegalStateException e) {
+            log.info("Skip revenue rollup reconcile: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup || revenueDailyRollupRepository.count() > 0) {
+            return;
+        }
+        int days = rebuildAll();
+        if (days > 0) {
+            log.info("Backfilled revenue rollups for {} day(s)", days);
+        }
+    }
+
+    private void rebuildDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        transactionTemplate.executeWithoutResult(status -> {
+            revenueDailyRollupRepository.deleteByBucketDateRange(day, day.plusDays(1));
+            revenueHourlyRollupRepository.deleteByBucketHourRange(from, to);
+            revenueDailyRollupRepository.rebuildRange(from, to, from.minus(Transaction.PAYMENT_WINDOW));
+            revenueHourlyRollupRepository.rebuildRange(from, to, from.minus(Transaction.PAYMENT_WINDOW));
+        });
+    }
+}
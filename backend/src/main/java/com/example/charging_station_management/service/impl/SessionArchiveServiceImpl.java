@@ -0,0 +1,187 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.config.PartitionMaintainer;
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import com.example.charging_station_management.repository.SessionArchiveRepository;
+import com.example.charging_station_management.service.SessionArchiveService;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Chuyển các tháng charging_sessions đã hết hạn (PartitionMaintainer DETACH sang schema archive) thành segment
+ * của {@link SessionArchiveRepository} và gộp segment vào lịch sử sạc của khách hàng.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SessionArchiveServiceImpl implements SessionArchiveService {
+
+    private static final String SESSION_PARTITIONS_SQL = """
+            SELECT tablename FROM pg_tables
+             WHERE schemaname = ? AND tablename ~ '^charging_sessions_p[0-9]{6}$'
+             ORDER BY tablename
+            """;
+
+    private static final String TRANSACTION_PARTITIONS_SQL = """
+            SELECT tablename FROM pg_tables
+             WHERE schemaname = ? AND tablename ~ '^transactions_p[0-9]{6}$'
+            """;
+
+    private static final String TRANSACTION_COLUMNS =
+            "id, amount, payment_method, payment_status, payment_time, created_at, charging_session_id";
+
+    // Cột enum ép về VARCHAR để kiểu JDBC luôn map được sang Arrow; tên cột là tên cột trong segment
+    private static final String SEGMENT_SQL = """
+            SELECT s.id AS session_id, v.customer_id, st.id AS station_id,
+                   s.start_time, s.end_time, s.energy_kwh, s.cost, CAST(s.status AS VARCHAR(100)) AS status,
+                   v.id AS vehicle_id, CAST(v.vehicle_type AS VARCHAR(100)) AS vehicle_type,
+                   v.brand AS vehicle_brand, v.model AS vehicle_model, v.license_plate, v.battery_capacity,
+                   CAST(v.connector_type AS VARCHAR(100)) AS vehicle_connector_type,
+                   c.id AS connector_id, CAST(c.connector_type AS VARCHAR(100)) AS connector_type,
+                   c.max_power AS connector_max_power, p.id AS pole_id, st.name AS station_name, l.address_detail,
+                   t.id AS transaction_id, t.amount, CAST(t.payment_method AS VARCHAR(100)) AS payment_method,
+                   CAST(t.payment_status AS VARCHAR(100)) AS payment_status, t.payment_time,
+                   t.created_at AS transaction_created_at
+              FROM %s s
+              JOIN electric_vehicles v ON v.id = s.electric_vehicle_id
+              JOIN charging_connectors c ON c.id = s.charging_connector_id
+              JOIN charging_poles p ON p.id = c.pole_id
+              JOIN stations st ON st.id = p.station_id
+              JOIN locations l ON l.id = st.location_id
+              LEFT JOIN LATERAL (%s LIMIT 1) t ON TRUE
+             ORDER BY v.customer_id, s.start_time DESC, s.id DESC
+            """;
+
+    private final SessionArchiveRepository sessionArchiveRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Override
+    @Scheduled(cron = "${app.archive.cron:0 40 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int archiveDetachedSessions() {
+        if (!enabled || !isPostgres()) {
+            return 0;
+        }
+        String schema = PartitionMaintainer.ARCHIVE_SCHEMA;
+        int archived = 0;
+        for (String table : jdbcTemplate.queryForList(SESSION_PARTITIONS_SQL, String.class, schema)) {
+            try {
+                if (archive(schema + "." + table, YearMonth.parse(table.substring(table.length() - 6),
+                        DateTimeFormatter.ofPattern("yyyyMM")))) {
+                    archived++;
+                }
+            } catch (DataAccessException e) {
+                log.error("Archiving {}.{} failed", schema, table, e);
+            }
+        }
+        if (archived > 0) {
+            sessionArchiveRepository.reload();
+        }
+        return archived;
+    }
+
+    private boolean archive(String table, YearMonth month) {
+        long expected = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        // Segment đã có (lần chạy trước dừng giữa chừng sau khi ghi) thì không ghi lại: segment là bất biến
+        if (expected > 0 && !sessionArchiveRepository.hasSegment(month)) {
+            String sql = SEGMENT_SQL.formatted(table, transactionLookupSql());
+            // PostgreSQL chỉ dùng cursor phía server (theo fetch size) khi tắt auto-commit
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true);
+            tx.execute(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, (ResultSetExtractor<Long>) rs -> sessionArchiveRepository.writeSegment(month, rs)));
+        }
+
+        long written = expected > 0 ? sessionArchiveRepository.countSegmentRows(month) : 0;
+        if (written != expected) {
+            log.error("Segment of {} has {} row(s), {} has {}: keeping the table", month, written, table, expected);
+            return false;
+        }
+        jdbcTemplate.execute("DROP TABLE " + table);
+        log.info("Archived {} session(s) of {} to segment", expected, month);
+        return true;
+    }
+
+    // Giao dịch của phiên có thể còn trong bảng transactions hoặc đã nằm trong partition archive của tháng tạo giao dịch
+    private String transactionLookupSql() {
+        List<String> sources = new ArrayList<>();
+        sources.add("transactions");
+        for (String table : jdbcTemplate.queryForList(TRANSACTION_PARTITIONS_SQL, String.class,
+                PartitionMaintainer.ARCHIVE_SCHEMA)) {
+            sources.add(PartitionMaintainer.ARCHIVE_SCHEMA + "." + table);
+        }
+        return sources.stream()
+                .map(source -> "SELECT " + TRANSACTION_COLUMNS + " FROM " + source + " WHERE charging_session_id = s.id")
+                .collect(Collectors.joining(" UNION ALL "));
+    }
+
+    @Override
+    public Page<ChargingSession> withArchived(Integer customerId, Page<ChargingSession> hot) {
+        Pageable pageable = hot.getPageable();
+        if (!sessionArchiveRepository.hasSegments() || pageable.isUnpaged()) {
+            return hot;
+        }
+        long archived = sessionArchiveRepository.countByCustomer(customerId);
+        if (archived == 0) {
+            return hot;
+        }
+        List<ChargingSession> content = new ArrayList<>(hot.getContent());
+        int missing = pageable.getPageSize() - content.size();
+        if (missing > 0) {
+            long archiveOffset = Math.max(0, pageable.getOffset() - hot.getTotalElements());
+            content.addAll(sessionArchiveRepository.findByCustomer(customerId, archiveOffset, missing));
+        }
+        return new PageImpl<>(content, pageable, hot.getTotalElements() + archived);
+    }
+
+    @Override
+    public List<ChargingSession> withArchived(Integer customerId, List<ChargingSession> hot, KeysetCursor after,
+                                              int limit) {
+        if (hot.size() >= limit || !sessionArchiveRepository.hasSegments()) {
+            return hot;
+        }
+        List<ChargingSession> rows = new ArrayList<>(hot);
+        rows.addAll(sessionArchiveRepository.findByCustomerAfter(customerId, after, limit - hot.size()));
+        return rows;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
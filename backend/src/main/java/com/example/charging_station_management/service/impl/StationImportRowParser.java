@@ -0,0 +1,235 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.entity.enums.VehicleType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Chuyển một dòng của file import (mỗi dòng là một đầu sạc, kèm thông tin trụ và trạm) thành
+ * {@link Row} đã kiểm tra. Không giữ trạng thái ngoài header nên gọi song song được.
+ */
+final class StationImportRowParser {
+
+    static final List<String> COLUMNS = List.of(
+            "station_code", "station_name", "open_time", "close_time", "vehicle_type",
+            "latitude", "longitude", "province", "address",
+            "pole_code", "manufacturer", "pole_max_power", "max_connectors", "install_date",
+            "connector_type", "connector_max_power");
+
+    private static final List<String> OPTIONAL_COLUMNS = List.of("install_date");
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("H:mm[:ss]");
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("M/d/yy"));
+
+    // Bằng độ dài cột stations.code / charging_poles.code (V12)
+    private static final int MAX_CODE_LENGTH = 64;
+
+    private static final BigDecimal MAX_LATITUDE = BigDecimal.valueOf(90);
+    private static final BigDecimal MAX_LONGITUDE = BigDecimal.valueOf(180);
+
+    private final int[] columnIndex = new int[COLUMNS.size()];
+
+    StationImportRowParser(List<String> header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null && !OPTIONAL_COLUMNS.contains(COLUMNS.get(i))) {
+                missing.add(COLUMNS.get(i));
+            }
+            columnIndex[i] = position != null ? position : -1;
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("File import thiếu cột: " + String.join(", ", missing));
+        }
+    }
+
+    Result parse(int rowNumber, List<String> cells) {
+        Cells c = new Cells(cells);
+
+        String stationCode = c.code(0);
+        String stationName = c.required(1);
+        if (stationName != null && (stationName.length() < 5 || stationName.length() > 200)) {
+            c.error("station_name phải từ 5 đến 200 ký tự");
+        }
+        LocalTime openTime = c.time(2);
+        LocalTime closeTime = c.time(3);
+        VehicleType vehicleType = c.enumValue(4, VehicleType.class);
+        BigDecimal latitude = c.decimalWithin(5, MAX_LATITUDE);
+        BigDecimal longitude = c.decimalWithin(6, MAX_LONGITUDE);
+        String province = c.required(7);
+        String address = c.required(8);
+
+        String poleCode = c.code(9);
+        String manufacturer = c.required(10);
+        BigDecimal poleMaxPower = c.positiveDecimal(11);
+        Integer maxConnectors = c.positiveInt(12);
+        LocalDate installDate = c.date(13);
+
+        ConnectorType connectorType = c.enumValue(14, ConnectorType.class);
+        BigDecimal connectorMaxPower = c.positiveDecimal(15);
+        if (poleMaxPower != null && connectorMaxPower != null && connectorMaxPower.compareTo(poleMaxPower) > 0) {
+            c.error("connector_max_power không được vượt quá pole_max_power (" + poleMaxPower + " kW)");
+        }
+
+        if (!c.errors.isEmpty()) {
+            return new Result(rowNumber, stationCode, null, String.join("; ", c.errors));
+        }
+        return new Result(rowNumber, stationCode, new Row(rowNumber,
+                new StationFields(stationCode, stationName, openTime, closeTime, vehicleType,
+                        latitude, longitude, province, address),
+                new PoleFields(poleCode, manufacturer, poleMaxPower, maxConnectors, installDate),
+                connectorType, connectorMaxPower), null);
+    }
+
+    /** Kết quả parse: {@code row} khi hợp lệ, ngược lại {@code error}. stationCode có thể null nếu thiếu. */
+    record Result(int rowNumber, String stationCode, Row row, String error) {
+    }
+
+    record Row(int rowNumber, StationFields station, PoleFields pole,
+               ConnectorType connectorType, BigDecimal connectorMaxPower) {
+    }
+
+    record StationFields(String code, String name, LocalTime openTime, LocalTime closeTime, VehicleType type,
+                         BigDecimal latitude, BigDecimal longitude, String province, String address) {
+    }
+
+    record PoleFields(String code, String manufacturer, BigDecimal maxPower, Integer maxConnectors,
+                      LocalDate installDate) {
+    }
+
+    private final class Cells {
+
+        private final List<String> cells;
+        private final List<String> errors = new ArrayList<>(2);
+
+        private Cells(List<String> cells) {
+            this.cells = cells;
+        }
+
+        private void error(String message) {
+            errors.add(message);
+        }
+
+        private String value(int column) {
+            int index = columnIndex[column];
+            if (index < 0 || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private String required(int column) {
+            String value = value(column);
+            if (value == null) {
+                error(COLUMNS.get(column) + " không được để trống");
+            }
+            return value;
+        }
+
+        private String code(int column) {
+            String value = required(column);
+            if (value != null && value.length() > MAX_CODE_LENGTH) {
+                error(COLUMNS.get(column) + " tối đa " + MAX_CODE_LENGTH + " ký tự");
+            }
+            return value;
+        }
+
+        private LocalTime time(int column) {
+            String value = required(column);
+            if (value == null) return null;
+            try {
+                return LocalTime.parse(value, TIME_FORMATTER);
+            } catch (DateTimeParseException e) {
+                error(COLUMNS.get(column) + " không đúng định dạng HH:mm: " + value);
+                return null;
+            }
+        }
+
+        private LocalDate date(int column) {
+            String value = value(column);
+            if (value == null) return null;
+            for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+                try {
+                    return LocalDate.parse(value, formatter);
+                } catch (DateTimeParseException ignored) {
+                    // thử định dạng tiếp theo
+                }
+            }
+            error(COLUMNS.get(column) + " không đúng định dạng yyyy-MM-dd: " + value);
+            return null;
+        }
+
+        private <E extends Enum<E>> E enumValue(int column, Class<E> type) {
+            String value = required(column);
+            if (value == null) return null;
+            try {
+                return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                error(COLUMNS.get(column) + " không hợp lệ: " + value);
+                return null;
+            }
+        }
+
+        private BigDecimal decimal(int column) {
+            String value = required(column);
+            if (value == null) return null;
+            try {
+                return new BigDecimal(value.replace(',', '.'));
+            } catch (NumberFormatException e) {
+                error(COLUMNS.get(column) + " không phải số: " + value);
+                return null;
+            }
+        }
+
+        private BigDecimal decimalWithin(int column, BigDecimal bound) {
+            BigDecimal value = decimal(column);
+            if (value != null && value.abs().compareTo(bound) > 0) {
+                error(COLUMNS.get(column) + " không hợp lệ: " + value);
+                return null;
+            }
+            return value;
+        }
+
+        private BigDecimal positiveDecimal(int column) {
+            BigDecimal value = decimal(column);
+            if (value != null && value.signum() <= 0) {
+                error(COLUMNS.get(column) + " phải lớn hơn 0");
+                return null;
+            }
+            return value;
+        }
+
+        private Integer positiveInt(int column) {
+            BigDecimal value = decimal(column);
+            if (value == null) return null;
+            try {
+                int result = value.intValueExact();
+                if (result >= 1) {
+                    return result;
+                }
+            } catch (ArithmeticException ignored) {
+                // rơi xuống báo lỗi bên dưới
+            }
+            error(COLUMNS.get(column) + " phải là số nguyên >= 1");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.response.ImportRowError;
+import com.example.charging_station_management.dto.response.StationImportReport;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.event.StationCreatedEvent;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.ConnectorRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.LocationRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.PoleRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.StationRow;
+import com.example.charging_station_management.repository.SequenceIdAllocator;
+import com.example.charging_station_management.service.StationImportService;
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.service.impl.StationImportRowParser.PoleFields;
+import com.example.charging_station_management.service.impl.StationImportRowParser.Result;
+import com.example.charging_station_management.service.impl.StationImportRowParser.Row;
+import com.example.charging_station_management.service.impl.StationImportRowParser.StationFields;
+import com.example.charging_station_management.utils.excel.CsvRowReader;
+import com.example.charging_station_management.utils.excel.RowHandler;
+import com.example.charging_station_management.utils.excel.XlsxRowReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Import catalog hàng loạt: đọc file streaming, parse/kiểm tra từng chunk song song, gom theo
+ * station_code/pole_code theo đúng thứ tự dòng, rồi ghi bằng JDBC batch với id cấp sẵn từ sequence.
+ * Mã được lưu cùng trạm/trụ; trạm có station_code đã import trước đó của vendor được bỏ qua.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StationImportServiceImpl implements StationImportService {
+
+    private final SequenceIdAllocator idAllocator;
+    private final CatalogBulkInsertRepository bulkInsertRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-rows:200000}")
+    private int maxRows;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    // Parse file không giữ connection; phần ghi tự mở transaction riêng
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StationImportReport importStations(Integer vendorId, MultipartFile file, boolean dryRun) throws IOException {
+        long started = System.nanoTime();
+        ImportPlan plan = new ImportPlan(maxReportedErrors);
+        ChunkedRowHandler handler = new ChunkedRowHandler(plan, chunkSize, maxRows);
+
+        String filename = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        if (filename.endsWith(".csv")) {
+            CsvRowReader.read(file.getInputStream(), handler);
+        } else if (filename.endsWith(".xlsx")) {
+            // OPCPackage đọc trực tiếp từ file nhanh và ít bộ nhớ hơn từ InputStream
+            Path temp = Files.createTempFile("station-import-", ".xlsx");
+            try {
+                file.transferTo(temp);
+                XlsxRowReader.read(temp.toFile(), handler);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } else {
+            throw new IllegalArgumentException("Chỉ hỗ trợ file .csv hoặc .xlsx");
+        }
+        handler.flush();
+        if (!handler.hasHeader()) {
+            throw new IllegalArgumentException("File import trống");
+        }
+
+        List<StationDraft> valid = plan.finish();
+        // Upload lại cùng file: trạm đã có mã trong DB được bỏ qua, không tạo bản sao
+        Set<String> existing = bulkInsertRepository.findStationCodes(vendorId,
+                valid.stream().map(s -> s.fields.code()).toList());
+        List<StationDraft> accepted = valid.stream().filter(s -> !existing.contains(s.fields.code())).toList();
+        int alreadyImported = valid.size() - accepted.size();
+        int poles = accepted.stream().mapToInt(s -> s.poles.size()).sum();
+        int connectors = accepted.stream().mapToInt(StationDraft::connectorCount).sum();
+
+        if (!dryRun && !accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(vendorId, accepted, poles, connectors));
+            } catch (DuplicateKeyException e) {
+                // Request import khác vừa ghi cùng mã trạm; chạy lại sẽ bỏ qua các trạm đó
+                throw new IllegalStateException("Trạm trong file vừa được import bởi request khác, hãy thử lại", e);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Station import for vendor {} ({}): {} rows, {} stations / {} poles / {} connectors, "
+                        + "{} already imported, {} error rows in {} ms",
+                vendorId, dryRun ? "dry-run" : "commit", plan.totalRows, accepted.size(), poles, connectors,
+                alreadyImported, plan.errorRows, elapsedMs);
+
+        return StationImportReport.builder()
+                .dryRun(dryRun)
+                .totalRows(plan.totalRows)
+                .errorRows(plan.errorRows)
+                .stationsImported(accepted.size())
+                .polesImported(poles)
+                .connectorsImported(connectors)
+                .stationsSkipped(plan.stations.size() - valid.size())
+                .stationsAlreadyImported(alreadyImported)
+                .elapsedMs(elapsedMs)
+                .errors(plan.errors)
+                .errorsTruncated(plan.errorsTruncated)
+                .build();
+    }
+
+    private void insert(Integer vendorId, List<StationDraft> stations, int poleCount, int connectorCount) {
+        int[] locationIds = idAllocator.allocate("locations_seq", stations.size());
+        int[] stationIds = idAllocator.allocate("stations_seq", stations.size());
+        int[] poleIds = idAllocator.allocate("charging_poles_seq", poleCount);
+        int[] connectorIds = idAllocator.allocate("charging_connectors_seq", connectorCount);
+
+        List<LocationRow> locationRows = new ArrayList<>(stations.size());
+        List<StationRow> stationRows = new ArrayList<>(stations.size());
+        List<PoleRow> poleRows = new ArrayList<>(poleCount);
+        List<ConnectorRow> connectorRows = new ArrayList<>(connectorCount);
+        LocalDate today = LocalDate.now();
+
+        int p = 0;
+        int c = 0;
+        for (int s = 0; s < stations.size(); s++) {
+            StationFields station = stations.get(s).fields;
+            locationRows.add(new LocationRow(locationIds[s], station.latitude(), station.longitude(),
+                    station.province(), station.address()));
+            stationRows.add(new StationRow(stationIds[s], vendorId, locationIds[s], station.code(), station.name(),
+                    station.openTime(), station.closeTime(), station.type().name()));
+
+            for (PoleDraft pole : stations.get(s).poles.values()) {
+                int poleId = poleIds[p++];
+                poleRows.add(new PoleRow(poleId, stationIds[s], pole.fields.code(), pole.fields.manufacturer(),
+                        pole.fields.maxPower(), pole.fields.maxConnectors(),
+                        pole.fields.installDate() != null ? pole.fields.installDate() : today));
+                for (ConnectorDraft connector : pole.connectors) {
+                    connectorRows.add(new ConnectorRow(connectorIds[c++], poleId, connector.type().name(),
+                            connector.maxPower()));
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        bulkInsertRepository.insertLocations(locationRows);
+        bulkInsertRepository.insertStations(stationRows, now);
+        bulkInsertRepository.insertPoles(poleRows, now);
+        bulkInsertRepository.insertConnectors(connectorRows, now);
+
+        for (int stationId : stationIds) {
+            domainEventPublisher.publish(new StationCreatedEvent(stationId, vendorId));
+        }
+        // Trạm mới chỉ ảnh hưởng danh sách trạm, không có cache theo id nào cần evict
+        catalogVersionService.bumpStationVersion(null, true);
+        domainEventPublisher.publish(new CatalogChangedEvent(null, CatalogChangeType.STATION));
+    }
+
+    /**
+     * Gom dòng thành từng chunk rồi parse song song; kết quả được gộp vào {@link ImportPlan}
+     * tuần tự theo thứ tự dòng để báo lỗi trùng/lệch dữ liệu ổn định.
+     */
+    private static final class ChunkedRowHandler implements RowHandler {
+
+        private record RawRow(int rowNumber, List<String> cells) {
+        }
+
+        private final ImportPlan plan;
+        private final int chunkSize;
+        private final int maxRows;
+        private final List<RawRow> buffer;
+        private StationImportRowParser parser;
+        private int rows;
+
+        private ChunkedRowHandler(ImportPlan plan, int chunkSize, int maxRows) {
+            this.plan = plan;
+            this.chunkSize = chunkSize;
+            this.maxRows = maxRows;
+            this.buffer = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void handle(int rowNumber, List<String> cells) {
+            if (parser == null) {
+                parser = new StationImportRowParser(cells);
+                return;
+            }
+            if (++rows > maxRows) {
+                throw new IllegalArgumentException("File import vượt quá " + maxRows + " dòng");
+            }
+            buffer.add(new RawRow(rowNumber, cells));
+            if (buffer.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<Result> results = buffer.parallelStream()
+                    .map(raw -> parser.parse(raw.rowNumber(), raw.cells()))
+                    .toList();
+            results.forEach(plan::accept);
+            buffer.clear();
+        }
+
+        private boolean hasHeader() {
+            return parser != null;
+        }
+    }
+
+    private static final class ImportPlan {
+
+        private final Map<String, StationDraft> stations = new LinkedHashMap<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private final int maxReportedErrors;
+        private long totalRows;
+        private long errorRows;
+        private boolean errorsTruncated;
+
+        private ImportPlan(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void accept(Result result) {
+            totalRows++;
+            if (result.error() != null) {
+                rejectRow(result.rowNumber(), result.stationCode(), result.error());
+                return;
+            }
+
+            Row row = result.row();
+            StationDraft station = stations.computeIfAbsent(row.station().code(), code -> new StationDraft(row.rowNumber()));
+            if (station.fields == null) {
+                station.fields = row.station();
+            } else if (!sameStation(station.fields, row.station())) {
+                rejectRow(row.rowNumber(), row.station().code(),
+                        "Thông tin trạm " + row.station().code() + " khác với dòng " + station.firstRow);
+                return;
+            }
+
+            PoleDraft pole = station.poles.get(row.pole().code());
+            if (pole == null) {
+                pole = new PoleDraft(row.rowNumber(), row.pole());
+                station.poles.put(row.pole().code(), pole);
+            } else if (!samePole(pole.fields, row.pole())) {
+                rejectRow(row.rowNumber(), row.station().code(),
+                        "Thông tin trụ " + row.pole().code() + " khác với dòng " + pole.firstRow);
+                return;
+            }
+
+            if (pole.connectors.size() >= row.pole().maxConnectors()) {
+                rejectRow(row.rowNumber(), row.station().code(),
+                        "Trụ " + row.pole().code() + " đã đạt số lượng connector tối đa: " + row.pole().maxConnectors());
+                return;
+            }
+            pole.connectors.add(new ConnectorDraft(row.connectorType(), row.connectorMaxPower()));
+        }
+
+        private void rejectRow(int rowNumber, String stationCode, String message) {
+            errorRows++;
+            addError(rowNumber, message);
+            if (stationCode != null) {
+                stations.computeIfAbsent(stationCode, code -> new StationDraft(rowNumber)).rejected = true;
+            }
+        }
+
+        private void addError(int rowNumber, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(rowNumber, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        private List<StationDraft> finish() {
+            List<StationDraft> accepted = new ArrayList<>(stations.size());
+            for (Map.Entry<String, StationDraft> entry : stations.entrySet()) {
+                StationDraft station = entry.getValue();
+                if (!station.rejected) {
+                    accepted.add(station);
+                } else if (station.fields != null) {
+                    addError(station.firstRow, "Trạm " + entry.getKey() + " bị bỏ qua vì có dòng lỗi");
+                }
+            }
+            return accepted;
+        }
+
+        private static boolean sameStation(StationFields a, StationFields b) {
+            return a.name().equals(b.name())
+                    && a.openTime().equals(b.openTime())
+                    && a.closeTime().equals(b.closeTime())
+                    && a.type() == b.type()
+                    && a.latitude().compareTo(b.latitude()) == 0
+                    && a.longitude().compareTo(b.longitude()) == 0
+                    && a.province().equals(b.province())
+                    && a.address().equals(b.address());
+        }
+
+        private static boolean samePole(PoleFields a, PoleFields b) {
+            return a.manufacturer().equals(b.manufacturer())
+                    && a.maxPower().compareTo(b.maxPower()) == 0
+                    && a.maxConnectors().equals(b.maxConnectors())
+                    && Objects.equals(a.installDate(), b.installDate());
+        }
+    }
+
+    private static final class StationDraft {
+        private final int firstRow;
+        private final Map<String, PoleDraft> poles = new LinkedHashMap<>();
+        private StationFields fields;
+        private boolean rejected;
+
+        private StationDraft(int firstRow) {
+            this.firstRow = firstRow;
+        }
+
+        private int connectorCount() {
+            return poles.values().stream().mapToInt(p -> p.connectors.size()).sum();
+        }
+    }
+
+    private static final class PoleDraft {
+        private final int firstRow;
+        private final PoleFields fields;
+        private final List<ConnectorDraft> connectors = new ArrayList<>(2);
+
+        private PoleDraft(int firstRow, PoleFields fields) {
+            this.firstRow = firstRow;
+            this.fields = fields;
+        }
+    }
+
+    private record ConnectorDraft(ConnectorType type, BigDecimal maxPower) {
+    }
+}
@@ -11,12 +11,17 @@ import com.example.charging_station_management.entity.converters.Vendor;
 import com.example.charging_station_management.entity.enums.SessionStatus;
 import com.example.charging_station_management.entity.enums.StationStatus;
 import com.example.charging_station_management.entity.enums.VehicleType;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.event.StationCreatedEvent;
 import com.example.charging_station_management.exception.ResourceNotFoundException;
 import com.example.charging_station_management.repository.ChargingSessionRepository;
 import com.example.charging_station_management.repository.LocationRepository;
 import com.example.charging_station_management.repository.StationRepository;
 import com.example.charging_station_management.repository.specification.StationSpecification;
 import com.example.charging_station_management.service.StationService;
+import com.example.charging_station_management.service.CatalogVersionService;
 import com.example.charging_station_management.utils.helper.UserHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -27,6 +32,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -39,6 +45,8 @@ public class StationServiceImpl implements StationService {
     private final UserHelper userHelper;
     private final ChargingSessionRepository chargingSessionRepository;
     private final StationMapper stationMapper;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CatalogVersionService catalogVersionService;
 
     // =========================================================================
     // HELPER METHODS
@@ -84,6 +92,8 @@ public class StationServiceImpl implements StationService {
         station.setLocation(savedLocation);
 
         Station savedStation = stationRepository.save(station);
+        publishStationChanged(savedStation.getId());
+        domainEventPublisher.publish(new StationCreatedEvent(savedStation.getId(), vendor.getId()));
         return stationMapper.toResponse(savedStation);
     }
 
@@ -130,9 +140,12 @@ public class StationServiceImpl implements StationService {
 
         if (locationChanged) {
             locationRepository.save(location);
+            // Location không có version riêng: đánh dấu station dirty để version/ETag của trạm thay đổi
+            station.setUpdatedAt(LocalDateTime.now());
         }
 
         Station updatedStation = stationRepository.save(station);
+        publishStationChanged(stationId);
         return stationMapper.toResponse(updatedStation);
     }
 
@@ -169,6 +182,7 @@ public class StationServiceImpl implements StationService {
             // Trạm mới, chưa có lịch sử -> Xóa cứng
             stationRepository.delete(station);
         }
+        publishStationChanged(stationId);
     }
 
     @Override
@@ -207,6 +221,7 @@ public class StationServiceImpl implements StationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Station not found with id: " + stationId));
         station.setStatus(newStatus);
         stationRepository.save(station);
+        publishStationChanged(stationId);
     }
 
     @Override
@@ -215,6 +230,12 @@ public class StationServiceImpl implements StationService {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Station not found with id: " + stationId));
         stationRepository.delete(station);
+        publishStationChanged(stationId);
+    }
+
+    private void publishStationChanged(Integer stationId) {
+        catalogVersionService.bumpStationVersion(stationId, true);
+        domainEventPublisher.publish(new CatalogChangedEvent(stationId, CatalogChangeType.STATION));
     }
 
     // =========================================================================
@@ -3,25 +3,35 @@ package com.example.charging_station_management.service.impl;
 import com.example.charging_station_management.dto.mapper.VendorStatsMapper;
 import com.example.charging_station_management.dto.request.TransactionFilterRequest;
 import com.example.charging_station_management.dto.response.ChartData;
+import com.example.charging_station_management.dto.response.CursorPage;
 import com.example.charging_station_management.dto.response.TransactionDetailResponse;
 import com.example.charging_station_management.entity.converters.*;
 import com.example.charging_station_management.dto.response.VendorRevenueStats;
 import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.event.PaymentCompletedEvent;
+import com.example.charging_station_management.repository.RevenueDailyRollupRepository;
+import com.example.charging_station_management.repository.RevenueHourlyRollupRepository;
 import com.example.charging_station_management.repository.TransactionRepository;
+import com.example.charging_station_management.repository.projection.DailyRevenueView;
+import com.example.charging_station_management.repository.projection.HourlyRevenueView;
+import com.example.charging_station_management.repository.projection.RevenueTotalsView;
+import com.example.charging_station_management.service.RevenueRollupService;
 import com.example.charging_station_management.service.TransactionService;
+import com.example.charging_station_management.repository.specification.KeysetSpecification;
 import com.example.charging_station_management.repository.specification.TransactionSpecification;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -33,39 +43,46 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final DateTimeFormatter SHORT_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM");
+    private static final DateTimeFormatter FULL_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     private final TransactionRepository transactionRepository;
     private final VendorStatsMapper vendorStatsMapper;
+    private final DomainEventPublisher domainEventPublisher;
+    private final RevenueRollupService revenueRollupService;
+    private final RevenueDailyRollupRepository revenueDailyRollupRepository;
+    private final RevenueHourlyRollupRepository revenueHourlyRollupRepository;
+
+    // Tắt để thống kê vendor tổng hợp thẳng trên bảng transactions (ví dụ khi đang backfill rollup)
+    @Value("${app.revenue-rollup.read-enabled:true}")
+    private boolean rollupReadEnabled;
 
     @Override
     public Page<TransactionDetailResponse> getAllTransactions(
             TransactionFilterRequest filterRequest,
             Pageable pageable) {
 
-        Specification<Transaction> spec = Specification.where(null);
-
-        if (filterRequest != null) {
-            spec = spec
-                    .and(TransactionSpecification.withCustomerId(filterRequest.getCustomerId()))
-                    .and(TransactionSpecification.withStationId(filterRequest.getStationId()))
-                    .and(TransactionSpecification.withPaymentStatus(filterRequest.getPaymentStatus()))
-                    .and(TransactionSpecification.withPaymentMethod(filterRequest.getPaymentMethod()))
-                    .and(TransactionSpecification.withPaymentTimeBetween(
-                            filterRequest.getPaymentTimeFrom(),
-                            filterRequest.getPaymentTimeTo()))
-                    .and(TransactionSpecification.withCreatedAtBetween(
-                            filterRequest.getCreatedAtFrom(),
-                            filterRequest.getCreatedAtTo()))
-                    .and(TransactionSpecification.withAmountBetween(
-                            filterRequest.getAmountFrom(),
-                            filterRequest.getAmountTo()))
-                    .and(TransactionSpecification.withCustomerNameLike(filterRequest.getCustomerName()))
-                    .and(TransactionSpecification.withStationNameLike(filterRequest.getStationName()))
-                    .and(TransactionSpecification.withBankNameLike(filterRequest.getBankName()));
-        }
+        Specification<Transaction> spec = TransactionSpecification.fromFilter(filterRequest);
+
+        return transactionRepository.findDetails(spec, pageable);
+    }
+
+    @Override
+    public CursorPage<TransactionDetailResponse> getAllTransactions(
+            TransactionFilterRequest filterRequest,
+            String cursor,
+            Integer size) {
+
+        // Seek theo createdAt (luôn có giá trị); paymentTime null với giao dịch chưa thanh toán
+        int limit = CursorPage.limit(size);
+        Specification<Transaction> spec = TransactionSpecification.fromFilter(filterRequest)
+                .and(KeysetSpecification.after("createdAt", KeysetCursor.decode(cursor)));
 
-        Page<Transaction> transactions = transactionRepository.findAll(spec, pageable);
+        List<TransactionDetailResponse> rows = transactionRepository
+                .findDetails(spec, KeysetSpecification.newestFirst("createdAt"), limit + 1);
 
-        return transactions.map(this::convertToDetailResponse);
+        return CursorPage.of(rows, limit, t -> new KeysetCursor(t.createdAt(), t.transactionId()), t -> t);
     }
 
     @Override
@@ -76,6 +93,40 @@ public class TransactionServiceImpl implements TransactionService {
         return convertToDetailResponse(transaction);
     }
 
+    @Override
+    @Transactional
+    public TransactionDetailResponse completePayment(Integer transactionId) {
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + transactionId));
+
+        if (transaction.getPaymentStatus() != PaymentStatus.PENDING) {
+            throw new IllegalStateException("Giao dịch không ở trạng thái chờ thanh toán");
+        }
+        // Giữ cận dưới created_at/start_time mà các truy vấn doanh thu dùng để chỉ quét partition liên quan
+        LocalDateTime windowStart = LocalDateTime.now().minus(Transaction.PAYMENT_WINDOW);
+        if (transaction.getCreatedAt().isBefore(windowStart)
+                || transaction.getChargingSession().getStartTime().isBefore(windowStart)) {
+            throw new IllegalStateException("Giao dịch đã quá hạn thanh toán");
+        }
+
+        // UPDATE có điều kiện: hai request thanh toán cùng lúc thì chỉ một request đổi được trạng thái và cộng rollup
+        if (transactionRepository.updatePaymentStatus(transactionId, PaymentStatus.PENDING, PaymentStatus.PAID,
+                LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Giao dịch không ở trạng thái chờ thanh toán");
+        }
+        Transaction saved = transactionRepository.findById(transactionId).orElseThrow();
+
+        ChargingSession session = saved.getChargingSession();
+        Station station = session.getChargingConnector().getPole().getStation();
+        revenueRollupService.recordPayment(station.getVendor().getId(), station.getId(),
+                saved.getPaymentTime(), saved.getAmount(), session.getEnergyKwh());
+        domainEventPublisher.publish(new PaymentCompletedEvent(saved.getId(), session.getId(),
+                saved.getCustomer().getId(), station.getId(), station.getVendor().getId(),
+                saved.getAmount(), session.getEnergyKwh(), saved.getPaymentTime()));
+
+        return convertToDetailResponse(saved);
+    }
+
     private TransactionDetailResponse convertToDetailResponse(Transaction transaction) {
         // Customer extends User, nên có thể truy cập trực tiếp
         Customer customer = transaction.getCustomer();
@@ -138,132 +189,92 @@ public class TransactionServiceImpl implements TransactionService {
                 .build();
     }
 
-    private BigDecimal calculateTotalRevenue(List<Transaction> transactions) {
-        if (transactions == null || transactions.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        return transactions.stream()
-                .filter(t -> t.getAmount() != null)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     @Override
     public VendorRevenueStats getVendorRevenueStats(Integer vendorId) {
-        LocalDateTime now = LocalDateTime.now();
-
-        // 1. Xác định khung thời gian chuẩn xác
-        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
-        LocalDateTime endOfDay = now.toLocalDate().atTime(LocalTime.MAX);
-
-        LocalDateTime startOfMonth = now.withDayOfMonth(1).toLocalDate().atStartOfDay();
-        LocalDateTime endOfMonth = now.toLocalDate().atTime(LocalTime.MAX);
-
-        // Tháng trước: Từ ngày 1 tháng trước -> Giây cuối cùng của tháng trước
-        LocalDateTime startOfLastMonth = now.minusMonths(1).withDayOfMonth(1).toLocalDate().atStartOfDay();
-        LocalDateTime endOfLastMonth = now.withDayOfMonth(1).toLocalDate().atStartOfDay().minusSeconds(1);
-
-        // 2. Gọi Repo (Sử dụng hàm mới viết lại)
-        List<Transaction> dailyTxs = transactionRepository.findTransactionsByVendorAndDateRange(
-                vendorId, PaymentStatus.PAID, startOfDay, endOfDay);
-
-        List<Transaction> monthlyTxs = transactionRepository.findTransactionsByVendorAndDateRange(
-                vendorId, PaymentStatus.PAID, startOfMonth, endOfMonth);
-
-        List<Transaction> lastMonthTxs = transactionRepository.findTransactionsByVendorAndDateRange(
-                vendorId, PaymentStatus.PAID, startOfLastMonth, endOfLastMonth);
-
-        // 3. Tính toán
-        BigDecimal dailyRevenue = calculateTotalRevenue(dailyTxs);
-        BigDecimal monthlyRevenue = calculateTotalRevenue(monthlyTxs);
-        BigDecimal lastMonthRevenue = calculateTotalRevenue(lastMonthTxs);
-
-        // Mapping dữ liệu trả về
-        return vendorStatsMapper.toRevenueStats(dailyRevenue, monthlyRevenue, lastMonthRevenue);
+        LocalDate today = LocalDate.now();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        LocalDate startOfLastMonth = startOfMonth.minusMonths(1);
+
+        RevenueTotalsView totals = rollupReadEnabled
+                ? revenueDailyRollupRepository.findRevenueTotals(vendorId, today, startOfMonth, startOfLastMonth)
+                : transactionRepository.sumRevenueTotalsByVendor(vendorId, PaymentStatus.PAID,
+                        today.atStartOfDay(), startOfMonth.atStartOfDay(), startOfLastMonth.atStartOfDay(),
+                        today.plusDays(1).atStartOfDay(), startOfLastMonth.atStartOfDay().minus(Transaction.PAYMENT_WINDOW));
+
+        return vendorStatsMapper.toRevenueStats(totals.getDailyRevenue(), totals.getMonthlyRevenue(),
+                totals.getLastMonthRevenue());
     }
 
     @Override
     public List<ChartData> getVendorChartData(Integer vendorId, int days) {
-        // Lấy dữ liệu đến hết ngày hiện tại
-        LocalDateTime endDate = LocalDateTime.now().toLocalDate().atTime(LocalTime.MAX);
-        // Lùi lại 'days' ngày bắt đầu từ 00:00:00
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days - 1).toLocalDate().atStartOfDay();
-
-        // 1. Lấy toàn bộ transaction trong khoảng thời gian (Query 1 lần duy nhất)
-        List<Transaction> transactions = transactionRepository.findTransactionsByVendorAndDateRange(
-                vendorId, PaymentStatus.PAID, startDate, endDate);
-
-        // 2. Group by Date tại Service (Java Stream)
-        // Key: LocalDate, Value: List<Transaction> trong ngày đó
-        Map<LocalDate, List<Transaction>> groupedByDate = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getPaymentTime().toLocalDate()));
-
-        // 3. Loop tạo data cho biểu đồ (Fill gap - điền vào những ngày không có doanh
-        // thu)
-        List<ChartData> result = new ArrayList<>();
-        DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("dd/MM");
+        LocalDate toDate = LocalDate.now();
+        // Lùi lại 'days' ngày, tính cả hôm nay
+        LocalDate fromDate = toDate.minusDays(days - 1);
 
-        for (int i = 0; i < days; i++) {
-            // Tính toán ngày đang xét trong vòng lặp
-            LocalDate loopDate = startDate.plusDays(i).toLocalDate();
+        return toDailyChartData(findDailyRevenue(vendorId, fromDate, toDate), fromDate, toDate, SHORT_DATE_FORMATTER);
+    }
 
-            // Lấy list transaction của ngày đó từ Map, nếu null thì trả về list rỗng
-            List<Transaction> txsInDay = groupedByDate.getOrDefault(loopDate, new ArrayList<>());
+    @Override
+    public List<ChartData> getVendorChartDataByDateRange(Integer vendorId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null) fromDate = LocalDate.now().minusDays(30);
+        if (toDate == null) toDate = LocalDate.now();
 
-            BigDecimal revenue = calculateTotalRevenue(txsInDay);
-            long sessionCount = txsInDay.size();
+        return toDailyChartData(findDailyRevenue(vendorId, fromDate, toDate), fromDate, toDate, FULL_DATE_FORMATTER);
+    }
 
+    @Override
+    public List<ChartData> getVendorHourlyChartData(Integer vendorId, LocalDate date) {
+        if (date == null) date = LocalDate.now();
+
+        Iterator<HourlyRevenueView> rows = revenueHourlyRollupRepository
+                .findHourlyTotals(vendorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .iterator();
+        HourlyRevenueView next = rows.hasNext() ? rows.next() : null;
+
+        List<ChartData> result = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            LocalDateTime bucket = date.atTime(hour, 0);
+            boolean hit = next != null && next.getBucketHour().equals(bucket);
             result.add(ChartData.builder()
-                    .date(loopDate.format(displayFormatter))
-                    .revenue(revenue)
-                    .sessions(sessionCount)
+                    .date(bucket.format(HOUR_FORMATTER))
+                    .revenue(hit ? next.getRevenue() : BigDecimal.ZERO)
+                    .sessions(hit ? next.getSessions() : 0L)
                     .build());
+            if (hit) {
+                next = rows.hasNext() ? rows.next() : null;
+            }
         }
-
         return result;
     }
 
-    @Override
-    public List<ChartData> getVendorChartDataByDateRange(Integer vendorId, LocalDate fromDate, LocalDate toDate) {
-        if (fromDate == null) fromDate = LocalDate.now().minusDays(30);
-        if (toDate == null) toDate = LocalDate.now();
-
-        // 1. Convert LocalDate sang LocalDateTime để query DB
-        LocalDateTime startDateTime = fromDate.atStartOfDay();
-        LocalDateTime endDateTime = toDate.atTime(LocalTime.MAX);
-
-        // 2. Reuse hàm query repository có sẵn
-        List<Transaction> transactions = transactionRepository.findTransactionsByVendorAndDateRange(
-                vendorId, PaymentStatus.PAID, startDateTime, endDateTime);
+    // Tổng theo ngày (đã sắp xếp tăng dần): đọc rollup, hoặc GROUP BY ngày trên bảng transactions
+    private List<DailyRevenueView> findDailyRevenue(Integer vendorId, LocalDate fromDate, LocalDate toDate) {
+        if (rollupReadEnabled) {
+            return revenueDailyRollupRepository.findDailyTotals(vendorId, fromDate, toDate);
+        }
+        return transactionRepository.sumDailyRevenueByVendor(vendorId, PaymentStatus.PAID,
+                fromDate.atStartOfDay(), toDate.plusDays(1).atStartOfDay(),
+                fromDate.atStartOfDay().minus(Transaction.PAYMENT_WINDOW));
+    }
 
-        // 3. Group transaction theo ngày
-        Map<LocalDate, List<Transaction>> groupedByDate = transactions.stream()
-                .collect(Collectors.groupingBy(t -> t.getPaymentTime().toLocalDate()));
+    // Trộn tuần tự với dãy ngày liên tục, điền 0 cho những ngày không có doanh thu
+    private List<ChartData> toDailyChartData(List<DailyRevenueView> rows, LocalDate fromDate, LocalDate toDate,
+                                             DateTimeFormatter displayFormatter) {
+        Iterator<DailyRevenueView> it = rows.iterator();
+        DailyRevenueView next = it.hasNext() ? it.next() : null;
 
-        // 4. Loop qua từng ngày trong khoảng thời gian để tạo data (Fill gap những ngày
-        // không có doanh thu)
         List<ChartData> result = new ArrayList<>();
-        DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy"); // Format đầy đủ hơn cho range
-                                                                                        // tùy chỉnh
-
-        // Lưu ý: limit loop để tránh vô hạn nếu fromDate > toDate, hoặc range quá lớn
-        LocalDate currentDate = fromDate;
-        while (!currentDate.isAfter(toDate)) {
-            List<Transaction> txsInDay = groupedByDate.getOrDefault(currentDate, new ArrayList<>());
-
-            BigDecimal revenue = calculateTotalRevenue(txsInDay);
-            long sessionCount = txsInDay.size();
-
+        for (LocalDate day = fromDate; !day.isAfter(toDate); day = day.plusDays(1)) {
+            boolean hit = next != null && next.getBucketDate().equals(day);
             result.add(ChartData.builder()
-                    .date(currentDate.format(displayFormatter)) // Trả về string date
-                    .revenue(revenue)
-                    .sessions(sessionCount)
+                    .date(day.format(displayFormatter))
+                    .revenue(hit ? next.getRevenue() : BigDecimal.ZERO)
+                    .sessions(hit ? next.getSessions() : 0L)
                     .build());
-
-            currentDate = currentDate.plusDays(1);
+            if (hit) {
+                next = it.hasNext() ? it.next() : null;
+            }
         }
-
         return result;
     }
 }
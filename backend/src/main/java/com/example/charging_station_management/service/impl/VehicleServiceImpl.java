@@ -3,9 +3,11 @@ package com.example.charging_station_management.service.impl;
 import com.example.charging_station_management.dto.CreateVehicleRequest;
 import com.example.charging_station_management.dto.UpdateVehicleRequest;
 import com.example.charging_station_management.dto.VehicleDTO;
+import com.example.charging_station_management.dto.response.VehicleIdTagResponse;
 import com.example.charging_station_management.entity.converters.Customer;
 import com.example.charging_station_management.entity.converters.ElectricVehicle;
 import com.example.charging_station_management.entity.enums.VehicleType;
+import com.example.charging_station_management.ocpp.ChargePointAuthenticator;
 import com.example.charging_station_management.repository.CustomerRepository;
 import com.example.charging_station_management.repository.ElectricVehicleRepository;
 import com.example.charging_station_management.service.VehicleService;
@@ -25,6 +27,7 @@ public class VehicleServiceImpl implements VehicleService {
     
     private final ElectricVehicleRepository vehicleRepository;
     private final CustomerRepository customerRepository;
+    private final ChargePointAuthenticator chargePointAuthenticator;
     
     @Override
     @Transactional(readOnly = true)
@@ -151,6 +154,17 @@ public class VehicleServiceImpl implements VehicleService {
         
         vehicleRepository.delete(vehicle);
     }
+
+    @Override
+    @Transactional
+    public VehicleIdTagResponse rotateIdTag(Integer vehicleId, Integer customerId) {
+        ElectricVehicle vehicle = vehicleRepository.findByIdAndCustomerId(vehicleId, customerId)
+                .orElseThrow(() -> new RuntimeException("Không tìm thấy phương tiện"));
+
+        String idTag = chargePointAuthenticator.newIdTag();
+        vehicle.setIdTagHash(ChargePointAuthenticator.hash(idTag));
+        return new VehicleIdTagResponse(vehicle.getId(), idTag);
+    }
     
     private VehicleDTO convertToDTO(ElectricVehicle vehicle) {
         log.debug("Converting vehicle {} to DTO", vehicle.getId());
@@ -0,0 +1,97 @@
+package com.example.charging_station_management.utils.excel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Đọc CSV (RFC 4180: dấu phẩy, trường trong ngoặc kép, "" để escape, xuống dòng trong ngoặc)
+ * từng dòng một, không nạp cả file vào bộ nhớ. Bỏ qua BOM UTF-8 ở đầu file.
+ */
+public final class CsvRowReader {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+
+    private CsvRowReader() {
+    }
+
+    public static void read(InputStream in, RowHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+
+        List<String> cells = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean fieldQuoted = false;
+        int line = 1;
+        int rowStartLine = 1;
+
+        int c = reader.read();
+        if (c == '\uFEFF') {
+            c = reader.read();
+        }
+        while (c != -1) {
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == QUOTE) {
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == QUOTE && field.isEmpty() && !fieldQuoted) {
+                inQuotes = true;
+                fieldQuoted = true;
+            } else if (ch == DELIMITER) {
+                cells.add(field.toString());
+                field.setLength(0);
+                fieldQuoted = false;
+            } else if (ch == '\n' || ch == '\r') {
+                if (ch == '\r') {
+                    int next = reader.read();
+                    if (next != '\n') {
+                        c = next;
+                        emit(handler, rowStartLine, cells, field);
+                        fieldQuoted = false;
+                        rowStartLine = ++line;
+                        continue;
+                    }
+                }
+                emit(handler, rowStartLine, cells, field);
+                fieldQuoted = false;
+                rowStartLine = ++line;
+            } else {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+        if (inQuotes) {
+            throw new IllegalArgumentException("CSV không hợp lệ: thiếu dấu \" đóng từ dòng " + rowStartLine);
+        }
+        emit(handler, rowStartLine, cells, field);
+    }
+
+    private static void emit(RowHandler handler, int rowNumber, List<String> cells, StringBuilder field) {
+        cells.add(field.toString());
+        field.setLength(0);
+        boolean blank = cells.stream().allMatch(String::isBlank);
+        if (!blank) {
+            handler.handle(rowNumber, List.copyOf(cells));
+        }
+        cells.clear();
+    }
+}
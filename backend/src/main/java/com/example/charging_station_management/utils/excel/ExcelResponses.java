@@ -0,0 +1,27 @@
+package com.example.charging_station_management.utils.excel;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Response tải file .xlsx dùng chung cho các endpoint export (admin và vendor).
+ */
+public final class ExcelResponses {
+
+    public static final MediaType XLSX = MediaType
+            .parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private ExcelResponses() {
+    }
+
+    public static ResponseEntity<StreamingResponseBody> xlsx(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(XLSX)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
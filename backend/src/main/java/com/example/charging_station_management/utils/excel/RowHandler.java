@@ -0,0 +1,13 @@
+package com.example.charging_station_management.utils.excel;
+
+import java.util.List;
+
+/**
+ * Nhận từng dòng khi đọc file dạng bảng (CSV/XLSX) theo kiểu streaming.
+ * {@code rowNumber} bắt đầu từ 1 như số dòng hiển thị trong Excel, dòng trống bị bỏ qua.
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    void handle(int rowNumber, List<String> cells);
+}
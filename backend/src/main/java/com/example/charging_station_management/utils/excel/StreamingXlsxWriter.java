@@ -0,0 +1,113 @@
+package com.example.charging_station_management.utils.excel;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Ghi file .xlsx theo kiểu streaming: chỉ giữ {@code rowWindow} dòng trong bộ nhớ, phần còn lại
+ * được flush ra file tạm (nén gzip). Khi chạm giới hạn dòng của Excel sẽ tự sang sheet mới.
+ */
+public class StreamingXlsxWriter implements Closeable {
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int COLUMN_WIDTH = 20 * 256;
+
+    private final SXSSFWorkbook workbook;
+    private final String sheetName;
+    private final String[] headers;
+    private final CellStyle headerStyle;
+    private final CellStyle dateTimeStyle;
+    private final CellStyle dateStyle;
+
+    private SXSSFSheet sheet;
+    private int sheetCount;
+    private int rowIndex;
+
+    public StreamingXlsxWriter(String sheetName, String[] headers, int rowWindow) {
+        this.workbook = new SXSSFWorkbook(null, rowWindow, true, false);
+        this.sheetName = sheetName;
+        this.headers = headers;
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy"));
+
+        newSheet();
+    }
+
+    public void writeRow(Object... values) {
+        if (rowIndex >= MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            setValue(row.createCell(i), values[i]);
+        }
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        workbook.write(out);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Xoá file tạm của SXSSF
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? sheetName : sheetName + " (" + sheetCount + ")");
+        sheet.createFreezePane(0, 1);
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            sheet.setColumnWidth(i, COLUMN_WIDTH);
+            Cell cell = header.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        rowIndex = 1;
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            cell.setCellValue(decimal.doubleValue());
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof Enum<?> e) {
+            cell.setCellValue(e.name());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+}
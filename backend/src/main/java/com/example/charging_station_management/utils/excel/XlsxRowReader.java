@@ -0,0 +1,92 @@
+package com.example.charging_station_management.utils.excel;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Đọc sheet đầu tiên của file .xlsx bằng SAX (event API của POI), không dựng cả workbook trong bộ nhớ.
+ * Giá trị ô được trả về dạng chuỗi đã format theo định dạng ô trong file.
+ */
+public final class XlsxRowReader {
+
+    private XlsxRowReader() {
+    }
+
+    public static void read(File file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("File Excel không có sheet nào");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings,
+                        new SheetHandler(handler), new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | OpenXML4JRuntimeException | SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Không đọc được file Excel: " + e.getMessage(), e);
+        }
+    }
+
+    private static final class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private boolean hasValue;
+
+        private SheetHandler(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            hasValue = false;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (hasValue) {
+                handler.handle(rowNum + 1, List.copyOf(cells));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Ô trống không xuất hiện trong XML, cần chèn "" để giữ đúng vị trí cột
+            int col = new CellReference(cellReference).getCol();
+            while (cells.size() < col) {
+                cells.add("");
+            }
+            String value = formattedValue != null ? formattedValue : "";
+            cells.add(value);
+            hasValue |= !value.isBlank();
+        }
+    }
+}
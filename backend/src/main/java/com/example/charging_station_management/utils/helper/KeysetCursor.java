@@ -0,0 +1,42 @@
+package com.example.charging_station_management.utils.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Vị trí (thời điểm, id) của dòng cuối trang trước, cho phân trang keyset theo {@code ORDER BY time DESC, id DESC}.
+ * Client chỉ nhận chuỗi base64 và gửi lại nguyên vẹn, không phụ thuộc vào định dạng bên trong.
+ */
+public record KeysetCursor(LocalDateTime time, Integer id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@code null} nếu không truyền cursor (trang đầu)
+     * @throws IllegalArgumentException nếu cursor không đọc được
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor không hợp lệ");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException cũng là IllegalArgumentException
+            throw new IllegalArgumentException("Cursor không hợp lệ", e);
+        }
+    }
+}
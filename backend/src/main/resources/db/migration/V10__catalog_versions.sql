@@ -0,0 +1,15 @@
+/* ==========================================================================
+   Version của catalog cho ETag/Last-Modified của /api/stations: một dòng cho danh sách trạm
+   ('stations') và một dòng cho mỗi trạm ('station:{id}'), tăng sau commit tại cùng chỗ xóa cache
+   (StationCacheInvalidator). Đọc bằng khóa chính thay cho aggregate trên stations/poles/connectors.
+   ========================================================================== */
+
+CREATE TABLE IF NOT EXISTS catalog_versions (
+    resource VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO catalog_versions (resource, version, updated_at)
+VALUES ('stations', 0, now())
+ON CONFLICT (resource) DO NOTHING;
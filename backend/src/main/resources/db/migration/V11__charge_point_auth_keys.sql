@@ -0,0 +1,6 @@
+/* ==========================================================================
+   Khóa xác thực OCPP của từng trụ (HTTP Basic khi mở WebSocket /ocpp/{poleId}, OCPP 1.6 security profile 1).
+   Chỉ lưu SHA-256 (hex) của khóa; trụ chưa có khóa thì không kết nối được cho tới khi vendor tạo khóa.
+   ========================================================================== */
+
+ALTER TABLE charging_poles ADD COLUMN IF NOT EXISTS ocpp_auth_key_hash VARCHAR(64);
@@ -0,0 +1,11 @@
+/* ==========================================================================
+   Mã trạm/trụ từ file import (station_code, pole_code). Trạm duy nhất theo vendor, trụ duy nhất trong trạm,
+   để upload lại cùng file bỏ qua trạm đã có thay vì tạo bản sao. Trạm/trụ tạo từ giao diện không có mã (NULL
+   không đụng nhau trong unique index).
+   ========================================================================== */
+
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS code VARCHAR(64);
+ALTER TABLE charging_poles ADD COLUMN IF NOT EXISTS code VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_stations_vendor_code ON stations (vendor_id, code);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_charging_poles_station_code ON charging_poles (station_id, code);
@@ -0,0 +1,8 @@
+/* ==========================================================================
+   idTag OCPP của xe: mã ngẫu nhiên khách hàng tạo trong app (nạp vào thẻ RFID/app), thay cho biển số mà ai
+   cũng đọc được. Chỉ lưu SHA-256 (hex); xe chưa có idTag thì không Authorize/StartTransaction được.
+   ========================================================================== */
+
+ALTER TABLE electric_vehicles ADD COLUMN IF NOT EXISTS id_tag_hash VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_electric_vehicles_id_tag_hash ON electric_vehicles (id_tag_hash);
@@ -0,0 +1,30 @@
+/* ==========================================================================
+   Sequence cho các bảng ghi nhiều (thay cho SERIAL/IDENTITY) để Hibernate batch được insert.
+   Entity dùng @SequenceGenerator(allocationSize = 50) với optimizer pooled-lo: mỗi nextval cấp
+   khối [v, v + 49], nên giá trị kế tiếp của sequence phải là max(id) + 1.
+   ========================================================================== */
+
+CREATE SEQUENCE IF NOT EXISTS locations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS charging_poles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS charging_connectors_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS prices_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS charging_sessions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['locations', 'stations', 'charging_poles', 'charging_connectors',
+                             'prices', 'charging_sessions', 'transactions']
+    LOOP
+        -- Bảng đã có từ V1 (DB mới) hoặc từ ddl-auto cũ (DB baseline ở V1); Hibernate chỉ validate, không tạo bảng
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT max(id) FROM %I), 0) + 1, false)', t || '_seq', t);
+            -- id do ứng dụng cấp từ sequence mới: bỏ default cũ để không còn hai nguồn id
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+        END IF;
+    END LOOP;
+END $$;
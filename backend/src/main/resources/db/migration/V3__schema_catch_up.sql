@@ -0,0 +1,104 @@
+/* ==========================================================================
+   Đưa schema về đúng mapping hiện tại của entity để bỏ ddl-auto=update.
+   DB cũ (schema do Hibernate tạo) đã có sẵn các bảng/cột này, nên mọi lệnh đều idempotent.
+   ========================================================================== */
+
+-- Optimistic locking + thời điểm cập nhật cho catalog
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE stations ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE charging_poles ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE charging_poles ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE charging_connectors ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+ALTER TABLE prices ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE prices ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6);
+
+-- Quên mật khẩu
+CREATE TABLE IF NOT EXISTS password_reset_tokens (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INTEGER NOT NULL REFERENCES users(id),
+    token VARCHAR(64) NOT NULL UNIQUE,
+    expiry_date TIMESTAMP(6) NOT NULL,
+    used BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_password_reset_tokens_user UNIQUE (user_id)
+);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expiry ON password_reset_tokens (expiry_date);
+
+-- DB cũ có bảng do ddl-auto tạo (CREATE TABLE ở trên bỏ qua) có thể thiếu unique user_id mà
+-- PasswordResetTokenRepository cần cho ON CONFLICT (user_id): giữ token mới nhất của mỗi user rồi thêm constraint
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+          FROM pg_constraint c
+          JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+         WHERE c.conrelid = 'password_reset_tokens'::regclass
+           AND c.contype IN ('u', 'p')
+           AND array_length(c.conkey, 1) = 1
+           AND a.attname = 'user_id'
+    ) THEN
+        DELETE FROM password_reset_tokens t
+         USING password_reset_tokens newer
+         WHERE newer.user_id = t.user_id
+           AND (newer.created_at, newer.id) > (t.created_at, t.id);
+        ALTER TABLE password_reset_tokens ADD CONSTRAINT uk_password_reset_tokens_user UNIQUE (user_id);
+    END IF;
+END $$;
+
+-- Outbox email
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL, -- Enum: EmailStatus
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
+
+-- Outbox domain event
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(200) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS idx_domain_event_outbox_published_created
+    ON domain_event_outbox (published_at, created_at);
+
+-- Rollup doanh thu / phiên sạc
+CREATE TABLE IF NOT EXISTS revenue_daily_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vendor_id INTEGER NOT NULL,
+    station_id INTEGER NOT NULL,
+    bucket_date DATE NOT NULL,
+    revenue NUMERIC(18, 2) NOT NULL,
+    energy_kwh NUMERIC(18, 2) NOT NULL,
+    sessions BIGINT NOT NULL,
+    CONSTRAINT uk_revenue_daily_rollup_bucket UNIQUE (vendor_id, bucket_date, station_id)
+);
+
+CREATE TABLE IF NOT EXISTS revenue_hourly_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    vendor_id INTEGER NOT NULL,
+    station_id INTEGER NOT NULL,
+    bucket_hour TIMESTAMP(6) NOT NULL,
+    revenue NUMERIC(18, 2) NOT NULL,
+    energy_kwh NUMERIC(18, 2) NOT NULL,
+    sessions BIGINT NOT NULL,
+    CONSTRAINT uk_revenue_hourly_rollup_bucket UNIQUE (vendor_id, bucket_hour, station_id)
+);
+
+CREATE TABLE IF NOT EXISTS session_monthly_rollup (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket_month DATE NOT NULL UNIQUE,
+    sessions BIGINT NOT NULL,
+    completed_sessions BIGINT NOT NULL,
+    revenue NUMERIC(18, 2) NOT NULL
+);
@@ -0,0 +1,36 @@
+/* ==========================================================================
+   Index cho các truy vấn nóng. Dùng CONCURRENTLY để không khoá ghi trên bảng lớn khi chạy trên
+   DB đang hoạt động; Flyway tự chạy script ngoài transaction vì mọi lệnh đều là CONCURRENTLY.
+   Nếu một lệnh lỗi giữa chừng, index INVALID còn lại sẽ được SchemaIndexVerifier báo khi khởi động:
+   DROP INDEX rồi chạy lại (flyway repair).
+   Danh sách phải khớp với SchemaIndexVerifier.EXPECTED_INDEXES.
+   ========================================================================== */
+
+-- Lịch sử / phiên đang chạy của một xe
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_sessions_vehicle_status_start
+    ON charging_sessions (electric_vehicle_id, status, start_time);
+
+-- Phiên còn hoạt động chỉ là phần rất nhỏ của bảng: partial index nhỏ và luôn nằm trong cache
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_sessions_active_connector
+    ON charging_sessions (charging_connector_id)
+    WHERE status IN ('PENDING', 'CHARGING');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_sessions_active_vehicle
+    ON charging_sessions (electric_vehicle_id)
+    WHERE status IN ('PENDING', 'CHARGING');
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_connectors_pole_status
+    ON charging_connectors (pole_id, status);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_poles_station
+    ON charging_poles (station_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_stations_vendor_status
+    ON stations (vendor_id, status);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_customer_payment_time
+    ON transactions (customer_id, payment_time);
+
+-- Unique (customer_id, target_type, target_id) bắt đầu bằng customer_id nên không phục vụ được truy vấn theo đối tượng
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ratings_target
+    ON ratings (target_type, target_id);
@@ -0,0 +1,11 @@
+/* ==========================================================================
+   Index cho phân trang keyset ORDER BY (time DESC, id DESC) trên toàn bảng (màn admin):
+   mỗi trang là một lần seek + đọc LIMIT dòng, không phụ thuộc độ sâu trang.
+   PostgreSQL quét ngược B-tree được nên không cần khai báo DESC.
+   ========================================================================== */
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_sessions_start_id
+    ON charging_sessions (start_time, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_created_id
+    ON transactions (created_at, id);
@@ -0,0 +1,7 @@
+/* ==========================================================================
+   Chi tiết connector: N phiên gần nhất (ORDER BY start_time DESC LIMIT N) và COUNT theo connector
+   đều đọc trên index này, chi phí không tăng theo độ dài lịch sử.
+   ========================================================================== */
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_charging_sessions_connector_start
+    ON charging_sessions (charging_connector_id, start_time);
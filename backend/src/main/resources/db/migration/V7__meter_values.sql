@@ -0,0 +1,14 @@
+/* ==========================================================================
+   Mẫu công tơ từ trụ sạc (OCPP MeterValues). Bảng ghi nhiều, ghi batch bằng JDBC
+   nên chỉ lưu id phiên/đầu sạc, không đặt FK.
+   ========================================================================== */
+
+CREATE TABLE IF NOT EXISTS meter_values (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id INTEGER,
+    connector_id INTEGER NOT NULL,
+    sampled_at TIMESTAMP(6) NOT NULL,
+    energy_wh NUMERIC(14, 1) NOT NULL,
+    power_w NUMERIC(10, 1)
+);
+CREATE INDEX IF NOT EXISTS idx_meter_values_session_time ON meter_values (session_id, sampled_at);
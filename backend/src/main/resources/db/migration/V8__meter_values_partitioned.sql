@@ -0,0 +1,61 @@
+/* ==========================================================================
+   meter_values chuyển sang bảng append-only phân vùng theo ngày (sampled_at) và thêm hai tầng
+   downsample 1 phút / 15 phút cho biểu đồ công suất. Partition theo ngày/tháng do PartitionMaintainer
+   tạo trước và xóa theo retention; dòng rơi vào partition DEFAULT được chuyển sang partition đúng
+   khi maintainer chạy.
+   PostgreSQL < 17 không cho cột IDENTITY trên bảng phân vùng nên id lấy từ sequence.
+   ========================================================================== */
+
+ALTER TABLE meter_values RENAME TO meter_values_v7;
+ALTER INDEX idx_meter_values_session_time RENAME TO idx_meter_values_v7_session_time;
+ALTER TABLE meter_values_v7 ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS meter_values_id_seq;
+
+CREATE TABLE meter_values (
+    id BIGINT NOT NULL DEFAULT nextval('meter_values_id_seq'),
+    session_id INTEGER,
+    connector_id INTEGER NOT NULL,
+    sampled_at TIMESTAMP(6) NOT NULL,
+    energy_wh NUMERIC(14, 1) NOT NULL,
+    power_w NUMERIC(10, 1),
+    PRIMARY KEY (id, sampled_at)
+) PARTITION BY RANGE (sampled_at);
+ALTER SEQUENCE meter_values_id_seq OWNED BY meter_values.id;
+CREATE TABLE meter_values_default PARTITION OF meter_values DEFAULT;
+
+CREATE INDEX idx_meter_values_session_time ON meter_values (session_id, sampled_at);
+-- Downsample quét theo khoảng thời gian; dữ liệu ghi theo thứ tự thời gian nên BRIN rất nhỏ
+CREATE INDEX idx_meter_values_sampled_at ON meter_values USING brin (sampled_at);
+
+INSERT INTO meter_values (id, session_id, connector_id, sampled_at, energy_wh, power_w)
+SELECT id, session_id, connector_id, sampled_at, energy_wh, power_w FROM meter_values_v7;
+SELECT setval('meter_values_id_seq', COALESCE((SELECT max(id) FROM meter_values), 0) + 1, false);
+DROP TABLE meter_values_v7;
+
+-- Mỗi dòng là một bucket của một đầu sạc; energy_wh_min/max là chỉ số công tơ đầu/cuối bucket
+CREATE TABLE IF NOT EXISTS meter_values_1m (
+    connector_id INTEGER NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    session_id INTEGER,
+    energy_wh_min NUMERIC(14, 1) NOT NULL,
+    energy_wh_max NUMERIC(14, 1) NOT NULL,
+    power_w_avg NUMERIC(10, 1),
+    power_w_max NUMERIC(10, 1),
+    samples INTEGER NOT NULL,
+    PRIMARY KEY (connector_id, bucket_start)
+) PARTITION BY RANGE (bucket_start);
+CREATE TABLE IF NOT EXISTS meter_values_1m_default PARTITION OF meter_values_1m DEFAULT;
+
+CREATE TABLE IF NOT EXISTS meter_values_15m (
+    connector_id INTEGER NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    session_id INTEGER,
+    energy_wh_min NUMERIC(14, 1) NOT NULL,
+    energy_wh_max NUMERIC(14, 1) NOT NULL,
+    power_w_avg NUMERIC(10, 1),
+    power_w_max NUMERIC(10, 1),
+    samples INTEGER NOT NULL,
+    PRIMARY KEY (connector_id, bucket_start)
+) PARTITION BY RANGE (bucket_start);
+CREATE TABLE IF NOT EXISTS meter_values_15m_default PARTITION OF meter_values_15m DEFAULT;
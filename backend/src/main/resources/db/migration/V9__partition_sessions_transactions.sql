@@ -0,0 +1,129 @@
+/* ==========================================================================
+   charging_sessions (theo start_time) và transactions (theo created_at) chuyển sang bảng phân vùng
+   theo tháng để truy vấn theo khoảng thời gian chỉ quét các partition liên quan. Partition tháng tới do
+   PartitionMaintainer tạo trước; partition hết hạn được DETACH sang schema archive (hoặc DROP).
+
+   - Khóa phân vùng phải nằm trong khóa chính nên PRIMARY KEY là (id, khóa phân vùng) và khóa phân vùng
+     NOT NULL. transactions phân vùng theo created_at chứ không theo payment_time: giao dịch PENDING chưa có
+     payment_time, và created_at không đổi nên thanh toán không làm dòng chuyển partition.
+   - FK từ hai bảng sang electric_vehicles, charging_connectors, customers giữ nguyên. FK trỏ tới bảng phân
+     vùng phải gồm cả khóa phân vùng và sẽ chặn DETACH tháng cũ của charging_sessions (giao dịch vẫn ở lại
+     khi phiên đã lưu trữ), nên FK transactions.charging_session_id (DB cũ tạo bằng ddl-auto) được thay bằng
+     trigger trg_transactions_session: chỉ kiểm tra phiên tồn tại khi thêm/đổi phiên của giao dịch.
+   - UNIQUE (charging_session_id) không đặt được (thiếu khóa phân vùng): một phiên một giao dịch do ứng dụng
+     đảm bảo (Transaction.chargingSession là OneToOne), DB chỉ còn index idx_transactions_session.
+   - Migration chép toàn bộ dữ liệu và khóa hai bảng trong lúc chạy: chạy trong cửa sổ bảo trì.
+   ========================================================================== */
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Tạo partition tháng cho [tháng sớm nhất có dữ liệu, tháng hiện tại + 3]
+CREATE OR REPLACE FUNCTION pg_temp.create_monthly_partitions(parent TEXT, earliest TIMESTAMP) RETURNS VOID AS $$
+DECLARE
+    m DATE;
+BEGIN
+    FOR m IN SELECT generate_series(date_trunc('month', COALESCE(earliest, now())),
+                                    date_trunc('month', now()) + INTERVAL '3 months', INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       parent || '_p' || to_char(m, 'YYYYMM'), parent, m, (m + INTERVAL '1 month')::date);
+    END LOOP;
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT', parent || '_default', parent);
+END $$ LANGUAGE plpgsql;
+
+-- ---------------------------------------------------------------------------
+-- charging_sessions
+-- ---------------------------------------------------------------------------
+ALTER TABLE charging_sessions RENAME TO charging_sessions_v8;
+ALTER INDEX IF EXISTS idx_charging_sessions_vehicle_status_start RENAME TO idx_charging_sessions_v8_vehicle_status_start;
+ALTER INDEX IF EXISTS idx_charging_sessions_active_connector RENAME TO idx_charging_sessions_v8_active_connector;
+ALTER INDEX IF EXISTS idx_charging_sessions_active_vehicle RENAME TO idx_charging_sessions_v8_active_vehicle;
+ALTER INDEX IF EXISTS idx_charging_sessions_start_id RENAME TO idx_charging_sessions_v8_start_id;
+ALTER INDEX IF EXISTS idx_charging_sessions_connector_start RENAME TO idx_charging_sessions_v8_connector_start;
+
+CREATE TABLE charging_sessions (
+    id INTEGER NOT NULL,
+    electric_vehicle_id INTEGER NOT NULL REFERENCES electric_vehicles(id),
+    charging_connector_id INTEGER NOT NULL REFERENCES charging_connectors(id),
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time TIMESTAMP(6),
+    energy_kwh NUMERIC(10, 2),
+    cost NUMERIC(15, 2),
+    status VARCHAR(100) NOT NULL,
+    CONSTRAINT pk_charging_sessions PRIMARY KEY (id, start_time)
+) PARTITION BY RANGE (start_time);
+
+SELECT pg_temp.create_monthly_partitions('charging_sessions', (SELECT min(COALESCE(start_time, end_time)) FROM charging_sessions_v8));
+
+INSERT INTO charging_sessions (id, electric_vehicle_id, charging_connector_id, start_time, end_time, energy_kwh, cost, status)
+-- Phiên cũ thiếu start_time (nếu có) lấy end_time, không có nữa thì thời điểm migrate
+SELECT id, electric_vehicle_id, charging_connector_id, COALESCE(start_time, end_time, now()), end_time, energy_kwh,
+       cost, status
+FROM charging_sessions_v8;
+
+DROP TABLE charging_sessions_v8 CASCADE;
+
+-- Các index của V4..V6, tạo lại trên bảng cha (mỗi partition có index riêng)
+CREATE INDEX idx_charging_sessions_vehicle_status_start ON charging_sessions (electric_vehicle_id, status, start_time);
+CREATE INDEX idx_charging_sessions_active_connector ON charging_sessions (charging_connector_id)
+    WHERE status IN ('PENDING', 'CHARGING');
+CREATE INDEX idx_charging_sessions_active_vehicle ON charging_sessions (electric_vehicle_id)
+    WHERE status IN ('PENDING', 'CHARGING');
+CREATE INDEX idx_charging_sessions_start_id ON charging_sessions (start_time, id);
+CREATE INDEX idx_charging_sessions_connector_start ON charging_sessions (charging_connector_id, start_time);
+
+-- ---------------------------------------------------------------------------
+-- transactions
+-- ---------------------------------------------------------------------------
+ALTER TABLE transactions RENAME TO transactions_v8;
+ALTER INDEX IF EXISTS idx_transactions_customer_payment_time RENAME TO idx_transactions_v8_customer_payment_time;
+ALTER INDEX IF EXISTS idx_transactions_created_id RENAME TO idx_transactions_v8_created_id;
+
+CREATE TABLE transactions (
+    id INTEGER NOT NULL,
+    charging_session_id INTEGER NOT NULL,
+    customer_id INTEGER NOT NULL REFERENCES customers(user_id),
+    amount NUMERIC(15, 2) NOT NULL,
+    payment_method VARCHAR(100) NOT NULL,
+    payment_status VARCHAR(100) NOT NULL,
+    bank_name VARCHAR(255),
+    account_number VARCHAR(50),
+    payment_time TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    CONSTRAINT pk_transactions PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+SELECT pg_temp.create_monthly_partitions('transactions', (SELECT min(COALESCE(created_at, payment_time)) FROM transactions_v8));
+
+INSERT INTO transactions (id, charging_session_id, customer_id, amount, payment_method, payment_status,
+                          bank_name, account_number, payment_time, created_at)
+SELECT id, charging_session_id, customer_id, amount, payment_method, payment_status,
+       bank_name, account_number, payment_time, COALESCE(created_at, payment_time, now())
+FROM transactions_v8;
+
+DROP TABLE transactions_v8 CASCADE;
+
+CREATE INDEX idx_transactions_customer_payment_time ON transactions (customer_id, payment_time);
+CREATE INDEX idx_transactions_created_id ON transactions (created_at, id);
+-- Tra giao dịch của một phiên (OneToOne từ ChargingSession)
+CREATE INDEX idx_transactions_session ON transactions (charging_session_id);
+
+-- Thay FK transactions.charging_session_id -> charging_sessions (xem đầu file). Chỉ chạy khi thêm giao dịch hoặc
+-- đổi phiên của nó: cập nhật thanh toán của giao dịch có phiên đã lưu trữ không bị chặn. FOR KEY SHARE giữ phiên
+-- không bị xóa đến hết transaction như FK thật.
+CREATE FUNCTION check_transaction_session() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.charging_session_id = OLD.charging_session_id THEN
+        RETURN NEW;
+    END IF;
+    PERFORM 1 FROM charging_sessions WHERE id = NEW.charging_session_id FOR KEY SHARE;
+    IF NOT FOUND THEN
+        RAISE EXCEPTION 'charging session % of transaction % does not exist', NEW.charging_session_id, NEW.id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    RETURN NEW;
+END $$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_session
+    BEFORE INSERT OR UPDATE OF charging_session_id ON transactions
+    FOR EACH ROW EXECUTE FUNCTION check_transaction_session();
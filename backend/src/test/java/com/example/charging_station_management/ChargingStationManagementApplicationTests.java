@@ -1,11 +1,38 @@
 package com.example.charging_station_management;
 
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
-@SpringBootTest
+import java.io.IOException;
+
+/**
+ * Khởi động toàn bộ ứng dụng trên PostgreSQL nhúng: Flyway chạy hết migration rồi Hibernate validate mapping,
+ * như môi trường thật. Các job lúc khởi động (rollup, partition, kiểm tra index) dùng SQL riêng của PostgreSQL
+ * nên không chạy được trên H2 của application.properties test. Gateway OCPP cần ServerContainer của Tomcat thật.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class ChargingStationManagementApplicationTests {
 
+	private static EmbeddedPostgres postgres;
+
+	@DynamicPropertySource
+	static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+		postgres = EmbeddedPostgresSupport.start(registry);
+		registry.add("app.partition.enabled", () -> "true");
+		registry.add("app.schema.index-check.enabled", () -> "true");
+		registry.add("app.revenue-rollup.backfill-on-startup", () -> "true");
+	}
+
+	@AfterAll
+	static void stopPostgres() throws IOException {
+		postgres.close();
+	}
+
 	@Test
 	void contextLoads() {
 	}
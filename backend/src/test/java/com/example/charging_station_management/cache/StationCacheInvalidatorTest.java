@@ -0,0 +1,73 @@
+package com.example.charging_station_management.cache;
+
+import com.example.charging_station_management.dto.response.StationResponse;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.event.CatalogChangeType;
+import com.example.charging_station_management.event.CatalogChangedEvent;
+import com.example.charging_station_management.event.ConnectorStatusChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationCacheInvalidatorTest {
+
+    private Cache stationList;
+    private Cache station;
+    private StationCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        stationList = new CaffeineCache(CacheNames.STATION_LIST, Caffeine.newBuilder().build(), false);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(stationList,
+                station = new CaffeineCache(CacheNames.STATION, Caffeine.newBuilder().build(), false),
+                new CaffeineCache(CacheNames.STATION_POLES, Caffeine.newBuilder().build(), false)));
+        cacheManager.afterPropertiesSet();
+        invalidator = new StationCacheInvalidator(cacheManager);
+
+        stationList.put("page-with-1", new PageImpl<>(List.of(station(1), station(2))));
+        stationList.put("page-without-1", new PageImpl<>(List.of(station(3))));
+    }
+
+    @Test
+    void availabilityChangeEvictsOnlyPagesContainingTheStation() {
+        invalidator.onConnectorStatusChanged(
+                new ConnectorStatusChangedEvent(10, 5, 1, ConnectorStatus.AVAILABLE, ConnectorStatus.INUSE));
+
+        assertThat(stationList.get("page-with-1")).isNull();
+        assertThat(stationList.get("page-without-1")).isNotNull();
+    }
+
+    @Test
+    void changeBetweenNonAvailableStatusesKeepsListPages() {
+        invalidator.onConnectorStatusChanged(
+                new ConnectorStatusChangedEvent(10, 5, 1, ConnectorStatus.INUSE, ConnectorStatus.OUTOFSERVICE));
+
+        assertThat(stationList.get("page-with-1")).isNotNull();
+    }
+
+    @Test
+    void stationChangeEvictsEveryVersionOfThatStation() {
+        station.put(List.of(1, "\"v1\""), station(1));
+        station.put(List.of(1, "\"v2\""), station(1));
+        station.put(List.of(2, "\"v1\""), station(2));
+
+        invalidator.onCatalogChanged(new CatalogChangedEvent(1, CatalogChangeType.STATION));
+
+        assertThat(station.get(List.of(1, "\"v1\""))).isNull();
+        assertThat(station.get(List.of(1, "\"v2\""))).isNull();
+        assertThat(station.get(List.of(2, "\"v1\""))).isNotNull();
+    }
+
+    private static StationResponse station(int id) {
+        return StationResponse.builder().id(id).name("Station " + id).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.charging_station_management.cache;
+
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.service.CustomerService;
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Body trạm được cache theo version ETag: ghi dữ liệu và tăng version trong cùng transaction là đủ để lần đọc
+ * sau thấy bản mới, kể cả khi listener xóa cache sau commit chưa chạy (hoặc bị request đọc chậm ghi đè).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StationCacheVersionTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgresSupport.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void bumpedVersionMissesBodyCachedUnderOldVersion() {
+        Integer stationId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM stations", Integer.class);
+        String oldName = customerService.getStationById(stationId).getName();
+
+        // Như StationServiceImpl: dữ liệu và version commit cùng lúc, không có event nào xóa cache
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE stations SET name = ? WHERE id = ?", oldName + " (mới)", stationId);
+            catalogVersionService.bumpStationVersion(stationId, true);
+        });
+
+        assertThat(customerService.getStationById(stationId).getName()).isEqualTo(oldName + " (mới)");
+    }
+}
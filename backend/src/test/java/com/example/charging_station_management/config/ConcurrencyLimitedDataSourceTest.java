@@ -0,0 +1,76 @@
+package com.example.charging_station_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private final DriverManagerDataSource target =
+            new DriverManagerDataSource("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @Test
+    void connectionHoldsPermitUntilClosed() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 2, 10, 50);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        try (Connection third = dataSource.getConnection()) {
+            assertThat(third.isValid(1)).isTrue();
+        }
+        second.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTooManyWaiting() throws Exception {
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, 1, 10_000);
+        Connection held = dataSource.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getWaiting() == 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertThat(dataSource.getWaiting()).isEqualTo(1);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1000);
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void closeShutsDownWrappedPool() throws Exception {
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:limiter-close");
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(hikari, 2, 10, 50);
+        dataSource.getConnection().close();
+
+        dataSource.close();
+
+        assertThat(hikari.isClosed()).isTrue();
+    }
+}
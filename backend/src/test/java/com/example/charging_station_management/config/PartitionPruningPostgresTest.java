@@ -0,0 +1,181 @@
+package com.example.charging_station_management.config;
+
+import com.example.charging_station_management.config.PartitionMaintainer.ExpireAction;
+import com.example.charging_station_management.config.PartitionMaintainer.PartitionedTable;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Chạy các migration trên PostgreSQL nhúng (H2 không có bảng phân vùng) và kiểm tra truy vấn theo khoảng
+ * thời gian chỉ quét partition của tháng liên quan, cùng các thao tác của {@link PartitionMaintainer}. Truy vấn
+ * doanh thu của repository được kiểm tra trong RevenueQueryPartitionPruningTest.
+ */
+class PartitionPruningPostgresTest {
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static PartitionMaintainer maintainer;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        maintainer = new PartitionMaintainer(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(maintainer, "premake", 3);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        postgres.close();
+    }
+
+    @Test
+    void startTimeRangeScansOnlyCoveredMonths() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+        String plan = explain("SELECT COUNT(*) FROM charging_sessions WHERE start_time >= ? AND start_time < ?",
+                month.minusDays(3), month.plusDays(3));
+
+        assertThat(partitionsIn(plan, "charging_sessions")).containsExactlyInAnyOrder(
+                "charging_sessions_p" + MONTH_SUFFIX.format(month.minusMonths(1)),
+                "charging_sessions_p" + MONTH_SUFFIX.format(month));
+    }
+
+    @Test
+    void maintenanceMovesDefaultRowsIntoNewMonthPartition() {
+        LocalDate farMonth = LocalDate.now().withDayOfMonth(1).plusYears(2);
+        Integer vehicleId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM electric_vehicles", Integer.class);
+        Integer connectorId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM charging_connectors", Integer.class);
+        jdbcTemplate.update("INSERT INTO charging_sessions (id, electric_vehicle_id, charging_connector_id, start_time, status)"
+                        + " VALUES (-1, ?, ?, ?, 'PENDING')",
+                vehicleId, connectorId, Timestamp.valueOf(farMonth.plusDays(4).atStartOfDay()));
+        assertThat(countIn("charging_sessions_default")).isEqualTo(1);
+
+        maintainer.maintain(history("charging_sessions", "start_time", 0, ExpireAction.DETACH), LocalDate.now());
+
+        assertThat(countIn("charging_sessions_default")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM charging_sessions WHERE id = -1",
+                String.class)).isEqualTo("charging_sessions_p" + MONTH_SUFFIX.format(farMonth));
+    }
+
+    @Test
+    void expiredPartitionIsDetachedIntoArchiveSchema() {
+        String oldest = jdbcTemplate.queryForObject("""
+                SELECT MIN(c.relname) FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'charging_sessions' AND c.relname LIKE 'charging\\_sessions\\_p%'
+                """, String.class);
+        LocalDate oldestMonth = LocalDate.parse(oldest.substring("charging_sessions_p".length()) + "01",
+                DateTimeFormatter.BASIC_ISO_DATE);
+        long rows = countIn(oldest);
+        // Giữ lại mọi tháng trừ tháng cũ nhất
+        int retention = (int) ChronoUnit.MONTHS.between(oldestMonth, LocalDate.now().withDayOfMonth(1));
+
+        maintainer.maintain(history("charging_sessions", "start_time", retention, ExpireAction.DETACH), LocalDate.now());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, oldest)).isTrue();
+        assertThat(countIn(PartitionMaintainer.ARCHIVE_SCHEMA + "." + oldest)).isEqualTo(rows);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                "charging_sessions_p" + MONTH_SUFFIX.format(oldestMonth.plusMonths(1)))).isTrue();
+    }
+
+    @Test
+    void sessionEndingAtMonthBoundaryOutlivesItsTransaction() {
+        LocalDate sessionMonth = LocalDate.now().withDayOfMonth(1).minusMonths(6);
+        LocalDateTime start = sessionMonth.plusMonths(1).minusDays(1).atTime(23, 30);
+        LocalDateTime paid = start.plusHours(1);
+        Integer vehicleId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM electric_vehicles", Integer.class);
+        Integer connectorId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM charging_connectors", Integer.class);
+        Integer customerId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM customers", Integer.class);
+        jdbcTemplate.update("INSERT INTO charging_sessions (id, electric_vehicle_id, charging_connector_id, start_time,"
+                        + " end_time, status) VALUES (-2, ?, ?, ?, ?, 'COMPLETED')",
+                vehicleId, connectorId, Timestamp.valueOf(start), Timestamp.valueOf(paid));
+        jdbcTemplate.update("INSERT INTO transactions (id, charging_session_id, customer_id, amount, payment_method,"
+                        + " payment_status, payment_time, created_at) VALUES (-2, -2, ?, 1000.00, 'CASH', 'PAID', ?, ?)",
+                customerId, Timestamp.valueOf(paid), Timestamp.valueOf(paid));
+        // Tháng thanh toán (tháng sau tháng của phiên) là tháng cũ nhất transactions còn giữ
+        int retention = (int) ChronoUnit.MONTHS.between(paid.toLocalDate().withDayOfMonth(1),
+                LocalDate.now().withDayOfMonth(1)) + 1;
+        ReflectionTestUtils.setField(maintainer, "historyRetentionMonths", retention);
+        ReflectionTestUtils.setField(maintainer, "historyExpireAction", ExpireAction.DETACH);
+
+        maintainHistory(LocalDate.now());
+        assertThat(countIn("transactions WHERE id = -2")).isEqualTo(1);
+        assertThat(countIn("charging_sessions WHERE id = -2")).isEqualTo(1);
+
+        // Một tháng sau giao dịch hết hạn trước, phiên vẫn còn
+        maintainHistory(LocalDate.now().plusMonths(1));
+        assertThat(countIn("transactions WHERE id = -2")).isZero();
+        assertThat(countIn("charging_sessions WHERE id = -2")).isEqualTo(1);
+    }
+
+    @Test
+    void transactionOfUnknownSessionIsRejected() {
+        Integer customerId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM customers", Integer.class);
+
+        assertThatThrownBy(() -> jdbcTemplate.update("""
+                INSERT INTO transactions (id, charging_session_id, customer_id, amount, payment_method, payment_status)
+                VALUES (-1, -404, ?, 1000.00, 'CASH', 'PENDING')
+                """, customerId))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("charging session -404");
+    }
+
+    private static void maintainHistory(LocalDate today) {
+        maintainer.tables().stream()
+                .filter(table -> table.table().equals("charging_sessions") || table.table().equals("transactions"))
+                .forEach(table -> maintainer.maintain(table, today));
+    }
+
+    private static PartitionedTable history(String table, String column, int retention, ExpireAction action) {
+        return new PartitionedTable(table, column, PartitionMaintainer.Period.MONTH, retention, action);
+    }
+
+    private static String explain(String sql, LocalDate from, LocalDate to) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + sql, String.class,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+        return String.join("\n", lines);
+    }
+
+    private static List<String> partitionsIn(String plan, String table) {
+        Matcher matcher = Pattern.compile("\\b" + table + "_(p\\d+|default)\\b").matcher(plan);
+        return matcher.results().map(result -> result.group()).distinct().toList();
+    }
+
+    private static long countIn(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+}
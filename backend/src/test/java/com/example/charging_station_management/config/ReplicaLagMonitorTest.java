@@ -0,0 +1,105 @@
+package com.example.charging_station_management.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chạy LAG_SQL trên PostgreSQL nhúng. Schema {@code standby} đứng trước pg_catalog trong search_path và thay
+ * các hàm/view trạng thái replication bằng bản đọc từ bảng {@code standby.state}, để giả lập một replica.
+ */
+class ReplicaLagMonitorTest {
+
+    private static EmbeddedPostgres postgres;
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl("postgres", "postgres") + "&currentSchema=standby,pg_catalog");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE SCHEMA standby;
+                CREATE TABLE standby.state (in_recovery boolean, receive_lsn pg_lsn, replay_lsn pg_lsn,
+                                            replay_time timestamptz, receiver_status text);
+                INSERT INTO standby.state VALUES (false, NULL, NULL, NULL, NULL);
+                CREATE FUNCTION standby.pg_is_in_recovery() RETURNS boolean
+                    LANGUAGE sql AS 'SELECT in_recovery FROM standby.state';
+                CREATE FUNCTION standby.pg_last_wal_receive_lsn() RETURNS pg_lsn
+                    LANGUAGE sql AS 'SELECT receive_lsn FROM standby.state';
+                CREATE FUNCTION standby.pg_last_wal_replay_lsn() RETURNS pg_lsn
+                    LANGUAGE sql AS 'SELECT replay_lsn FROM standby.state';
+                CREATE FUNCTION standby.pg_last_xact_replay_timestamp() RETURNS timestamptz
+                    LANGUAGE sql AS 'SELECT replay_time FROM standby.state';
+                CREATE VIEW standby.pg_stat_wal_receiver AS
+                    SELECT receiver_status AS status FROM standby.state WHERE receiver_status IS NOT NULL;
+                """);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = new ReplicaLagMonitor(dataSource, 2000);
+    }
+
+    @Test
+    void primaryHasNoLag() {
+        replica(false, "0/3000000", "0/3000000", 0, null);
+
+        lagMonitor.check();
+
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void streamingReplicaIsUsableUntilItFallsBehind() {
+        replica(true, "0/3000000", "0/3000000", 60, "streaming");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        replica(true, "0/3000100", "0/3000000", 60, "streaming");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void disconnectedReplicaIsNotUsable() {
+        replica(true, "0/3000000", "0/3000000", 0, "streaming");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        // Mất kết nối tới primary: receive_lsn dừng ở vị trí cuối nên vẫn bằng replay_lsn
+        replica(true, "0/3000000", "0/3000000", 600, null);
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+
+        replica(true, "0/3000000", "0/3000000", 600, "waiting");
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+    }
+
+    private static void replica(boolean inRecovery, String receiveLsn, String replayLsn, int replayedSecondsAgo,
+                                String receiverStatus) {
+        jdbcTemplate.update("""
+                UPDATE standby.state
+                   SET in_recovery = ?, receive_lsn = CAST(? AS pg_lsn), replay_lsn = CAST(? AS pg_lsn),
+                       replay_time = now() - make_interval(secs => ?), receiver_status = ?
+                """, inRecovery, receiveLsn, replayLsn, replayedSecondsAgo, receiverStatus);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.charging_station_management.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hai DB H2 đóng vai primary và replica, mỗi DB trả về tên của mình, để kiểm tra transaction được định tuyến
+ * tới đâu.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readOnlyTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        lagMonitor = new ReplicaLagMonitor(replica, 2000);
+        lagMonitor.updateLag(0L);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing(primary, replica, lagMonitor));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(readOnlyRead()).isEqualTo("replica");
+        assertThat(writeRead()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        lagMonitor.updateLag(10_000L);
+        assertThat(readOnlyRead()).isEqualTo("primary");
+
+        lagMonitor.updateLag(null);
+        assertThat(readOnlyRead()).isEqualTo("primary");
+
+        lagMonitor.updateLag(100L);
+        assertThat(readOnlyRead()).isEqualTo("replica");
+    }
+
+    @Test
+    void writerReadsOwnWritesFromPrimary() {
+        login("alice@example.com");
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        assertThat(readOnlyRead()).isEqualTo("primary");
+
+        login("bob@example.com");
+        assertThat(readOnlyRead()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPinUser() {
+        login("alice@example.com");
+        writeTx.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyRead()).isEqualTo("replica");
+    }
+
+    private String readOnlyRead() {
+        return readOnlyTx.execute(status -> servedBy());
+    }
+
+    private String writeRead() {
+        return writeTx.execute(status -> servedBy());
+    }
+
+    private String servedBy() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static ReplicaRoutingDataSource routing(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor,
+                Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void login(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.charging_station_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * So sánh p99 và throughput giữa các backend đang chạy ở chế độ thread khác nhau, cùng một tải closed-loop:
+ * {@code concurrency} client, mỗi client gửi request kế tiếp ngay khi nhận được response. Ví dụ chạy hai
+ * instance trên JDK 21 cùng trỏ vào một DB, một instance với {@code --spring.threads.virtual.enabled=true
+ * --server.port=8081}. Mỗi target được chạy lần lượt (warm-up rồi đo) để hai bên không tranh DB với nhau.
+ * 503 là request bị giới hạn đồng thời DB từ chối, được đếm riêng với lỗi.
+ *
+ * <p>Chạy: {@code mvn test -Dtest=ThreadModeLoadComparisonTest -Dloadtest=true
+ * [-Dloadtest.targets=platform=http://localhost:8080,virtual=http://localhost:8081] [-Dloadtest.concurrency=2000]
+ * [-Dloadtest.duration-seconds=60] [-Dloadtest.warmup-seconds=10] [-Dloadtest.paths=/api/stations,/api/stations/1]
+ * [-Dloadtest.token=<JWT>]}
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModeLoadComparisonTest {
+
+    private static final String TARGETS = System.getProperty("loadtest.targets",
+            "platform=http://localhost:8080,virtual=http://localhost:8081");
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 2000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final List<String> PATHS = List.of(System.getProperty("loadtest.paths",
+            "/api/stations?page=0&size=20,/api/stations/search?query=a,/api/stations/1,/api/stations/1/poles,"
+                    + "/api/stations/1/reviews").split(","));
+    private static final String TOKEN = System.getProperty("loadtest.token");
+
+    @Test
+    void comparesLatencyAndThroughputAcrossTargets() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String target : TARGETS.split(",")) {
+            String[] labelAndUrl = target.split("=", 2);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            run(client, labelAndUrl[1], WARMUP_SECONDS);
+            Result result = run(client, labelAndUrl[1], DURATION_SECONDS);
+            results.put(labelAndUrl[0], result);
+            System.out.printf("%s done: %d request(s)%n", labelAndUrl[0], result.requests());
+        }
+
+        System.out.printf("Concurrency %d, %ds per target, paths %s%n", CONCURRENCY, DURATION_SECONDS, PATHS);
+        System.out.printf("%-10s %10s %10s %9s %9s %9s %9s %8s %8s%n",
+                "target", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "503", "errors");
+        results.forEach((label, result) -> System.out.printf("%-10s %10d %10.0f %9.1f %9.1f %9.1f %9.1f %8d %8d%n",
+                label, result.requests(), result.throughput(), result.percentileMs(50), result.percentileMs(95),
+                result.percentileMs(99), result.percentileMs(100), result.shed(), result.errors()));
+
+        assertThat(results.values()).allSatisfy(result -> assertThat(result.ok()).isPositive());
+    }
+
+    private Result run(HttpClient client, String baseUrl, int seconds) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch finished = new CountDownLatch(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            next(client, baseUrl, deadline, recorder, finished);
+        }
+        finished.await();
+        return recorder.result((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private void next(HttpClient client, String baseUrl, long deadline, Recorder recorder, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + PATHS.get(ThreadLocalRandom.current().nextInt(PATHS.size()))))
+                .timeout(Duration.ofSeconds(60))
+                .GET();
+        if (TOKEN != null) {
+            request.header("Authorization", "Bearer " + TOKEN);
+        }
+        long sentAt = System.nanoTime();
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            recorder.record(System.nanoTime() - sentAt, error != null ? -1 : response.statusCode());
+            next(client, baseUrl, deadline, recorder, finished);
+        });
+    }
+
+    private static class Recorder {
+
+        private final List<long[]> chunks = new ArrayList<>();
+        private long[] current = new long[1 << 16];
+        private int size;
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long latencyNanos, int status) {
+            if (size == current.length) {
+                chunks.add(current);
+                current = new long[current.length];
+                size = 0;
+            }
+            current[size++] = latencyNanos;
+            if (status >= 200 && status < 300) {
+                ok.incrementAndGet();
+            } else if (status == 503) {
+                shed.incrementAndGet();
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized Result result(double seconds) {
+            long[] all = new long[chunks.size() * current.length + size];
+            int offset = 0;
+            for (long[] chunk : chunks) {
+                System.arraycopy(chunk, 0, all, offset, chunk.length);
+                offset += chunk.length;
+            }
+            System.arraycopy(current, 0, all, offset, size);
+            Arrays.sort(all);
+            return new Result(all, seconds, ok.get(), shed.get(), errors.get());
+        }
+    }
+
+    private record Result(long[] sortedLatencies, double seconds, long ok, long shed, long errors) {
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double throughput() {
+            return requests() / seconds;
+        }
+
+        double percentileMs(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
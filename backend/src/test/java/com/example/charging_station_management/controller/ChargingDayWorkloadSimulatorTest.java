@@ -0,0 +1,551 @@
+package com.example.charging_station_management.controller;
+
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.ConnectorRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.LocationRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.PoleRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.StationRow;
+import com.example.charging_station_management.repository.SequenceIdAllocator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Giả lập một ngày vận hành trên backend đang chạy (mặc định cùng PostgreSQL của docker compose). Seed trực tiếp
+ * vào DB N vendor, trạm, trụ, đầu sạc (có giá) và khách hàng kèm xe, đăng nhập họ, rồi phát lại một ngày thu gọn
+ * trong {@code workload.day-seconds} giây theo hệ số tải từng giờ (cao điểm 8h và 17h-18h):
+ * <ul>
+ *     <li>xem danh sách/chi tiết trạm, trụ, đánh giá (khách vãng lai);</li>
+ *     <li>tìm trạm gần theo quận/tỉnh (backend chưa có tìm theo tọa độ nên dùng bộ lọc địa chỉ);</li>
+ *     <li>khách hàng bắt đầu/dừng phiên sạc, dồn vào giờ cao điểm, và poll {@code /api/sessions/current}
+ *     trong lúc sạc;</li>
+ *     <li>vendor mở dashboard (doanh thu, biểu đồ, phiên đang chạy, bảng trạng thái đầu sạc).</li>
+ * </ul>
+ * Kết quả là histogram độ trễ và p50/p95/p99 theo endpoint, kèm số câu SQL mỗi request lấy từ
+ * {@code /api/admin/query-stats} khi backend chạy với {@code app.diagnostics.query-stats.enabled=true}.
+ * Dữ liệu seed mang tag riêng của mỗi lần chạy và được giữ lại sau khi chạy.
+ *
+ * <p>Chạy: {@code mvn test -Dtest=ChargingDayWorkloadSimulatorTest -Dworkload=true
+ * [-Dworkload.url=http://localhost:8080] [-Dworkload.jdbc-url=jdbc:postgresql://localhost:5432/charging_station_db]
+ * [-Dworkload.db-user=postgres] [-Dworkload.db-password=admin] [-Dworkload.vendors=10]
+ * [-Dworkload.stations-per-vendor=20] [-Dworkload.poles-per-station=2] [-Dworkload.connectors-per-pole=2]
+ * [-Dworkload.customers=300] [-Dworkload.day-seconds=240] [-Dworkload.browse-per-second=30]
+ * [-Dworkload.search-per-second=8] [-Dworkload.dashboard-per-second=1] [-Dworkload.sessions-per-customer=1.5]
+ * [-Dworkload.poll-seconds=5] [-Dworkload.admin-email=admin@wayo.com] [-Dworkload.admin-password=123456]}
+ */
+@EnabledIfSystemProperty(named = "workload", matches = "true")
+class ChargingDayWorkloadSimulatorTest {
+
+    private static final String URL = System.getProperty("workload.url", "http://localhost:8080");
+    private static final String JDBC_URL = System.getProperty("workload.jdbc-url",
+            "jdbc:postgresql://localhost:5432/charging_station_db");
+    private static final String DB_USER = System.getProperty("workload.db-user", "postgres");
+    private static final String DB_PASSWORD = System.getProperty("workload.db-password", "admin");
+    private static final int VENDORS = Integer.getInteger("workload.vendors", 10);
+    private static final int STATIONS_PER_VENDOR = Integer.getInteger("workload.stations-per-vendor", 20);
+    private static final int POLES_PER_STATION = Integer.getInteger("workload.poles-per-station", 2);
+    private static final int CONNECTORS_PER_POLE = Integer.getInteger("workload.connectors-per-pole", 2);
+    private static final int CUSTOMERS = Integer.getInteger("workload.customers", 300);
+    private static final int DAY_SECONDS = Integer.getInteger("workload.day-seconds", 240);
+    private static final double BROWSE_PER_SECOND = Double.parseDouble(System.getProperty("workload.browse-per-second", "30"));
+    private static final double SEARCH_PER_SECOND = Double.parseDouble(System.getProperty("workload.search-per-second", "8"));
+    private static final double DASHBOARD_PER_SECOND = Double.parseDouble(System.getProperty("workload.dashboard-per-second", "1"));
+    private static final double SESSIONS_PER_CUSTOMER = Double.parseDouble(System.getProperty("workload.sessions-per-customer", "1.5"));
+    private static final int POLL_SECONDS = Integer.getInteger("workload.poll-seconds", 5);
+    private static final String ADMIN_EMAIL = System.getProperty("workload.admin-email", "admin@wayo.com");
+    private static final String ADMIN_PASSWORD = System.getProperty("workload.admin-password", "123456");
+
+    private static final String PASSWORD = "Workload@123";
+    private static final long TICK_MS = 100;
+    // Hệ số tải theo giờ trong ngày, 1.0 = giờ cao điểm
+    private static final double[] HOURLY_LOAD = {0.05, 0.03, 0.02, 0.02, 0.03, 0.08, 0.25, 0.70, 1.00, 0.80, 0.55,
+            0.50, 0.60, 0.50, 0.45, 0.50, 0.70, 1.00, 0.95, 0.80, 0.60, 0.40, 0.20, 0.10};
+    private static final String[][] PROVINCES = {
+            {"Hồ Chí Minh", "10.7769", "106.7009"}, {"Hà Nội", "21.0285", "105.8542"},
+            {"Đà Nẵng", "16.0544", "108.2022"}, {"Cần Thơ", "10.0452", "105.7469"},
+            {"Hải Phòng", "20.8449", "106.6881"}};
+    private static final long[] HISTOGRAM_BOUNDS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Map<String, EndpointMetrics> metrics = new ConcurrentHashMap<>();
+    private final Set<Integer> busyConnectors = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void replaysChargingDay() throws Exception {
+        String tag = Long.toString(System.currentTimeMillis(), 36);
+        Catalog catalog = seed(tag);
+        System.out.printf("Seeded %d vendors, %d stations, %d connectors, %d customers (tag %s)%n", VENDORS,
+                catalog.stationIds().size(), catalog.connectorIds().size(), CUSTOMERS, tag);
+
+        List<Actor> vendors = login(catalog.vendorIds(), "vendor", tag, Map.of());
+        List<Actor> customers = login(catalog.customerIds(), "customer", tag, catalog.vehicleByCustomer());
+        String adminToken = token(ADMIN_EMAIL, ADMIN_PASSWORD).join();
+        boolean queryStats = adminToken != null && send("DELETE", "/api/admin/query-stats", null, adminToken)
+                .join().statusCode() == 200;
+
+        long startedAt = System.nanoTime();
+        long dayNanos = TimeUnit.SECONDS.toNanos(DAY_SECONDS);
+        double tickSeconds = TICK_MS / 1000.0;
+        double simulatedHourSeconds = DAY_SECONDS / 24.0;
+        double hourlyTotal = Arrays.stream(HOURLY_LOAD).sum();
+        int lastHour = -1;
+        while (System.nanoTime() - startedAt < dayNanos) {
+            int hour = (int) ((System.nanoTime() - startedAt) * 24 / dayNanos);
+            if (hour != lastHour) {
+                System.out.printf("%02d:00 load %.2f, %d charging%n", hour, HOURLY_LOAD[hour],
+                        customers.stream().filter(c -> c.state == State.CHARGING).count());
+                lastHour = hour;
+            }
+            double load = HOURLY_LOAD[hour];
+            repeat(arrivals(BROWSE_PER_SECOND * load * tickSeconds), () -> browse(catalog));
+            repeat(arrivals(SEARCH_PER_SECOND * load * tickSeconds), this::searchNearby);
+            repeat(arrivals(DASHBOARD_PER_SECOND * load * tickSeconds),
+                    () -> openDashboard(vendors.get(ThreadLocalRandom.current().nextInt(vendors.size()))));
+            // Xác suất một khách rảnh bắt đầu sạc trong tick này, phân bổ SESSIONS_PER_CUSTOMER phiên/ngày theo giờ
+            double startProbability = SESSIONS_PER_CUSTOMER * HOURLY_LOAD[hour] / hourlyTotal
+                    * tickSeconds / simulatedHourSeconds;
+            long now = System.nanoTime();
+            for (Actor customer : customers) {
+                advance(customer, catalog, startProbability, now);
+            }
+            Thread.sleep(TICK_MS);
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        List<CompletableFuture<?>> stops = new ArrayList<>();
+        for (Actor customer : customers) {
+            if (customer.state == State.CHARGING) {
+                stops.add(stop(customer));
+            }
+        }
+        CompletableFuture.allOf(stops.toArray(CompletableFuture[]::new)).orTimeout(60, TimeUnit.SECONDS).join();
+
+        Map<String, JsonNode> serverStats = queryStats ? fetchQueryStats(adminToken) : Map.of();
+        report(seconds, serverStats, queryStats);
+
+        long requests = metrics.values().stream().mapToLong(EndpointMetrics::requests).sum();
+        long serverErrors = metrics.values().stream().mapToLong(m -> m.serverErrors).sum();
+        assertThat(requests).isPositive();
+        assertThat(serverErrors).isZero();
+    }
+
+    // ---------------------------------------------------------------- seed
+
+    private Catalog seed(String tag) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(JDBC_URL, DB_USER, DB_PASSWORD);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        SequenceIdAllocator ids = new SequenceIdAllocator(jdbc);
+        CatalogBulkInsertRepository catalog = new CatalogBulkInsertRepository(jdbc);
+        ReflectionTestUtils.setField(catalog, "batchSize", 1000);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime now = LocalDateTime.now();
+        String passwordHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+        List<Integer> vendorIds = insertUsers(jdbc, tag, "vendor", VENDORS, passwordHash);
+        List<Integer> customerIds = insertUsers(jdbc, tag, "customer", CUSTOMERS, passwordHash);
+
+        int stations = VENDORS * STATIONS_PER_VENDOR;
+        int poles = stations * POLES_PER_STATION;
+        int[] locationIds = ids.allocate("locations_seq", stations);
+        int[] stationIds = ids.allocate("stations_seq", stations);
+        int[] poleIds = ids.allocate("charging_poles_seq", poles);
+        int[] connectorIds = ids.allocate("charging_connectors_seq", poles * CONNECTORS_PER_POLE);
+        int[] priceIds = ids.allocate("prices_seq", poles);
+
+        List<LocationRow> locationRows = new ArrayList<>();
+        List<StationRow> stationRows = new ArrayList<>();
+        for (int s = 0; s < stations; s++) {
+            String[] province = PROVINCES[s % PROVINCES.length];
+            BigDecimal latitude = new BigDecimal(province[1]).add(BigDecimal.valueOf(random.nextDouble(-0.1, 0.1)))
+                    .setScale(8, RoundingMode.HALF_UP);
+            BigDecimal longitude = new BigDecimal(province[2]).add(BigDecimal.valueOf(random.nextDouble(-0.1, 0.1)))
+                    .setScale(8, RoundingMode.HALF_UP);
+            locationRows.add(new LocationRow(locationIds[s], latitude, longitude, province[0],
+                    (s + 1) + " Đường Số " + (s % 30 + 1) + ", Quận " + (s % 12 + 1) + ", " + province[0]));
+            stationRows.add(new StationRow(stationIds[s], vendorIds.get(s / STATIONS_PER_VENDOR), locationIds[s], null,
+                    "Sim " + tag + " Station " + s, LocalTime.MIN, LocalTime.of(23, 59), "CAR"));
+        }
+        List<PoleRow> poleRows = new ArrayList<>();
+        List<ConnectorRow> connectorRows = new ArrayList<>();
+        for (int p = 0; p < poles; p++) {
+            poleRows.add(new PoleRow(poleIds[p], stationIds[p / POLES_PER_STATION], null, "Simulator",
+                    new BigDecimal("120.00"), CONNECTORS_PER_POLE, LocalDate.now().minusYears(1)));
+            for (int c = 0; c < CONNECTORS_PER_POLE; c++) {
+                connectorRows.add(new ConnectorRow(connectorIds[p * CONNECTORS_PER_POLE + c], poleIds[p], "CCS",
+                        new BigDecimal("60.00")));
+            }
+        }
+        catalog.insertLocations(locationRows);
+        catalog.insertStations(stationRows, now);
+        catalog.insertPoles(poleRows, now);
+        catalog.insertConnectors(connectorRows, now);
+
+        // Không có giá thì không bắt đầu phiên được
+        jdbc.batchUpdate("""
+                INSERT INTO prices (id, charging_pole_id, name, price, effective_from, effective_to, start_time,
+                                    end_time, version, updated_at)
+                VALUES (?, ?, 'CHARGING', 3500.00, ?, NULL, '00:00:00', '23:59:59', 0, ?)
+                """, Arrays.stream(poleIds).boxed().toList(), 1000, (ps, poleId) -> {
+            ps.setInt(1, priceIds[Arrays.binarySearch(poleIds, poleId)]);
+            ps.setInt(2, poleId);
+            ps.setDate(3, Date.valueOf(LocalDate.now().minusDays(1)));
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+        });
+
+        jdbc.batchUpdate("""
+                INSERT INTO electric_vehicles (customer_id, vehicle_type, brand, model, license_plate,
+                                               battery_capacity, connector_type)
+                VALUES (?, 'CAR', 'VinFast', 'VF8', ?, 87.70, 'CCS')
+                """, customerIds, 1000, (ps, customerId) -> {
+            ps.setInt(1, customerId);
+            ps.setString(2, "SIM-" + tag + "-" + customerId);
+        });
+        Map<Integer, Integer> vehicleByCustomer = new HashMap<>();
+        jdbc.query("SELECT id, customer_id FROM electric_vehicles WHERE license_plate LIKE ?",
+                rs -> {
+                    vehicleByCustomer.put(rs.getInt("customer_id"), rs.getInt("id"));
+                }, "SIM-" + tag + "-%");
+
+        return new Catalog(vendorIds, customerIds, vehicleByCustomer, Arrays.stream(stationIds).boxed().toList(),
+                Arrays.stream(connectorIds).boxed().toList());
+    }
+
+    private List<Integer> insertUsers(JdbcTemplate jdbc, String tag, String type, int count, String passwordHash) {
+        List<Integer> indexes = IntStream.range(0, count).boxed().toList();
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, phone, status, user_type) VALUES (?, ?, ?, ?, 1, ?)",
+                indexes, 1000, (ps, i) -> {
+                    ps.setString(1, "Sim " + type + " " + i);
+                    ps.setString(2, email(tag, type, i));
+                    ps.setString(3, passwordHash);
+                    ps.setString(4, String.format("09%09d", ThreadLocalRandom.current().nextInt(1_000_000_000)));
+                    ps.setString(5, type.toUpperCase());
+                });
+        List<Integer> ids = jdbc.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id", Integer.class,
+                "sim-" + tag + "-" + type + "-%");
+        jdbc.batchUpdate("INSERT INTO " + type + "s (user_id) VALUES (?)", ids, 1000,
+                (ps, id) -> ps.setInt(1, id));
+        return ids;
+    }
+
+    private static String email(String tag, String type, int index) {
+        return "sim-" + tag + "-" + type + "-" + index + "@workload.local";
+    }
+
+    private List<Actor> login(List<Integer> userIds, String type, String tag, Map<Integer, Integer> vehicles) {
+        Semaphore inFlight = new Semaphore(16);
+        List<CompletableFuture<Actor>> logins = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            int userId = userIds.get(i);
+            inFlight.acquireUninterruptibly();
+            logins.add(token(email(tag, type, i), PASSWORD)
+                    .whenComplete((token, e) -> inFlight.release())
+                    .thenApply(token -> new Actor(token, vehicles.get(userId))));
+        }
+        List<Actor> actors = logins.stream().map(CompletableFuture::join).filter(actor -> actor.token != null).toList();
+        System.out.printf("Logged in %d/%d %ss%n", actors.size(), userIds.size(), type);
+        return actors;
+    }
+
+    private CompletableFuture<String> token(String email, String password) {
+        String body = objectMapper.createObjectNode().put("email", email).put("password", password).toString();
+        return send("POST", "/api/auth/login", body, null).thenApply(response -> {
+            try {
+                return response.statusCode() == 200 ? objectMapper.readTree(response.body()).path("token").asText() : null;
+            } catch (Exception e) {
+                return null;
+            }
+        });
+    }
+
+    // ---------------------------------------------------------------- traffic
+
+    private void browse(Catalog catalog) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int stationId = catalog.stationIds().get(random.nextInt(catalog.stationIds().size()));
+        switch (random.nextInt(4)) {
+            case 0 -> call("GET /api/stations", "GET", "/api/stations?page=" + random.nextInt(5) + "&size=20", null, null);
+            case 1 -> call("GET /api/stations/{id}", "GET", "/api/stations/" + stationId, null, null);
+            case 2 -> call("GET /api/stations/{id}/poles", "GET", "/api/stations/" + stationId + "/poles", null, null);
+            default -> call("GET /api/stations/{id}/reviews", "GET", "/api/stations/" + stationId + "/reviews", null, null);
+        }
+    }
+
+    private void searchNearby() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] province = PROVINCES[random.nextInt(PROVINCES.length)];
+        if (random.nextBoolean()) {
+            String district = "Quận " + (random.nextInt(12) + 1) + ", " + province[0];
+            call("GET /api/stations", "GET", "/api/stations?search=" + encode(district)
+                    + "&vehicleType=CAR&connectorType=CCS&page=0&size=20", null, null);
+        } else {
+            call("GET /api/stations/search", "GET", "/api/stations/search?query=" + encode(province[0]), null, null);
+        }
+    }
+
+    private void openDashboard(Actor vendor) {
+        call("GET /api/vendor/stats/revenue", "GET", "/api/vendor/stats/revenue", null, vendor.token);
+        call("GET /api/vendor/stats/chart", "GET", "/api/vendor/stats/chart?days=7", null, vendor.token);
+        call("GET /api/vendor/stats/chart/hourly", "GET", "/api/vendor/stats/chart/hourly", null, vendor.token);
+        call("GET /api/vendor/sessions/active", "GET", "/api/vendor/sessions/active", null, vendor.token);
+        call("GET /api/vendor/connectors/status-board", "GET", "/api/vendor/connectors/status-board", null,
+                vendor.token);
+    }
+
+    private void advance(Actor customer, Catalog catalog, double startProbability, long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (customer.state == State.IDLE && random.nextDouble() < startProbability) {
+            start(customer, catalog, now);
+        } else if (customer.state == State.CHARGING) {
+            if (now >= customer.endsAt) {
+                stop(customer);
+            } else if (now >= customer.nextPollAt) {
+                customer.nextPollAt = now + TimeUnit.SECONDS.toNanos(POLL_SECONDS);
+                call("GET /api/sessions/current", "GET", "/api/sessions/current", null, customer.token);
+            }
+        }
+    }
+
+    private void start(Actor customer, Catalog catalog, long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer connectorId = null;
+        for (int attempt = 0; attempt < 10 && connectorId == null; attempt++) {
+            int candidate = catalog.connectorIds().get(random.nextInt(catalog.connectorIds().size()));
+            if (busyConnectors.add(candidate)) {
+                connectorId = candidate;
+            }
+        }
+        if (connectorId == null) {
+            return;
+        }
+        int chosen = connectorId;
+        customer.state = State.STARTING;
+        customer.connectorId = chosen;
+        // Phiên kéo dài 30-120 phút mô phỏng
+        long duration = TimeUnit.SECONDS.toNanos(DAY_SECONDS) * random.nextInt(30, 121) / (24 * 60);
+        String body = objectMapper.createObjectNode().put("connectorId", chosen).put("vehicleId", customer.vehicleId)
+                .toString();
+        call("POST /api/sessions/start", "POST", "/api/sessions/start", body, customer.token).thenAccept(response -> {
+            Integer sessionId = null;
+            if (response != null && response.statusCode() == 200) {
+                try {
+                    sessionId = objectMapper.readTree(response.body()).path("id").asInt();
+                } catch (Exception e) {
+                    sessionId = null;
+                }
+            }
+            if (sessionId != null) {
+                customer.sessionId = sessionId;
+                customer.endsAt = now + duration;
+                customer.nextPollAt = now;
+                customer.state = State.CHARGING;
+            } else {
+                busyConnectors.remove(chosen);
+                customer.state = State.IDLE;
+            }
+        });
+    }
+
+    private CompletableFuture<?> stop(Actor customer) {
+        customer.state = State.STOPPING;
+        return call("POST /api/sessions/stop/{sessionId}", "POST", "/api/sessions/stop/" + customer.sessionId, null,
+                customer.token).whenComplete((response, e) -> {
+            busyConnectors.remove(customer.connectorId);
+            customer.state = State.IDLE;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> call(String endpoint, String method, String path, String body,
+                                                         String token) {
+        long sentAt = System.nanoTime();
+        return send(method, path, body, token).handle((response, error) -> {
+            metrics.computeIfAbsent(endpoint, key -> new EndpointMetrics())
+                    .record(System.nanoTime() - sentAt, error != null ? -1 : response.statusCode());
+            return error != null ? null : response;
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String method, String path, String body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(URL + path))
+                .timeout(Duration.ofSeconds(60))
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // ---------------------------------------------------------------- report
+
+    private Map<String, JsonNode> fetchQueryStats(String adminToken) throws Exception {
+        HttpResponse<String> response = send("GET", "/api/admin/query-stats", null, adminToken).join();
+        Map<String, JsonNode> stats = new HashMap<>();
+        for (JsonNode row : objectMapper.readTree(response.body()).path("data")) {
+            stats.put(row.path("endpoint").asText(), row);
+        }
+        return stats;
+    }
+
+    private void report(double seconds, Map<String, JsonNode> serverStats, boolean queryStats) {
+        Map<String, EndpointMetrics> sorted = new TreeMap<>(metrics);
+        long requests = sorted.values().stream().mapToLong(EndpointMetrics::requests).sum();
+        System.out.printf("%nSimulated day in %.0fs: %d request(s), %.1f req/s%n", seconds, requests, requests / seconds);
+        if (!queryStats) {
+            System.out.println("(no DB query counts: run the backend with app.diagnostics.query-stats.enabled=true and a valid admin)");
+        }
+
+        System.out.printf("%-42s %7s %6s %8s %8s %8s %8s %7s %6s%n", "endpoint", "req", "4xx/5xx", "p50 ms",
+                "p95 ms", "p99 ms", "max ms", "q/req", "max q");
+        sorted.forEach((endpoint, m) -> {
+            long[] latencies = m.sortedLatencies();
+            JsonNode server = serverStats.get(endpoint);
+            System.out.printf("%-42s %7d %6d %8.1f %8.1f %8.1f %8.1f %7s %6s%n", endpoint, latencies.length,
+                    m.clientErrors + m.serverErrors, percentileMs(latencies, 50), percentileMs(latencies, 95),
+                    percentileMs(latencies, 99), percentileMs(latencies, 100),
+                    server != null ? String.format("%.1f", server.path("queriesPerRequest").asDouble()) : "-",
+                    server != null ? server.path("maxQueries").asText() : "-");
+        });
+
+        StringBuilder header = new StringBuilder(String.format("%n%-42s", "latency histogram"));
+        for (long bound : HISTOGRAM_BOUNDS_MS) {
+            header.append(String.format(" %7s", "<=" + bound));
+        }
+        System.out.println(header.append(String.format(" %7s", ">" + HISTOGRAM_BOUNDS_MS[HISTOGRAM_BOUNDS_MS.length - 1])));
+        sorted.forEach((endpoint, m) -> {
+            StringBuilder line = new StringBuilder(String.format("%-42s", endpoint));
+            for (long count : m.histogram()) {
+                line.append(String.format(" %7d", count));
+            }
+            System.out.println(line);
+        });
+    }
+
+    private static double percentileMs(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+
+    private static int arrivals(double expected) {
+        int whole = (int) expected;
+        return whole + (ThreadLocalRandom.current().nextDouble() < expected - whole ? 1 : 0);
+    }
+
+    private static void repeat(int times, Runnable action) {
+        for (int i = 0; i < times; i++) {
+            action.run();
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Catalog(List<Integer> vendorIds, List<Integer> customerIds, Map<Integer, Integer> vehicleByCustomer,
+                           List<Integer> stationIds, List<Integer> connectorIds) {
+    }
+
+    private enum State {
+        IDLE, STARTING, CHARGING, STOPPING
+    }
+
+    private static class Actor {
+
+        private final String token;
+        private final Integer vehicleId;
+        private volatile State state = State.IDLE;
+        private volatile int connectorId;
+        private volatile int sessionId;
+        private volatile long endsAt;
+        private volatile long nextPollAt;
+
+        Actor(String token, Integer vehicleId) {
+            this.token = token;
+            this.vehicleId = vehicleId;
+        }
+    }
+
+    private static class EndpointMetrics {
+
+        private final List<Long> latencies = new ArrayList<>();
+        private long clientErrors;
+        private long serverErrors;
+
+        synchronized void record(long latencyNanos, int status) {
+            latencies.add(latencyNanos);
+            if (status < 0 || status >= 500) {
+                serverErrors++;
+            } else if (status >= 400) {
+                clientErrors++;
+            }
+        }
+
+        synchronized long requests() {
+            return latencies.size();
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized long[] histogram() {
+            long[] buckets = new long[HISTOGRAM_BOUNDS_MS.length + 1];
+            for (long latency : latencies) {
+                long ms = TimeUnit.NANOSECONDS.toMillis(latency);
+                int bucket = 0;
+                while (bucket < HISTOGRAM_BOUNDS_MS.length && ms > HISTOGRAM_BOUNDS_MS[bucket]) {
+                    bucket++;
+                }
+                buckets[bucket]++;
+            }
+            return buckets;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.charging_station_management.ocpp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Giả lập nhiều trụ sạc OCPP 1.6J gửi MeterValues tới một backend đang chạy (mặc định 5000 trụ x 2 đầu sạc =
+ * 10k đầu sạc, mỗi đầu sạc 10 giây một mẫu). Các trụ id [first-pole-id, first-pole-id + poles) phải tồn tại,
+ * ví dụ tạo bằng chức năng import trạm. Nếu có {@code simulator.id-tag-file} (mỗi dòng một idTag lấy từ POST
+ * /api/vehicles/{id}/id-tag, mỗi dòng là xe của một khách hàng khác nhau) thì mỗi đầu sạc mở một phiên bằng StartTransaction và đóng khi kết thúc.
+ * {@code simulator.auth-key-file} có mỗi dòng {@code poleId,khóa} (khóa lấy từ POST
+ * /api/vendor/charging-poles/{id}/ocpp-key); trụ không có khóa trong file bị gateway từ chối.
+ *
+ * <p>Chạy: {@code mvn test -Dtest=ChargePointLoadSimulatorTest -Dsimulator=true [-Dsimulator.url=ws://localhost:8080/ocpp]
+ * [-Dsimulator.first-pole-id=1] [-Dsimulator.poles=5000] [-Dsimulator.connectors-per-pole=2]
+ * [-Dsimulator.interval-seconds=10] [-Dsimulator.duration-seconds=120] [-Dsimulator.id-tag-file=tags.txt]
+ * [-Dsimulator.auth-key-file=keys.csv]}
+ */
+@EnabledIfSystemProperty(named = "simulator", matches = "true")
+class ChargePointLoadSimulatorTest {
+
+    private static final String URL = System.getProperty("simulator.url", "ws://localhost:8080/ocpp");
+    private static final int FIRST_POLE_ID = Integer.getInteger("simulator.first-pole-id", 1);
+    private static final int POLES = Integer.getInteger("simulator.poles", 5000);
+    private static final int CONNECTORS_PER_POLE = Integer.getInteger("simulator.connectors-per-pole", 2);
+    private static final int INTERVAL_SECONDS = Integer.getInteger("simulator.interval-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("simulator.duration-seconds", 120);
+    private static final String ID_TAG_FILE = System.getProperty("simulator.id-tag-file");
+    private static final String AUTH_KEY_FILE = System.getProperty("simulator.auth-key-file");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong results = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    @Test
+    void simulatesConnectorsSendingMeterValues() throws Exception {
+        List<String> idTags = ID_TAG_FILE != null ? Files.readAllLines(Path.of(ID_TAG_FILE)) : List.of();
+        Map<Integer, String> authKeys = new HashMap<>();
+        if (AUTH_KEY_FILE != null) {
+            for (String line : Files.readAllLines(Path.of(AUTH_KEY_FILE))) {
+                String[] parts = line.trim().split(",", 2);
+                if (parts.length == 2) {
+                    authKeys.put(Integer.valueOf(parts[0].trim()), parts[1].trim());
+                }
+            }
+        }
+
+        List<SimulatedPole> poles = new ArrayList<>();
+        for (int i = 0; i < POLES; i++) {
+            SimulatedPole pole = new SimulatedPole(FIRST_POLE_ID + i);
+            if (pole.boot(idTags, i * CONNECTORS_PER_POLE, authKeys.get(FIRST_POLE_ID + i))) {
+                poles.add(pole);
+            }
+        }
+        System.out.printf("Booted %d/%d poles (%d connectors)%n", poles.size(), POLES, poles.size() * CONNECTORS_PER_POLE);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        long intervalMs = INTERVAL_SECONDS * 1000L;
+        for (SimulatedPole pole : poles) {
+            // Rải đều thời điểm gửi trong một chu kỳ như trụ thật
+            scheduler.scheduleAtFixedRate(pole::sendMeterValues,
+                    ThreadLocalRandom.current().nextLong(intervalMs), intervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        long startedAt = System.nanoTime();
+        long sentBefore = sent.get();
+        Thread.sleep(DURATION_SECONDS * 1000L);
+        scheduler.shutdownNow();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        long meterMessages = sent.get() - sentBefore;
+
+        for (SimulatedPole pole : poles) {
+            pole.stop();
+        }
+        System.out.printf("Sent %d MeterValues in %.0fs (%.0f msg/s), %d results, %d errors%n",
+                meterMessages, seconds, meterMessages / seconds, results.get(), errors.get());
+
+        assertThat(poles).isNotEmpty();
+        assertThat(errors).hasValue(0);
+    }
+
+    private class SimulatedPole implements WebSocket.Listener {
+
+        private final int poleId;
+        private final Map<String, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+        private final AtomicLong sequence = new AtomicLong();
+        private final StringBuilder partial = new StringBuilder();
+        private final double[] meterWh = new double[CONNECTORS_PER_POLE];
+        private final double[] powerW = new double[CONNECTORS_PER_POLE];
+        private final Integer[] transactionIds = new Integer[CONNECTORS_PER_POLE];
+        private CompletableFuture<?> sendChain = CompletableFuture.completedFuture(null);
+        private WebSocket webSocket;
+
+        SimulatedPole(int poleId) {
+            this.poleId = poleId;
+        }
+
+        boolean boot(List<String> idTags, int firstConnectorIndex, String authKey) {
+            WebSocket.Builder builder = client.newWebSocketBuilder().subprotocols(OcppWebSocketHandler.SUB_PROTOCOL);
+            if (authKey != null) {
+                builder.header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString((poleId + ":" + authKey).getBytes(StandardCharsets.UTF_8)));
+            }
+            try {
+                webSocket = builder.buildAsync(URI.create(URL + "/" + poleId), this).join();
+            } catch (CompletionException e) {
+                System.out.printf("Pole %d: handshake rejected (%s)%n", poleId, e.getCause().getMessage());
+                return false;
+            }
+
+            ObjectNode boot = objectMapper.createObjectNode()
+                    .put("chargePointVendor", "Simulator").put("chargePointModel", "LoadTest");
+            if (!"Accepted".equals(call("BootNotification", boot).join().path("status").asText())) {
+                webSocket.abort();
+                return false;
+            }
+
+            for (int c = 0; c < CONNECTORS_PER_POLE; c++) {
+                meterWh[c] = ThreadLocalRandom.current().nextInt(1_000_000);
+                powerW[c] = 7_000 + ThreadLocalRandom.current().nextInt(53_000);
+                call("StatusNotification", objectMapper.createObjectNode().put("connectorId", c + 1)
+                        .put("errorCode", "NoError").put("status", "Available")).join();
+
+                int tagIndex = firstConnectorIndex + c;
+                if (tagIndex < idTags.size()) {
+                    JsonNode started = call("StartTransaction", objectMapper.createObjectNode()
+                            .put("connectorId", c + 1).put("idTag", idTags.get(tagIndex).trim())
+                            .put("meterStart", (long) meterWh[c]).put("timestamp", Instant.now().toString())).join();
+                    if ("Accepted".equals(started.path("idTagInfo").path("status").asText())) {
+                        transactionIds[c] = started.path("transactionId").asInt();
+                    }
+                }
+            }
+            return true;
+        }
+
+        void sendMeterValues() {
+            for (int c = 0; c < CONNECTORS_PER_POLE; c++) {
+                meterWh[c] += powerW[c] * INTERVAL_SECONDS / 3600;
+                ObjectNode payload = objectMapper.createObjectNode().put("connectorId", c + 1);
+                if (transactionIds[c] != null) {
+                    payload.put("transactionId", transactionIds[c]);
+                }
+                ObjectNode meterValue = payload.putArray("meterValue").addObject()
+                        .put("timestamp", Instant.now().toString());
+                ArrayNode sampled = meterValue.putArray("sampledValue");
+                sampled.addObject().put("value", String.format(Locale.ROOT, "%.1f", meterWh[c]))
+                        .put("measurand", "Energy.Active.Import.Register").put("unit", "Wh");
+                sampled.addObject().put("value", String.format(Locale.ROOT, "%.1f", powerW[c]))
+                        .put("measurand", "Power.Active.Import").put("unit", "W");
+                call("MeterValues", payload);
+            }
+        }
+
+        void stop() {
+            for (int c = 0; c < CONNECTORS_PER_POLE; c++) {
+                if (transactionIds[c] != null) {
+                    call("StopTransaction", objectMapper.createObjectNode().put("transactionId", transactionIds[c])
+                            .put("meterStop", (long) meterWh[c]).put("timestamp", Instant.now().toString())
+                            .put("reason", "Local")).orTimeout(30, TimeUnit.SECONDS).exceptionally(e -> null).join();
+                }
+            }
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done").exceptionally(e -> null).join();
+        }
+
+        private CompletableFuture<JsonNode> call(String action, ObjectNode payload) {
+            String messageId = poleId + "-" + sequence.incrementAndGet();
+            CompletableFuture<JsonNode> result = new CompletableFuture<>();
+            pending.put(messageId, result);
+            String frame = objectMapper.createArrayNode().add(2).add(messageId).add(action).add(payload).toString();
+            // WebSocket của JDK chỉ cho một lần gửi đang chờ tại một thời điểm
+            synchronized (this) {
+                sendChain = sendChain.thenCompose(v -> webSocket.sendText(frame, true))
+                        .whenComplete((ws, e) -> {
+                            if (e != null) {
+                                errors.incrementAndGet();
+                                pending.remove(messageId);
+                                result.completeExceptionally(e);
+                            }
+                        })
+                        .exceptionally(e -> null);
+            }
+            sent.incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                handleFrame(partial.toString());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handleFrame(String text) {
+            try {
+                JsonNode frame = objectMapper.readTree(text);
+                CompletableFuture<JsonNode> result = pending.remove(frame.get(1).asText());
+                if (result == null) {
+                    return;
+                }
+                if (frame.get(0).asInt() == 3) {
+                    results.incrementAndGet();
+                    result.complete(frame.get(2));
+                } else {
+                    errors.incrementAndGet();
+                    System.out.printf("Pole %d: CALLERROR %s %s%n", poleId, frame.get(2), frame.get(3));
+                    result.complete(objectMapper.createObjectNode());
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+}
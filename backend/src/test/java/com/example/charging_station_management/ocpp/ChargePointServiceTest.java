@@ -0,0 +1,97 @@
+package com.example.charging_station_management.ocpp;
+
+import com.example.charging_station_management.ocpp.OcppMessages.AuthorizeResponse;
+import com.example.charging_station_management.ocpp.OcppMessages.StartTransactionResponse;
+import com.example.charging_station_management.service.ChargingSessionService;
+import com.example.charging_station_management.service.ConnectorStateMachine;
+import com.example.charging_station_management.service.impl.VehicleServiceImpl;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Trụ chỉ chấp nhận idTag khách hàng đã tạo cho xe, không chấp nhận biển số.
+ */
+@DataJpaTest
+@Import({ChargePointService.class, ChargePointAuthenticator.class, VehicleServiceImpl.class,
+        JacksonAutoConfiguration.class, TestPasswordEncoderConfig.class})
+class ChargePointServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChargePointService chargePointService;
+
+    @Autowired
+    private VehicleServiceImpl vehicleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ChargingSessionService chargingSessionService;
+
+    @MockBean
+    private ConnectorStateMachine connectorStateMachine;
+
+    @MockBean
+    private MeterValueWriter meterValueWriter;
+
+    private ChargingFixtures.Seed seed;
+    private ChargePointContext chargePoint;
+
+    @BeforeEach
+    void bootPole() {
+        seed = new ChargingFixtures(entityManager).seed("Ocpp");
+        entityManager.flush();
+        chargePoint = new ChargePointContext(seed.pole().getId());
+        chargePoint.accept(List.of(seed.connector().getId()));
+    }
+
+    @Test
+    void licensePlateIsNotAnIdTag() {
+        String plate = seed.vehicle().getLicensePlate();
+
+        assertThat(authorize(plate)).isEqualTo("Invalid");
+        StartTransactionResponse started = (StartTransactionResponse) chargePointService.handle(chargePoint,
+                "StartTransaction", objectMapper.createObjectNode()
+                        .put("connectorId", 1).put("idTag", plate).put("meterStart", 0));
+        assertThat(started.idTagInfo().status()).isEqualTo("Invalid");
+        verify(chargingSessionService, never()).startSession(any(), any(), any());
+    }
+
+    @Test
+    void onlyLatestIssuedIdTagIsAccepted() {
+        String first = vehicleService.rotateIdTag(seed.vehicle().getId(), seed.customer().getId()).idTag();
+        entityManager.flush();
+        assertThat(authorize(first)).isEqualTo("Accepted");
+
+        String second = vehicleService.rotateIdTag(seed.vehicle().getId(), seed.customer().getId()).idTag();
+        entityManager.flush();
+        assertThat(second).hasSize(20);
+        assertThat(authorize(second)).isEqualTo("Accepted");
+        assertThat(authorize(first)).isEqualTo("Invalid");
+    }
+
+    private String authorize(String idTag) {
+        AuthorizeResponse response = (AuthorizeResponse) chargePointService.handle(chargePoint, "Authorize",
+                objectMapper.createObjectNode().put("idTag", idTag));
+        return response.idTagInfo().status();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.charging_station_management.ocpp;
+
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({MeterValueWriter.class, TestPasswordEncoderConfig.class})
+class MeterValueWriterTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterValueWriter meterValueWriter;
+
+    private Integer connectorId;
+    private Integer sessionId;
+    private Integer otherConnectorId;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        ChargingFixtures.Seed seed = fixtures.seed("Meter");
+        seed.connector().setStatus(ConnectorStatus.INUSE);
+        ChargingSession session = fixtures.session(seed.connector(), seed.vehicle(),
+                LocalDateTime.of(2024, 6, 1, 8, 0), SessionStatus.CHARGING);
+        session.setEnergyKwh(BigDecimal.ZERO);
+        otherConnectorId = fixtures.connector(seed.pole()).getId();
+        entityManager.flush();
+
+        connectorId = seed.connector().getId();
+        sessionId = session.getId();
+    }
+
+    @Test
+    void writesSamplesInBatchAndUpdatesSessionEnergyFromLatestSample() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 8, 0);
+        meterValueWriter.transactionStarted(sample(start, "120000"));
+        for (int i = 1; i <= 30; i++) {
+            assertThat(meterValueWriter.offer(sample(start.plusSeconds(10L * i), String.valueOf(120000 + 150 * i))))
+                    .isTrue();
+        }
+        // Mẫu không thuộc phiên nào vẫn được lưu nhưng không đụng tới phiên
+        meterValueWriter.offer(new MeterSample(null, connectorId, start, new BigDecimal("5"), null));
+
+        assertThat(meterValueWriter.flush()).isEqualTo(32);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meter_values", Long.class)).isEqualTo(32L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT energy_kwh FROM charging_sessions WHERE id = ?", BigDecimal.class, sessionId))
+                .isEqualByComparingTo("4.50");
+        assertThat(meterValueWriter.pending()).isZero();
+    }
+
+    @Test
+    void dropsSamplesOfSessionSentForAnotherConnectorAfterRestart() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 8, 0);
+        // Không gọi transactionStarted: giống sau restart, phiên được tra trên luồng flush
+        meterValueWriter.offer(sample(start, "120000"));
+        meterValueWriter.offer(new MeterSample(sessionId, otherConnectorId, start.plusSeconds(10),
+                new BigDecimal("999000"), null));
+
+        assertThat(meterValueWriter.flush()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meter_values", Long.class)).isEqualTo(1L);
+        assertThat(meterValueWriter.isForeignSession(sessionId, otherConnectorId)).isTrue();
+        assertThat(meterValueWriter.meterStart(sessionId)).isEqualByComparingTo("120000");
+    }
+
+    private MeterSample sample(LocalDateTime at, String energyWh) {
+        return new MeterSample(sessionId, connectorId, at, new BigDecimal(energyWh), null);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.ConnectorRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.LocationRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.PoleRow;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository.StationRow;
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Insert batch của import trên PostgreSQL nhúng (schema từ migration): mã trạm/trụ được lưu và duy nhất theo
+ * vendor/trạm (V12).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CatalogBulkInsertRepository.class, SequenceIdAllocator.class, TestPasswordEncoderConfig.class})
+class CatalogBulkInsertRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private CatalogBulkInsertRepository repository;
+
+    @Autowired
+    private SequenceIdAllocator idAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int vendorId;
+    private int otherVendorId;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgresSupport.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void vendors() {
+        List<Integer> vendors = jdbcTemplate.queryForList("SELECT user_id FROM vendors ORDER BY user_id LIMIT 2",
+                Integer.class);
+        vendorId = vendors.get(0);
+        otherVendorId = vendors.get(1);
+    }
+
+    @Test
+    void insertsCatalogWithCodes() {
+        int stationId = insertStation(vendorId, "ST-1", "P-1");
+
+        Map<String, Object> station = jdbcTemplate.queryForMap(
+                "SELECT code, name, status, version FROM stations WHERE id = ?", stationId);
+        assertThat(station).containsEntry("code", "ST-1").containsEntry("name", "Trạm ST-1")
+                .containsEntry("status", 1).containsEntry("version", 0L);
+        assertThat(jdbcTemplate.queryForList("SELECT code FROM charging_poles WHERE station_id = ?", String.class,
+                stationId)).containsExactly("P-1");
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT c.status FROM charging_connectors c JOIN charging_poles p ON p.id = c.pole_id
+                 WHERE p.station_id = ?
+                """, String.class, stationId)).containsExactly("AVAILABLE");
+    }
+
+    @Test
+    void findsOnlyCodesOfTheVendor() {
+        insertStation(vendorId, "ST-2", "P-1");
+        insertStation(otherVendorId, "ST-3", "P-1");
+
+        assertThat(repository.findStationCodes(vendorId, List.of("ST-2", "ST-3", "ST-4"))).containsExactly("ST-2");
+        assertThat(repository.findStationCodes(vendorId, List.of())).isEmpty();
+    }
+
+    @Test
+    void stationCodeIsUniquePerVendor() {
+        insertStation(vendorId, "ST-5", "P-1");
+        // Vendor khác được dùng cùng mã
+        insertStation(otherVendorId, "ST-5", "P-1");
+
+        assertThatThrownBy(() -> insertStation(vendorId, "ST-5", "P-1")).isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private int insertStation(int vendor, String stationCode, String poleCode) {
+        int locationId = idAllocator.allocate("locations_seq", 1)[0];
+        int stationId = idAllocator.allocate("stations_seq", 1)[0];
+        int poleId = idAllocator.allocate("charging_poles_seq", 1)[0];
+        int connectorId = idAllocator.allocate("charging_connectors_seq", 1)[0];
+        LocalDateTime now = LocalDateTime.now();
+
+        repository.insertLocations(List.of(new LocationRow(locationId, new BigDecimal("10.7769"),
+                new BigDecimal("106.7009"), "HCM", "12 Lê Lợi")));
+        repository.insertStations(List.of(new StationRow(stationId, vendor, locationId, stationCode,
+                "Trạm " + stationCode, LocalTime.of(6, 0), LocalTime.of(22, 0), "CAR")), now);
+        repository.insertPoles(List.of(new PoleRow(poleId, stationId, poleCode, "ABB", new BigDecimal("60"), 2,
+                LocalDate.of(2024, 3, 1))), now);
+        repository.insertConnectors(List.of(new ConnectorRow(connectorId, poleId, "CCS", new BigDecimal("50"))), now);
+        return stationId;
+    }
+}
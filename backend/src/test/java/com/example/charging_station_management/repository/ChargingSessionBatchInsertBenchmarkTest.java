@@ -0,0 +1,103 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.config.HibernateConfig;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * So sánh insert ChargingSession từng dòng (như khi id là IDENTITY, Hibernate không batch được)
+ * với JDBC batch nhờ id lấy theo khối từ sequence pooled-lo.
+ *
+ * <p>Chạy: {@code mvn test -Dtest=ChargingSessionBatchInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.sessions=100000]}
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateConfig.class, TestPasswordEncoderConfig.class})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ChargingSessionBatchInsertBenchmarkTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ElectricVehicle vehicle;
+    private ChargingConnector connector;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures.Seed seed = new ChargingFixtures(entityManager).seed("Batch");
+        vehicle = seed.vehicle();
+        connector = seed.connector();
+        entityManager.flush();
+    }
+
+    @Test
+    void batchedInsertsUseFarFewerStatements() {
+        int sessions = Integer.getInteger("benchmark.sessions", 100_000);
+
+        Run rowByRow = insert(sessions, 1);
+        Run batched = insert(sessions, 50);
+
+        System.out.printf("%-12s %10s %12s %12s%n", "mode", "sessions", "statements", "ms");
+        System.out.printf("%-12s %10d %12d %12d%n", "row-by-row", sessions, rowByRow.statements, rowByRow.millis);
+        System.out.printf("%-12s %10d %12d %12d%n", "batch=50", sessions, batched.statements, batched.millis);
+
+        // Mỗi 50 dòng một lần nextval; statement insert được prepare lại theo từng lần flush chứ không theo từng dòng
+        assertThat(batched.statements).isLessThanOrEqualTo(2L * sessions / 50 + 2);
+        assertThat(rowByRow.statements).isGreaterThanOrEqualTo(sessions);
+    }
+
+    private Run insert(int count, int jdbcBatchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().unwrap(SessionFactory.class).getStatistics();
+        session.setJdbcBatchSize(jdbcBatchSize);
+        statistics.clear();
+
+        LocalDateTime base = LocalDateTime.now().minusDays(30);
+        ElectricVehicle vehicleRef = entityManager.getReference(ElectricVehicle.class, vehicle.getId());
+        ChargingConnector connectorRef = entityManager.getReference(ChargingConnector.class, connector.getId());
+
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            ChargingSession chargingSession = new ChargingSession();
+            chargingSession.setElectricVehicle(vehicleRef);
+            chargingSession.setChargingConnector(connectorRef);
+            chargingSession.setStartTime(base.plusSeconds(i * 17L));
+            chargingSession.setEndTime(base.plusSeconds(i * 17L + 1800));
+            chargingSession.setEnergyKwh(new BigDecimal("20.00"));
+            chargingSession.setCost(new BigDecimal("100000.00"));
+            chargingSession.setStatus(SessionStatus.COMPLETED);
+            entityManager.persist(chargingSession);
+
+            if ((i + 1) % 1000 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                vehicleRef = entityManager.getReference(ElectricVehicle.class, vehicle.getId());
+                connectorRef = entityManager.getReference(ChargingConnector.class, connector.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        return new Run(statistics.getPrepareStatementCount(), millis);
+    }
+
+    private record Run(long statements, long millis) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.CursorPage;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(TestPasswordEncoderConfig.class)
+class ChargingSessionKeysetPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChargingSessionRepository chargingSessionRepository;
+
+    private Integer customerId;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        ChargingFixtures.Seed seed = fixtures.seed("Keyset");
+        customerId = seed.customer().getId();
+
+        // Hai phiên cùng startTime để kiểm tra khoá phụ id
+        for (int hours : new int[]{0, 1, 1, 2, 3}) {
+            fixtures.session(seed.connector(), seed.vehicle(), BASE.plusHours(hours), SessionStatus.COMPLETED);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void walksHistoryByCursorWithoutGapsOrDuplicates() {
+        List<Integer> seen = new ArrayList<>();
+        List<LocalDateTime> startTimes = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            List<ChargingSession> rows = after == null
+                    ? chargingSessionRepository.findHistoryFirstPage(customerId, Limit.of(3))
+                    : chargingSessionRepository.findHistoryAfter(customerId, after.time(), after.id(), Limit.of(3));
+            CursorPage<ChargingSession> page = CursorPage.of(rows, 2,
+                    s -> new KeysetCursor(s.getStartTime(), s.getId()), s -> s);
+
+            page.getContent().forEach(s -> {
+                seen.add(s.getId());
+                startTimes.add(s.getStartTime());
+            });
+            cursor = page.getNextCursor();
+            pages++;
+            assertThat(page.isHasNext()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5).doesNotHaveDuplicates();
+        assertThat(startTimes).isSortedAccordingTo((a, b) -> b.compareTo(a));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
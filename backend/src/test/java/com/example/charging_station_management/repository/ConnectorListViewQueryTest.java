@@ -0,0 +1,101 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.repository.projection.ConnectorListView;
+import com.example.charging_station_management.repository.projection.SessionSummaryView;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestPasswordEncoderConfig.class)
+class ConnectorListViewQueryTest {
+
+    private static final int CONNECTORS = 40;
+    private static final int HISTORY = 12;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChargingConnectorRepository connectorRepository;
+
+    @Autowired
+    private ChargingSessionRepository chargingSessionRepository;
+
+    private Integer vendorId;
+    private Integer chargingConnectorId;
+    private Integer pendingConnectorId;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        Vendor vendor = fixtures.vendor("Connector");
+        Customer customer = fixtures.customer("Connector");
+        vendorId = vendor.getId();
+        Station station = fixtures.station(vendor, "Connector");
+        ElectricVehicle vehicle = fixtures.vehicle(customer, "43A-11111");
+
+        for (int i = 0; i < CONNECTORS; i++) {
+            ChargingConnector connector = fixtures.connector(fixtures.pole(station));
+
+            // Mọi connector đều có lịch sử; chỉ hai connector có phiên còn hoạt động
+            SessionStatus status = i == 3 ? SessionStatus.CHARGING : i == 7 ? SessionStatus.PENDING : SessionStatus.COMPLETED;
+            ChargingSession session = fixtures.session(connector, vehicle,
+                    LocalDateTime.of(2024, 6, 1, 8, 0).plusHours(i), status);
+
+            if (i == 3) {
+                chargingConnectorId = connector.getId();
+                for (int h = 1; h <= HISTORY; h++) {
+                    fixtures.session(connector, vehicle, session.getStartTime().minusDays(h), SessionStatus.COMPLETED);
+                }
+            }
+            if (i == 7) pendingConnectorId = connector.getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listsVendorConnectorsWithInUseFlagInSingleQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ConnectorListView> views = connectorRepository.findListViewsByVendorId(vendorId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(views).hasSize(CONNECTORS);
+        assertThat(views).filteredOn(ConnectorListView::getInUse)
+                .extracting(ConnectorListView::getId)
+                .containsExactlyInAnyOrder(chargingConnectorId, pendingConnectorId);
+        assertThat(views.get(0).getStationName()).isEqualTo("Connector Station");
+    }
+
+    @Test
+    void readsBoundedRecentSessionsAndCountForConnector() {
+        List<SessionSummaryView> recent = chargingSessionRepository
+                .findRecentSummariesByConnectorId(chargingConnectorId, Limit.of(5));
+
+        assertThat(recent).hasSize(5);
+        assertThat(recent.get(0).getStatus()).isEqualTo(SessionStatus.CHARGING);
+        assertThat(recent.get(0).getLicensePlate()).isEqualTo("43A-11111");
+        assertThat(recent).extracting(SessionSummaryView::getStartTime)
+                .isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(chargingSessionRepository.countByChargingConnector_Id(chargingConnectorId))
+                .isEqualTo(HISTORY + 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.dto.response.ChargingSessionDetailResponse;
+import com.example.charging_station_management.dto.response.TransactionDetailResponse;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.repository.specification.ChargingSessionSpecification;
+import com.example.charging_station_management.repository.specification.KeysetSpecification;
+import com.example.charging_station_management.repository.specification.TransactionSpecification;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestPasswordEncoderConfig.class)
+class DetailProjectionQueryCountTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 1, 8, 0);
+    private static final int STATIONS = 3;
+    private static final int SESSIONS_PER_STATION = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ChargingSessionRepository chargingSessionRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        for (int s = 0; s < STATIONS; s++) {
+            ChargingFixtures.Seed seed = fixtures.seed("Detail" + s);
+            for (int i = 0; i < SESSIONS_PER_STATION; i++) {
+                fixtures.paidSession(seed, BASE.plusDays(i).plusHours(s), BASE.plusDays(i).plusHours(s + 1),
+                        new BigDecimal("30.00"), new BigDecimal("100000.00"));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void sessionDetailPageUsesSelectPlusCount() {
+        Page<ChargingSessionDetailResponse> page = chargingSessionRepository.findDetails(
+                ChargingSessionSpecification.fromFilter(null),
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "startTime")));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(STATIONS * SESSIONS_PER_STATION);
+        assertThat(page.getContent()).hasSize(5)
+                .allSatisfy(row -> {
+                    assertThat(row.customerName()).endsWith(" Customer");
+                    assertThat(row.vendorName()).endsWith(" Vendor");
+                    assertThat(row.stationProvince()).isEqualTo("Hồ Chí Minh");
+                    assertThat(row.transactionId()).isNotNull();
+                    assertThat(row.paymentStatus()).isEqualTo("PAID");
+                });
+        assertThat(page.getContent().get(0).startTime()).isEqualTo(BASE.plusDays(SESSIONS_PER_STATION - 1).plusHours(STATIONS - 1));
+    }
+
+    @Test
+    void transactionDetailKeysetPageUsesSingleSelect() {
+        List<TransactionDetailResponse> rows = transactionRepository.findDetails(
+                TransactionSpecification.fromFilter(null), KeysetSpecification.newestFirst("createdAt"), 6);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).hasSize(6)
+                .allSatisfy(row -> {
+                    assertThat(row.stationName()).endsWith(" Station");
+                    assertThat(row.licensePlate()).startsWith("TEST-DETAIL");
+                    assertThat(row.connectorType()).isEqualTo("CCS");
+                    assertThat(row.sessionStatus()).isEqualTo(SessionStatus.COMPLETED);
+                });
+    }
+
+    @Test
+    void entityPageWalkingRelationsIsNPlusOne() {
+        // Đường cũ: findAll(spec, pageable) rồi map lazy, để đối chiếu với các test trên
+        Page<ChargingSession> page = chargingSessionRepository.findAll(
+                ChargingSessionSpecification.fromFilter(null),
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "startTime")));
+        page.forEach(session -> {
+            session.getElectricVehicle().getCustomer().getName();
+            session.getChargingConnector().getPole().getStation().getVendor().getName();
+            session.getChargingConnector().getPole().getStation().getLocation().getProvince();
+        });
+
+        assertThat(statistics.getPrepareStatementCount()).isGreaterThan(2);
+    }
+}
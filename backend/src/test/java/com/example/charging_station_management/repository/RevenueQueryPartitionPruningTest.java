@@ -0,0 +1,162 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.Transaction;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import com.example.charging_station_management.support.JdbcStatementRecorder;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chạy các truy vấn doanh thu theo khoảng payment_time của repository trên PostgreSQL nhúng rồi
+ * {@code EXPLAIN} lại đúng câu SQL và tham số đã gửi: transactions (phân vùng theo created_at) và
+ * charging_sessions (theo start_time) chỉ được quét từ tháng của đầu khoảng - {@link Transaction#PAYMENT_WINDOW}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestPasswordEncoderConfig.class, RevenueQueryPartitionPruningTest.RecorderConfig.class})
+class RevenueQueryPartitionPruningTest {
+
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION = Pattern.compile("\\b(transactions|charging_sessions)_p(\\d{6})\\b");
+
+    // Tháng được truy vấn: đủ xa để các tháng trước nó có partition mà truy vấn phải bỏ qua
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(3);
+
+    private static EmbeddedPostgres postgres;
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        static JdbcStatementRecorder jdbcStatementRecorder() {
+            return new JdbcStatementRecorder();
+        }
+    }
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RevenueDailyRollupRepository revenueDailyRollupRepository;
+
+    @Autowired
+    private RevenueHourlyRollupRepository revenueHourlyRollupRepository;
+
+    @Autowired
+    private JdbcStatementRecorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer vendorId;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgresSupport.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    // Dữ liệu mẫu của V1 chỉ tạo partition transactions từ tháng migrate: thêm các tháng cũ hơn
+    @BeforeEach
+    void createOlderTransactionPartitions() {
+        for (YearMonth month = MONTH.minusMonths(4); month.isBefore(YearMonth.now()); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS transactions_p%s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')"
+                    .formatted(MONTH_SUFFIX.format(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+        vendorId = jdbcTemplate.queryForObject("SELECT MIN(vendor_id) FROM stations", Integer.class);
+    }
+
+    @Test
+    void dailyRevenueScansOnlyPaymentWindow() {
+        LocalDateTime from = MONTH.atDay(1).atStartOfDay();
+        LocalDateTime to = MONTH.plusMonths(1).atDay(1).atStartOfDay();
+
+        List<String> months = scannedMonths(() -> transactionRepository.sumDailyRevenueByVendor(vendorId,
+                PaymentStatus.PAID, from, to, from.minus(Transaction.PAYMENT_WINDOW)));
+
+        assertScansFrom(months, from);
+    }
+
+    @Test
+    void revenueTotalsScanOnlyPaymentWindow() {
+        LocalDate startOfLastMonth = MONTH.atDay(1);
+        LocalDate today = startOfLastMonth.plusMonths(1).plusDays(10);
+
+        List<String> months = scannedMonths(() -> transactionRepository.sumRevenueTotalsByVendor(vendorId,
+                PaymentStatus.PAID, today.atStartOfDay(), today.withDayOfMonth(1).atStartOfDay(),
+                startOfLastMonth.atStartOfDay(), today.plusDays(1).atStartOfDay(),
+                startOfLastMonth.atStartOfDay().minus(Transaction.PAYMENT_WINDOW)));
+
+        assertScansFrom(months, startOfLastMonth.atStartOfDay());
+    }
+
+    @Test
+    void vendorTransactionsScanOnlyPaymentWindow() {
+        LocalDateTime from = MONTH.atDay(1).atStartOfDay();
+
+        List<String> months = scannedMonths(() -> transactionRepository.findTransactionsByVendorAndDateRange(vendorId,
+                PaymentStatus.PAID, from, from.plusDays(7), from.minus(Transaction.PAYMENT_WINDOW)));
+
+        assertScansFrom(months, from);
+    }
+
+    @Test
+    void rollupRebuildScansOnlyPaymentWindow() {
+        LocalDateTime from = MONTH.atDay(15).atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+
+        assertScansFrom(scannedMonths(() -> revenueDailyRollupRepository.rebuildRange(from, to,
+                from.minus(Transaction.PAYMENT_WINDOW))), from);
+        assertScansFrom(scannedMonths(() -> revenueHourlyRollupRepository.rebuildRange(from, to,
+                from.minus(Transaction.PAYMENT_WINDOW))), from);
+    }
+
+    // Chạy truy vấn, EXPLAIN câu SQL đầu tiên nó gửi với đúng tham số; trả "bảng:yyyyMM" của mọi partition tháng
+    private List<String> scannedMonths(Runnable query) {
+        recorder.clear();
+        query.run();
+        JdbcStatementRecorder.Statement statement = recorder.statements().get(0);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (COSTS OFF) " + statement.sql(), String.class,
+                statement.parameters().toArray());
+        return PARTITION.matcher(String.join("\n", plan)).results()
+                .map(result -> result.group(1) + ":" + result.group(2))
+                .distinct()
+                .toList();
+    }
+
+    // Cả hai bảng đều được quét, và không partition nào cũ hơn tháng của (from - PAYMENT_WINDOW)
+    private static void assertScansFrom(List<String> months, LocalDateTime from) {
+        String firstMonth = MONTH_SUFFIX.format(from.minus(Transaction.PAYMENT_WINDOW));
+        assertThat(months).anyMatch(month -> month.startsWith("transactions:"));
+        assertThat(months).anyMatch(month -> month.startsWith("charging_sessions:"));
+        assertThat(months).allSatisfy(month ->
+                assertThat(month.substring(month.indexOf(':') + 1)).isGreaterThanOrEqualTo(firstMonth));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.charging_station_management.repository;
+
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.repository.projection.DailyRevenueView;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * So sánh heap và độ trễ giữa cách cũ (load List&lt;Transaction&gt; rồi groupingBy) và truy vấn GROUP BY ngày
+ * cho một vendor có nhiều giao dịch trong 90 ngày.
+ *
+ * <p>Chạy: {@code mvn test -Dtest=VendorRevenueAggregationBenchmarkTest -Dbenchmark=true [-Dbenchmark.transactions=500000]}
+ */
+@DataJpaTest
+@Import(TestPasswordEncoderConfig.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VendorRevenueAggregationBenchmarkTest {
+
+    private static final int DAYS = 90;
+    private static final int RUNS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Integer vendorId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    @BeforeEach
+    void seed() {
+        int transactions = Integer.getInteger("benchmark.transactions", 500_000);
+        toDate = LocalDate.now();
+        fromDate = toDate.minusDays(DAYS - 1);
+
+        ChargingFixtures.Seed seed = new ChargingFixtures(entityManager).seed("Bench");
+        entityManager.flush();
+
+        // Sinh dữ liệu ngay trong H2 để seed 500k dòng trong vài giây
+        LocalDateTime base = fromDate.atStartOfDay();
+        entityManager.createNativeQuery("""
+                        INSERT INTO charging_sessions
+                            (id, electric_vehicle_id, charging_connector_id, start_time, end_time, energy_kwh, cost, status)
+                        SELECT NEXT VALUE FOR charging_sessions_seq, CAST(:vehicleId AS INT), CAST(:connectorId AS INT),
+                               DATEADD('SECOND', MOD(X * 7919, :seconds), CAST(:base AS TIMESTAMP)),
+                               DATEADD('SECOND', MOD(X * 7919, :seconds) + 1800, CAST(:base AS TIMESTAMP)),
+                               20.00, 100000 + MOD(X, 50) * 1000, 'COMPLETED'
+                          FROM SYSTEM_RANGE(1, :count)
+                        """)
+                .setParameter("vehicleId", seed.vehicle().getId())
+                .setParameter("connectorId", seed.connector().getId())
+                .setParameter("seconds", (DAYS - 1) * 86_400)
+                .setParameter("base", base)
+                .setParameter("count", transactions)
+                .executeUpdate();
+        entityManager.createNativeQuery("""
+                        INSERT INTO transactions
+                            (id, charging_session_id, customer_id, amount, payment_method, payment_status, payment_time, created_at)
+                        SELECT NEXT VALUE FOR transactions_seq, id, CAST(:customerId AS INT), cost, 'CASH', 'PAID', end_time, end_time
+                          FROM charging_sessions
+                        """)
+                .setParameter("customerId", seed.customer().getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        vendorId = seed.vendor().getId();
+    }
+
+    @Test
+    void compareEntityStreamingWithSqlAggregation() {
+        LocalDateTime start = fromDate.atStartOfDay();
+        LocalDateTime end = toDate.plusDays(1).atStartOfDay();
+        LocalDateTime windowStart = start.minus(Transaction.PAYMENT_WINDOW);
+
+        Measurement entities = measure(() -> {
+            List<Transaction> txs = transactionRepository.findTransactionsByVendorAndDateRange(
+                    vendorId, PaymentStatus.PAID, start, end, windowStart);
+            Map<LocalDate, BigDecimal> byDay = txs.stream().collect(Collectors.groupingBy(
+                    t -> t.getPaymentTime().toLocalDate(),
+                    Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+            return byDay.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        });
+
+        Measurement aggregate = measure(() -> transactionRepository
+                .sumDailyRevenueByVendor(vendorId, PaymentStatus.PAID, start, end, windowStart)
+                .stream()
+                .map(DailyRevenueView::getRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        System.out.printf("%-16s %12s %14s%n", "strategy", "best ms", "allocated MB");
+        System.out.printf("%-16s %12d %14d%n", "entity+grouping", entities.millis, entities.allocatedBytes >> 20);
+        System.out.printf("%-16s %12d %14d%n", "sql aggregate", aggregate.millis, aggregate.allocatedBytes >> 20);
+
+        assertThat(aggregate.total).isEqualByComparingTo(entities.total);
+        assertThat(aggregate.allocatedBytes).isLessThan(entities.allocatedBytes);
+    }
+
+    private Measurement measure(Supplier<BigDecimal> work) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bestMillis = Long.MAX_VALUE;
+        long bestAllocated = Long.MAX_VALUE;
+        BigDecimal total = null;
+        for (int i = 0; i < RUNS; i++) {
+            entityManager.clear();
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long started = System.nanoTime();
+            total = work.get();
+            bestMillis = Math.min(bestMillis, (System.nanoTime() - started) / 1_000_000);
+            bestAllocated = Math.min(bestAllocated, threads.getThreadAllocatedBytes(threadId) - allocatedBefore);
+        }
+        entityManager.clear();
+        return new Measurement(bestMillis, bestAllocated, total);
+    }
+
+    private record Measurement(long millis, long allocatedBytes, BigDecimal total) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.config.ArrowConfig;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({AnalyticsExportServiceImpl.class, ArrowConfig.class, TestPasswordEncoderConfig.class})
+class AnalyticsExportServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AnalyticsExportServiceImpl analyticsExportService;
+
+    @Autowired
+    private BufferAllocator arrowRootAllocator;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        ChargingFixtures.Seed seed = fixtures.seed("Export");
+
+        // 3 phiên trong tháng 1, 1 phiên ngoài khoảng export
+        for (int day : new int[]{3, 10, 20, 45}) {
+            fixtures.paidSession(seed, FROM.plusDays(day).plusHours(8), FROM.plusDays(day).plusHours(9),
+                    new BigDecimal("40.00"), new BigDecimal("140000.00"));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void exportSessionsWritesReadableArrowStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = analyticsExportService.exportSessions(FROM, TO, out);
+
+        assertThat(rows).isEqualTo(3);
+        try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("read", 0, Long.MAX_VALUE);
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()),
+                     allocator, CommonsCompressionFactory.INSTANCE)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            long read = 0;
+            while (reader.loadNextBatch()) {
+                read += root.getRowCount();
+                assertThat(root.getVector("STATION_NAME").getObject(0).toString()).isEqualTo("Export Station");
+                assertThat(root.getVector("VENDOR_NAME").getObject(0).toString()).isEqualTo("Export Vendor");
+                assertThat(root.getVector("VEHICLE_BRAND").getObject(0).toString()).isEqualTo("VinFast");
+            }
+            assertThat(read).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void exportTransactionsWithNoRowsStillWritesSchema() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = analyticsExportService.exportTransactions(TO.plusYears(1), TO.plusYears(2), out);
+
+        assertThat(rows).isZero();
+        try (BufferAllocator allocator = arrowRootAllocator.newChildAllocator("read", 0, Long.MAX_VALUE);
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()),
+                     allocator, CommonsCompressionFactory.INSTANCE)) {
+            assertThat(reader.getVectorSchemaRoot().getSchema().findField("AMOUNT")).isNotNull();
+            assertThat(reader.loadNextBatch()).isFalse();
+        }
+    }
+}
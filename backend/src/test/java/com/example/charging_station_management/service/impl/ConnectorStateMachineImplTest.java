@@ -0,0 +1,130 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.enums.ConnectorStatus;
+import com.example.charging_station_management.entity.enums.ConnectorTrigger;
+import com.example.charging_station_management.event.ConnectorStatusChangedEvent;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.repository.ChargingConnectorRepository;
+import com.example.charging_station_management.repository.ChargingSessionRepository;
+import com.example.charging_station_management.repository.projection.ConnectorStateView;
+import com.example.charging_station_management.service.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ConnectorStateMachineImplTest {
+
+    private ChargingConnectorRepository connectorRepository;
+    private DomainEventPublisher domainEventPublisher;
+    private CatalogVersionService catalogVersionService;
+    private ConnectorStateMachineImpl stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        connectorRepository = mock(ChargingConnectorRepository.class);
+        domainEventPublisher = mock(DomainEventPublisher.class);
+        catalogVersionService = mock(CatalogVersionService.class);
+        when(connectorRepository.findStatusById(anyInt())).thenReturn(Optional.of(ConnectorStatus.AVAILABLE));
+        stateMachine = new ConnectorStateMachineImpl(connectorRepository, mock(ChargingSessionRepository.class),
+                domainEventPublisher, catalogVersionService, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void onlyOneConcurrentSessionStartWins() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    stateMachine.fire(10_000, ConnectorTrigger.SESSION_STARTED);
+                    started.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(started).hasValue(1);
+        assertThat(rejected).hasValue(threads - 1);
+        assertThat(stateMachine.current(10_000)).isEqualTo(ConnectorStatus.INUSE);
+        assertThatThrownBy(() -> stateMachine.fire(10_000, ConnectorTrigger.DISABLED))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rollbackRestoresPreviousStateAndSkipsWrite() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stateMachine.fire(3, ConnectorTrigger.SESSION_STARTED);
+            assertThat(stateMachine.current(3)).isEqualTo(ConnectorStatus.INUSE);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(stateMachine.current(3)).isEqualTo(ConnectorStatus.AVAILABLE);
+        assertThat(stateMachine.flush()).isZero();
+        verify(connectorRepository, never()).findStateViewsByIdIn(anyCollection());
+    }
+
+    @Test
+    void flushCoalescesChangesIntoOneUpdatePerStatus() {
+        stateMachine.fire(1, ConnectorTrigger.SESSION_STARTED);
+        stateMachine.fire(1, ConnectorTrigger.SESSION_STOPPED);
+        stateMachine.fire(2, ConnectorTrigger.SESSION_STARTED);
+        when(connectorRepository.findStateViewsByIdIn(anyCollection()))
+                .thenReturn(List.of(stored(1, ConnectorStatus.AVAILABLE), stored(2, ConnectorStatus.AVAILABLE)));
+
+        assertThat(stateMachine.flush()).isEqualTo(1);
+
+        verify(connectorRepository).updateStatusByIdIn(eq(List.of(2)), eq(ConnectorStatus.INUSE),
+                any(LocalDateTime.class));
+        verify(connectorRepository, times(1)).updateStatusByIdIn(anyCollection(), any(), any());
+        verify(domainEventPublisher).publish(
+                new ConnectorStatusChangedEvent(2, 20, 200, ConnectorStatus.AVAILABLE, ConnectorStatus.INUSE));
+        verify(catalogVersionService).bumpStationVersion(200, false);
+        verify(catalogVersionService).bumpStationVersion(null, true);
+        verify(catalogVersionService, times(2)).bumpStationVersion(any(), anyBoolean());
+        assertThat(stateMachine.flush()).isZero();
+    }
+
+    private static ConnectorStateView stored(int id, ConnectorStatus status) {
+        return new ConnectorStateView() {
+            public Integer getId() { return id; }
+            public ConnectorStatus getStatus() { return status; }
+            public Integer getPoleId() { return id * 10; }
+            public Integer getStationId() { return id * 100; }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.config.PartitionMaintainer;
+import com.example.charging_station_management.config.PartitionMaintainer.ExpireAction;
+import com.example.charging_station_management.config.PartitionMaintainer.PartitionedTable;
+import com.example.charging_station_management.dto.request.DashboardResponse;
+import com.example.charging_station_management.repository.SessionArchiveRepository;
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tổng phiên và doanh thu của dashboard admin không giảm khi tháng cũ của charging_sessions được lưu trữ ra
+ * segment (PostgreSQL nhúng, dữ liệu mẫu của V1).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DashboardMetricsServiceImpl.class, TestPasswordEncoderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardMetricsServiceImplTest {
+
+    private static EmbeddedPostgres postgres;
+    private static final BufferAllocator allocator = new RootAllocator();
+
+    @TempDir
+    static Path archiveDir;
+
+    @Autowired
+    private DashboardMetricsServiceImpl dashboardMetricsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgresSupport.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        allocator.close();
+        postgres.close();
+    }
+
+    @Test
+    void archivedMonthStaysInTotalsAfterReconcile() {
+        dashboardMetricsService.initialize();
+        DashboardResponse before = dashboardMetricsService.getDashboardStats();
+        assertThat(before.getTotalSessions()).isEqualTo(countSessions());
+
+        long archived = archiveOldestSessionMonth();
+        dashboardMetricsService.reconcile();
+        DashboardResponse after = dashboardMetricsService.getDashboardStats();
+
+        assertThat(archived).isPositive();
+        assertThat(countSessions()).isEqualTo(before.getTotalSessions() - archived);
+        assertThat(after.getTotalSessions()).isEqualTo(before.getTotalSessions());
+        assertThat(after.getTotalRevenue()).isEqualByComparingTo(before.getTotalRevenue());
+    }
+
+    // DETACH tháng cũ nhất của charging_sessions rồi ghi thành segment; trả số phiên đã rời DB
+    private long archiveOldestSessionMonth() {
+        LocalDate oldestMonth = jdbcTemplate.queryForObject(
+                "SELECT CAST(date_trunc('month', MIN(start_time)) AS date) FROM charging_sessions", LocalDate.class);
+        long rows = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM charging_sessions
+                 WHERE start_time >= ? AND start_time < ?
+                """, Long.class, oldestMonth, oldestMonth.plusMonths(1));
+
+        PartitionMaintainer maintainer = new PartitionMaintainer(jdbcTemplate, new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(maintainer, "premake", 3);
+        int retention = (int) ChronoUnit.MONTHS.between(oldestMonth, LocalDate.now().withDayOfMonth(1));
+        ReflectionTestUtils.invokeMethod(maintainer, "maintain", new PartitionedTable("charging_sessions",
+                "start_time", PartitionMaintainer.Period.MONTH, retention, ExpireAction.DETACH), LocalDate.now());
+
+        SessionArchiveRepository sessionArchiveRepository = new SessionArchiveRepository(allocator, new ObjectMapper());
+        ReflectionTestUtils.setField(sessionArchiveRepository, "archiveDir", archiveDir);
+        ReflectionTestUtils.setField(sessionArchiveRepository, "batchSize", 1024);
+        ReflectionTestUtils.setField(sessionArchiveRepository, "codecType", CompressionUtil.CodecType.ZSTD);
+        SessionArchiveServiceImpl sessionArchiveService = new SessionArchiveServiceImpl(sessionArchiveRepository,
+                jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(sessionArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(sessionArchiveService, "fetchSize", 100);
+        assertThat(sessionArchiveService.archiveDetachedSessions()).isEqualTo(1);
+        return rows;
+    }
+
+    private long countSessions() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM charging_sessions", Long.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.converters.EmailOutbox;
+import com.example.charging_station_management.entity.enums.EmailStatus;
+import com.example.charging_station_management.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailDispatchServiceImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository repository;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+    }
+
+    @Test
+    void sendsWholeBatchAndMarksRowsSent() throws Exception {
+        List<EmailOutbox> batch = List.of(pending(1, "a@test.local"), pending(2, "b@test.local"));
+        when(repository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(batch);
+
+        int sent = newService(mailSender).dispatchPendingEmails();
+
+        assertThat(sent).isEqualTo(2);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("subject");
+        assertThat(batch).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(EmailStatus.SENT);
+            assertThat(email.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void reschedulesWithBackoffWhenSmtpIsUnavailable() {
+        EmailOutbox email = pending(1, "a@test.local");
+        when(repository.lockDueBatch(any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+        mailSender.setPort(greenMail.getSmtp().getPort() + 1);
+
+        LocalDateTime before = LocalDateTime.now();
+        int sent = newService(mailSender).dispatchPendingEmails();
+
+        assertThat(sent).isZero();
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(email.getNextAttemptAt()).isBefore(before.plusSeconds(60));
+    }
+
+    private EmailDispatchServiceImpl newService(JavaMailSenderImpl sender) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        EmailDispatchServiceImpl service = new EmailDispatchServiceImpl(repository, sender, transactionTemplate);
+        ReflectionTestUtils.setField(service, "fromEmail", "noreply@test.local");
+        ReflectionTestUtils.setField(service, "batchSize", 50);
+        ReflectionTestUtils.setField(service, "maxAttempts", 8);
+        ReflectionTestUtils.setField(service, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(service, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 300L);
+        return service;
+    }
+
+    private static EmailOutbox pending(int id, String recipient) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("subject")
+                .body("body")
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
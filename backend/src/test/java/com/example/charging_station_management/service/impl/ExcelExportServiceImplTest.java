@@ -0,0 +1,107 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.request.ChargingSessionFilterRequest;
+import com.example.charging_station_management.dto.request.TransactionFilterRequest;
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ExcelExportServiceImpl.class, TestPasswordEncoderConfig.class})
+class ExcelExportServiceImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ExcelExportServiceImpl excelExportService;
+
+    private Integer vendorId;
+
+    @BeforeEach
+    void seed() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        ChargingFixtures.Seed seed = fixtures.seed("Export");
+        vendorId = seed.vendor().getId();
+
+        // 3 phiên trong tháng 1, 1 phiên ngoài khoảng export
+        for (int day : new int[]{3, 10, 20, 45}) {
+            fixtures.paidSession(seed, FROM.plusDays(day).plusHours(8), FROM.plusDays(day).plusHours(9),
+                    new BigDecimal("40.00"), new BigDecimal("140000.00"));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void exportChargingSessionsAppliesFilterAndWritesHeader() throws Exception {
+        ChargingSessionFilterRequest filter = ChargingSessionFilterRequest.builder()
+                .vendorId(vendorId)
+                .startTimeFrom(FROM)
+                .startTimeTo(TO)
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        excelExportService.exportChargingSessions(filter, Sort.by(Sort.Direction.DESC, "startTime"), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Mã phiên sạc");
+            assertThat(sheet.getLastRowNum()).isEqualTo(3);
+            // Mới nhất trước
+            assertThat(sheet.getRow(1).getCell(1).getLocalDateTimeCellValue()).isEqualTo(FROM.plusDays(20).plusHours(8));
+            assertThat(sheet.getRow(1).getCell(3).getStringCellValue()).isEqualTo("COMPLETED");
+            assertThat(sheet.getRow(1).getCell(11).getStringCellValue()).isEqualTo("Export Station");
+            assertThat(sheet.getRow(1).getCell(17).getStringCellValue()).isEqualTo("PAID");
+        }
+    }
+
+    @Test
+    void exportTransactionsWithNoMatchWritesOnlyHeader() throws Exception {
+        TransactionFilterRequest filter = TransactionFilterRequest.builder()
+                .vendorId(vendorId)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        excelExportService.exportTransactions(filter, Sort.unsorted(), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isZero();
+            assertThat(sheet.getRow(0).getCell(3).getStringCellValue()).isEqualTo("Số tiền");
+        }
+    }
+
+    @Test
+    void unknownSortIsRejectedBeforeStreaming() {
+        // Controller gọi trước khi trả body streaming: lỗi thành 400 thay vì file tải dở
+        assertThatThrownBy(() -> excelExportService.validateTransactionSort(Sort.by("customer.password")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> excelExportService.validateChargingSessionSort(Sort.by("noSuchField")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        excelExportService.validateTransactionSort(Sort.by(Sort.Direction.DESC, "paymentTime"));
+        excelExportService.validateChargingSessionSort(Sort.by(Sort.Direction.DESC, "startTime"));
+    }
+}
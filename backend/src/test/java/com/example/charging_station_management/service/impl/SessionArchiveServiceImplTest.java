@@ -0,0 +1,169 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.config.PartitionMaintainer;
+import com.example.charging_station_management.config.PartitionMaintainer.ExpireAction;
+import com.example.charging_station_management.config.PartitionMaintainer.PartitionedTable;
+import com.example.charging_station_management.entity.converters.ChargingSession;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.repository.SessionArchiveRepository;
+import com.example.charging_station_management.utils.helper.KeysetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Luồng lưu trữ trên PostgreSQL nhúng: partition tháng cũ được DETACH sang schema archive, ghi thành segment,
+ * xóa khỏi DB rồi được gộp lại vào lịch sử sạc của khách hàng.
+ */
+class SessionArchiveServiceImplTest {
+
+    // Cũ hơn mọi dữ liệu mẫu của V1
+    private static final LocalDateTime MONTH_START = LocalDate.now().withDayOfMonth(1).minusYears(5).atStartOfDay();
+
+    @TempDir
+    static Path archiveDir;
+
+    private static EmbeddedPostgres postgres;
+    private static BufferAllocator allocator;
+    private static JdbcTemplate jdbcTemplate;
+    private static SessionArchiveRepository sessionArchiveRepository;
+    private static SessionArchiveServiceImpl sessionArchiveService;
+    private static int customerId;
+    private static String licensePlate;
+
+    @BeforeAll
+    static void archiveOldMonth() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        allocator = new RootAllocator();
+
+        // Batch 2 dòng để lịch sử của một khách hàng trải qua nhiều batch của segment
+        sessionArchiveRepository = new SessionArchiveRepository(allocator, new ObjectMapper());
+        ReflectionTestUtils.setField(sessionArchiveRepository, "archiveDir", archiveDir);
+        ReflectionTestUtils.setField(sessionArchiveRepository, "batchSize", 2);
+        ReflectionTestUtils.setField(sessionArchiveRepository, "codecType", CompressionUtil.CodecType.ZSTD);
+        sessionArchiveService = new SessionArchiveServiceImpl(sessionArchiveRepository, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(sessionArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(sessionArchiveService, "fetchSize", 100);
+
+        List<Map<String, Object>> vehicles = jdbcTemplate.queryForList("""
+                SELECT DISTINCT ON (customer_id) id, customer_id, license_plate
+                  FROM electric_vehicles ORDER BY customer_id, id LIMIT 2
+                """);
+        customerId = (Integer) vehicles.get(0).get("customer_id");
+        licensePlate = (String) vehicles.get(0).get("license_plate");
+        Integer connectorId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM charging_connectors", Integer.class);
+
+        // 3 phiên của khách hàng đầu, 1 phiên của khách hàng khác, cùng tháng
+        insertSession(900001, (Integer) vehicles.get(0).get("id"), connectorId, MONTH_START.plusDays(1));
+        insertSession(900002, (Integer) vehicles.get(0).get("id"), connectorId, MONTH_START.plusDays(5));
+        insertSession(900003, (Integer) vehicles.get(0).get("id"), connectorId, MONTH_START.plusDays(9));
+        insertSession(900004, (Integer) vehicles.get(1).get("id"), connectorId, MONTH_START.plusDays(7));
+        jdbcTemplate.update("""
+                INSERT INTO transactions (id, charging_session_id, customer_id, amount, payment_method, payment_status,
+                                          payment_time, created_at)
+                VALUES (900003, 900003, ?, 120000.00, 'EWALLET', 'PAID', ?, ?)
+                """, customerId, Timestamp.valueOf(MONTH_START.plusDays(9).plusHours(1)),
+                Timestamp.valueOf(MONTH_START.plusDays(9).plusHours(1)));
+
+        PartitionMaintainer maintainer = new PartitionMaintainer(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(maintainer, "premake", 3);
+        // Chỉ tháng của các phiên trên hết hạn
+        int retention = (int) ChronoUnit.MONTHS.between(MONTH_START.toLocalDate(), LocalDate.now().withDayOfMonth(1));
+        ReflectionTestUtils.invokeMethod(maintainer, "maintain", new PartitionedTable("charging_sessions",
+                "start_time", PartitionMaintainer.Period.MONTH, retention, ExpireAction.DETACH), LocalDate.now());
+
+        assertThat(sessionArchiveService.archiveDetachedSessions()).isEqualTo(1);
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        allocator.close();
+        postgres.close();
+    }
+
+    @Test
+    void archivedMonthLeavesDatabaseForSegment() throws Exception {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM charging_sessions WHERE id >= 900001",
+                Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_tables WHERE schemaname = ?",
+                Long.class, PartitionMaintainer.ARCHIVE_SCHEMA)).isZero();
+        try (var files = Files.list(archiveDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()).toList())
+                    .containsExactly("charging_sessions_" + MONTH_START.getYear()
+                            + String.format("%02d", MONTH_START.getMonthValue()) + SessionArchiveRepository.SEGMENT_SUFFIX);
+        }
+    }
+
+    @Test
+    void offsetHistoryContinuesIntoArchive() {
+        Page<ChargingSession> first = sessionArchiveService.withArchived(customerId,
+                new PageImpl<>(List.of(), PageRequest.of(0, 2), 0));
+        Page<ChargingSession> second = sessionArchiveService.withArchived(customerId,
+                new PageImpl<>(List.of(), PageRequest.of(1, 2), 0));
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting(ChargingSession::getId).containsExactly(900003, 900002);
+        assertThat(second.getContent()).extracting(ChargingSession::getId).containsExactly(900001);
+
+        ChargingSession newest = first.getContent().get(0);
+        assertThat(newest.getStartTime()).isEqualTo(MONTH_START.plusDays(9));
+        assertThat(newest.getElectricVehicle().getLicensePlate()).isEqualTo(licensePlate);
+        assertThat(newest.getChargingConnector().getPole().getStation().getName()).isNotBlank();
+        assertThat(newest.getCost()).isEqualByComparingTo(new BigDecimal("120000.00"));
+        assertThat(newest.getTransaction().getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(first.getContent().get(1).getTransaction()).isNull();
+    }
+
+    @Test
+    void keysetHistoryResumesAfterArchivedCursor() {
+        KeysetCursor cursor = new KeysetCursor(MONTH_START.plusDays(5), 900002);
+
+        List<ChargingSession> rows = sessionArchiveService.withArchived(customerId, List.of(), cursor, 10);
+
+        assertThat(rows).extracting(ChargingSession::getId).containsExactly(900001);
+    }
+
+    private static void insertSession(int id, Integer vehicleId, Integer connectorId, LocalDateTime start) {
+        jdbcTemplate.update("""
+                INSERT INTO charging_sessions (id, electric_vehicle_id, charging_connector_id, start_time, end_time,
+                                               energy_kwh, cost, status)
+                VALUES (?, ?, ?, ?, ?, 40.00, 120000.00, 'COMPLETED')
+                """, id, vehicleId, connectorId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.utils.excel.CsvRowReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StationImportRowParserTest {
+
+    private static final String HEADER = String.join(",", StationImportRowParser.COLUMNS);
+
+    @Test
+    void parsesQuotedCsvRowsIntoValidatedRows() throws Exception {
+        String csv = "\uFEFF" + HEADER + "\r\n"
+                + "ST1,\"Trạm A, Quận 1\",06:00,22:30,car,10.7769,106.7009,HCM,\"12 \"\"Lê Lợi\"\"\",P1,ABB,60,2,2024-03-01,ccs,50\r\n"
+                + ",,,,,,,,,,,,,,,\r\n"
+                + "ST1,\"Trạm A, Quận 1\",06:00,22:30,CAR,10.7769,106.7009,HCM,\"12 \"\"Lê Lợi\"\"\",P1,ABB,60,2,,TYPE2,22\n";
+
+        List<StationImportRowParser.Result> results = parse(csv);
+
+        assertThat(results).hasSize(2);
+        StationImportRowParser.Row first = results.get(0).row();
+        assertThat(first.rowNumber()).isEqualTo(2);
+        assertThat(first.station().name()).isEqualTo("Trạm A, Quận 1");
+        assertThat(first.station().address()).isEqualTo("12 \"Lê Lợi\"");
+        assertThat(first.station().closeTime()).isEqualTo(LocalTime.of(22, 30));
+        assertThat(first.connectorType()).isEqualTo(ConnectorType.CCS);
+        assertThat(first.pole().maxPower()).isEqualByComparingTo(new BigDecimal("60"));
+        // Dòng trống bị bỏ qua nhưng số dòng vẫn khớp với file
+        assertThat(results.get(1).rowNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void reportsAllFieldErrorsOfARow() throws Exception {
+        String csv = HEADER + "\n"
+                + "ST2,Trạm B,25:00,22:00,TRUCK,95,106.7,HN,Addr,P1,ABB,22,0,,CCS,50\n";
+
+        StationImportRowParser.Result result = parse(csv).get(0);
+
+        assertThat(result.row()).isNull();
+        assertThat(result.stationCode()).isEqualTo("ST2");
+        assertThat(result.error())
+                .contains("open_time")
+                .contains("vehicle_type")
+                .contains("latitude")
+                .contains("max_connectors")
+                .contains("connector_max_power");
+    }
+
+    @Test
+    void rejectsHeaderWithMissingColumns() {
+        assertThatThrownBy(() -> new StationImportRowParser(List.of("station_code", "station_name")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pole_code");
+    }
+
+    private List<StationImportRowParser.Result> parse(String csv) throws Exception {
+        List<StationImportRowParser.Result> results = new ArrayList<>();
+        StationImportRowParser[] parser = new StationImportRowParser[1];
+        CsvRowReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), (rowNumber, cells) -> {
+            if (parser[0] == null) {
+                parser[0] = new StationImportRowParser(cells);
+            } else {
+                results.add(parser[0].parse(rowNumber, cells));
+            }
+        });
+        return results;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.response.ImportRowError;
+import com.example.charging_station_management.dto.response.StationImportReport;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.repository.CatalogBulkInsertRepository;
+import com.example.charging_station_management.repository.SequenceIdAllocator;
+import com.example.charging_station_management.service.CatalogVersionService;
+import com.example.charging_station_management.support.EmbeddedPostgresSupport;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import thật qua CSV trên PostgreSQL nhúng: upload lại không nhân bản trạm và báo cáo lỗi theo từng dòng.
+ * Import tự commit (NOT_SUPPORTED) nên mỗi test dùng mã trạm riêng.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StationImportServiceImpl.class, CatalogBulkInsertRepository.class, SequenceIdAllocator.class,
+        TestPasswordEncoderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StationImportServiceImplTest {
+
+    private static final String HEADER = String.join(",", StationImportRowParser.COLUMNS);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private StationImportServiceImpl stationImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private DomainEventPublisher domainEventPublisher;
+
+    @MockBean
+    private CatalogVersionService catalogVersionService;
+
+    private int vendorId;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgresSupport.start(registry);
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void vendor() {
+        vendorId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM vendors", Integer.class);
+    }
+
+    @Test
+    void reuploadSkipsStationsAlreadyImported() throws IOException {
+        List<String> rows = List.of(
+                row("RE-A", "Trạm RE-A", "10.7", "P1", "CCS"),
+                row("RE-A", "Trạm RE-A", "10.7", "P1", "TYPE2"),
+                row("RE-A", "Trạm RE-A", "10.7", "P2", "CCS"),
+                row("RE-B", "Trạm RE-B", "10.8", "P1", "CCS"));
+
+        StationImportReport first = importCsv(rows, false);
+        assertThat(first.getStationsImported()).isEqualTo(2);
+        assertThat(first.getPolesImported()).isEqualTo(3);
+        assertThat(first.getConnectorsImported()).isEqualTo(4);
+
+        List<String> reupload = new ArrayList<>(rows);
+        reupload.add(row("RE-C", "Trạm RE-C", "10.9", "P1", "CCS"));
+        StationImportReport second = importCsv(reupload, false);
+
+        assertThat(second.getStationsImported()).isEqualTo(1);
+        assertThat(second.getStationsAlreadyImported()).isEqualTo(2);
+        assertThat(second.getStationsSkipped()).isZero();
+        assertThat(second.getErrors()).isEmpty();
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT s.code || '/' || p.code FROM stations s JOIN charging_poles p ON p.station_id = s.id
+                 WHERE s.vendor_id = ? AND s.code LIKE 'RE-%' ORDER BY 1
+                """, String.class, vendorId)).containsExactly("RE-A/P1", "RE-A/P2", "RE-B/P1", "RE-C/P1");
+    }
+
+    @Test
+    void errorReportListsBadRowsAndSkipsTheirStations() throws IOException {
+        StationImportReport report = importCsv(List.of(
+                row("ER-D", "Trạm ER-D", "10.7", "P1", "CCS"),
+                row("ER-E", "Trạm ER-E", "95", "P1", "CCS"),
+                row("ER-D", "Trạm ER-D khác", "10.7", "P1", "TYPE2"),
+                row("ER-F", "Trạm ER-F", "10.9", "P1", "CHADEMO")), false);
+
+        assertThat(report.getTotalRows()).isEqualTo(4);
+        assertThat(report.getErrorRows()).isEqualTo(2);
+        assertThat(report.getStationsImported()).isEqualTo(1);
+        assertThat(report.getStationsSkipped()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(ImportRowError::getRow).containsExactly(3, 4, 2);
+        assertThat(report.getErrors().get(0).getMessage()).contains("latitude");
+        assertThat(report.getErrors().get(1).getMessage()).contains("ER-D").contains("dòng 2");
+        assertThat(report.getErrors().get(2).getMessage()).contains("ER-D").contains("bỏ qua");
+        assertThat(jdbcTemplate.queryForList("SELECT code FROM stations WHERE code LIKE 'ER-%'", String.class))
+                .containsExactly("ER-F");
+    }
+
+    @Test
+    void dryRunReportsWithoutWriting() throws IOException {
+        StationImportReport report = importCsv(List.of(row("DR-A", "Trạm DR-A", "10.7", "P1", "CCS")), true);
+
+        assertThat(report.isDryRun()).isTrue();
+        assertThat(report.getStationsImported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stations WHERE code = 'DR-A'", Long.class))
+                .isZero();
+    }
+
+    private StationImportReport importCsv(List<String> rows, boolean dryRun) throws IOException {
+        String csv = HEADER + "\n" + String.join("\n", rows) + "\n";
+        return stationImportService.importStations(vendorId, new MockMultipartFile("file", "stations.csv",
+                "text/csv", csv.getBytes(StandardCharsets.UTF_8)), dryRun);
+    }
+
+    private static String row(String station, String name, String latitude, String pole, String connectorType) {
+        return String.join(",", station, name, "06:00", "22:00", "CAR", latitude, "106.7", "HCM",
+                "\"12 Lê Lợi, Quận 1\"", pole, "ABB", "60", "2", "2024-03-01", connectorType, "50");
+    }
+}
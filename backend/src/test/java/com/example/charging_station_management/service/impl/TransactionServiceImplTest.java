@@ -0,0 +1,83 @@
+package com.example.charging_station_management.service.impl;
+
+import com.example.charging_station_management.dto.mapper.VendorStatsMapper;
+import com.example.charging_station_management.entity.converters.Transaction;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.event.DomainEventPublisher;
+import com.example.charging_station_management.service.RevenueRollupService;
+import com.example.charging_station_management.support.ChargingFixtures;
+import com.example.charging_station_management.support.TestPasswordEncoderConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({TransactionServiceImpl.class, TestPasswordEncoderConfig.class})
+class TransactionServiceImplTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionServiceImpl transactionService;
+
+    @MockBean
+    private RevenueRollupService revenueRollupService;
+
+    @MockBean
+    private DomainEventPublisher domainEventPublisher;
+
+    @MockBean
+    private VendorStatsMapper vendorStatsMapper;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void seedPendingTransaction() {
+        ChargingFixtures fixtures = new ChargingFixtures(entityManager);
+        LocalDateTime start = LocalDateTime.now().minusHours(2);
+        transaction = fixtures.paidSession(fixtures.seed("Payment"), start, start.plusHours(1),
+                new BigDecimal("30.00"), new BigDecimal("105000.00"));
+        transaction.setPaymentStatus(PaymentStatus.PENDING);
+        transaction.setPaymentTime(null);
+        entityManager.flush();
+    }
+
+    @Test
+    void completePaymentRecordsRevenueOnce() {
+        assertThat(transactionService.completePayment(transaction.getId()).paymentStatus()).isEqualTo(PaymentStatus.PAID);
+
+        assertThatThrownBy(() -> transactionService.completePayment(transaction.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        verify(revenueRollupService, times(1)).recordPayment(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void paymentCompletedByConcurrentRequestIsNotRecordedAgain() {
+        // Request khác đã thanh toán sau khi giao dịch được đọc (entity trong persistence context vẫn là PENDING)
+        jdbcTemplate.update("UPDATE transactions SET payment_status = 'PAID', payment_time = ? WHERE id = ?",
+                LocalDateTime.now(), transaction.getId());
+
+        assertThatThrownBy(() -> transactionService.completePayment(transaction.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        verify(revenueRollupService, never()).recordPayment(any(), any(), any(), any(), any());
+    }
+}
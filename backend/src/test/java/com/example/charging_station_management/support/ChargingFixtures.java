@@ -0,0 +1,146 @@
+package com.example.charging_station_management.support;
+
+import com.example.charging_station_management.entity.converters.*;
+import com.example.charging_station_management.entity.enums.ConnectorType;
+import com.example.charging_station_management.entity.enums.PaymentMethod;
+import com.example.charging_station_management.entity.enums.PaymentStatus;
+import com.example.charging_station_management.entity.enums.SessionStatus;
+import com.example.charging_station_management.entity.enums.VehicleType;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Dữ liệu mẫu dùng chung cho các test JPA (vendor, khách hàng, trạm, trụ, đầu sạc, xe, phiên, giao dịch).
+ * Mỗi hàm persist ngay; {@code tag} đặt tên và email riêng cho từng test (ví dụ tag "Export" cho trạm
+ * "Export Station"). Thứ tự flush/clear do test tự quyết định.
+ */
+public class ChargingFixtures {
+
+    private final EntityManager entityManager;
+
+    public ChargingFixtures(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Một vendor có một trạm, một trụ, một đầu sạc CCS và một khách hàng có một xe.
+     */
+    public Seed seed(String tag) {
+        Vendor vendor = vendor(tag);
+        Customer customer = customer(tag);
+        Station station = station(vendor, tag);
+        ChargingPole pole = pole(station);
+        ChargingConnector connector = connector(pole);
+        ElectricVehicle vehicle = vehicle(customer, "TEST-" + tag.toUpperCase());
+        return new Seed(vendor, customer, station, pole, connector, vehicle);
+    }
+
+    public Vendor vendor(String tag) {
+        Vendor vendor = Vendor.builder().name(tag + " Vendor").email("vendor@" + tag.toLowerCase() + ".local")
+                .password("secret").phone("0900000001").status(1).build();
+        entityManager.persist(vendor);
+        return vendor;
+    }
+
+    public Customer customer(String tag) {
+        Customer customer = Customer.builder().name(tag + " Customer").email("customer@" + tag.toLowerCase() + ".local")
+                .password("secret").phone("0900000002").status(1).build();
+        entityManager.persist(customer);
+        return customer;
+    }
+
+    public Station station(Vendor vendor, String tag) {
+        Location location = new Location();
+        location.setLatitude(new BigDecimal("10.77000000"));
+        location.setLongitude(new BigDecimal("106.70000000"));
+        location.setProvince("Hồ Chí Minh");
+        location.setAddressDetail("1 " + tag + " Street");
+        entityManager.persist(location);
+
+        Station station = new Station();
+        station.setVendor(vendor);
+        station.setLocation(location);
+        station.setName(tag + " Station");
+        station.setOpenTime(LocalTime.MIN);
+        station.setCloseTime(LocalTime.of(23, 59));
+        station.setType(VehicleType.CAR);
+        entityManager.persist(station);
+        return station;
+    }
+
+    public ChargingPole pole(Station station) {
+        ChargingPole pole = new ChargingPole();
+        pole.setStation(station);
+        pole.setManufacturer("ABB");
+        pole.setMaxPower(new BigDecimal("60.00"));
+        entityManager.persist(pole);
+        return pole;
+    }
+
+    public ChargingConnector connector(ChargingPole pole) {
+        ChargingConnector connector = new ChargingConnector();
+        connector.setPole(pole);
+        connector.setConnectorType(ConnectorType.CCS);
+        connector.setMaxPower(new BigDecimal("60.00"));
+        entityManager.persist(connector);
+        return connector;
+    }
+
+    public ElectricVehicle vehicle(Customer customer, String licensePlate) {
+        ElectricVehicle vehicle = new ElectricVehicle();
+        vehicle.setCustomer(customer);
+        vehicle.setVehicleType(VehicleType.CAR);
+        vehicle.setBrand("VinFast");
+        vehicle.setModel("VF8");
+        vehicle.setLicensePlate(licensePlate);
+        vehicle.setBatteryCapacity(new BigDecimal("82.00"));
+        vehicle.setConnectorType(ConnectorType.CCS);
+        entityManager.persist(vehicle);
+        return vehicle;
+    }
+
+    public ChargingSession session(ChargingConnector connector, ElectricVehicle vehicle, LocalDateTime startTime,
+                                   SessionStatus status) {
+        ChargingSession session = new ChargingSession();
+        session.setChargingConnector(connector);
+        session.setElectricVehicle(vehicle);
+        session.setStartTime(startTime);
+        session.setStatus(status);
+        entityManager.persist(session);
+        return session;
+    }
+
+    /**
+     * Phiên COMPLETED kéo dài đến {@code endTime} kèm giao dịch PAID (EWALLET) bằng đúng {@code cost}.
+     */
+    public Transaction paidSession(Seed seed, LocalDateTime startTime, LocalDateTime endTime,
+                                   BigDecimal energyKwh, BigDecimal cost) {
+        ChargingSession session = new ChargingSession();
+        session.setChargingConnector(seed.connector());
+        session.setElectricVehicle(seed.vehicle());
+        session.setStartTime(startTime);
+        session.setEndTime(endTime);
+        session.setEnergyKwh(energyKwh);
+        session.setCost(cost);
+        session.setStatus(SessionStatus.COMPLETED);
+        entityManager.persist(session);
+
+        Transaction transaction = new Transaction();
+        transaction.setChargingSession(session);
+        transaction.setCustomer(seed.customer());
+        transaction.setAmount(cost);
+        transaction.setPaymentMethod(PaymentMethod.EWALLET);
+        transaction.setPaymentStatus(PaymentStatus.PAID);
+        transaction.setPaymentTime(endTime);
+        transaction.setCreatedAt(endTime);
+        entityManager.persist(transaction);
+        return transaction;
+    }
+
+    public record Seed(Vendor vendor, Customer customer, Station station, ChargingPole pole,
+                       ChargingConnector connector, ElectricVehicle vehicle) {
+    }
+}
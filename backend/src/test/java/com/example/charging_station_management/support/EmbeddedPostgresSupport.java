@@ -0,0 +1,30 @@
+package com.example.charging_station_management.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+
+/**
+ * Chạy test Spring trên PostgreSQL nhúng thay cho H2 của application.properties test: Flyway chạy hết migration
+ * rồi Hibernate validate mapping. Gọi từ {@code @DynamicPropertySource} của test và đóng database trong
+ * {@code @AfterAll}; test {@code @DataJpaTest} cần thêm {@code @AutoConfigureTestDatabase(replace = NONE)}.
+ */
+public final class EmbeddedPostgresSupport {
+
+    private EmbeddedPostgresSupport() {
+    }
+
+    public static EmbeddedPostgres start(DynamicPropertyRegistry registry) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.postgresql.transactional-lock", () -> "false");
+        return postgres;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.charging_station_management.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Bọc DataSource của context test và ghi lại từng PreparedStatement đã chạy (SQL thật mà Hibernate sinh kèm
+ * tham số đã bind), để test chạy lại đúng câu đó dưới {@code EXPLAIN}. Khai báo bằng một {@code @Bean static}
+ * trong {@code @TestConfiguration} của test.
+ */
+public class JdbcStatementRecorder implements BeanPostProcessor {
+
+    public record Statement(String sql, List<Object> parameters) {
+    }
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? connection(connection) : result);
+        }
+        return bean;
+    }
+
+    public List<Statement> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) ->
+                method.getName().startsWith("prepareStatement") && result instanceof PreparedStatement statement
+                        ? preparedStatement(statement, (String) args[0])
+                        : result);
+    }
+
+    private PreparedStatement preparedStatement(PreparedStatement target, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (name.startsWith("execute")) {
+                        statements.add(new Statement(sql, new ArrayList<>(parameters.values())));
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> wrapper.wrap(method, args, invoke(target, method, args));
+        return type.cast(Proxy.newProxyInstance(JdbcStatementRecorder.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.charging_station_management.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Bean tạo admin mặc định trong ChargingStationManagementApplication cần PasswordEncoder; các test
+ * {@code @DataJpaTest} import class này thay vì tự khai báo.
+ */
+@TestConfiguration
+public class TestPasswordEncoderConfig {
+
+    // Strength 4 (tối thiểu của BCrypt) để mã hoá mật khẩu admin mặc định không làm chậm test
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(4);
+    }
+}
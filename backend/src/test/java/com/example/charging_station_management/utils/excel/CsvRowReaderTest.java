@@ -0,0 +1,60 @@
+package com.example.charging_station_management.utils.excel;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+    private record Line(int rowNumber, List<String> cells) {
+    }
+
+    @Test
+    void quotedFieldKeepsDelimitersNewlinesAndEscapedQuotes() throws IOException {
+        List<Line> lines = read("a,\"b, c\",\"say \"\"hi\"\"\"\r\n"
+                + "\"line 1\nline 2\",,\"\"\r\n"
+                + "x,y,z");
+
+        assertThat(lines).containsExactly(
+                new Line(1, List.of("a", "b, c", "say \"hi\"")),
+                new Line(2, List.of("line 1\nline 2", "", "")),
+                // Xuống dòng trong ngoặc vẫn được đếm: dòng sau bắt đầu ở dòng 4 của file
+                new Line(4, List.of("x", "y", "z")));
+    }
+
+    @Test
+    void skipsBomAndBlankLinesButKeepsFileLineNumbers() throws IOException {
+        List<Line> lines = read("\uFEFFcode,name\n\n , \r\nST1,Trạm A\rST2,Trạm B\n");
+
+        assertThat(lines).containsExactly(
+                new Line(1, List.of("code", "name")),
+                new Line(4, List.of("ST1", "Trạm A")),
+                new Line(5, List.of("ST2", "Trạm B")));
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        assertThat(read("12\"5,a\"b\n")).containsExactly(new Line(1, List.of("12\"5", "a\"b")));
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        assertThatThrownBy(() -> read("a,b\nc,\"unterminated\nd\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("dòng 2");
+    }
+
+    private static List<Line> read(String csv) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        CsvRowReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                (rowNumber, cells) -> lines.add(new Line(rowNumber, cells)));
+        return lines;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.charging_station_management.utils.excel;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxRowReaderTest {
+
+    private record Line(int rowNumber, List<String> cells) {
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsFirstSheetAsFormattedStringsKeepingColumnPositions() throws IOException {
+        Path file = dir.resolve("stations.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("stations");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("code");
+            header.createCell(1).setCellValue("name");
+            header.createCell(2).setCellValue("power");
+            header.createCell(3).setCellValue("install_date");
+
+            // Cột name để trống: không có ô trong XML
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue("ST1");
+            first.createCell(2).setCellValue(60);
+            first.createCell(3).setCellValue(LocalDate.of(2024, 3, 1));
+            first.getCell(3).setCellStyle(dateStyle);
+
+            sheet.createRow(2).createCell(1).setCellValue("  ");
+
+            Row second = sheet.createRow(4);
+            second.createCell(0).setCellValue("ST2");
+            second.createCell(1).setCellValue("Trạm B, Quận 3");
+            second.createCell(2).setCellValue(22.5);
+
+            workbook.createSheet("ignored").createRow(0).createCell(0).setCellValue("x");
+            workbook.write(out);
+        }
+
+        List<Line> lines = new ArrayList<>();
+        XlsxRowReader.read(file.toFile(), (rowNumber, cells) -> lines.add(new Line(rowNumber, cells)));
+
+        assertThat(lines).containsExactly(
+                new Line(1, List.of("code", "name", "power", "install_date")),
+                new Line(2, List.of("ST1", "", "60", "2024-03-01")),
+                new Line(5, List.of("ST2", "Trạm B, Quận 3", "22.5")));
+    }
+
+    @Test
+    void rejectsFileThatIsNotXlsx() throws IOException {
+        Path file = Files.writeString(dir.resolve("stations.xlsx"), "code,name\n");
+
+        assertThatThrownBy(() -> XlsxRowReader.read(file.toFile(), (rowNumber, cells) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
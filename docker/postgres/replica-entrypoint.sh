@@ -0,0 +1,17 @@
+#!/bin/bash
+# Replica streaming: lần đầu chép dữ liệu từ primary bằng pg_basebackup (-R tạo standby.signal và
+# primary_conninfo), sau đó khởi động như image postgres bình thường
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until PGPASSWORD="${REPLICATION_PASSWORD:-replicator}" \
+      pg_basebackup -h postgres -U replicator -D "$PGDATA" -R -X stream -c fast; do
+    echo "Waiting for primary..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chown -R postgres:postgres "$PGDATA"
+  chmod 700 "$PGDATA"
+fi
+
+exec docker-entrypoint.sh postgres